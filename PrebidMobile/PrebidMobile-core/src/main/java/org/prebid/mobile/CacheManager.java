@@ -16,71 +16,293 @@
 
 package org.prebid.mobile;
 
-import android.os.Handler;
-import android.os.Looper;
 import android.text.TextUtils;
 
 import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 
-import java.util.HashMap;
+import org.prebid.mobile.tasksmanager.LaneScheduler;
+import org.prebid.mobile.tasksmanager.TaskLane;
+import org.prebid.mobile.tasksmanager.TasksManager;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.PriorityQueue;
 import java.util.UUID;
 
+/**
+ * Keeps the winning bids of the original API (native ads) until they are rendered,
+ * together with the native ad decoded from the bid, if any.
+ * <p>
+ * Every entry lives for the {@code exp} of its bid, or 5 minutes if the bid doesn't have it.
+ * Expirations are processed by one sweep task on the housekeeping lane, scheduled for the
+ * earliest expiration time. Only expiry listeners are posted to the main thread.
+ * The oldest contents are dropped when the cache exceeds {@link #MAX_CACHE_BYTES}.
+ */
 public class CacheManager {
+    private static final String TAG = CacheManager.class.getSimpleName();
+
     private static final int NATIVE_AD_EXPIRY_TIMEOUT = 300000;
-    private static HashMap<String, String> savedValues = new HashMap<>();
-    private static HashMap<String, Long> expiryIntervalMap = new HashMap<>();
-    private static HashMap<String, CacheExpiryListener> cacheExpiryListenerMap = new HashMap<>();
-    private static Handler handler = new Handler(Looper.getMainLooper());
+    @VisibleForTesting
+    static final long MAX_CACHE_BYTES = 4 * 1024 * 1024; // 4 MiB
+
+    private static final Object lock = new Object();
+    // Insertion ordered: the first entry is the oldest one.
+    private static final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+    // Ordered by expiration time. Entries removed from the map are skipped when they reach the head.
+    private static final PriorityQueue<Entry> expirationQueue = new PriorityQueue<>();
+    private static final Runnable sweepTask = CacheManager::sweep;
+    private static long totalBytes;
+    private static long scheduledSweepAt = Long.MAX_VALUE;
 
     public static String save(String content) {
-        if (!TextUtils.isEmpty(content)) {
-            final String cacheId = "Prebid_" + UUID.randomUUID().toString();
-            savedValues.put(cacheId, content);
-            handler.postDelayed(() -> {
-                if (cacheExpiryListenerMap.containsKey(cacheId)) {
-                    cacheExpiryListenerMap.remove(cacheId).onCacheExpired();
-                }
-                savedValues.remove(cacheId);
-            }, getExpiryInterval(cacheId));
-            return cacheId;
-        } else {
+        return save(content, null);
+    }
+
+    /**
+     * @param expSeconds life time of the content, usually the bid's {@code exp}.
+     *                   The default life time is used if it is null.
+     */
+    public static String save(
+            String content,
+            @Nullable Integer expSeconds
+    ) {
+        return save(content, expSeconds, null);
+    }
+
+    /**
+     * @param nativeAd native ad already decoded from the content, returned by {@link #getNativeAd(String)}.
+     */
+    public static String save(
+            String content,
+            @Nullable Integer expSeconds,
+            @Nullable PrebidNativeAd nativeAd
+    ) {
+        if (TextUtils.isEmpty(content)) {
             return null;
         }
+
+        final String cacheId = "Prebid_" + UUID.randomUUID().toString();
+        Entry entry = new Entry(cacheId, content, System.currentTimeMillis());
+        entry.nativeAd = nativeAd;
+        entry.expiresAt = entry.savedAt + getExpiryInterval(expSeconds);
+        synchronized (lock) {
+            entries.put(cacheId, entry);
+            expirationQueue.add(entry);
+            totalBytes += entry.bytes;
+            evictToBudget();
+            scheduleSweep();
+        }
+        return cacheId;
     }
 
-    private static long getExpiryInterval(String cacheId) {
-        return expiryIntervalMap.containsKey(cacheId) ? expiryIntervalMap.get(cacheId) : NATIVE_AD_EXPIRY_TIMEOUT;
+    private static long getExpiryInterval(@Nullable Integer expSeconds) {
+        return expSeconds != null && expSeconds > 0 ? expSeconds * 1000L : NATIVE_AD_EXPIRY_TIMEOUT;
     }
 
     public static boolean isValid(String cacheId) {
-        return savedValues.keySet().contains(cacheId);
+        synchronized (lock) {
+            Entry entry = entries.get(cacheId);
+            return entry != null && entry.content != null;
+        }
     }
 
     @VisibleForTesting
     public static void clear() {
-        savedValues.clear();
-        cacheExpiryListenerMap.clear();
-        expiryIntervalMap.clear();
+        synchronized (lock) {
+            entries.clear();
+            expirationQueue.clear();
+            totalBytes = 0;
+            scheduledSweepAt = Long.MAX_VALUE;
+            getScheduler().cancel(sweepTask);
+        }
     }
 
     /**
      * Return cached ad content by cache id.
+     * The content is returned once, the entry stays until expiration to notify its listener.
      */
     @Nullable
     protected static String get(String cacheId) {
-        return savedValues.remove(cacheId);
+        synchronized (lock) {
+            Entry entry = entries.get(cacheId);
+            if (entry == null || entry.content == null) {
+                return null;
+            }
+
+            String content = entry.content;
+            entry.content = null;
+            entry.nativeAd = null;
+            totalBytes -= entry.bytes;
+            return content;
+        }
+    }
+
+    /**
+     * Return the native ad decoded when the content was saved. Like {@link #get(String)},
+     * consumes the content. Returns null and keeps the content if there is no decoded ad.
+     */
+    @Nullable
+    protected static PrebidNativeAd getNativeAd(String cacheId) {
+        synchronized (lock) {
+            Entry entry = entries.get(cacheId);
+            if (entry == null || entry.content == null || entry.nativeAd == null) {
+                return null;
+            }
+
+            PrebidNativeAd nativeAd = entry.nativeAd;
+            entry.nativeAd = null;
+            entry.content = null;
+            totalBytes -= entry.bytes;
+            return nativeAd;
+        }
     }
 
     protected static void registerCacheExpiryListener(String cacheId, CacheExpiryListener expiryListener) {
-        cacheExpiryListenerMap.put(cacheId, expiryListener);
+        synchronized (lock) {
+            Entry entry = entries.get(cacheId);
+            if (entry != null) {
+                entry.listener = expiryListener;
+            }
+        }
     }
 
+    /**
+     * Changes the life time of the saved content, counted from the moment it was saved.
+     */
     public static void setExpiry(String cacheId, long exp) {
-        expiryIntervalMap.put(cacheId, exp * 1000); //converting seconds into ms
+        synchronized (lock) {
+            Entry entry = entries.get(cacheId);
+            if (entry == null) {
+                return;
+            }
+
+            expirationQueue.remove(entry);
+            entry.expiresAt = entry.savedAt + exp * 1000; //converting seconds into ms
+            expirationQueue.add(entry);
+            scheduleSweep();
+        }
+    }
+
+    /**
+     * Removes expired entries and notifies their listeners on the main thread.
+     */
+    @VisibleForTesting
+    static void removeExpired(long now) {
+        List<CacheExpiryListener> expiredListeners = new ArrayList<>();
+        synchronized (lock) {
+            Entry head;
+            while ((head = expirationQueue.peek()) != null && (head.isRemoved || head.expiresAt <= now)) {
+                expirationQueue.poll();
+                if (head.isRemoved) {
+                    continue;
+                }
+
+                entries.remove(head.cacheId);
+                release(head);
+                if (head.listener != null) {
+                    expiredListeners.add(head.listener);
+                }
+            }
+        }
+
+        for (CacheExpiryListener listener : expiredListeners) {
+            TasksManager.getInstance().executeOnMainThread(listener::onCacheExpired);
+        }
+    }
+
+    private static void sweep() {
+        synchronized (lock) {
+            scheduledSweepAt = Long.MAX_VALUE;
+        }
+        removeExpired(System.currentTimeMillis());
+        synchronized (lock) {
+            scheduleSweep();
+        }
+    }
+
+    private static void scheduleSweep() {
+        Entry head = expirationQueue.peek();
+        while (head != null && head.isRemoved) {
+            expirationQueue.poll();
+            head = expirationQueue.peek();
+        }
+        if (head == null || head.expiresAt >= scheduledSweepAt) {
+            return;
+        }
+
+        LaneScheduler scheduler = getScheduler();
+        scheduler.cancel(sweepTask);
+        scheduledSweepAt = head.expiresAt;
+        scheduler.schedule(TaskLane.HOUSEKEEPING, sweepTask, head.expiresAt - System.currentTimeMillis());
+    }
+
+    private static void evictToBudget() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (totalBytes > MAX_CACHE_BYTES && iterator.hasNext()) {
+            Entry eldest = iterator.next();
+            if (eldest.content == null) {
+                continue;
+            }
+
+            LogUtil.debug(TAG, "Cache is full. Removing " + eldest.cacheId);
+            iterator.remove();
+            release(eldest);
+        }
+    }
+
+    private static void release(Entry entry) {
+        entry.isRemoved = true;
+        if (entry.content != null) {
+            totalBytes -= entry.bytes;
+            entry.content = null;
+            entry.nativeAd = null;
+        }
+    }
+
+    private static LaneScheduler getScheduler() {
+        return TasksManager.getInstance().getScheduler();
+    }
+
+    @VisibleForTesting
+    static long getTotalBytes() {
+        synchronized (lock) {
+            return totalBytes;
+        }
     }
 
     interface CacheExpiryListener {
         void onCacheExpired();
     }
+
+    private static class Entry implements Comparable<Entry> {
+
+        private final String cacheId;
+        private final long savedAt;
+        private final long bytes;
+        private String content;
+        @Nullable
+        private PrebidNativeAd nativeAd;
+        private long expiresAt;
+        private CacheExpiryListener listener;
+        private boolean isRemoved;
+
+        private Entry(
+                String cacheId,
+                String content,
+                long savedAt
+        ) {
+            this.cacheId = cacheId;
+            this.content = content;
+            this.savedAt = savedAt;
+            bytes = content.length() * 2L;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            return Long.compare(expiresAt, other.expiresAt);
+        }
+    }
 }
@@ -442,6 +442,42 @@ public class ContentObject {
         this.producerObject = producerObject;
     }
 
+    /**
+     * @return copy that doesn't share lists, data objects or producer with this object.
+     */
+    @NonNull
+    public ContentObject copy() {
+        ContentObject copy = new ContentObject();
+        copy.id = id;
+        copy.episode = episode;
+        copy.title = title;
+        copy.series = series;
+        copy.season = season;
+        copy.artist = artist;
+        copy.genre = genre;
+        copy.album = album;
+        copy.isrc = isrc;
+        copy.url = url;
+        copy.categories = new ArrayList<>(categories);
+        copy.productionQuality = productionQuality;
+        copy.context = context;
+        copy.contentRating = contentRating;
+        copy.userRating = userRating;
+        copy.qaMediaRating = qaMediaRating;
+        copy.keywords = keywords;
+        copy.liveStream = liveStream;
+        copy.sourceRelationship = sourceRelationship;
+        copy.length = length;
+        copy.language = language;
+        copy.embeddable = embeddable;
+        copy.dataObjects = new ArrayList<>(dataObjects.size());
+        for (DataObject dataObject : dataObjects) {
+            copy.dataObjects.add(dataObject != null ? dataObject.copy() : null);
+        }
+        copy.producerObject = producerObject != null ? producerObject.copy() : null;
+        return copy;
+    }
+
     public static class ProducerObject {
 
         /**
@@ -532,6 +568,16 @@ public class ContentObject {
             this.domain = domain;
         }
 
+        @NonNull
+        public ProducerObject copy() {
+            ProducerObject copy = new ProducerObject();
+            copy.id = id;
+            copy.name = name;
+            copy.categories = new ArrayList<>(categories);
+            copy.domain = domain;
+            return copy;
+        }
+
     }
 
 }
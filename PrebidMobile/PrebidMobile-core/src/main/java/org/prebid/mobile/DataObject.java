@@ -93,6 +93,22 @@ public class DataObject {
         this.ext = ext;
     }
 
+    /**
+     * @return copy that doesn't share segments or ext with this object.
+     */
+    @NonNull
+    public DataObject copy() {
+        DataObject copy = new DataObject();
+        copy.id = id;
+        copy.name = name;
+        copy.segments = new ArrayList<>(segments.size());
+        for (SegmentObject segment : segments) {
+            copy.segments.add(segment != null ? segment.copy() : null);
+        }
+        copy.ext = ext != null ? ext.copy() : null;
+        return copy;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -175,6 +191,15 @@ public class DataObject {
             this.value = value;
         }
 
+        @NonNull
+        public SegmentObject copy() {
+            SegmentObject copy = new SegmentObject();
+            copy.id = id;
+            copy.name = name;
+            copy.value = value;
+            return copy;
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
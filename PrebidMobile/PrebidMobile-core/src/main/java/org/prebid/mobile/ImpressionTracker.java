@@ -67,8 +67,6 @@ class ImpressionTracker {
                     }
                 };
                 asyncTask.execute();
-                visibilityDetector.removeVisibilityListener(listener);
-                listener = null;
             } else {
                 nm.addURL(url, context, new ImpressionTrackerListener() {
                     @Override
@@ -79,6 +77,9 @@ class ImpressionTracker {
                     }
                 });
             }
+            // The impression is fired, so the view doesn't need to be polled for it anymore.
+            visibilityDetector.removeVisibilityListener(listener);
+            listener = null;
             fired = true;
         }
     }
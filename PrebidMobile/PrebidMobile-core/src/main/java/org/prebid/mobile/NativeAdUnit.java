@@ -38,8 +38,11 @@ public class NativeAdUnit extends AdUnit {
                 HashMap<String, String> keywords = response.getTargeting();
                 Util.apply(keywords, adObject);
 
-                String cacheId = CacheManager.save(response.getWinningBidJson());
-                Util.saveCacheId(cacheId, adObject);
+                // Without an ad object (fetchDemand(OnFetchDemandResult)) the bid is cached by BidInfo.
+                if (adObject != null) {
+                    String cacheId = CacheManager.save(response.getWinningBidJson(), response.getExpirationTimeSeconds(), response.takeNativeAd());
+                    Util.saveCacheId(cacheId, adObject);
+                }
 
                 originalListener.onComplete(ResultCode.SUCCESS);
             }
@@ -34,8 +34,11 @@ import org.prebid.mobile.core.BuildConfig;
 import org.prebid.mobile.rendering.listeners.SdkInitializationListener;
 import org.prebid.mobile.rendering.mraid.MraidEnv;
 import org.prebid.mobile.rendering.sdk.InitializationNotifier;
+import org.prebid.mobile.rendering.sdk.InitializationTrace;
 import org.prebid.mobile.rendering.sdk.PrebidContextHolder;
 import org.prebid.mobile.rendering.sdk.SdkInitializer;
+import org.prebid.mobile.tasksmanager.TaskLane;
+import org.prebid.mobile.tasksmanager.TasksManager;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -114,6 +117,12 @@ public class PrebidMobile {
      */
     private static boolean useCacheForReportingWithRenderingApi = false;
 
+    /**
+     * If true, rendering API videos are streamed through a shared player cache and playback starts
+     * once the beginning of the file is buffered, instead of after the whole file is downloaded.
+     */
+    private static boolean useVideoStreaming = false;
+
     private static int timeoutMillis = 2_000;
 
     private static final String TAG = PrebidMobile.class.getSimpleName();
@@ -149,6 +158,14 @@ public class PrebidMobile {
         PrebidMobile.useCacheForReportingWithRenderingApi = useCacheForReportingWithRenderingApi;
     }
 
+    public static boolean isUseVideoStreaming() {
+        return useVideoStreaming;
+    }
+
+    public static void setUseVideoStreaming(boolean useVideoStreaming) {
+        PrebidMobile.useVideoStreaming = useVideoStreaming;
+    }
+
     public static int getTimeoutMillis() {
         return timeoutMillis;
     }
@@ -246,6 +263,17 @@ public class PrebidMobile {
         @Nullable SdkInitializationListener listener
     ) {
         SdkInitializer.init(context, listener);
+        if (PrebidContextHolder.getContext() != null) {
+            TasksManager.getInstance().executeOnLane(TaskLane.HOUSEKEEPING, StorageUtils::loadExternalUserIds);
+        }
+    }
+
+    /**
+     * @return durations of the initialization stages or null if the SDK initialization wasn't started.
+     */
+    @Nullable
+    public static InitializationTrace getInitializationTrace() {
+        return SdkInitializer.getInitializationTrace();
     }
 
     @Deprecated
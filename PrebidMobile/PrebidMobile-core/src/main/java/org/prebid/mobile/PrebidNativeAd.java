@@ -40,6 +40,7 @@ import java.util.List;
 public class PrebidNativeAd {
 
     private static final String TAG = "PrebidNativeAd";
+    private static final String AUCTION_PRICE_MACRO = "{AUCTION_PRICE}";
 
     private boolean impressionIsNotNotified = true;
 
@@ -62,15 +63,32 @@ public class PrebidNativeAd {
 
 
     public static PrebidNativeAd create(String cacheId) {
-        String content = CacheManager.get(cacheId);
-        if (!TextUtils.isEmpty(content)) {
+        PrebidNativeAd ad = CacheManager.getNativeAd(cacheId);
+        if (ad == null) {
+            ad = fromBidJson(CacheManager.get(cacheId));
+        }
+        if (ad != null) {
+            CacheManager.registerCacheExpiryListener(cacheId, new CacheExpireListenerImpl(ad));
+        }
+        return ad;
+    }
+
+    /**
+     * Decodes the native ad from the bid JSON. Auction price macros in the urls are resolved here,
+     * so it is done once per bid. Called during the bid response parsing in the background.
+     *
+     * @return parsed ad or null if the bid doesn't contain a native ad.
+     */
+    @Nullable
+    public static PrebidNativeAd fromBidJson(@Nullable String bidJson) {
+        if (!TextUtils.isEmpty(bidJson)) {
             try {
-                JSONObject details = new JSONObject(content);
+                JSONObject details = new JSONObject(bidJson);
                 String admStr = details.getString("adm");
                 JSONObject adm = new JSONObject(admStr);
                 JSONArray asset = adm.getJSONArray("assets");
+                String price = details.has("price") ? details.getString("price") : null;
                 final PrebidNativeAd ad = new PrebidNativeAd();
-                CacheManager.registerCacheExpiryListener(cacheId, new CacheExpireListenerImpl(ad));
                 for (int i = 0; i < asset.length(); i++) {
                     JSONObject adObject = asset.getJSONObject(i);
                     if (adObject.has("title")) {
@@ -117,11 +135,7 @@ public class PrebidNativeAd {
                 if (adm.has("link")) {
                     JSONObject link = adm.getJSONObject("link");
                     if (link.has("url")) {
-                        String url = link.getString("url");
-                        if (url.contains("{AUCTION_PRICE}") && details.has("price")) {
-                            url = url.replace("{AUCTION_PRICE}", details.getString("price"));
-                        }
-                        ad.setClickUrl(url);
+                        ad.setClickUrl(resolveAuctionPrice(link.getString("url"), price));
                     }
 
                     if (link.has("clicktrackers")) {
@@ -129,11 +143,7 @@ public class PrebidNativeAd {
                         if (clicktrackers.length() > 0) {
                             ad.click_trackers = new ArrayList<>();
                             for (int count = 0; count < clicktrackers.length(); count++) {
-                                String clickTrackerUrl = clicktrackers.getString(count);
-                                if (clickTrackerUrl.contains("{AUCTION_PRICE}") && details.has("price")) {
-                                    clickTrackerUrl = clickTrackerUrl.replace("{AUCTION_PRICE}", details.getString("price"));
-                                }
-                                ad.click_trackers.add(clickTrackerUrl);
+                                ad.click_trackers.add(resolveAuctionPrice(clicktrackers.getString(count), price));
                             }
                         }
                     }
@@ -146,11 +156,7 @@ public class PrebidNativeAd {
                         for (int count = 0; count < eventtrackers.length(); count++) {
                             JSONObject eventtracker = eventtrackers.getJSONObject(count);
                             if (eventtracker.has("url")) {
-                                String impUrl = eventtracker.getString("url");
-                                if (impUrl.contains("{AUCTION_PRICE}") && details.has("price")) {
-                                    impUrl = impUrl.replace("{AUCTION_PRICE}", details.getString("price"));
-                                }
-                                ad.imp_trackers.add(impUrl);
+                                ad.imp_trackers.add(resolveAuctionPrice(eventtracker.getString("url"), price));
                             }
                         }
                     }
@@ -158,12 +164,22 @@ public class PrebidNativeAd {
                 parseEvents(details, ad);
                 return ad;
             } catch (JSONException e) {
-                e.printStackTrace();
+                LogUtil.warning(TAG, "Bid doesn't contain a native ad: " + e.getMessage());
             }
         }
         return null;
     }
 
+    private static String resolveAuctionPrice(
+            String url,
+            @Nullable String price
+    ) {
+        if (price == null) {
+            return url;
+        }
+        return url.replace(AUCTION_PRICE_MACRO, price);
+    }
+
     private static void parseEvents(
             JSONObject bidJson,
             PrebidNativeAd ad
@@ -20,13 +20,28 @@ import android.content.Context;
 import android.content.SharedPreferences;
 import android.preference.PreferenceManager;
 import android.text.TextUtils;
+
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.prebid.mobile.tasksmanager.TaskLane;
+import org.prebid.mobile.tasksmanager.TasksManager;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 
 /**
  * Class for external user ids management.
+ * <p>
+ * The stored ids are read from the SharedPreferences once and kept in memory as an immutable
+ * snapshot, which is replaced on every change. Bid requests use the {@code eids} JSON prepared with
+ * the snapshot. Changes are written to the SharedPreferences on the housekeeping lane, several
+ * changes in a row are written once.
  */
 final class StorageUtils {
 
@@ -34,97 +49,155 @@ final class StorageUtils {
 
     static final String PB_ExternalUserIdsKey = "PB_ExternalUserIdsKey";
 
+    private static final Object lock = new Object();
+    @Nullable
+    private static volatile Snapshot snapshot;
+    private static boolean isFlushScheduled;
+
     private StorageUtils() {}
 
+    /**
+     * Reads the stored ids into memory, so the first bid request doesn't do it.
+     */
+    static void loadExternalUserIds() {
+        getSnapshot();
+    }
+
     static void storeExternalUserId(ExternalUserId externalUserId) {
-        // Remove the existing ExternalUserId with same source.
-        removeStoredExternalUserId(externalUserId.getSource());
+        synchronized (lock) {
+            Snapshot current = getSnapshot();
+            if (current == null) return;
+
+            // The id with the same source is replaced.
+            LinkedHashMap<String, ExternalUserId> ids = new LinkedHashMap<>(current.ids);
+            ids.remove(externalUserId.getSource());
+            ids.put(externalUserId.getSource(), copy(externalUserId));
+            update(new Snapshot(ids));
+        }
+    }
 
-        // Storing the ExternalUserId
-        SharedPreferences pref = getSharedPreferences();
-        if (pref == null) return;
+    static List<ExternalUserId> fetchStoredExternalUserIds() {
+        Snapshot current = getSnapshot();
+        if (current == null || current.ids.isEmpty()) return null;
 
-        String externalUserIdString = pref.getString(PB_ExternalUserIdsKey, null);
-        List<ExternalUserId> externalUidListFromJson;
-        if (!TextUtils.isEmpty(externalUserIdString)) {
-            externalUidListFromJson = ExternalUserId.getExternalUidListFromJson(externalUserIdString);
-        } else {
-            externalUidListFromJson = new ArrayList<>();
+        List<ExternalUserId> result = new ArrayList<>(current.ids.size());
+        for (ExternalUserId externalUserId : current.ids.values()) {
+            result.add(copy(externalUserId));
         }
-        externalUidListFromJson.add(externalUserId);
-        SharedPreferences.Editor editor = pref.edit();
-        if (externalUserId != null) {
-            editor.putString(StorageUtils.PB_ExternalUserIdsKey, externalUidListFromJson.toString());
+        return result;
+    }
+
+    static ExternalUserId fetchStoredExternalUserId(String source) {
+        Snapshot current = getSnapshot();
+        if (current == null) return null;
+
+        ExternalUserId externalUserId = current.ids.get(source);
+        return externalUserId != null ? copy(externalUserId) : null;
+    }
+
+    /**
+     * @return {@code eids} array for the bid request or null if there are no ids.
+     * The array is shared between requests and must not be modified.
+     */
+    @Nullable
+    static JSONArray getExternalUserIdsJson() {
+        Snapshot current = getSnapshot();
+        return current != null ? current.eidsJson : null;
+    }
+
+    static void removeStoredExternalUserId(String source) {
+        synchronized (lock) {
+            Snapshot current = getSnapshot();
+            if (current == null || !current.ids.containsKey(source)) return;
+
+            LinkedHashMap<String, ExternalUserId> ids = new LinkedHashMap<>(current.ids);
+            ids.remove(source);
+            update(new Snapshot(ids));
         }
-        editor.apply();
     }
 
-    static List<ExternalUserId> fetchStoredExternalUserIds() {
-        SharedPreferences pref = getSharedPreferences();
-        if (pref == null) return null;
+    static void clearStoredExternalUserIds() {
+        synchronized (lock) {
+            Snapshot current = getSnapshot();
+            if (current == null || current.ids.isEmpty()) return;
 
-        String externalUserIds = pref.getString(StorageUtils.PB_ExternalUserIdsKey, null);
-        if (externalUserIds != null) {
-            return ExternalUserId.getExternalUidListFromJson(externalUserIds);
+            update(new Snapshot(new LinkedHashMap<>()));
         }
-        return null;
     }
 
-    static ExternalUserId fetchStoredExternalUserId(String source) {
-        SharedPreferences pref = getSharedPreferences();
-        if (pref == null) return null;
+    @VisibleForTesting
+    static void resetSnapshot() {
+        synchronized (lock) {
+            snapshot = null;
+        }
+    }
 
-        String externalUserIds = pref.getString(StorageUtils.PB_ExternalUserIdsKey, null);
-        if (!TextUtils.isEmpty(externalUserIds)) {
-            List<ExternalUserId> externalUidListFromJson = ExternalUserId.getExternalUidListFromJson(externalUserIds);
-            for (ExternalUserId externalUserId : externalUidListFromJson) {
-                if (externalUserId.getSource().equals(source)) {
-                    return externalUserId;
-                }
+    @Nullable
+    private static Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+
+        synchronized (lock) {
+            if (snapshot == null) {
+                SharedPreferences pref = getSharedPreferences();
+                if (pref == null) return null;
+
+                snapshot = readSnapshot(pref);
             }
+            return snapshot;
         }
-        return null;
     }
 
-    static void removeStoredExternalUserId(String source) {
-        SharedPreferences pref = getSharedPreferences();
-        if (pref == null) return;
-
-        String externalUserIds = pref.getString(StorageUtils.PB_ExternalUserIdsKey, null);
+    private static Snapshot readSnapshot(SharedPreferences pref) {
+        LinkedHashMap<String, ExternalUserId> ids = new LinkedHashMap<>();
+        String externalUserIds = pref.getString(PB_ExternalUserIdsKey, null);
         if (!TextUtils.isEmpty(externalUserIds)) {
-            List<ExternalUserId> externalUidListFromJson = ExternalUserId.getExternalUidListFromJson(externalUserIds);
-            ExternalUserId toBeRemoved = null;
-            for (ExternalUserId externalUserId : externalUidListFromJson) {
-                if (externalUserId.getSource().equals(source)) {
-                    toBeRemoved = externalUserId;
-                    break;
-                }
+            for (ExternalUserId externalUserId : ExternalUserId.getExternalUidListFromJson(externalUserIds)) {
+                ids.put(externalUserId.getSource(), copy(externalUserId));
             }
+        }
+        return new Snapshot(ids);
+    }
 
-            if (toBeRemoved != null) {
-                externalUidListFromJson.remove(toBeRemoved);
-                if (externalUidListFromJson.isEmpty()) {
-                    clearStoredExternalUserIds();
-                } else {
-                    SharedPreferences.Editor editor = pref.edit();
-                    editor.putString(StorageUtils.PB_ExternalUserIdsKey, externalUidListFromJson.toString());
-                    editor.apply();
-                }
+    private static void update(Snapshot newSnapshot) {
+        snapshot = newSnapshot;
+        if (!isFlushScheduled) {
+            isFlushScheduled = TasksManager.getInstance().executeOnLane(TaskLane.HOUSEKEEPING, StorageUtils::flush);
+            if (!isFlushScheduled) {
+                flush();
             }
         }
     }
 
-    static void clearStoredExternalUserIds() {
-        if (fetchStoredExternalUserIds() != null) {
-            SharedPreferences pref = getSharedPreferences();
-            if (pref == null) return;
+    private static void flush() {
+        Snapshot current;
+        synchronized (lock) {
+            isFlushScheduled = false;
+            current = snapshot;
+        }
 
-            SharedPreferences.Editor editor = pref.edit();
-            editor.remove(StorageUtils.PB_ExternalUserIdsKey);
-            editor.apply();
+        SharedPreferences pref = getSharedPreferences();
+        if (current == null || pref == null) return;
+
+        SharedPreferences.Editor editor = pref.edit();
+        if (current.ids.isEmpty()) {
+            editor.remove(PB_ExternalUserIdsKey);
+        } else {
+            editor.putString(PB_ExternalUserIdsKey, current.ids.values().toString());
         }
+        editor.apply();
     }
 
+    private static ExternalUserId copy(ExternalUserId externalUserId) {
+        return new ExternalUserId(
+                externalUserId.getSource(),
+                externalUserId.getIdentifier(),
+                externalUserId.getAtype(),
+                externalUserId.getExt() != null ? new HashMap<>(externalUserId.getExt()) : null
+        );
+    }
 
     @Nullable
     private static SharedPreferences getSharedPreferences() {
@@ -138,4 +211,28 @@ final class StorageUtils {
         return PreferenceManager.getDefaultSharedPreferences(context);
     }
 
+    private static class Snapshot {
+
+        private final LinkedHashMap<String, ExternalUserId> ids;
+        @Nullable
+        private final JSONArray eidsJson;
+
+        private Snapshot(@NonNull LinkedHashMap<String, ExternalUserId> ids) {
+            this.ids = ids;
+            this.eidsJson = createEidsJson(ids.values());
+        }
+
+        @Nullable
+        private static JSONArray createEidsJson(Iterable<ExternalUserId> ids) {
+            JSONArray idsJson = new JSONArray();
+            for (ExternalUserId id : ids) {
+                JSONObject json = id.getJson();
+                if (json != null) {
+                    idsJson.put(json);
+                }
+            }
+            return idsJson.length() > 0 ? idsJson : null;
+        }
+    }
+
 }
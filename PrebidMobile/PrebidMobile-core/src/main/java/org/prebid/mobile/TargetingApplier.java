@@ -0,0 +1,41 @@
+/*
+ *    Copyright 2018-2019 Prebid.org, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.prebid.mobile;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Map;
+
+/**
+ * Applies bid targeting to the ad object of a primary ad server, e.g. an ad request.
+ * Implementations are registered per ad object class in {@link TargetingAppliers}.
+ */
+public interface TargetingApplier {
+
+    /**
+     * Replaces the targeting previously applied by Prebid with the new one.
+     *
+     * @param targeting keywords of the winning bid or {@code null} if there is no bid
+     */
+    void applyTargeting(@Nullable Map<String, String> targeting, @NonNull Object adObject);
+
+    /**
+     * Saves the cache id of the native ad so it can be found by the ad server creative.
+     */
+    void applyCacheId(@Nullable String cacheId, @NonNull Object adObject);
+}
@@ -0,0 +1,281 @@
+/*
+ *    Copyright 2018-2019 Prebid.org, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.prebid.mobile;
+
+import android.os.Bundle;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of {@link TargetingApplier}s keyed by the exact class of the ad object.
+ * <p>
+ * Ad server classes that the SDK doesn't depend on (GAM requests, AppLovin MAX native ad loader)
+ * are recognized by name the first time an object of the class is seen. Their methods are looked up
+ * once and kept in the applier, so applying targeting doesn't search methods by name on every auction.
+ * Ad server modules can register their own appliers that call the ad server API directly.
+ */
+public final class TargetingAppliers {
+
+    private static final String TAG = TargetingAppliers.class.getSimpleName();
+
+    private static final String GAM_CACHE_ID_KEY = "hb_cache_id_local";
+
+    private static final TargetingApplier NOT_SUPPORTED = new TargetingApplier() {
+        @Override
+        public void applyTargeting(@Nullable Map<String, String> targeting, @NonNull Object adObject) {}
+
+        @Override
+        public void applyCacheId(@Nullable String cacheId, @NonNull Object adObject) {}
+    };
+
+    private static final ConcurrentHashMap<Class<?>, TargetingApplier> appliers = new ConcurrentHashMap<>();
+    // Keys applied to GAM requests, they are removed before the next auction results are applied.
+    private static final HashSet<String> reservedKeys = new HashSet<>();
+
+    static {
+        registerDefaults();
+    }
+
+    private TargetingAppliers() {
+    }
+
+    /**
+     * Registers the applier for ad objects of exactly the given class, replacing the built-in one.
+     */
+    public static void register(
+            @NonNull Class<?> adObjectClass,
+            @NonNull TargetingApplier applier
+    ) {
+        appliers.put(adObjectClass, applier);
+    }
+
+    /**
+     * @return applier for the ad object class or {@code null} if the class is not supported.
+     */
+    @Nullable
+    static TargetingApplier find(@NonNull Class<?> adObjectClass) {
+        TargetingApplier applier = appliers.get(adObjectClass);
+        if (applier == null) {
+            applier = createReflectiveApplier(adObjectClass);
+            TargetingApplier previous = appliers.putIfAbsent(adObjectClass, applier);
+            if (previous != null) {
+                applier = previous;
+            }
+        }
+        return applier != NOT_SUPPORTED ? applier : null;
+    }
+
+    @VisibleForTesting
+    static void reset() {
+        appliers.clear();
+        registerDefaults();
+        synchronized (reservedKeys) {
+            reservedKeys.clear();
+        }
+    }
+
+    private static void registerDefaults() {
+        appliers.put(Bundle.class, new BundleApplier());
+        appliers.put(HashMap.class, new MapApplier());
+    }
+
+    @NonNull
+    private static TargetingApplier createReflectiveApplier(Class<?> adObjectClass) {
+        String className = adObjectClass.getName();
+        try {
+            switch (className) {
+                case Util.AD_MANAGER_REQUEST_CLASS:
+                case Util.AD_MANAGER_REQUEST_CLASS_V20:
+                    return new AdManagerRequestApplier(adObjectClass);
+                case Util.AD_MANAGER_REQUEST_BUILDER_CLASS:
+                case Util.AD_MANAGER_REQUEST_BUILDER_CLASS_V20:
+                    return new AdManagerRequestBuilderApplier(adObjectClass);
+                case Util.APPLOVIN_MAX_NATIVE_AD_LOADER:
+                    return new MaxNativeAdLoaderApplier(adObjectClass);
+                default:
+                    return NOT_SUPPORTED;
+            }
+        } catch (NoSuchMethodException exception) {
+            LogUtil.error(TAG, "Unsupported version of " + className + ": " + exception.getMessage());
+            return NOT_SUPPORTED;
+        }
+    }
+
+    private static void removeReservedKeys(@Nullable Bundle customTargeting) {
+        if (customTargeting == null) {
+            return;
+        }
+        synchronized (reservedKeys) {
+            for (String key : reservedKeys) {
+                customTargeting.remove(key);
+            }
+        }
+    }
+
+    private static void addReservedKeys(Collection<String> keys) {
+        synchronized (reservedKeys) {
+            reservedKeys.addAll(keys);
+        }
+    }
+
+    @Nullable
+    private static Object invoke(
+            Method method,
+            Object object,
+            Object... params
+    ) {
+        try {
+            return method.invoke(object, params);
+        } catch (Exception exception) {
+            LogUtil.error(TAG, "Can't call method: " + method.getName() + "() on object " + object.getClass());
+        }
+        return null;
+    }
+
+    private static class BundleApplier implements TargetingApplier {
+
+        @Override
+        public void applyTargeting(@Nullable Map<String, String> targeting, @NonNull Object adObject) {
+            Bundle adBundle = (Bundle) adObject;
+            if (targeting != null) {
+                for (Map.Entry<String, String> entry : targeting.entrySet()) {
+                    adBundle.putString(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+
+        @Override
+        public void applyCacheId(@Nullable String cacheId, @NonNull Object adObject) {
+            ((Bundle) adObject).putString(NativeAdUnit.BUNDLE_KEY_CACHE_ID, cacheId);
+        }
+    }
+
+    private static class MapApplier implements TargetingApplier {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void applyTargeting(@Nullable Map<String, String> targeting, @NonNull Object adObject) {
+            if (targeting != null && !targeting.isEmpty()) {
+                Map<String, String> map = (Map<String, String>) adObject;
+                map.clear();
+                map.putAll(targeting);
+            }
+        }
+
+        @Override
+        public void applyCacheId(@Nullable String cacheId, @NonNull Object adObject) {}
+    }
+
+    private static class AdManagerRequestApplier implements TargetingApplier {
+
+        private final Method getCustomTargeting;
+
+        private AdManagerRequestApplier(Class<?> requestClass) throws NoSuchMethodException {
+            getCustomTargeting = requestClass.getMethod("getCustomTargeting");
+        }
+
+        @Override
+        public void applyTargeting(@Nullable Map<String, String> targeting, @NonNull Object adObject) {
+            Bundle customTargeting = (Bundle) invoke(getCustomTargeting, adObject);
+            if (customTargeting == null) {
+                return;
+            }
+
+            removeReservedKeys(customTargeting);
+            if (targeting != null && !targeting.isEmpty()) {
+                for (Map.Entry<String, String> entry : targeting.entrySet()) {
+                    customTargeting.putString(entry.getKey(), entry.getValue());
+                }
+                addReservedKeys(targeting.keySet());
+            }
+        }
+
+        @Override
+        public void applyCacheId(@Nullable String cacheId, @NonNull Object adObject) {
+            if (cacheId == null) {
+                return;
+            }
+            Bundle customTargeting = (Bundle) invoke(getCustomTargeting, adObject);
+            if (customTargeting != null) {
+                customTargeting.putString(GAM_CACHE_ID_KEY, cacheId);
+                synchronized (reservedKeys) {
+                    reservedKeys.add(GAM_CACHE_ID_KEY);
+                }
+            }
+        }
+    }
+
+    private static class AdManagerRequestBuilderApplier implements TargetingApplier {
+
+        private final Method build;
+        private final Method getCustomTargeting;
+        private final Method addCustomTargeting;
+
+        private AdManagerRequestBuilderApplier(Class<?> builderClass) throws NoSuchMethodException {
+            build = builderClass.getMethod("build");
+            getCustomTargeting = build.getReturnType().getMethod("getCustomTargeting");
+            addCustomTargeting = builderClass.getMethod("addCustomTargeting", String.class, String.class);
+        }
+
+        @Override
+        public void applyTargeting(@Nullable Map<String, String> targeting, @NonNull Object adObject) {
+            // The request shares the targeting bundle with its builder.
+            Object request = invoke(build, adObject);
+            if (request != null) {
+                removeReservedKeys((Bundle) invoke(getCustomTargeting, request));
+            }
+
+            if (targeting != null && !targeting.isEmpty()) {
+                for (Map.Entry<String, String> entry : targeting.entrySet()) {
+                    invoke(addCustomTargeting, adObject, entry.getKey(), entry.getValue());
+                }
+                addReservedKeys(targeting.keySet());
+            }
+        }
+
+        @Override
+        public void applyCacheId(@Nullable String cacheId, @NonNull Object adObject) {}
+    }
+
+    private static class MaxNativeAdLoaderApplier implements TargetingApplier {
+
+        private final Method setLocalExtraParameter;
+
+        private MaxNativeAdLoaderApplier(Class<?> loaderClass) throws NoSuchMethodException {
+            setLocalExtraParameter = loaderClass.getMethod("setLocalExtraParameter", String.class, Object.class);
+        }
+
+        @Override
+        public void applyTargeting(@Nullable Map<String, String> targeting, @NonNull Object adObject) {
+            invoke(setLocalExtraParameter, adObject, Util.APPLOVIN_MAX_KEYWORDS_KEY, targeting);
+        }
+
+        @Override
+        public void applyCacheId(@Nullable String cacheId, @NonNull Object adObject) {
+            invoke(setLocalExtraParameter, adObject, Util.APPLOVIN_MAX_RESPONSE_ID_KEY, cacheId);
+        }
+    }
+}
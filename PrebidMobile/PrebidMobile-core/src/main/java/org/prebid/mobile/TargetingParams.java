@@ -22,6 +22,7 @@ import android.util.Pair;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
 
 import org.json.JSONArray;
 import org.prebid.mobile.rendering.listeners.SdkInitializationListener;
@@ -375,6 +376,17 @@ public class TargetingParams {
         StorageUtils.clearStoredExternalUserIds();
     }
 
+    /**
+     * Returns the stored External User Ids prepared for the bid request {@code user.ext.eids}
+     * or null if there are no ids. For the SDK internal use only, the array is shared
+     * between requests and must not be modified.
+     */
+    @Nullable
+    @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+    public static JSONArray getExternalUserIdsJson() {
+        return StorageUtils.getExternalUserIdsJson();
+    }
+
     /* -------------------- Context and application data -------------------- */
 
     /**
@@ -16,7 +16,6 @@
 
 package org.prebid.mobile;
 
-import android.os.Bundle;
 import android.text.TextUtils;
 
 import androidx.annotation.CheckResult;
@@ -46,7 +45,6 @@ public class Util {
     static final String AD_MANAGER_REQUEST_BUILDER_CLASS = "com.google.android.gms.ads.doubleclick.PublisherAdRequest$Builder";
     static final String AD_MANAGER_REQUEST_BUILDER_CLASS_V20 = "com.google.android.gms.ads.admanager.AdManagerAdRequest$Builder";
     static final String APPLOVIN_MAX_NATIVE_AD_LOADER = "com.applovin.mediation.nativeAds.MaxNativeAdLoader";
-    static final String ANDROID_OS_BUNDLE = "android.os.Bundle";
 
     public static final String APPLOVIN_MAX_RESPONSE_ID_KEY = "PrebidMaxMediationAdapterExtraResponseId";
     public static final String APPLOVIN_MAX_KEYWORDS_KEY = "PrebidMaxMediationAdapterExtraKeywordsId";
@@ -55,11 +53,6 @@ public class Util {
     public static final int HTTP_SOCKET_TIMEOUT = 20000;
     public static final int NATIVE_AD_VISIBLE_PERIOD_MILLIS = 1000;
     private static final Random RANDOM = new Random();
-    private static final HashSet<String> reservedKeys;
-
-    static {
-        reservedKeys = new HashSet<>();
-    }
 
     private Util() {
 
@@ -323,34 +316,14 @@ public class Util {
     }
 
     static boolean supportedAdObject(Object adObj) {
-        if (adObj == null) return false;
-        if (adObj.getClass() == getClassFromString(AD_MANAGER_REQUEST_CLASS)
-                || adObj.getClass() == getClassFromString(AD_MANAGER_REQUEST_CLASS_V20)
-                || adObj.getClass() == getClassFromString(AD_MANAGER_REQUEST_BUILDER_CLASS)
-                || adObj.getClass() == getClassFromString(AD_MANAGER_REQUEST_BUILDER_CLASS_V20)
-                || adObj.getClass() == getClassFromString(ANDROID_OS_BUNDLE)
-                || adObj.getClass() == getClassFromString(APPLOVIN_MAX_NATIVE_AD_LOADER)
-                || adObj.getClass() == HashMap.class)
-            return true;
-        return false;
+        return adObj != null && TargetingAppliers.find(adObj.getClass()) != null;
     }
 
     public static void apply(HashMap<String, String> bids, Object adObj) {
         if (adObj == null) return;
-        if (adObj.getClass() == getClassFromString(AD_MANAGER_REQUEST_CLASS) || adObj.getClass() == getClassFromString(AD_MANAGER_REQUEST_CLASS_V20)) {
-            handleAdManagerCustomTargeting(bids, adObj);
-        } else if (adObj.getClass() == getClassFromString(AD_MANAGER_REQUEST_BUILDER_CLASS) || adObj.getClass() == getClassFromString(AD_MANAGER_REQUEST_BUILDER_CLASS_V20)) {
-            handleAdManagerBuilderCustomTargeting(bids, adObj);
-        } else if (adObj.getClass() == getClassFromString(ANDROID_OS_BUNDLE)) {
-            handleAndroidBundleCustomTargeting(bids, adObj);
-        } else if (adObj.getClass() == getClassFromString(APPLOVIN_MAX_NATIVE_AD_LOADER)) {
-            handleApplovinMaxCustomTargeting(adObj, bids);
-        } else if (adObj.getClass() == HashMap.class) {
-            if (bids != null && !bids.isEmpty()) {
-                HashMap map = ((HashMap) adObj);
-                map.clear();
-                map.putAll(bids);
-            }
+        TargetingApplier applier = TargetingAppliers.find(adObj.getClass());
+        if (applier != null) {
+            applier.applyTargeting(bids, adObj);
         }
     }
 
@@ -359,116 +332,9 @@ public class Util {
             Object adObject
     ) {
         if (adObject == null) return;
-        if (adObject.getClass() == getClassFromString(AD_MANAGER_REQUEST_CLASS) || adObject.getClass() == getClassFromString(AD_MANAGER_REQUEST_CLASS_V20)) {
-            setCacheIdToGamManager(cacheId, adObject);
-        } else if (adObject.getClass() == getClassFromString(ANDROID_OS_BUNDLE)) {
-            Bundle adBundle = (Bundle) adObject;
-            adBundle.putString(NativeAdUnit.BUNDLE_KEY_CACHE_ID, cacheId);
-        } else if (adObject.getClass() == getClassFromString(APPLOVIN_MAX_NATIVE_AD_LOADER)) {
-            setApplovinMaxLocalParameters(adObject, cacheId);
-        }
-    }
-
-    private static void setCacheIdToGamManager(
-        String cacheId,
-        Object object
-    ) {
-        if (cacheId == null) {
-            return;
-        }
-        try {
-            Bundle bundle = (Bundle) Util.callMethodOnObject(object, "getCustomTargeting");
-            if (bundle != null) {
-                String key = "hb_cache_id_local";
-                bundle.putString(key, cacheId);
-                addReservedKeys(key);
-            }
-        } catch (Exception ignored) {}
-    }
-
-    private static void setApplovinMaxLocalParameters(
-        Object adObject,
-        String cacheId
-    ) {
-        setLocalParamsToMax(adObject, APPLOVIN_MAX_RESPONSE_ID_KEY, cacheId);
-    }
-
-    private static void handleApplovinMaxCustomTargeting(
-        Object adObject,
-            HashMap<String, String> bids
-    ) {
-        setLocalParamsToMax(adObject, APPLOVIN_MAX_KEYWORDS_KEY, bids);
-    }
-
-    private static void setLocalParamsToMax(
-            Object adObject,
-            String key,
-            Object value
-    ) {
-        String methodName = "setLocalExtraParameter";
-        try {
-            Class<?>[] classes = new Class[2];
-            classes[0] = String.class;
-            classes[1] = Object.class;
-
-            Method method = adObject.getClass().getMethod(methodName, classes);
-            method.invoke(adObject, key, value);
-        } catch (Exception exception) {
-            LogUtil.error("Util", "Can't call method: " + methodName + "() on object " + adObject.getClass());
-        }
-    }
-
-    static void handleAndroidBundleCustomTargeting(
-            @Nullable HashMap<String, String> bids,
-            Object adObject
-    ) {
-        Bundle adBundle = (Bundle) adObject;
-        if (bids != null) {
-            for (Map.Entry<String, String> entry : bids.entrySet()) {
-                adBundle.putString(entry.getKey(), entry.getValue());
-            }
-        }
-    }
-
-
-    private static void handleAdManagerCustomTargeting(HashMap<String, String> bids, Object publisherAdRequest) {
-        removeUsedCustomTargetingForDFP(publisherAdRequest);
-        if (bids != null && !bids.isEmpty()) {
-            Bundle bundle = (Bundle) Util.callMethodOnObject(publisherAdRequest, "getCustomTargeting");
-            if (bundle != null) {
-                for (String key : bids.keySet()) {
-                    bundle.putString(key, bids.get(key));
-                    addReservedKeys(key);
-                }
-            }
-        }
-    }
-
-    private static void handleAdManagerBuilderCustomTargeting(HashMap<String, String> bids, Object publisherAdRequestBuilder) {
-        Object publisherAdRequest = Util.callMethodOnObject(publisherAdRequestBuilder, "build");
-        removeUsedCustomTargetingForDFP(publisherAdRequest);
-
-        if (bids != null && !bids.isEmpty()) {
-            for (String key : bids.keySet()) {
-                Util.callMethodOnObject(publisherAdRequestBuilder, "addCustomTargeting", key, bids.get(key));
-                addReservedKeys(key);
-            }
-        }
-    }
-
-    private static void addReservedKeys(String key) {
-        synchronized (reservedKeys) {
-            reservedKeys.add(key);
-        }
-    }
-
-
-    private static void removeUsedCustomTargetingForDFP(Object publisherAdRequest) {
-        Bundle bundle = (Bundle) Util.callMethodOnObject(publisherAdRequest, "getCustomTargeting");
-        if (bundle != null && reservedKeys != null) {
-            for (String key : reservedKeys) {
-                bundle.remove(key);
-            }
+        TargetingApplier applier = TargetingAppliers.find(adObject.getClass());
+        if (applier != null) {
+            applier.applyCacheId(cacheId, adObject);
         }
     }
 
@@ -16,24 +16,25 @@
 
 package org.prebid.mobile;
 
-import android.graphics.Rect;
-import android.os.Handler;
-import android.os.Looper;
 import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.VisibleForTesting;
+
+import org.prebid.mobile.rendering.utils.exposure.ViewExposure;
+import org.prebid.mobile.rendering.utils.exposure.ViewExposureChecker;
 
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 
 class VisibilityDetector {
     static final long VISIBILITY_THROTTLE_MILLIS = 250;
-    private boolean scheduled = false;
     private WeakReference<View> viewReference;
     private ArrayList<VisibilityListener> listeners;
-    private Runnable visibilityCheck;
-    private ScheduledExecutorService tasker;
+    // Reused on every check to avoid ConcurrentModificationException without allocating a copy.
+    private final ArrayList<VisibilityListener> notifiedListeners = new ArrayList<>();
+    private final ViewExposureChecker viewExposureChecker = new ViewExposureChecker();
+    private VisibilityScheduler scheduler;
     private static final String TAG = "VisibilityDetector";
     private final int MIN_PERCENTAGE_VIEWED = 50;
 
@@ -44,95 +45,73 @@ class VisibilityDetector {
             return null;
         }
 
-        return new VisibilityDetector(view);
+        return new VisibilityDetector(view, VisibilityScheduler.getInstance());
     }
 
-    private VisibilityDetector(View view) {
+    @VisibleForTesting
+    VisibilityDetector(View view, VisibilityScheduler scheduler) {
         this.viewReference = new WeakReference<>(view);
         this.listeners = new ArrayList<VisibilityListener>();
-        scheduleVisibilityCheck();
+        this.scheduler = scheduler;
+        scheduler.add(this, view.getContext());
     }
 
     void addVisibilityListener(VisibilityListener listener) {
-        if (listener != null) {
+        if (listener != null && listeners != null) {
             listeners.add(listener);
         }
     }
 
+    /**
+     * Removes the listener. Polling of the view stops when the last listener is removed,
+     * e.g. when all impressions have fired.
+     */
     boolean removeVisibilityListener(VisibilityListener listener) {
-        return listeners.remove(listener);
+        if (listeners == null) {
+            return false;
+        }
+        boolean removed = listeners.remove(listener);
+        if (removed && listeners.isEmpty()) {
+            scheduler.remove(this);
+        }
+        return removed;
     }
 
-    void scheduleVisibilityCheck(){
-        if(scheduled) return;
-        scheduled = true;
-        this.visibilityCheck = new Runnable() {
-            @Override
-            public void run() {
-                if (listeners != null) {
-                    // copy listeners to a new array to avoid concurrentmodificationexception
-                    ArrayList<VisibilityListener> tempList = new ArrayList<VisibilityListener>();
-                    for (VisibilityListener listener : listeners) {
-                        tempList.add(listener);
-                    }
-                    if (isVisible()) {
-                        for (VisibilityListener listener : tempList) {
-                            listener.onVisibilityChanged(true);
-                        }
-                    } else {
-                        for (VisibilityListener listener : tempList) {
-                            listener.onVisibilityChanged(false);
-                        }
-                    }
-                }
-            }
-        };
-        tasker = Executors.newSingleThreadScheduledExecutor();
-        tasker.scheduleAtFixedRate(() -> {
-            View view = viewReference.get();
-            if (view == null) {
-                // Run last visibility check
-                new Handler(Looper.getMainLooper()).post(visibilityCheck);
-
-                tasker.shutdownNow();
-                return;
-            }
-
-            view.post(visibilityCheck);
-
-        }, 0, VISIBILITY_THROTTLE_MILLIS, TimeUnit.MILLISECONDS);
-    }
+    void checkVisibility() {
+        if (listeners == null) {
+            scheduler.remove(this);
+            return;
+        }
 
-    boolean isVisible() {
-        View view = viewReference.get();
-        if (view == null || view.getVisibility() != View.VISIBLE || view.getParent() == null) {
-            return false;
+        boolean visible = isVisible();
+        notifiedListeners.addAll(listeners);
+        for (VisibilityListener listener : notifiedListeners) {
+            listener.onVisibilityChanged(visible);
         }
+        notifiedListeners.clear();
 
-        // holds the visible part of a view
-        Rect clippedArea = new Rect();
+        if (viewReference.get() == null) {
+            // Last visibility check was run
+            scheduler.remove(this);
+        }
+    }
 
-        if (!view.getGlobalVisibleRect(clippedArea)) {
+    boolean isVisible() {
+        View view = viewReference.get();
+        if (view == null || view.getVisibility() != View.VISIBLE || !(view.getParent() instanceof ViewGroup)) {
             return false;
         }
 
-        final int visibleViewArea = clippedArea.height() * clippedArea.width();
-        final int totalArea = view.getHeight() * view.getWidth();
-
-        if (totalArea <= 0) {
+        // Doesn't depend on the window focus, so dialogs and popups over the ad don't block impressions.
+        ViewExposure exposure = viewExposureChecker.exposure(view, false);
+        if (exposure == null) {
             return false;
         }
-        return 100 * visibleViewArea >= MIN_PERCENTAGE_VIEWED * totalArea;
+        return 100 * exposure.getExposurePercentage() >= MIN_PERCENTAGE_VIEWED;
     }
 
     void destroy() {
-        if (tasker != null && !tasker.isTerminated()) {
-            tasker.shutdownNow();
-        }
-        View view = viewReference.get();
-        if (view != null) {
-            view.removeCallbacks(visibilityCheck);
-        }
+        scheduler.remove(this);
         listeners = null;
     }
 
@@ -140,4 +119,4 @@ class VisibilityDetector {
         void onVisibilityChanged(boolean visible);
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,183 @@
+/*
+ *    Copyright 2020-2021 Prebid.org, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.prebid.mobile;
+
+import android.app.Activity;
+import android.app.ActivityManager;
+import android.app.Application;
+import android.content.Context;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.VisibleForTesting;
+
+import java.util.ArrayList;
+
+/**
+ * Runs the checks of all {@link VisibilityDetector}s on the main thread every
+ * {@link VisibilityDetector#VISIBILITY_THROTTLE_MILLIS}. Polling pauses while no activity of the app
+ * is started and stops when no detector is registered. Must be used from the main thread.
+ */
+class VisibilityScheduler {
+
+    private static final String TAG = "VisibilityScheduler";
+
+    private static VisibilityScheduler instance;
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final ArrayList<VisibilityDetector> detectors = new ArrayList<>();
+    private final Runnable tick = this::tick;
+
+    private boolean isTickScheduled = false;
+    private boolean isInBackground = false;
+    private boolean isLifecycleTracked = false;
+    // Activities started before the lifecycle is tracked are not counted, see isAppVisible().
+    private int startedActivities = 0;
+
+    @VisibleForTesting
+    VisibilityScheduler() {
+    }
+
+    static VisibilityScheduler getInstance() {
+        if (instance == null) {
+            instance = new VisibilityScheduler();
+        }
+        return instance;
+    }
+
+    void add(VisibilityDetector detector, Context context) {
+        trackLifecycle(context);
+        if (!detectors.contains(detector)) {
+            detectors.add(detector);
+        }
+        scheduleTick(0);
+    }
+
+    void remove(VisibilityDetector detector) {
+        detectors.remove(detector);
+        if (detectors.isEmpty()) {
+            cancelTick();
+        }
+    }
+
+    boolean contains(VisibilityDetector detector) {
+        return detectors.contains(detector);
+    }
+
+    @VisibleForTesting
+    boolean isTickScheduled() {
+        return isTickScheduled;
+    }
+
+    @VisibleForTesting
+    void onActivityStarted() {
+        startedActivities++;
+        if (isInBackground) {
+            LogUtil.debug(TAG, "App is in foreground. Resuming visibility checks.");
+            isInBackground = false;
+            scheduleTick(0);
+        }
+    }
+
+    @VisibleForTesting
+    void onActivityStopped() {
+        startedActivities = Math.max(0, startedActivities - 1);
+        if (startedActivities == 0 && !isAppVisible()) {
+            LogUtil.debug(TAG, "App is in background. Pausing visibility checks.");
+            isInBackground = true;
+            cancelTick();
+        }
+    }
+
+    /**
+     * @return true if an activity of the app is visible according to the process state.
+     */
+    @VisibleForTesting
+    boolean isAppVisible() {
+        ActivityManager.RunningAppProcessInfo processInfo = new ActivityManager.RunningAppProcessInfo();
+        try {
+            ActivityManager.getMyMemoryState(processInfo);
+        } catch (RuntimeException exception) {
+            LogUtil.debug(TAG, "Can't get process state: " + exception.getMessage());
+            return true;
+        }
+        return processInfo.importance <= ActivityManager.RunningAppProcessInfo.IMPORTANCE_VISIBLE;
+    }
+
+    private void tick() {
+        isTickScheduled = false;
+        // Detectors can remove themselves during the check, so iterate from the end.
+        for (int i = detectors.size() - 1; i >= 0; i--) {
+            if (i < detectors.size()) {
+                detectors.get(i).checkVisibility();
+            }
+        }
+        scheduleTick(VisibilityDetector.VISIBILITY_THROTTLE_MILLIS);
+    }
+
+    private void scheduleTick(long delayMillis) {
+        if (isTickScheduled || isInBackground || detectors.isEmpty()) {
+            return;
+        }
+        isTickScheduled = true;
+        handler.postDelayed(tick, delayMillis);
+    }
+
+    private void cancelTick() {
+        handler.removeCallbacks(tick);
+        isTickScheduled = false;
+    }
+
+    private void trackLifecycle(Context context) {
+        if (isLifecycleTracked || context == null) {
+            return;
+        }
+        Context applicationContext = context.getApplicationContext();
+        if (!(applicationContext instanceof Application)) {
+            return;
+        }
+        isLifecycleTracked = true;
+        startedActivities = isAppVisible() ? 1 : 0;
+        ((Application) applicationContext).registerActivityLifecycleCallbacks(new Application.ActivityLifecycleCallbacks() {
+            @Override
+            public void onActivityCreated(Activity activity, Bundle savedInstanceState) {}
+
+            @Override
+            public void onActivityStarted(Activity activity) {
+                VisibilityScheduler.this.onActivityStarted();
+            }
+
+            @Override
+            public void onActivityResumed(Activity activity) {}
+
+            @Override
+            public void onActivityPaused(Activity activity) {}
+
+            @Override
+            public void onActivityStopped(Activity activity) {
+                VisibilityScheduler.this.onActivityStopped();
+            }
+
+            @Override
+            public void onActivitySaveInstanceState(Activity activity, Bundle outState) {}
+
+            @Override
+            public void onActivityDestroyed(Activity activity) {}
+        });
+    }
+}
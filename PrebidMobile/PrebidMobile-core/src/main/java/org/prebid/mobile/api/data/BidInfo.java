@@ -86,7 +86,7 @@ public class BidInfo {
 
         boolean isNative = configuration != null && configuration.getNativeConfiguration() != null;
         if (isNative && bidInfo.resultCode == ResultCode.SUCCESS) {
-            bidInfo.nativeCacheId = CacheManager.save(bidResponse.getWinningBidJson());
+            bidInfo.nativeCacheId = CacheManager.save(bidResponse.getWinningBidJson(), bidInfo.exp, bidResponse.takeNativeAd());
         }
 
         return bidInfo;
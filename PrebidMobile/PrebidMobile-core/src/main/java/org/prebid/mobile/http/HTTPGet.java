@@ -19,6 +19,7 @@ package org.prebid.mobile.http;
 import android.os.Looper;
 
 import org.prebid.mobile.Util;
+import org.prebid.mobile.tasksmanager.TaskLane;
 import org.prebid.mobile.tasksmanager.TasksManager;
 
 import java.io.BufferedReader;
@@ -40,7 +41,7 @@ public abstract class HTTPGet {
 
     public void execute() {
         if (Looper.myLooper() == Looper.getMainLooper()) {
-            TasksManager.getInstance().executeOnBackgroundThread(new Runnable() {
+            TasksManager.getInstance().executeOnLane(TaskLane.AUCTION_CRITICAL, new Runnable() {
                 @Override
                 public void run() {
                     HTTPResponse response = makeHttpRequest();
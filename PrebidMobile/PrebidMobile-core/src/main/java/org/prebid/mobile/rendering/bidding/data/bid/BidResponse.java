@@ -27,6 +27,7 @@ import org.json.JSONException;
 import org.json.JSONObject;
 import org.prebid.mobile.LogUtil;
 import org.prebid.mobile.PrebidMobile;
+import org.prebid.mobile.PrebidNativeAd;
 import org.prebid.mobile.configuration.AdUnitConfiguration;
 import org.prebid.mobile.rendering.models.openrtb.bidRequests.Ext;
 import org.prebid.mobile.rendering.models.openrtb.bidRequests.MobileSdkPassThrough;
@@ -66,10 +67,16 @@ public class BidResponse {
     private boolean usesCache;
     private String parseError;
     private String winningBidJson;
+    @Nullable
+    private Bid winningBid;
+    private final HashMap<String, String> targeting = new HashMap<>();
     private AdUnitConfiguration adUnitConfiguration;
 
     private long creationTime;
 
+    @Nullable
+    private PrebidNativeAd nativeAd;
+
     private MobileSdkPassThrough mobileSdkPassThrough;
 
     public BidResponse(
@@ -155,14 +162,17 @@ public class BidResponse {
                     seatbids.add(seatbid);
                 }
             }
+            indexBids();
 
             MobileSdkPassThrough bidMobilePassThrough = null;
-            Bid winningBid = getWinningBid();
             if (winningBid != null) {
                 bidMobilePassThrough = winningBid.getMobileSdkPassThrough();
             }
 
             mobileSdkPassThrough = MobileSdkPassThrough.combine(bidMobilePassThrough, rootMobilePassThrough);
+            if (winningBid != null && adUnitConfiguration.getNativeConfiguration() != null) {
+                nativeAd = PrebidNativeAd.fromBidJson(winningBidJson);
+            }
             creationTime = System.currentTimeMillis();
         }
         catch (JSONException e) {
@@ -172,40 +182,54 @@ public class BidResponse {
         }
     }
 
+    /**
+     * Returns the native ad decoded from the winning bid and forgets it, because the ad is mutable
+     * and can't be shared between cache ids. The next callers get null and the ad is decoded
+     * again from the cached content.
+     *
+     * @return native ad decoded from the winning bid or null if the ad unit is not native or the ad was taken.
+     */
+    @Nullable
+    public synchronized PrebidNativeAd takeNativeAd() {
+        PrebidNativeAd result = nativeAd;
+        nativeAd = null;
+        return result;
+    }
+
     public long getCreationTime() {
         return creationTime;
     }
 
-    @Nullable
-    public Bid getWinningBid() {
-        if (seatbids == null) {
-            return null;
-        }
-
+    /**
+     * Resolves the winning bid and merges targeting of all bids in a single pass over the seatbids,
+     * so accessors don't rescan the response.
+     */
+    private void indexBids() {
         for (Seatbid seatbid : seatbids) {
             for (Bid bid : seatbid.getBids()) {
-                if (hasWinningKeywords(bid.getPrebid())) {
+                Prebid prebid = bid.getPrebid();
+                if (prebid != null) {
+                    targeting.putAll(prebid.getTargeting());
+                }
+                if (winningBid == null && hasWinningKeywords(prebid)) {
+                    winningBid = bid;
                     winningBidJson = bid.getJsonString();
-                    return bid;
                 }
             }
         }
+    }
 
-        return null;
+    @Nullable
+    public Bid getWinningBid() {
+        return winningBid;
     }
 
+    /**
+     * @return a copy of targeting keywords merged from all bids.
+     */
     @NonNull
     public HashMap<String, String> getTargeting() {
-        HashMap<String, String> keywords = new HashMap<>();
-        for (Seatbid seatbid : seatbids) {
-            for (Bid bid : seatbid.getBids()) {
-                if (bid.getPrebid() != null) {
-                    keywords.putAll(bid.getPrebid().getTargeting());
-                }
-            }
-        }
-
-        return keywords;
+        return new HashMap<>(targeting);
     }
 
     @NonNull
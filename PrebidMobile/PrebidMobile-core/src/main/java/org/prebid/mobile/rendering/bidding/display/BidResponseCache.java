@@ -21,40 +21,66 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 import org.prebid.mobile.LogUtil;
+import org.prebid.mobile.rendering.bidding.data.bid.Bid;
 import org.prebid.mobile.rendering.bidding.data.bid.BidResponse;
+import org.prebid.mobile.rendering.bidding.data.bid.Seatbid;
 
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 
 /**
- * Holds BidResponses in memory until they are used
+ * Holds BidResponses in memory until they are used.
+ * <p>
+ * A response lives until the expiration time of its winning bid ({@code exp}), or
+ * {@link #DEFAULT_LIFE_TIME_MILLIS} if the bid doesn't have it. When the estimated size of
+ * the cached responses exceeds {@link #MAX_CACHE_BYTES}, the least recently used ones are evicted.
+ * Expired responses are found through a queue ordered by expiration time. Entries leave the queue
+ * as soon as they are popped, evicted or replaced, so released responses are not retained.
  */
 public class BidResponseCache {
     private static final String TAG = BidResponseCache.class.getSimpleName();
 
+    public static final long MAX_CACHE_BYTES = 2 * 1024 * 1024; // 2 MiB
+    public static final long DEFAULT_LIFE_TIME_MILLIS = 60 * 1000;//1 minute
+
     /**
-     * Maximum number of responses that are cached. This limit is intended to be very
-     * conservative; it is not recommended to cache more than a few BidResponses.
+     * Approximate size of a parsed response without its strings.
      */
     @VisibleForTesting
-    static final int MAX_SIZE = 20;
+    static final int ENTRY_OVERHEAD_BYTES = 2048;
+
+    private static BidResponseCache sInstance;
 
-    private static final long BID_RESPONSE_LIFE_TIME_IN_CACHE = 60 * 1000;//1 minute
+    private final long maxBytes;
+    private final long defaultLifeTimeMillis;
 
-    @NonNull
-    private static Map<String, BidResponse> sCachedBidResponses =
-        Collections.synchronizedMap(new HashMap<>());
+    // Access ordered: the first entry is the least recently used one.
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // Ordered by expiration time. Contains exactly the entries of the map.
+    private final PriorityQueue<Entry> expirationQueue = new PriorityQueue<>();
+    private long totalBytes;
 
-    private static BidResponseCache sInstance;
+    private int hitCount;
+    private int missCount;
+    private int expiredCount;
+    private int evictedCount;
 
-    private BidResponseCache() {
+    @VisibleForTesting
+    BidResponseCache(
+            long maxBytes,
+            long defaultLifeTimeMillis
+    ) {
+        this.maxBytes = maxBytes;
+        this.defaultLifeTimeMillis = defaultLifeTimeMillis;
     }
 
     public static synchronized BidResponseCache getInstance() {
         if (sInstance == null) {
-            sInstance = new BidResponseCache();
+            sInstance = new BidResponseCache(MAX_CACHE_BYTES, DEFAULT_LIFE_TIME_MILLIS);
         }
         return sInstance;
     }
@@ -77,107 +103,209 @@ public class BidResponseCache {
      * @param key      Custom key to store response
      * @param response Parsed bid response
      */
-    public void putBidResponse(
+    public synchronized void putBidResponse(
         String key,
         BidResponse response
     ) {
-        trimCache();
-        // Ignore request when max size is reached.
-        if (sCachedBidResponses.size() >= MAX_SIZE) {
+        if (TextUtils.isEmpty(key) || response == null) {
             LogUtil.error(
                 TAG,
-                "Unable to cache BidResponse. Please destroy some via #destroy() and try again."
+                "Unable to cache BidResponse. Key or response is empty or null."
             );
             return;
         }
-        if (TextUtils.isEmpty(key)) {
-            LogUtil.error(
-                TAG,
-                "Unable to cache BidResponse. Key is empty or null."
-            );
+
+        long now = System.currentTimeMillis();
+        removeExpired(now);
+
+        Entry entry = new Entry(key, response, estimateBytes(response), getExpirationTime(response, now));
+        if (entry.bytes > maxBytes) {
+            LogUtil.error(TAG, "Unable to cache BidResponse. Response is too large: " + entry.bytes + " bytes");
             return;
         }
 
-        sCachedBidResponses.put(key, response);
-        LogUtil.debug(TAG, "Cached ad count after storing: " + getCachedResponsesCount());
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            release(previous);
+        }
+        expirationQueue.add(entry);
+        totalBytes += entry.bytes;
+        evictToBudget();
+
+        LogUtil.debug(TAG, "Cached ad count after storing: " + entries.size());
     }
 
     @Nullable
-    public BidResponse popBidResponse(
+    public synchronized BidResponse popBidResponse(
         @Nullable
         final String responseId) {
         LogUtil.debug(TAG, "POPPING the response");
 
-        BidResponse bidResponse = null;
-
-        if (sCachedBidResponses.containsKey(responseId)) {
-            //check if the available BidResponse is not stale
-
-            bidResponse = sCachedBidResponses.remove(responseId);
-        } else {
+        removeExpired(System.currentTimeMillis());
+        Entry entry = responseId != null ? entries.remove(responseId) : null;
+        if (entry == null) {
+            missCount++;
             LogUtil.warning(TAG, "No cached ad to retrieve in the final map");
+            return null;
         }
-        LogUtil.debug(TAG, "Cached ad count after popping: " + getCachedResponsesCount());
-        return bidResponse;
+
+        hitCount++;
+        release(entry);
+        LogUtil.debug(TAG, "Cached ad count after popping: " + entries.size());
+        return entry.response;
     }
 
+    /**
+     * @return copy of the cached response targeting.
+     */
     @Nullable
-    public HashMap<String, String> getKeywords(String responseId) {
-        if (sCachedBidResponses.containsKey(responseId)) {
-            BidResponse bidResponse = sCachedBidResponses.get(responseId);
-            if (bidResponse != null) {
-                return bidResponse.getTargeting();
-            }
+    public synchronized HashMap<String, String> getKeywords(String responseId) {
+        removeExpired(System.currentTimeMillis());
+        Entry entry = responseId != null ? entries.get(responseId) : null;
+        if (entry == null) {
+            missCount++;
+            return null;
         }
-        return null;
+
+        hitCount++;
+        return entry.targeting != null ? new HashMap<>(entry.targeting) : null;
+    }
+
+    public synchronized int getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized int getMissCount() {
+        return missCount;
+    }
+
+    public synchronized int getExpiredCount() {
+        return expiredCount;
+    }
+
+    public synchronized int getEvictedCount() {
+        return evictedCount;
     }
 
     @VisibleForTesting
-    static synchronized void trimCache() {
-        final Iterator<Map.Entry<String, BidResponse>> iterator = sCachedBidResponses.entrySet().iterator();
-        while (iterator.hasNext()) {
-            final Map.Entry<String, BidResponse> entry = iterator.next();
-
-            // If the response was removed from memory,
-            // discard the entire associated Config.
-            if (entry.getValue() == null) {
-                iterator.remove();
-            }
-        }
-        if (!sCachedBidResponses.isEmpty()) {
-            removeStaleBidResponses(sCachedBidResponses);
+    synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    @VisibleForTesting
+    synchronized int getExpirationQueueSize() {
+        return expirationQueue.size();
+    }
+
+    private long getExpirationTime(
+            BidResponse response,
+            long now
+    ) {
+        long creationTime = response.getCreationTime() > 0 ? response.getCreationTime() : now;
+        Integer expirationSeconds = response.getExpirationTimeSeconds();
+        boolean hasExpiration = expirationSeconds != null && expirationSeconds > 0;
+        long lifeTimeMillis = hasExpiration ? expirationSeconds * 1000L : defaultLifeTimeMillis;
+        return creationTime + lifeTimeMillis;
+    }
+
+    private void removeExpired(long now) {
+        Entry head;
+        while ((head = expirationQueue.peek()) != null && head.expiresAt <= now) {
+            LogUtil.debug(TAG, "Bid response " + head.key + " expired");
+            entries.remove(head.key);
+            release(head);
+            expiredCount++;
         }
     }
 
-    private static void removeStaleBidResponses(Map<String, BidResponse> bidResponseMap) {
-        final Iterator<Map.Entry<String, BidResponse>> iterator = bidResponseMap.entrySet().iterator();
-        while (iterator.hasNext()) {
-            final Map.Entry<String, BidResponse> entry = iterator.next();
+    private void evictToBudget() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            Entry eldest = iterator.next();
+            LogUtil.debug(TAG, "Evicting bid response " + eldest.key);
+            iterator.remove();
+            release(eldest);
+            evictedCount++;
+        }
+    }
 
-            // If the response was removed from memory,
-            // discard the entire associated Config.
-            if (entry.getValue() != null) {
-                long saveTimeInMillis = entry.getValue().getCreationTime();
+    private void release(Entry entry) {
+        // The queue holds at most one entry per cached response, so the linear removal is bounded by the budget.
+        expirationQueue.remove(entry);
+        totalBytes -= entry.bytes;
+    }
 
-                // Checking if the current time is past the expiration time
-                if (System.currentTimeMillis() > (saveTimeInMillis + BID_RESPONSE_LIFE_TIME_IN_CACHE)) {
-                    iterator.remove();
+    /**
+     * Estimates the memory used by the response, dominated by the ad markup and the raw bid JSON.
+     */
+    @VisibleForTesting
+    static long estimateBytes(@NonNull BidResponse response) {
+        long chars = 0;
+        List<Seatbid> seatbids = response.getSeatbids();
+        if (seatbids != null) {
+            for (Seatbid seatbid : seatbids) {
+                for (Bid bid : seatbid.getBids()) {
+                    chars += length(bid.getAdm()) + length(bid.getJsonString());
                 }
             }
         }
+        return ENTRY_OVERHEAD_BYTES + chars * 2;
     }
 
-    private static int getCachedResponsesCount() {
-        return sCachedBidResponses.size();
+    private static int length(@Nullable String string) {
+        return string != null ? string.length() : 0;
     }
 
     @VisibleForTesting
     static void clearAll() {
-        sCachedBidResponses.clear();
+        BidResponseCache cache = getInstance();
+        synchronized (cache) {
+            cache.entries.clear();
+            cache.expirationQueue.clear();
+            cache.totalBytes = 0;
+            cache.hitCount = 0;
+            cache.missCount = 0;
+            cache.expiredCount = 0;
+            cache.evictedCount = 0;
+        }
     }
 
     @VisibleForTesting
     static Map<String, BidResponse> getCachedBidResponses() {
-        return sCachedBidResponses;
+        BidResponseCache cache = getInstance();
+        synchronized (cache) {
+            HashMap<String, BidResponse> responses = new HashMap<>();
+            for (Entry entry : cache.entries.values()) {
+                responses.put(entry.key, entry.response);
+            }
+            return responses;
+        }
+    }
+
+    private static class Entry implements Comparable<Entry> {
+
+        private final String key;
+        private final BidResponse response;
+        private final HashMap<String, String> targeting;
+        private final long bytes;
+        private final long expiresAt;
+
+        private Entry(
+                String key,
+                BidResponse response,
+                long bytes,
+                long expiresAt
+        ) {
+            this.key = key;
+            this.response = response;
+            this.targeting = response.getTargeting();
+            this.bytes = bytes;
+            this.expiresAt = expiresAt;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            return Long.compare(expiresAt, other.expiresAt);
+        }
     }
-}
\ No newline at end of file
+}
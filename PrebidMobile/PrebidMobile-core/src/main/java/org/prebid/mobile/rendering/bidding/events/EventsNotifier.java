@@ -7,7 +7,7 @@ import org.prebid.mobile.LogUtil;
 import org.prebid.mobile.rendering.bidding.data.bid.Bid;
 import org.prebid.mobile.rendering.bidding.data.bid.BidResponse;
 import org.prebid.mobile.rendering.bidding.data.bid.Prebid;
-import org.prebid.mobile.rendering.networking.tracking.ServerConnection;
+import org.prebid.mobile.rendering.networking.tracking.TrackingDispatcher;
 
 /**
  * Class for sending events from bids (seatbid.bid.ext.prebid.events.*)
@@ -19,7 +19,7 @@ public class EventsNotifier {
     public static void notify(@Nullable String url) {
         if (url != null) {
             LogUtil.verbose(TAG, "Notify event: " + url);
-            ServerConnection.fireAndForget(url);
+            TrackingDispatcher.getInstance().dispatch(url);
         }
     }
 
@@ -29,7 +29,7 @@ import org.prebid.mobile.rendering.bidding.data.bid.BidResponse;
 import org.prebid.mobile.rendering.bidding.listeners.BidRequesterListener;
 import org.prebid.mobile.rendering.models.openrtb.bidRequests.MobileSdkPassThrough;
 import org.prebid.mobile.rendering.networking.BaseNetworkTask;
-import org.prebid.mobile.rendering.networking.ResponseHandler;
+import org.prebid.mobile.rendering.networking.DecodingResponseHandler;
 import org.prebid.mobile.rendering.networking.modelcontrollers.BidRequester;
 import org.prebid.mobile.rendering.networking.parameters.AdRequestInput;
 import org.prebid.mobile.rendering.utils.helpers.RefreshTimerTask;
@@ -51,17 +51,31 @@ public class BidLoader {
     private BidRequesterListener requestListener;
     private BidRefreshListener bidRefreshListener;
 
-    private final ResponseHandler responseHandler = new ResponseHandler() {
+    private final DecodingResponseHandler responseHandler = new DecodingResponseHandler() {
+        @Override
+        public Object decodeResponse(BaseNetworkTask.GetUrlResult response) {
+            AdUnitConfiguration configuration = adConfiguration;
+            if (configuration == null) {
+                return null;
+            }
+            return new BidResponse(response.responseString, configuration);
+        }
+
         @Override
         public void onResponse(BaseNetworkTask.GetUrlResult response) {
             currentlyLoading.set(false);
-            BidResponse bidResponse = new BidResponse(response.responseString, adConfiguration);
+            BidResponse bidResponse;
+            if (response.decodedResponse instanceof BidResponse) {
+                bidResponse = (BidResponse) response.decodedResponse;
+            } else {
+                bidResponse = new BidResponse(response.responseString, adConfiguration);
+            }
             if (bidResponse.hasParseError()) {
                 failedToLoadBid(bidResponse.getParseError());
                 return;
             }
             checkTmax(response, bidResponse);
-            updateAdUnitConfiguration(bidResponse);
+            updateAdUnitConfiguration(bidResponse, adConfiguration);
             if (requestListener != null) {
                 setupRefreshTimer();
                 requestListener.onFetchCompleted(bidResponse);
@@ -224,7 +238,10 @@ public class BidLoader {
      * rendering controls settings in configuration, modifies ad unit
      * configuration, sets combined parameters to bid response.
      */
-    private void updateAdUnitConfiguration(@NonNull BidResponse bidResponse) {
+    static void updateAdUnitConfiguration(
+            @NonNull BidResponse bidResponse,
+            AdUnitConfiguration adConfiguration
+    ) {
         MobileSdkPassThrough serverParameters = bidResponse.getMobileSdkPassThrough();
         MobileSdkPassThrough combinedParameters = MobileSdkPassThrough.combine(serverParameters, adConfiguration);
         combinedParameters.modifyAdUnitConfiguration(adConfiguration);
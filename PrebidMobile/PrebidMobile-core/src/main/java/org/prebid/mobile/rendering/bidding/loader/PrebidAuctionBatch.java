@@ -0,0 +1,331 @@
+/*
+ *    Copyright 2018-2021 Prebid.org, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.prebid.mobile.rendering.bidding.loader;
+
+import android.text.TextUtils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.prebid.mobile.LogUtil;
+import org.prebid.mobile.PrebidMobile;
+import org.prebid.mobile.api.exceptions.AdException;
+import org.prebid.mobile.configuration.AdUnitConfiguration;
+import org.prebid.mobile.rendering.bidding.data.bid.BidResponse;
+import org.prebid.mobile.rendering.bidding.listeners.BidRequesterListener;
+import org.prebid.mobile.rendering.networking.BaseNetworkTask;
+import org.prebid.mobile.rendering.networking.DecodingResponseHandler;
+import org.prebid.mobile.rendering.networking.modelcontrollers.BatchBidRequester;
+import org.prebid.mobile.rendering.networking.parameters.AdRequestInput;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Fetches bids for several ad units with a single Prebid Server request.
+ * <p>
+ * Every added ad unit becomes one imp of the bid request. The response is split by
+ * {@code seatbid[].bid[].impid} and each ad unit's listener receives a {@link BidResponse}
+ * containing only its own bids. Request level parameters are taken from the first added ad unit,
+ * so all ad units of a batch should belong to the same Prebid Server account.
+ */
+public class PrebidAuctionBatch {
+
+    private static final String TAG = PrebidAuctionBatch.class.getSimpleName();
+
+    private static final String KEY_SEATBID = "seatbid";
+    private static final String KEY_BID = "bid";
+    private static final String KEY_IMP_ID = "impid";
+    private static final String KEY_ID = "id";
+
+    private final ArrayList<Entry> entries = new ArrayList<>();
+
+    @Nullable
+    private BatchBidRequester bidRequester;
+    @Nullable
+    private List<Entry> loadingEntries;
+
+    /**
+     * Adds an ad unit to the next {@link #load()}. Must be called before loading.
+     */
+    public void add(
+            @NonNull AdUnitConfiguration configuration,
+            @NonNull BidRequesterListener listener
+    ) {
+        entries.add(new Entry(UUID.randomUUID().toString(), configuration, listener));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void load() {
+        if (entries.isEmpty()) {
+            LogUtil.error(TAG, "No ad units to load");
+            return;
+        }
+        if (!PrebidMobile.isSdkInitialized()) {
+            LogUtil.error(TAG, "SDK wasn't initialized. Context is null.");
+            return;
+        }
+        if (loadingEntries != null) {
+            LogUtil.error(TAG, "Previous load is in progress. Load() ignored.");
+            return;
+        }
+
+        ArrayList<Entry> validEntries = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (TextUtils.isEmpty(entry.configuration.getConfigId())) {
+                entry.listener.onError(new AdException(AdException.INTERNAL_ERROR, "No configuration id specified."));
+            } else {
+                validEntries.add(entry);
+            }
+        }
+        if (validEntries.isEmpty()) {
+            return;
+        }
+
+        Entry primary = validEntries.get(0);
+        LinkedHashMap<String, AdUnitConfiguration> additionalConfigurations = new LinkedHashMap<>();
+        for (int i = 1; i < validEntries.size(); i++) {
+            Entry entry = validEntries.get(i);
+            additionalConfigurations.put(entry.impId, entry.configuration);
+        }
+
+        loadingEntries = validEntries;
+        bidRequester = new BatchBidRequester(
+                primary.impId,
+                primary.configuration,
+                additionalConfigurations,
+                new AdRequestInput(),
+                new BatchResponseHandler(validEntries)
+        );
+        bidRequester.startAdRequest();
+    }
+
+    public void destroy() {
+        if (bidRequester != null) {
+            bidRequester.destroy();
+            bidRequester = null;
+        }
+        loadingEntries = null;
+        entries.clear();
+    }
+
+    /**
+     * Splits the response JSON into one response per imp id. Every response keeps the root fields
+     * and contains only the seatbids and bids addressed to its imp. The response id is suffixed
+     * with the imp id, because responses are cached by their ids.
+     */
+    @VisibleForTesting
+    static Map<String, String> splitByImpId(
+            String json,
+            Collection<String> impIds
+    ) throws JSONException {
+        JSONObject response = new JSONObject(json);
+        String responseId = response.optString(KEY_ID);
+
+        HashMap<String, JSONArray> seatbidsByImpId = new HashMap<>();
+        for (String impId : impIds) {
+            seatbidsByImpId.put(impId, new JSONArray());
+        }
+
+        JSONArray seatbids = response.optJSONArray(KEY_SEATBID);
+        if (seatbids != null) {
+            for (int i = 0; i < seatbids.length(); i++) {
+                JSONObject seatbid = seatbids.optJSONObject(i);
+                JSONArray bids = seatbid != null ? seatbid.optJSONArray(KEY_BID) : null;
+                if (bids == null) {
+                    continue;
+                }
+
+                LinkedHashMap<String, JSONArray> bidsByImpId = new LinkedHashMap<>();
+                for (int j = 0; j < bids.length(); j++) {
+                    JSONObject bid = bids.optJSONObject(j);
+                    if (bid == null) {
+                        continue;
+                    }
+                    String impId = bid.optString(KEY_IMP_ID);
+                    if (!seatbidsByImpId.containsKey(impId)) {
+                        LogUtil.warning(TAG, "Bid with unknown impid: " + impId);
+                        continue;
+                    }
+                    JSONArray impBids = bidsByImpId.get(impId);
+                    if (impBids == null) {
+                        impBids = new JSONArray();
+                        bidsByImpId.put(impId, impBids);
+                    }
+                    impBids.put(bid);
+                }
+
+                for (Map.Entry<String, JSONArray> impBids : bidsByImpId.entrySet()) {
+                    JSONObject impSeatbid = copyWithout(seatbid, KEY_BID);
+                    impSeatbid.put(KEY_BID, impBids.getValue());
+                    seatbidsByImpId.get(impBids.getKey()).put(impSeatbid);
+                }
+            }
+        }
+
+        HashMap<String, String> result = new HashMap<>();
+        for (Map.Entry<String, JSONArray> impSeatbids : seatbidsByImpId.entrySet()) {
+            JSONObject impResponse = copyWithout(response, KEY_SEATBID);
+            impResponse.put(KEY_SEATBID, impSeatbids.getValue());
+            impResponse.put(KEY_ID, getImpResponseId(responseId, impSeatbids.getKey()));
+            result.put(impSeatbids.getKey(), impResponse.toString());
+        }
+        return result;
+    }
+
+    @VisibleForTesting
+    static String getImpResponseId(
+            String responseId,
+            String impId
+    ) {
+        return TextUtils.isEmpty(responseId) ? impId : responseId + "_" + impId;
+    }
+
+    private static JSONObject copyWithout(
+            JSONObject source,
+            String excludedKey
+    ) throws JSONException {
+        JSONObject copy = new JSONObject();
+        Iterator<String> keys = source.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            if (!excludedKey.equals(key)) {
+                copy.put(key, source.get(key));
+            }
+        }
+        return copy;
+    }
+
+    private void notifyError(
+            List<Entry> batchEntries,
+            String message
+    ) {
+        LogUtil.error(TAG, "Invalid bid response: " + message);
+        if (batchEntries != loadingEntries) {
+            return;
+        }
+        loadingEntries = null;
+        for (Entry entry : batchEntries) {
+            entry.listener.onError(new AdException(AdException.INTERNAL_ERROR, "Invalid bid response: " + message));
+        }
+    }
+
+    private static class Entry {
+
+        private final String impId;
+        private final AdUnitConfiguration configuration;
+        private final BidRequesterListener listener;
+
+        private Entry(
+                String impId,
+                AdUnitConfiguration configuration,
+                BidRequesterListener listener
+        ) {
+            this.impId = impId;
+            this.configuration = configuration;
+            this.listener = listener;
+        }
+    }
+
+    private class BatchResponseHandler implements DecodingResponseHandler {
+
+        private final List<Entry> batchEntries;
+
+        private BatchResponseHandler(List<Entry> batchEntries) {
+            this.batchEntries = batchEntries;
+        }
+
+        @Override
+        public Object decodeResponse(BaseNetworkTask.GetUrlResult response) {
+            return decode(response.responseString);
+        }
+
+        @Override
+        public void onResponse(BaseNetworkTask.GetUrlResult response) {
+            if (batchEntries != loadingEntries) {
+                return;
+            }
+            Map<?, ?> bidResponses;
+            if (response.decodedResponse instanceof Map) {
+                bidResponses = (Map<?, ?>) response.decodedResponse;
+            } else {
+                bidResponses = decode(response.responseString);
+            }
+            loadingEntries = null;
+
+            for (Entry entry : batchEntries) {
+                BidResponse bidResponse = (BidResponse) bidResponses.get(entry.impId);
+                if (bidResponse.hasParseError()) {
+                    entry.listener.onError(new AdException(AdException.INTERNAL_ERROR, "Invalid bid response: " + bidResponse.getParseError()));
+                    continue;
+                }
+                BidLoader.updateAdUnitConfiguration(bidResponse, entry.configuration);
+                entry.listener.onFetchCompleted(bidResponse);
+            }
+        }
+
+        @Override
+        public void onError(
+                String msg,
+                long responseTime
+        ) {
+            notifyError(batchEntries, msg);
+        }
+
+        @Override
+        public void onErrorWithException(
+                Exception e,
+                long responseTime
+        ) {
+            notifyError(batchEntries, e.getMessage());
+        }
+
+        private Map<String, BidResponse> decode(String json) {
+            ArrayList<String> impIds = new ArrayList<>();
+            for (Entry entry : batchEntries) {
+                impIds.add(entry.impId);
+            }
+
+            Map<String, String> responsesByImpId = null;
+            try {
+                responsesByImpId = splitByImpId(json, impIds);
+            } catch (JSONException exception) {
+                LogUtil.error(TAG, "Failed to split batch response: " + exception.getMessage());
+            }
+
+            HashMap<String, BidResponse> result = new HashMap<>();
+            for (Entry entry : batchEntries) {
+                String impJson = responsesByImpId != null ? responsesByImpId.get(entry.impId) : json;
+                result.put(entry.impId, new BidResponse(impJson, entry.configuration));
+            }
+            return result;
+        }
+    }
+}
@@ -16,22 +16,33 @@
 
 package org.prebid.mobile.rendering.loading;
 
+import android.os.SystemClock;
 import android.text.TextUtils;
 import android.util.Log;
 import androidx.annotation.NonNull;
 import androidx.annotation.VisibleForTesting;
 import org.prebid.mobile.LogUtil;
+import org.prebid.mobile.PrebidMobile;
 import org.prebid.mobile.api.exceptions.AdException;
 import org.prebid.mobile.rendering.errors.VastParseError;
 import org.prebid.mobile.rendering.models.internal.VastExtractorResult;
 import org.prebid.mobile.rendering.networking.BaseNetworkTask;
-import org.prebid.mobile.rendering.networking.ResponseHandler;
+import org.prebid.mobile.rendering.networking.DecodingResponseHandler;
 import org.prebid.mobile.rendering.networking.modelcontrollers.AsyncVastLoader;
 import org.prebid.mobile.rendering.parser.AdResponseParserBase;
 import org.prebid.mobile.rendering.parser.AdResponseParserVast;
 import org.prebid.mobile.rendering.utils.helpers.Utils;
+import org.prebid.mobile.rendering.video.vast.VAST;
 import org.prebid.mobile.rendering.video.vast.VASTErrorCodes;
+import org.prebid.mobile.tasksmanager.TaskLane;
+import org.prebid.mobile.tasksmanager.TasksManager;
 
+import java.util.concurrent.Executor;
+
+/**
+ * Parses the VAST of a bid and loads its wrappers. VAST documents are parsed on the
+ * {@link TaskLane#RENDER_PREP} lane, the listener is notified on the main thread.
+ */
 public class VastParserExtractor {
 
     private static final String TAG = VastParserExtractor.class.getSimpleName();
@@ -39,6 +50,8 @@ public class VastParserExtractor {
     public static final int WRAPPER_NESTING_LIMIT = 5;
 
     private final AsyncVastLoader asyncVastLoader = new AsyncVastLoader();
+    private final VastWrapperCache vastWrapperCache = VastWrapperCache.getInstance();
+    private final Executor parseExecutor = TasksManager.getInstance().getLaneExecutor(TaskLane.RENDER_PREP);
     @NonNull private final VastParserExtractor.Listener listener;
 
     private AdResponseParserVast rootVastParser;
@@ -46,10 +59,31 @@ public class VastParserExtractor {
 
     private int vastWrapperCount;
 
-    private final ResponseHandler responseHandler = new ResponseHandler() {
+    private String pendingVastUrl;
+    private long wrapperChainDeadline;
+    private volatile boolean isCancelled;
+
+    private final DecodingResponseHandler responseHandler = new DecodingResponseHandler() {
+        @Override
+        public Object decodeResponse(BaseNetworkTask.GetUrlResult response) {
+            if (!Utils.isVast(response.responseString)) {
+                return null;
+            }
+            try {
+                return new AdResponseParserVast(response.responseString);
+            } catch (VastParseError e) {
+                return e;
+            }
+        }
+
         @Override
         public void onResponse(BaseNetworkTask.GetUrlResult response) {
-            performVastUnwrap(response.responseString);
+            // The response is parsed in the background by decodeResponse()
+            Object decodedResponse = response.decodedResponse;
+            if (decodedResponse instanceof AdResponseParserVast && pendingVastUrl != null) {
+                vastWrapperCache.put(pendingVastUrl, ((AdResponseParserVast) decodedResponse).getVast());
+            }
+            onVastParsed(decodedResponse);
         }
 
         @Override
@@ -73,36 +107,70 @@ public class VastParserExtractor {
     }
 
     public void cancel() {
+        isCancelled = true;
         if (asyncVastLoader != null) {
             asyncVastLoader.cancelTask();
         }
     }
 
     public void extract(String vast) {
-        performVastUnwrap(vast);
+        wrapperChainDeadline = SystemClock.elapsedRealtime() + getWrapperChainBudget();
+        parseVast(vast);
     }
 
-    private void performVastUnwrap(String vast) {
-        if (!Utils.isVast(vast)) {
-            final AdException adException = new AdException(AdException.INTERNAL_ERROR, VASTErrorCodes.VAST_SCHEMA_ERROR.toString());
-            listener.onResult(createExtractorFailureResult(adException));
+    /**
+     * The whole wrapper chain has to resolve within the time of a single request with the
+     * current auction timeout.
+     */
+    private static long getWrapperChainBudget() {
+        return PrebidMobile.getTimeoutMillis() + BaseNetworkTask.SOCKET_TIMEOUT;
+    }
+
+    private void parseVast(final String vast) {
+        parseExecutor.execute(() -> {
+            Object result;
+            if (!Utils.isVast(vast)) {
+                result = null;
+            } else {
+                try {
+                    result = new AdResponseParserVast(vast);
+                } catch (VastParseError e) {
+                    result = e;
+                }
+            }
+            final Object parseResult = result;
+            TasksManager.getInstance().executeOnMainThread(() -> onVastParsed(parseResult));
+        });
+    }
+
+    private void onVastParsed(Object parseResult) {
+        if (isCancelled) {
             return;
         }
+        if (parseResult instanceof AdResponseParserVast) {
+            handleVastParser((AdResponseParserVast) parseResult);
+        } else if (parseResult instanceof VastParseError) {
+            handleVastParseError((VastParseError) parseResult);
+        } else {
+            handleInvalidVast();
+        }
+    }
 
+    private void handleInvalidVast() {
+        final AdException adException = new AdException(AdException.INTERNAL_ERROR, VASTErrorCodes.VAST_SCHEMA_ERROR.toString());
+        listener.onResult(createExtractorFailureResult(adException));
+    }
+
+    private void handleVastParseError(VastParseError e) {
         vastWrapperCount++;
+        LogUtil.error(TAG, "AdResponseParserVast creation failed: " + Log.getStackTraceString(e));
 
-        // A new response has come back, either from the initial VAST request or a wrapper request.
-        // Parse the response.
-        AdResponseParserVast adResponseParserVast;
-        try {
-            adResponseParserVast = new AdResponseParserVast(vast);
-        } catch (VastParseError e) {
-            LogUtil.error(TAG, "AdResponseParserVast creation failed: " + Log.getStackTraceString(e));
+        final AdException adException = new AdException(AdException.INTERNAL_ERROR, e.getMessage());
+        listener.onResult(createExtractorFailureResult(adException));
+    }
 
-            final AdException adException = new AdException(AdException.INTERNAL_ERROR, e.getMessage());
-            listener.onResult(createExtractorFailureResult(adException));
-            return;
-        }
+    private void handleVastParser(AdResponseParserVast adResponseParserVast) {
+        vastWrapperCount++;
 
         // Check if this is the response from the initial request or from unwrapping a wrapper
         if (rootVastParser == null) {
@@ -131,7 +199,7 @@ public class VastParserExtractor {
                 return;
             }
 
-            asyncVastLoader.loadVast(vastUrl, responseHandler);
+            loadWrappedVast(vastUrl);
         }
         else {
             final AdResponseParserBase[] parserArray = {rootVastParser, latestVastWrapperParser};
@@ -139,6 +207,30 @@ public class VastParserExtractor {
         }
     }
 
+    private void loadWrappedVast(String vastUrl) {
+        VAST cachedVast = vastWrapperCache.get(vastUrl);
+        if (cachedVast != null) {
+            LogUtil.debug(TAG, "Wrapped VAST loaded from cache");
+            pendingVastUrl = null;
+            handleVastParser(new AdResponseParserVast(cachedVast));
+            return;
+        }
+
+        long remainingMillis = wrapperChainDeadline - SystemClock.elapsedRealtime();
+        if (remainingMillis <= 0) {
+            final AdException adException = new AdException(
+                    AdException.INTERNAL_ERROR,
+                    VASTErrorCodes.VASTTAG_TIMEOUT_ERROR.toString()
+            );
+            listener.onResult(createExtractorFailureResult(adException));
+            vastWrapperCount = 0;
+            return;
+        }
+
+        pendingVastUrl = vastUrl;
+        asyncVastLoader.loadVast(vastUrl, (int) remainingMillis, responseHandler);
+    }
+
     private void failedToLoadAd(String msg) {
         LogUtil.error(TAG, "Invalid ad response: " + msg);
 
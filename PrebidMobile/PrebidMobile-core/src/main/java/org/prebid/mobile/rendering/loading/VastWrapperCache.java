@@ -0,0 +1,100 @@
+/*
+ *    Copyright 2018-2021 Prebid.org, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.prebid.mobile.rendering.loading;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import org.prebid.mobile.rendering.video.vast.VAST;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Short-lived cache of parsed VAST documents loaded by wrapper urls, shared by all ad units.
+ * Wrappers of the same demand partner often point to the same url within a session.
+ * The cached models are only read, each ad wraps them in its own {@link org.prebid.mobile.rendering.parser.AdResponseParserVast}.
+ */
+public class VastWrapperCache {
+
+    public static final long TTL_MILLIS = TimeUnit.MINUTES.toMillis(2);
+    public static final int MAX_ENTRIES = 20;
+
+    private static VastWrapperCache instance;
+
+    private final long ttlMillis;
+    private final LinkedHashMap<String, Entry> entries;
+
+    @VisibleForTesting
+    VastWrapperCache(
+            long ttlMillis,
+            final int maxEntries
+    ) {
+        this.ttlMillis = ttlMillis;
+        entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public static synchronized VastWrapperCache getInstance() {
+        if (instance == null) {
+            instance = new VastWrapperCache(TTL_MILLIS, MAX_ENTRIES);
+        }
+        return instance;
+    }
+
+    @Nullable
+    public synchronized VAST get(@NonNull String url) {
+        Entry entry = entries.get(url);
+        if (entry == null) {
+            return null;
+        }
+        if (SystemClock.elapsedRealtime() - entry.createdAt > ttlMillis) {
+            entries.remove(url);
+            return null;
+        }
+        return entry.vast;
+    }
+
+    public synchronized void put(
+            @NonNull String url,
+            @NonNull VAST vast
+    ) {
+        entries.put(url, new Entry(vast, SystemClock.elapsedRealtime()));
+    }
+
+    private static class Entry {
+
+        private final VAST vast;
+        private final long createdAt;
+
+        private Entry(
+                VAST vast,
+                long createdAt
+        ) {
+            this.vast = vast;
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -22,6 +22,7 @@ import android.text.TextUtils;
 import androidx.annotation.NonNull;
 
 import org.prebid.mobile.LogUtil;
+import org.prebid.mobile.PrebidMobile;
 import org.prebid.mobile.api.data.AdFormat;
 import org.prebid.mobile.api.exceptions.AdException;
 import org.prebid.mobile.configuration.AdUnitConfiguration;
@@ -45,6 +46,8 @@ public class CreativeModelMakerBids {
     private final VastParserExtractor parserExtractor = new VastParserExtractor(this::handleExtractorResult);
 
     private AdUnitConfiguration adConfiguration;
+    private JSLibraryManager jsScriptsManager;
+    private JSLibraryManager.ScriptsReadyListener scriptsReadyListener;
 
     public CreativeModelMakerBids(
             @NonNull AdLoadListener listener
@@ -73,12 +76,29 @@ public class CreativeModelMakerBids {
         }
 
         Context context = PrebidContextHolder.getContext();
-        JSLibraryManager jsScriptsManager = JSLibraryManager.getInstance(context);
+        jsScriptsManager = JSLibraryManager.getInstance(context);
         if (!jsScriptsManager.checkIfScriptsDownloadedAndStartDownloadingIfNot()) {
-            notifyErrorListener("JS libraries has not been downloaded yet. Starting downloading...");
+            LogUtil.debug(TAG, "JS libraries are not loaded yet. Waiting for them...");
+            scriptsReadyListener = isReady -> {
+                scriptsReadyListener = null;
+                if (isReady) {
+                    makeModelsWithScripts(adConfiguration, bidResponse, winningBid);
+                } else {
+                    notifyErrorListener("JS libraries has not been downloaded yet. Starting downloading...");
+                }
+            };
+            jsScriptsManager.awaitScripts(PrebidMobile.getCreativeFactoryTimeout(), scriptsReadyListener);
             return;
         }
 
+        makeModelsWithScripts(adConfiguration, bidResponse, winningBid);
+    }
+
+    private void makeModelsWithScripts(
+            AdUnitConfiguration adConfiguration,
+            BidResponse bidResponse,
+            Bid winningBid
+    ) {
         if (bidResponse.isVideo()) {
             makeVideoModels(adConfiguration, winningBid.getAdm());
         } else {
@@ -93,6 +113,10 @@ public class CreativeModelMakerBids {
     }
 
     public void cancel() {
+        if (scriptsReadyListener != null) {
+            jsScriptsManager.removeScriptsReadyListener(scriptsReadyListener);
+            scriptsReadyListener = null;
+        }
         if (parserExtractor != null) {
             parserExtractor.cancel();
         }
@@ -17,8 +17,6 @@
 package org.prebid.mobile.rendering.models;
 
 import android.content.Context;
-import android.os.Handler;
-import android.os.Looper;
 import android.view.View;
 import android.view.ViewTreeObserver;
 import androidx.annotation.NonNull;
@@ -42,22 +40,18 @@ public class CreativeVisibilityTracker {
 
     private static final String TAG = CreativeVisibilityTracker.class.getSimpleName();
 
-    // Time interval to use for throttling visibility checks.
-    private static final int VISIBILITY_THROTTLE_MILLIS = 200;
-
     public interface VisibilityTrackerListener {
 
         void onVisibilityChanged(VisibilityTrackerResult result);
 
     }
 
-    private ViewTreeObserver.OnPreDrawListener onPreDrawListener;
     private WeakReference<ViewTreeObserver> weakViewTreeObserver;
 
     private WeakReference<View> trackedView;
     private final List<VisibilityChecker> visibilityCheckerList = new ArrayList<>();
     @VisibleForTesting protected Runnable visibilityRunnable;
-    private Handler visibilityHandler;
+    private VisibilityEngine visibilityEngine;
     private VisibilityTrackerListener visibilityTrackerListener;
     private boolean proceedAfterImpTracking;
     private boolean isVisibilityScheduled;
@@ -78,14 +72,9 @@ public class CreativeVisibilityTracker {
             visibilityCheckerList.add(new VisibilityChecker(trackingOption, viewExposureChecker));
         }
 
-        visibilityHandler = new Handler(Looper.getMainLooper());
+        visibilityEngine = VisibilityEngine.getInstance();
         visibilityRunnable = createVisibilityRunnable();
 
-        onPreDrawListener = () -> {
-            scheduleVisibilityCheck();
-            return true;
-        };
-
         weakViewTreeObserver = new WeakReference<>(null);
     }
 
@@ -140,7 +129,7 @@ public class CreativeVisibilityTracker {
         }
 
         weakViewTreeObserver = new WeakReference<>(viewTreeObserver);
-        viewTreeObserver.addOnPreDrawListener(onPreDrawListener);
+        visibilityEngine.register(this, viewTreeObserver);
     }
 
     public void setVisibilityTrackerListener(
@@ -158,12 +147,11 @@ public class CreativeVisibilityTracker {
     }
 
     public void stopVisibilityCheck() {
-        visibilityHandler.removeCallbacksAndMessages(null);
-        isVisibilityScheduled = false;
-        final ViewTreeObserver viewTreeObserver = weakViewTreeObserver.get();
-        if (viewTreeObserver != null && viewTreeObserver.isAlive()) {
-            viewTreeObserver.removeOnPreDrawListener(onPreDrawListener);
+        if (visibilityEngine == null) {
+            return;
         }
+        visibilityEngine.unregister(this);
+        isVisibilityScheduled = false;
         weakViewTreeObserver.clear();
     }
 
@@ -175,7 +163,7 @@ public class CreativeVisibilityTracker {
         }
 
         isVisibilityScheduled = true;
-        visibilityHandler.postDelayed(visibilityRunnable, VISIBILITY_THROTTLE_MILLIS);
+        visibilityEngine.schedule(this);
     }
 
     private Runnable createVisibilityRunnable() {
@@ -190,9 +178,15 @@ public class CreativeVisibilityTracker {
                 return;
             }
 
+            isVisibilityScheduled = false;
+            // Exposure doesn't depend on the tracking option, so the hierarchy is walked once per check.
+            ViewExposure viewExposure = null;
+            boolean isExposureChecked = false;
             for (VisibilityChecker visibilityChecker : visibilityCheckerList) {
-                isVisibilityScheduled = false;
-                ViewExposure viewExposure = visibilityChecker.checkViewExposure(trackedView);
+                if (!isExposureChecked) {
+                    viewExposure = visibilityChecker.checkViewExposure(trackedView);
+                    isExposureChecked = true;
+                }
                 boolean shouldFireImpression = false;
                 boolean isVisible = visibilityChecker.isVisible(trackedView, viewExposure);
 
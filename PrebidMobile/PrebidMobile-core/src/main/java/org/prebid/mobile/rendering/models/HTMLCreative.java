@@ -311,13 +311,12 @@ public class HTMLCreative extends AbstractCreative implements WebViewDelegate, I
 
         if (getCreativeView() != null) {
             getCreativeView().destroy();
+            ViewPool.getInstance().swapToUnoccupied(getCreativeView());
         }
 
         if (mraidController != null) {
             mraidController.destroy();
         }
-
-        ViewPool.getInstance().clear();
     }
 
     public void mraidAdCollapsed() {
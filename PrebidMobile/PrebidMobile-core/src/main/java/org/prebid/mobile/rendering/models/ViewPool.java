@@ -17,24 +17,108 @@
 package org.prebid.mobile.rendering.models;
 
 import android.annotation.SuppressLint;
+import android.app.Activity;
+import android.app.Application;
+import android.content.ComponentCallbacks2;
 import android.content.Context;
+import android.content.ContextWrapper;
+import android.content.res.Configuration;
+import android.os.Bundle;
+import android.os.Looper;
 import android.view.View;
+import android.webkit.WebView;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import org.prebid.mobile.LogUtil;
 import org.prebid.mobile.api.data.AdFormat;
 import org.prebid.mobile.api.exceptions.AdException;
 import org.prebid.mobile.rendering.listeners.VideoCreativeViewListener;
 import org.prebid.mobile.rendering.video.ExoPlayerView;
 import org.prebid.mobile.rendering.views.interstitial.InterstitialManager;
 import org.prebid.mobile.rendering.views.webview.PrebidWebViewBanner;
+import org.prebid.mobile.rendering.views.webview.PrebidWebViewBase;
 import org.prebid.mobile.rendering.views.webview.PrebidWebViewInterstitial;
 import org.prebid.mobile.rendering.views.webview.mraid.Views;
 
-import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
 
+/**
+ * Pool of creative views, keyed by ad format. Must be used on the main thread only.
+ * <p>
+ * Web views of destroyed creatives are scrubbed and kept for the next ad of the same ad unit
+ * (same context and interstitial manager), e.g. the next banner refresh. At most
+ * {@link #MAX_UNOCCUPIED_PER_FORMAT} views per format are kept, and all of them are released
+ * when the system asks to trim memory. Views of an activity are released when the activity is
+ * destroyed. Video views are bound to their creative and are never reused.
+ * <p>
+ * The web view engine is warmed up once at idle time after SDK initialization, so the first
+ * banner doesn't pay for its initialization.
+ */
+@MainThread
 public class ViewPool {
 
+    private static final String TAG = ViewPool.class.getSimpleName();
+
+    static final int MAX_UNOCCUPIED_PER_FORMAT = 2;
+
     @SuppressLint("StaticFieldLeak") private static ViewPool sInstance = null;
-    private ArrayList<View> occupiedViews = new ArrayList<>();
-    private ArrayList<View> unoccupiedViews = new ArrayList<>();
+    private final HashSet<View> occupiedViews = new HashSet<>();
+    private final EnumMap<AdFormat, ArrayDeque<View>> unoccupiedViews = new EnumMap<>(AdFormat.class);
+
+    private boolean isPrewarmScheduled;
+    private boolean areLifecycleCallbacksRegistered;
+    private long prewarmMillis = -1;
+    private int hitCount;
+    private int missCount;
+    private int createdCount;
+    private long totalCreationNanos;
+
+    private final ComponentCallbacks2 memoryCallbacks = new ComponentCallbacks2() {
+        @Override
+        public void onTrimMemory(int level) {
+            trimMemory(level);
+        }
+
+        @Override
+        public void onConfigurationChanged(@NonNull Configuration configuration) {}
+
+        @Override
+        public void onLowMemory() {
+            trimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
+        }
+    };
+
+    private final Application.ActivityLifecycleCallbacks lifecycleCallbacks = new Application.ActivityLifecycleCallbacks() {
+        @Override
+        public void onActivityCreated(@NonNull Activity activity, @Nullable Bundle savedInstanceState) {}
+
+        @Override
+        public void onActivityStarted(@NonNull Activity activity) {}
+
+        @Override
+        public void onActivityResumed(@NonNull Activity activity) {}
+
+        @Override
+        public void onActivityPaused(@NonNull Activity activity) {}
+
+        @Override
+        public void onActivityStopped(@NonNull Activity activity) {}
+
+        @Override
+        public void onActivitySaveInstanceState(@NonNull Activity activity, @NonNull Bundle outState) {}
+
+        @Override
+        public void onActivityDestroyed(@NonNull Activity activity) {
+            removeViewsOf(activity);
+        }
+    };
 
     private ViewPool() {
 
@@ -52,50 +136,45 @@ public class ViewPool {
     }
 
     protected int sizeOfUnoccupied() {
-        return unoccupiedViews.size();
+        int size = 0;
+        for (ArrayDeque<View> views : unoccupiedViews.values()) {
+            size += views.size();
+        }
+        return size;
     }
 
     //This will add views into occupied bucket
     public void addToOccupied(View view) {
-        if (!occupiedViews.contains(view) && !unoccupiedViews.contains(view)) {
+        if (!isUnoccupied(view)) {
             occupiedViews.add(view);
         }
     }
 
     public void addToUnoccupied(View view) {
-        if (!unoccupiedViews.contains(view) && !occupiedViews.contains(view)) {
-            unoccupiedViews.add(view);
+        if (!occupiedViews.contains(view)) {
+            putUnoccupied(view);
         }
     }
 
-    //This will swap from occupied to unoccupied(after windowclose) and removes it from occupied bucket
+    //This will swap from occupied to unoccupied(after windowclose) and removes it from occupied bucket.
+    //The view must be destroyed by its creative already, its ad state is dropped here.
     public void swapToUnoccupied(View view) {
-        if (!unoccupiedViews.contains(view)) {
-            unoccupiedViews.add(view);
-
-            Views.removeFromParent(view);
-        }
         occupiedViews.remove(view);
-    }
-
-    //This will swap from unoccupied to occupied(after showing/displaying) and removes it from unoccupied bucket
-    private void swapToOccupied(View view) {
-        if (!occupiedViews.contains(view)) {
-            occupiedViews.add(view);
+        Views.removeFromParent(view);
+        if (getRecyclableFormat(view) == null || isUnoccupied(view)) {
+            return;
         }
 
-        unoccupiedViews.remove(view);
+        ((PrebidWebViewBase) view).resetForReuse();
+        putUnoccupied(view);
     }
 
     //This only clears the bucketlist. It does not actually remove the lists. Means (size becomes 0 but list still exists)
     public void clear() {
         occupiedViews.clear();
         unoccupiedViews.clear();
-        plugPlayView = null;
     }
 
-    private View plugPlayView;
-
     //Q: why are we keeping it in occupied? Should we not put/get from unoccupied directly?
     //A: Because, when a videoCreativeView is created, we will have to, anyways, add the view to the occupied bucket as it is going to be given to adView.
     //So, do that step here itself.(distribution of work!)
@@ -104,33 +183,214 @@ public class ViewPool {
         if (context == null) {
             throw new AdException(AdException.INTERNAL_ERROR, "Context is null");
         }
-        if (unoccupiedViews != null && unoccupiedViews.size() > 0) {
-
-            View view = unoccupiedViews.get(0);
 
+        View view = pollUnoccupied(adType, context, interstitialManager);
+        if (view != null) {
+            hitCount++;
             Views.removeFromParent(view);
-
-            //get item from unoccupied & add it to occupied
-            swapToOccupied(view);
-            return occupiedViews.get(occupiedViews.size() - 1);
+            occupiedViews.add(view);
+            return view;
         }
-        //create a new one
-
-        //add it to occupied
+        missCount++;
 
+        long start = System.nanoTime();
         switch (adType) {
             case BANNER:
-                plugPlayView = new PrebidWebViewBanner(context, interstitialManager);
+                view = new PrebidWebViewBanner(context, interstitialManager);
                 break;
             case INTERSTITIAL:
-                plugPlayView = new PrebidWebViewInterstitial(context, interstitialManager);
-                //add it to occupied
+                view = new PrebidWebViewInterstitial(context, interstitialManager);
                 break;
             case VAST:
-                plugPlayView = new ExoPlayerView(context, videoCreativeViewListener);
+                view = new ExoPlayerView(context, videoCreativeViewListener);
                 break;
+            default:
+                throw new AdException(AdException.INTERNAL_ERROR, "Unsupported ad format: " + adType);
+        }
+        totalCreationNanos += System.nanoTime() - start;
+        createdCount++;
+
+        occupiedViews.add(view);
+        return view;
+    }
+
+    /**
+     * Warms up the web view engine once the main thread is idle and starts listening
+     * for memory trim requests. Subsequent calls are ignored.
+     */
+    public void prewarm(@NonNull Context context) {
+        if (isPrewarmScheduled) {
+            return;
+        }
+        isPrewarmScheduled = true;
+
+        Context applicationContext = context.getApplicationContext();
+        applicationContext.registerComponentCallbacks(memoryCallbacks);
+        registerLifecycleCallbacks(context);
+        Looper.myQueue().addIdleHandler(() -> {
+            warmUpWebView(applicationContext);
+            return false;
+        });
+    }
+
+    /**
+     * @return number of views served from the pool.
+     */
+    public int getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return number of views created because the pool had no matching view.
+     */
+    public int getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return average time of view creation on a pool miss or 0 if no view was created.
+     */
+    public long getAverageCreationMillis() {
+        if (createdCount == 0) {
+            return 0;
+        }
+        return totalCreationNanos / createdCount / 1_000_000;
+    }
+
+    /**
+     * @return duration of the web view engine warm up or -1 if it hasn't happened.
+     */
+    public long getPrewarmMillis() {
+        return prewarmMillis;
+    }
+
+    @VisibleForTesting
+    void trimMemory(int level) {
+        if (level < ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+            return;
+        }
+        LogUtil.debug(TAG, "Trimming " + sizeOfUnoccupied() + " pooled views. Level: " + level);
+        unoccupiedViews.clear();
+    }
+
+    @VisibleForTesting
+    void removeViewsOf(Activity activity) {
+        Iterator<View> occupiedIterator = occupiedViews.iterator();
+        while (occupiedIterator.hasNext()) {
+            if (findActivity(occupiedIterator.next().getContext()) == activity) {
+                occupiedIterator.remove();
+            }
+        }
+        for (ArrayDeque<View> views : unoccupiedViews.values()) {
+            Iterator<View> iterator = views.iterator();
+            while (iterator.hasNext()) {
+                if (findActivity(iterator.next().getContext()) == activity) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private void registerLifecycleCallbacks(Context context) {
+        if (areLifecycleCallbacksRegistered) {
+            return;
+        }
+        Context applicationContext = context.getApplicationContext();
+        if (applicationContext instanceof Application) {
+            ((Application) applicationContext).registerActivityLifecycleCallbacks(lifecycleCallbacks);
+            areLifecycleCallbacksRegistered = true;
+        }
+    }
+
+    private void warmUpWebView(Context applicationContext) {
+        long start = System.nanoTime();
+        try {
+            new WebView(applicationContext).destroy();
+            prewarmMillis = (System.nanoTime() - start) / 1_000_000;
+            LogUtil.debug(TAG, "WebView warmed up in " + prewarmMillis + " ms");
+        } catch (Throwable throwable) {
+            LogUtil.warning(TAG, "Failed to warm up WebView: " + throwable.getMessage());
+        }
+    }
+
+    private void putUnoccupied(View view) {
+        AdFormat format = getRecyclableFormat(view);
+        if (format == null) {
+            return;
+        }
+        Activity activity = findActivity(view.getContext());
+        if (activity != null && activity.isFinishing()) {
+            return;
+        }
+        registerLifecycleCallbacks(view.getContext());
+
+        ArrayDeque<View> views = unoccupiedViews.get(format);
+        if (views == null) {
+            views = new ArrayDeque<>();
+            unoccupiedViews.put(format, views);
+        }
+        if (views.contains(view)) {
+            return;
+        }
+        if (views.size() >= MAX_UNOCCUPIED_PER_FORMAT) {
+            views.pollFirst();
+        }
+        views.addLast(view);
+    }
+
+    @Nullable
+    private View pollUnoccupied(
+            AdFormat format,
+            Context context,
+            InterstitialManager interstitialManager
+    ) {
+        ArrayDeque<View> views = unoccupiedViews.get(format);
+        if (views == null) {
+            return null;
+        }
+
+        Iterator<View> iterator = views.descendingIterator();
+        while (iterator.hasNext()) {
+            View view = iterator.next();
+            Context viewContext = view.getContext();
+            Activity activity = findActivity(viewContext);
+            if (activity != null && activity.isFinishing()) {
+                iterator.remove();
+                continue;
+            }
+            if (viewContext == context && ((PrebidWebViewBase) view).getInterstitialManager() == interstitialManager) {
+                iterator.remove();
+                return view;
+            }
+        }
+        return null;
+    }
+
+    private boolean isUnoccupied(View view) {
+        AdFormat format = getRecyclableFormat(view);
+        ArrayDeque<View> views = format != null ? unoccupiedViews.get(format) : null;
+        return views != null && views.contains(view);
+    }
+
+    @Nullable
+    private static Activity findActivity(@Nullable Context context) {
+        while (context instanceof ContextWrapper) {
+            if (context instanceof Activity) {
+                return (Activity) context;
+            }
+            context = ((ContextWrapper) context).getBaseContext();
+        }
+        return null;
+    }
+
+    @Nullable
+    private static AdFormat getRecyclableFormat(View view) {
+        if (view instanceof PrebidWebViewBanner) {
+            return AdFormat.BANNER;
+        }
+        if (view instanceof PrebidWebViewInterstitial) {
+            return AdFormat.INTERSTITIAL;
         }
-        addToOccupied(plugPlayView);
-        return plugPlayView;
+        return null;
     }
 }
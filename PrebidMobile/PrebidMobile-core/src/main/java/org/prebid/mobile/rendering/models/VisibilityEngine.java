@@ -0,0 +1,144 @@
+/*
+ *    Copyright 2018-2021 Prebid.org, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.prebid.mobile.rendering.models;
+
+import android.view.Choreographer;
+import android.view.ViewTreeObserver;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Drives the visibility checks of all {@link CreativeVisibilityTracker} instances.
+ * <p>
+ * Only one pre-draw listener is added per window, no matter how many creatives it contains.
+ * A redraw schedules the checks of that window's trackers, and all scheduled checks run together
+ * in one frame callback at most once per {@link #THROTTLE_MILLIS}.
+ */
+@MainThread
+class VisibilityEngine {
+
+    // Time interval to use for throttling visibility checks.
+    static final int THROTTLE_MILLIS = 200;
+
+    private static VisibilityEngine instance;
+
+    private final WeakHashMap<ViewTreeObserver, WindowHook> windowHooks = new WeakHashMap<>();
+    private final LinkedHashSet<CreativeVisibilityTracker> scheduledTrackers = new LinkedHashSet<>();
+    // Reused between ticks to avoid allocating a copy of the scheduled trackers on every frame.
+    private final ArrayList<CreativeVisibilityTracker> runningTrackers = new ArrayList<>();
+    private final Choreographer.FrameCallback frameCallback = frameTimeNanos -> tick();
+
+    private boolean isTickScheduled;
+
+    @VisibleForTesting
+    VisibilityEngine() {
+    }
+
+    static VisibilityEngine getInstance() {
+        if (instance == null) {
+            instance = new VisibilityEngine();
+        }
+        return instance;
+    }
+
+    /**
+     * Schedules the tracker's checks on every redraw of the window the observer belongs to.
+     */
+    void register(
+            @NonNull CreativeVisibilityTracker tracker,
+            @NonNull ViewTreeObserver viewTreeObserver
+    ) {
+        WindowHook windowHook = windowHooks.get(viewTreeObserver);
+        if (windowHook == null) {
+            windowHook = new WindowHook();
+            windowHooks.put(viewTreeObserver, windowHook);
+            viewTreeObserver.addOnPreDrawListener(windowHook);
+        }
+        windowHook.trackers.add(tracker);
+    }
+
+    /**
+     * Stops the tracker's checks. The window's pre-draw listener is removed with its last tracker.
+     */
+    void unregister(@NonNull CreativeVisibilityTracker tracker) {
+        scheduledTrackers.remove(tracker);
+
+        ArrayList<ViewTreeObserver> unusedObservers = new ArrayList<>();
+        for (Map.Entry<ViewTreeObserver, WindowHook> entry : windowHooks.entrySet()) {
+            WindowHook windowHook = entry.getValue();
+            if (windowHook.trackers.remove(tracker) && windowHook.trackers.isEmpty()) {
+                unusedObservers.add(entry.getKey());
+            }
+        }
+        for (ViewTreeObserver viewTreeObserver : unusedObservers) {
+            WindowHook windowHook = windowHooks.remove(viewTreeObserver);
+            if (viewTreeObserver.isAlive()) {
+                viewTreeObserver.removeOnPreDrawListener(windowHook);
+            }
+        }
+    }
+
+    void schedule(@NonNull CreativeVisibilityTracker tracker) {
+        scheduledTrackers.add(tracker);
+        if (isTickScheduled) {
+            return;
+        }
+
+        isTickScheduled = true;
+        Choreographer.getInstance().postFrameCallbackDelayed(frameCallback, THROTTLE_MILLIS);
+    }
+
+    boolean isScheduled(@NonNull CreativeVisibilityTracker tracker) {
+        return scheduledTrackers.contains(tracker);
+    }
+
+    @VisibleForTesting
+    int getWindowCount() {
+        return windowHooks.size();
+    }
+
+    @VisibleForTesting
+    void tick() {
+        isTickScheduled = false;
+        runningTrackers.addAll(scheduledTrackers);
+        scheduledTrackers.clear();
+        for (int i = 0; i < runningTrackers.size(); i++) {
+            runningTrackers.get(i).visibilityRunnable.run();
+        }
+        runningTrackers.clear();
+    }
+
+    private class WindowHook implements ViewTreeObserver.OnPreDrawListener {
+
+        private final LinkedHashSet<CreativeVisibilityTracker> trackers = new LinkedHashSet<>();
+
+        @Override
+        public boolean onPreDraw() {
+            for (CreativeVisibilityTracker tracker : trackers) {
+                tracker.scheduleVisibilityCheck();
+            }
+            return true;
+        }
+    }
+}
@@ -17,7 +17,9 @@
 package org.prebid.mobile.rendering.models.openrtb;
 
 import android.text.TextUtils;
+import android.util.JsonWriter;
 
+import androidx.annotation.NonNull;
 import androidx.annotation.VisibleForTesting;
 import org.json.JSONArray;
 import org.json.JSONException;
@@ -26,6 +28,7 @@ import org.prebid.mobile.PrebidMobile;
 import org.prebid.mobile.rendering.models.openrtb.bidRequests.*;
 import org.prebid.mobile.rendering.models.openrtb.bidRequests.source.Source;
 
+import java.io.IOException;
 import java.util.ArrayList;
 
 public class BidRequest extends BaseBid {
@@ -66,6 +69,26 @@ public class BidRequest extends BaseBid {
         return jsonObject;
     }
 
+    /**
+     * Streams the request with the same fields as {@link #getJsonObject()}, without building the JSON tree.
+     */
+    @Override
+    public void writeTo(@NonNull JsonWriter writer) throws IOException {
+        writer.beginObject();
+        if (imps != null && imps.size() > 0) {
+            write(writer, "imp", imps);
+        }
+        write(writer, "id", !TextUtils.isEmpty(id) ? id : null);
+        write(writer, "app", app);
+        write(writer, "device", device);
+        write(writer, "regs", regs);
+        write(writer, "user", user);
+        write(writer, "source", source);
+        write(writer, "ext", ext);
+        write(writer, "test", PrebidMobile.getPbsDebug() ? 1 : null);
+        writer.endObject();
+    }
+
     // Accessors to prevent NPE while maintaining null if object is not set
 
     // App
@@ -156,4 +179,25 @@ public class BidRequest extends BaseBid {
         }
         return ext;
     }
+
+    /**
+     * Structural copy used as a starting point for every auction.
+     * Much cheaper than a round trip through Java serialization.
+     */
+    public BidRequest copy() {
+        BidRequest copy = (BidRequest) shallowCopy();
+        copy.app = app != null ? app.copy() : null;
+        copy.device = device != null ? device.copy() : null;
+        copy.regs = regs != null ? regs.copy() : null;
+        copy.user = user != null ? user.copy() : null;
+        copy.source = source != null ? source.copy() : null;
+        copy.ext = ext != null ? ext.copy() : null;
+        if (imps != null) {
+            copy.imps = new ArrayList<>(imps.size());
+            for (Imp imp : imps) {
+                copy.imps.add(imp != null ? imp.copy() : null);
+            }
+        }
+        return copy;
+    }
 }
@@ -16,12 +16,18 @@
 
 package org.prebid.mobile.rendering.models.openrtb.bidRequests;
 
+import android.util.JsonWriter;
+
+import androidx.annotation.NonNull;
+
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.prebid.mobile.ContentObject;
 import org.prebid.mobile.rendering.models.openrtb.bidRequests.apps.Publisher;
 
+import java.io.IOException;
+
 public class App extends BaseBid {
 
     public String id = null;
@@ -97,6 +103,29 @@ public class App extends BaseBid {
         return jsonObject;
     }
 
+    @Override
+    public void writeTo(@NonNull JsonWriter writer) throws IOException {
+        writer.beginObject();
+        write(writer, "id", id);
+        write(writer, "name", name);
+        write(writer, "bundle", bundle);
+        write(writer, "domain", domain);
+        write(writer, "storeurl", storeurl);
+        write(writer, "cat", cat);
+        write(writer, "sectioncat", sectioncat);
+        write(writer, "pagecat", pagecat);
+        if (contentObject != null) {
+            write(writer, "content", contentObject.getJsonObject());
+        }
+        write(writer, "ver", ver);
+        write(writer, "privacypolicy", privacypolicy);
+        write(writer, "paid", paid);
+        write(writer, "keywords", keywords);
+        write(writer, "publisher", publisher);
+        write(writer, "ext", ext);
+        writer.endObject();
+    }
+
     public Publisher getPublisher() {
         if (publisher == null) {
             publisher = new Publisher();
@@ -110,4 +139,12 @@ public class App extends BaseBid {
         }
         return ext;
     }
+
+    public App copy() {
+        App copy = (App) shallowCopy();
+        copy.publisher = publisher != null ? publisher.copy() : null;
+        copy.contentObject = contentObject != null ? contentObject.copy() : null;
+        copy.ext = ext != null ? ext.copy() : null;
+        return copy;
+    }
 }
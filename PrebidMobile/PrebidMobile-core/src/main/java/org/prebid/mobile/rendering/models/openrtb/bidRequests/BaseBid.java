@@ -16,17 +16,185 @@
 
 package org.prebid.mobile.rendering.models.openrtb.bidRequests;
 
+import android.util.JsonWriter;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
 
 /**
  * Created by matthew.rolufs on 6/23/15.
  */
-public class BaseBid implements Serializable
+public class BaseBid implements Serializable, Cloneable
 {
     protected void toJSON(JSONObject jsonObject, String key, Object value) throws JSONException {
         jsonObject.putOpt(key, value);
     }
+
+    /**
+     * Streams the same fields as {@code getJsonObject()}, so the bid request body is written
+     * without building the JSON tree. Models that are part of the bid request override it.
+     */
+    public void writeTo(@NonNull JsonWriter writer) throws IOException {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " can't be streamed");
+    }
+
+    /**
+     * Writes the field if the value is not null, like {@link JSONObject#putOpt(String, Object)}.
+     */
+    protected static void write(
+            @NonNull JsonWriter writer,
+            @NonNull String name,
+            @Nullable Object value
+    ) throws IOException {
+        if (value != null) {
+            writer.name(name);
+            writeValue(writer, value);
+        }
+    }
+
+    protected static void write(
+            @NonNull JsonWriter writer,
+            @NonNull String name,
+            @Nullable BaseBid value
+    ) throws IOException {
+        if (value != null) {
+            writer.name(name);
+            value.writeTo(writer);
+        }
+    }
+
+    protected static void write(
+            @NonNull JsonWriter writer,
+            @NonNull String name,
+            @Nullable Ext value
+    ) throws IOException {
+        if (value != null) {
+            writer.name(name);
+            value.writeTo(writer);
+        }
+    }
+
+    /**
+     * Writes a value the way {@link JSONObject} serializes it. Integral numbers are written
+     * without the fraction, JSON values provided by the publisher are walked as they are.
+     */
+    protected static void writeValue(
+            @NonNull JsonWriter writer,
+            @Nullable Object value
+    ) throws IOException {
+        if (value == null || value == JSONObject.NULL) {
+            writer.nullValue();
+        } else if (value instanceof BaseBid) {
+            ((BaseBid) value).writeTo(writer);
+        } else if (value instanceof JSONObject) {
+            JSONObject jsonObject = (JSONObject) value;
+            writer.beginObject();
+            Iterator<String> keys = jsonObject.keys();
+            while (keys.hasNext()) {
+                String key = keys.next();
+                writer.name(key);
+                writeValue(writer, jsonObject.opt(key));
+            }
+            writer.endObject();
+        } else if (value instanceof JSONArray) {
+            JSONArray jsonArray = (JSONArray) value;
+            writer.beginArray();
+            for (int i = 0; i < jsonArray.length(); i++) {
+                writeValue(writer, jsonArray.opt(i));
+            }
+            writer.endArray();
+        } else if (value instanceof Map) {
+            writer.beginObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                writer.name(String.valueOf(entry.getKey()));
+                writeValue(writer, entry.getValue());
+            }
+            writer.endObject();
+        } else if (value instanceof Collection) {
+            writer.beginArray();
+            for (Object item : (Collection<?>) value) {
+                writeValue(writer, item);
+            }
+            writer.endArray();
+        } else if (value instanceof Object[]) {
+            writer.beginArray();
+            for (Object item : (Object[]) value) {
+                writeValue(writer, item);
+            }
+            writer.endArray();
+        } else if (value instanceof int[]) {
+            writer.beginArray();
+            for (int item : (int[]) value) {
+                writer.value(item);
+            }
+            writer.endArray();
+        } else if (value instanceof Boolean) {
+            writer.value((Boolean) value);
+        } else if (value instanceof Number) {
+            Number number = (Number) value;
+            double doubleValue = number.doubleValue();
+            if (!(number instanceof Float || number instanceof Double)) {
+                writer.value(number.longValue());
+            } else if (doubleValue == (long) doubleValue) {
+                writer.value((long) doubleValue);
+            } else {
+                writer.value(number);
+            }
+        } else {
+            writer.value(value.toString());
+        }
+    }
+
+    /**
+     * Field-by-field copy of the object. Subclasses with mutable children
+     * override {@code copy()} to copy them too, while leaf values and arrays are shared,
+     * because parameter builders replace them rather than modifying in place.
+     */
+    protected Object shallowCopy() {
+        try {
+            return super.clone();
+        } catch (CloneNotSupportedException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    /**
+     * Copies JSON objects and arrays recursively, other values are returned as they are.
+     */
+    @Nullable
+    static Object copyJsonValue(@Nullable Object value) {
+        try {
+            if (value instanceof JSONObject) {
+                JSONObject source = (JSONObject) value;
+                JSONObject copy = new JSONObject();
+                Iterator<String> keys = source.keys();
+                while (keys.hasNext()) {
+                    String key = keys.next();
+                    copy.put(key, copyJsonValue(source.opt(key)));
+                }
+                return copy;
+            }
+            if (value instanceof JSONArray) {
+                JSONArray source = (JSONArray) value;
+                JSONArray copy = new JSONArray();
+                for (int i = 0; i < source.length(); i++) {
+                    copy.put(copyJsonValue(source.opt(i)));
+                }
+                return copy;
+            }
+        } catch (JSONException exception) {
+            throw new IllegalStateException(exception);
+        }
+        return value;
+    }
 }
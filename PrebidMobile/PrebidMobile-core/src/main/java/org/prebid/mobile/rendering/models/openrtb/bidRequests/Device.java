@@ -16,10 +16,16 @@
 
 package org.prebid.mobile.rendering.models.openrtb.bidRequests;
 
+import android.util.JsonWriter;
+
+import androidx.annotation.NonNull;
+
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.prebid.mobile.rendering.models.openrtb.bidRequests.devices.Geo;
 
+import java.io.IOException;
+
 public class Device extends BaseBid {
 
     // User Agent
@@ -106,6 +112,40 @@ public class Device extends BaseBid {
         return jsonObject;
     }
 
+    @Override
+    public void writeTo(@NonNull JsonWriter writer) throws IOException {
+        writer.beginObject();
+        write(writer, "ua", ua);
+        write(writer, "dnt", dnt);
+        write(writer, "lmt", lmt);
+        write(writer, "ip", ip);
+        write(writer, "ipv6", ipv6);
+        write(writer, "devicetype", devicetype);
+        write(writer, "make", make);
+        write(writer, "model", model);
+        write(writer, "os", os);
+        write(writer, "osv", osv);
+        write(writer, "hwv", hwv);
+        write(writer, "flashver", flashver);
+        write(writer, "language", language);
+        write(writer, "carrier", carrier);
+        write(writer, "mccmnc", mccmnc);
+        write(writer, "ifa", ifa);
+        write(writer, "didsha1", didsha1);
+        write(writer, "didmd5", didmd5);
+        write(writer, "dpidsha1", dpidsha1);
+        write(writer, "dpidmd5", dpidmd5);
+        write(writer, "h", h);
+        write(writer, "w", w);
+        write(writer, "ppi", ppi);
+        write(writer, "js", js);
+        write(writer, "connectiontype", connectiontype);
+        write(writer, "pxratio", pxratio);
+        write(writer, "ext", ext);
+        write(writer, "geo", geo);
+        writer.endObject();
+    }
+
     // Accessors to prevent NPE while maintaining null if object is not set
 
     // Geo
@@ -139,4 +179,11 @@ public class Device extends BaseBid {
             this.value = type;
         }
     }
+
+    public Device copy() {
+        Device copy = (Device) shallowCopy();
+        copy.geo = geo != null ? (Geo) geo.copy() : null;
+        copy.ext = ext != null ? ext.copy() : null;
+        return copy;
+    }
 }
@@ -16,9 +16,14 @@
 
 package org.prebid.mobile.rendering.models.openrtb.bidRequests;
 
+import android.util.JsonWriter;
+
+import androidx.annotation.NonNull;
+
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -32,6 +37,13 @@ public class Ext implements Serializable {
         return new JSONObject(extValuesHashMap);
     }
 
+    /**
+     * Streams the values the same way as {@link #getJsonObject()}.
+     */
+    public void writeTo(@NonNull JsonWriter writer) throws IOException {
+        BaseBid.writeValue(writer, extValuesHashMap);
+    }
+
     public void put(String key, String value) {
         extValuesHashMap.put(key, value);
     }
@@ -85,4 +97,12 @@ public class Ext implements Serializable {
     public int hashCode() {
         return extValuesHashMap != null ? extValuesHashMap.hashCode() : 0;
     }
+
+    public Ext copy() {
+        Ext copy = new Ext();
+        for (Map.Entry<String, Object> entry : extValuesHashMap.entrySet()) {
+            copy.extValuesHashMap.put(entry.getKey(), BaseBid.copyJsonValue(entry.getValue()));
+        }
+        return copy;
+    }
 }
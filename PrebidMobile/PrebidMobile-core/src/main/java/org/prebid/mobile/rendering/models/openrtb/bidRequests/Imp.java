@@ -16,12 +16,18 @@
 
 package org.prebid.mobile.rendering.models.openrtb.bidRequests;
 
+import android.util.JsonWriter;
+
+import androidx.annotation.NonNull;
+
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.prebid.mobile.rendering.models.openrtb.bidRequests.imps.Banner;
 import org.prebid.mobile.rendering.models.openrtb.bidRequests.imps.Pmp;
 import org.prebid.mobile.rendering.models.openrtb.bidRequests.imps.Video;
 
+import java.io.IOException;
+
 public class Imp extends BaseBid {
     public String id = null;
     public String displaymanager = null;
@@ -59,6 +65,24 @@ public class Imp extends BaseBid {
         return jsonObject;
     }
 
+    @Override
+    public void writeTo(@NonNull JsonWriter writer) throws IOException {
+        writer.beginObject();
+        write(writer, "id", id);
+        write(writer, "displaymanager", displaymanager);
+        write(writer, "displaymanagerver", displaymanagerver);
+        write(writer, "instl", instl);
+        write(writer, "tagid", tagid);
+        write(writer, "clickbrowser", clickBrowser);
+        write(writer, "secure", secure);
+        write(writer, "banner", banner);
+        write(writer, "video", video);
+        write(writer, "native", nativeObj);
+        write(writer, "pmp", pmp);
+        write(writer, "ext", ext);
+        writer.endObject();
+    }
+
     public Ext getExt() {
         if (ext == null) {
             ext = new Ext();
@@ -88,4 +112,14 @@ public class Imp extends BaseBid {
         return nativeObj;
     }
 
+    public Imp copy() {
+        Imp copy = (Imp) shallowCopy();
+        copy.jsonObject = null;
+        copy.banner = banner != null ? banner.copy() : null;
+        copy.pmp = pmp != null ? pmp.copy() : null;
+        copy.video = video != null ? video.copy() : null;
+        copy.nativeObj = nativeObj != null ? nativeObj.copy() : null;
+        copy.ext = ext != null ? ext.copy() : null;
+        return copy;
+    }
 }
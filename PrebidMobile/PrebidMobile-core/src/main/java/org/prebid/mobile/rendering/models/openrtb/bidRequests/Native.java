@@ -1,5 +1,9 @@
 package org.prebid.mobile.rendering.models.openrtb.bidRequests;
 
+import android.util.JsonWriter;
+
+import androidx.annotation.NonNull;
+
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -8,6 +12,7 @@ import org.prebid.mobile.NativeEventTracker;
 import org.prebid.mobile.PrebidMobile;
 import org.prebid.mobile.configuration.NativeAdUnitConfiguration;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -28,6 +33,15 @@ public class Native extends BaseBid {
         return jsonObject;
     }
 
+    @Override
+    public void writeTo(@NonNull JsonWriter writer) throws IOException {
+        writer.beginObject();
+        writer.name("request").value(request.toString());
+        writer.name("ver").value(PrebidMobile.NATIVE_VERSION);
+        write(writer, "ext", ext);
+        writer.endObject();
+    }
+
     public void setRequestFrom(NativeAdUnitConfiguration config) {
         request = new JSONObject();
         try {
@@ -98,4 +112,11 @@ public class Native extends BaseBid {
         }
         return trackersJsonArray;
     }
-}
\ No newline at end of file
+
+    public Native copy() {
+        Native copy = (Native) shallowCopy();
+        copy.request = (JSONObject) copyJsonValue(request);
+        copy.ext = ext != null ? ext.copy() : null;
+        return copy;
+    }
+}
@@ -16,6 +16,9 @@
 
 package org.prebid.mobile.rendering.models.openrtb.bidRequests;
 
+import android.util.JsonWriter;
+
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import org.json.JSONArray;
@@ -23,6 +26,7 @@ import org.json.JSONException;
 import org.json.JSONObject;
 import org.prebid.mobile.LogUtil;
 
+import java.io.IOException;
 import java.util.ArrayList;
 
 public class Regs extends BaseBid {
@@ -44,6 +48,16 @@ public class Regs extends BaseBid {
         return jsonObject;
     }
 
+    @Override
+    public void writeTo(@NonNull JsonWriter writer) throws IOException {
+        writer.beginObject();
+        write(writer, "gpp", gppString);
+        write(writer, "gpp_sid", gppSid);
+        write(writer, "coppa", coppa);
+        write(writer, "ext", ext);
+        writer.endObject();
+    }
+
     public Ext getExt() {
         if (ext == null) {
             ext = new Ext();
@@ -74,4 +88,9 @@ public class Regs extends BaseBid {
         }
     }
 
+    public Regs copy() {
+        Regs copy = (Regs) shallowCopy();
+        copy.ext = ext != null ? ext.copy() : null;
+        return copy;
+    }
 }
@@ -16,6 +16,9 @@
 
 package org.prebid.mobile.rendering.models.openrtb.bidRequests;
 
+import android.util.JsonWriter;
+
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import org.json.JSONArray;
 import org.json.JSONException;
@@ -23,6 +26,7 @@ import org.json.JSONObject;
 import org.prebid.mobile.DataObject;
 import org.prebid.mobile.rendering.models.openrtb.bidRequests.devices.Geo;
 
+import java.io.IOException;
 import java.util.ArrayList;
 
 public class User extends BaseBid {
@@ -62,6 +66,30 @@ public class User extends BaseBid {
         return jsonObject;
     }
 
+    @Override
+    public void writeTo(@NonNull JsonWriter writer) throws IOException {
+        writer.beginObject();
+        write(writer, "id", id);
+        write(writer, "buyeruid", buyerUid);
+        write(writer, "yob", yob);
+        write(writer, "gender", gender);
+        write(writer, "keywords", keywords);
+        write(writer, "customdata", customData);
+        write(writer, "geo", geo);
+        if (ext != null && !ext.getMap().isEmpty()) {
+            write(writer, "ext", ext);
+        }
+        if (!dataObjects.isEmpty()) {
+            writer.name("data");
+            writer.beginArray();
+            for (DataObject dataObject : dataObjects) {
+                writeValue(writer, dataObject.getJsonObject());
+            }
+            writer.endArray();
+        }
+        writer.endObject();
+    }
+
     // Accessors to prevent NPE while maintaining null if object is not set
 
     // Geo
@@ -99,4 +127,16 @@ public class User extends BaseBid {
         return result;
     }
 
+    public User copy() {
+        User copy = (User) shallowCopy();
+        copy.geo = geo != null ? (Geo) geo.copy() : null;
+        copy.ext = ext != null ? ext.copy() : null;
+        if (dataObjects != null) {
+            copy.dataObjects = new ArrayList<>(dataObjects.size());
+            for (DataObject dataObject : dataObjects) {
+                copy.dataObjects.add(dataObject != null ? dataObject.copy() : null);
+            }
+        }
+        return copy;
+    }
 }
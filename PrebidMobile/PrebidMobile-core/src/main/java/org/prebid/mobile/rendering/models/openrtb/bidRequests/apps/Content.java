@@ -16,12 +16,17 @@
 
 package org.prebid.mobile.rendering.models.openrtb.bidRequests.apps;
 
+import android.util.JsonWriter;
+
+import androidx.annotation.NonNull;
 import androidx.annotation.VisibleForTesting;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.prebid.mobile.rendering.models.openrtb.bidRequests.BaseBid;
 
+import java.io.IOException;
+
 //TODO: ORTB2.5: get back for In-stream video - per Product
 public class Content extends BaseBid {
 
@@ -97,4 +102,28 @@ public class Content extends BaseBid {
 
         return jsonObject;
     }
+
+    @Override
+    public void writeTo(@NonNull JsonWriter writer) throws IOException {
+        writer.beginObject();
+        write(writer, "id", id);
+        write(writer, "episode", episode);
+        write(writer, "title", title);
+        write(writer, "series", series);
+        write(writer, "season", season);
+        write(writer, "url", url);
+        write(writer, "cat", cat);
+        write(writer, "videoquality", videoquality);
+        write(writer, "context", context);
+        write(writer, "qagmediarating", qagmediarating);
+        write(writer, "contentrating", contentrating);
+        write(writer, "userrating", userrating);
+        write(writer, "keywords", keywords);
+        write(writer, "livestream", livestream);
+        write(writer, "sourcerelationship", sourcerelationship);
+        write(writer, "len", len);
+        write(writer, "language", language);
+        write(writer, "embeddable", embeddable);
+        writer.endObject();
+    }
 }
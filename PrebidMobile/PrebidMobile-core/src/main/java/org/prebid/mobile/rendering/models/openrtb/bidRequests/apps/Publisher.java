@@ -16,11 +16,17 @@
 
 package org.prebid.mobile.rendering.models.openrtb.bidRequests.apps;
 
+import android.util.JsonWriter;
+
+import androidx.annotation.NonNull;
+
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.prebid.mobile.rendering.models.openrtb.bidRequests.BaseBid;
 
+import java.io.IOException;
+
 public class Publisher extends BaseBid {
 
     public String id = null;
@@ -52,4 +58,18 @@ public class Publisher extends BaseBid {
 
         return jsonObject;
     }
+
+    @Override
+    public void writeTo(@NonNull JsonWriter writer) throws IOException {
+        writer.beginObject();
+        write(writer, "id", id);
+        write(writer, "name", name);
+        write(writer, "cat", cat);
+        write(writer, "domain", domain);
+        writer.endObject();
+    }
+
+    public Publisher copy() {
+        return (Publisher) shallowCopy();
+    }
 }
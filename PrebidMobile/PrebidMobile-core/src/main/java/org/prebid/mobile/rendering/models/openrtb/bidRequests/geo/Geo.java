@@ -16,10 +16,16 @@
 
 package org.prebid.mobile.rendering.models.openrtb.bidRequests.geo;
 
+import android.util.JsonWriter;
+
+import androidx.annotation.NonNull;
+
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.prebid.mobile.rendering.models.openrtb.bidRequests.BaseBid;
 
+import java.io.IOException;
+
 public class Geo extends BaseBid {
 
     public Float lat = null;
@@ -56,4 +62,26 @@ public class Geo extends BaseBid {
         toJSON(jsonObject, "utcoffset", this.utcoffset);
         return jsonObject;
     }
+
+    @Override
+    public void writeTo(@NonNull JsonWriter writer) throws IOException {
+        writer.beginObject();
+        write(writer, "lat", lat);
+        write(writer, "lon", lon);
+        write(writer, "type", type);
+        write(writer, "accuracy", accuracy);
+        write(writer, "lastfix", lastfix);
+        write(writer, "country", country);
+        write(writer, "region", region);
+        write(writer, "regionfips104", regionfips104);
+        write(writer, "metro", metro);
+        write(writer, "city", city);
+        write(writer, "zip", zip);
+        write(writer, "utcoffset", utcoffset);
+        writer.endObject();
+    }
+
+    public Geo copy() {
+        return (Geo) shallowCopy();
+    }
 }
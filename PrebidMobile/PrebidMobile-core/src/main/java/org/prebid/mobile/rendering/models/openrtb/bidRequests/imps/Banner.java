@@ -16,6 +16,9 @@
 
 package org.prebid.mobile.rendering.models.openrtb.bidRequests.imps;
 
+import android.util.JsonWriter;
+
+import androidx.annotation.NonNull;
 import androidx.annotation.VisibleForTesting;
 import org.json.JSONArray;
 import org.json.JSONException;
@@ -23,6 +26,7 @@ import org.json.JSONObject;
 import org.prebid.mobile.rendering.models.openrtb.bidRequests.BaseBid;
 import org.prebid.mobile.rendering.models.openrtb.bidRequests.imps.pmps.Format;
 
+import java.io.IOException;
 import java.util.HashSet;
 
 public class Banner extends BaseBid {
@@ -56,6 +60,17 @@ public class Banner extends BaseBid {
         return jsonObject;
     }
 
+    @Override
+    public void writeTo(@NonNull JsonWriter writer) throws IOException {
+        writer.beginObject();
+        write(writer, "pos", pos);
+        write(writer, "api", api);
+        if (formats.size() > 0) {
+            write(writer, "format", formats);
+        }
+        writer.endObject();
+    }
+
     public void addFormat(int w, int h) {
         formats.add(new Format(w, h));
     }
@@ -64,4 +79,10 @@ public class Banner extends BaseBid {
     public HashSet<Format> getFormats() {
         return formats;
     }
+
+    public Banner copy() {
+        Banner copy = (Banner) shallowCopy();
+        copy.formats = new HashSet<>(formats);
+        return copy;
+    }
 }
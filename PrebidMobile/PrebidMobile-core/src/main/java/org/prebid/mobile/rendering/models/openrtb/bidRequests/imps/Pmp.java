@@ -16,12 +16,17 @@
 
 package org.prebid.mobile.rendering.models.openrtb.bidRequests.imps;
 
+import android.util.JsonWriter;
+
+import androidx.annotation.NonNull;
+
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.prebid.mobile.rendering.models.openrtb.bidRequests.BaseBid;
 import org.prebid.mobile.rendering.models.openrtb.bidRequests.imps.pmps.Deals;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -50,4 +55,20 @@ public class Pmp extends BaseBid {
 
         return jsonObject;
     }
+
+    @Override
+    public void writeTo(@NonNull JsonWriter writer) throws IOException {
+        writer.beginObject();
+        write(writer, "private_auction", private_auction);
+        if (deals != null && deals.size() > 0) {
+            write(writer, "deals", deals);
+        }
+        writer.endObject();
+    }
+
+    public Pmp copy() {
+        Pmp copy = (Pmp) shallowCopy();
+        copy.deals = deals != null ? new ArrayList<>(deals) : null;
+        return copy;
+    }
 }
@@ -16,11 +16,17 @@
 
 package org.prebid.mobile.rendering.models.openrtb.bidRequests.imps;
 
+import android.util.JsonWriter;
+
+import androidx.annotation.NonNull;
+
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.prebid.mobile.rendering.models.openrtb.bidRequests.BaseBid;
 
+import java.io.IOException;
+
 public class Video extends BaseBid {
 
     public String[] mimes = null;
@@ -130,4 +136,30 @@ public class Video extends BaseBid {
 
         return jsonObject;
     }
+
+    @Override
+    public void writeTo(@NonNull JsonWriter writer) throws IOException {
+        writer.beginObject();
+        write(writer, "mimes", mimes);
+        write(writer, "minduration", minduration);
+        write(writer, "maxduration", maxduration);
+        write(writer, "playbackend", playbackend);
+        write(writer, "protocols", protocols);
+        write(writer, "w", w);
+        write(writer, "h", h);
+        write(writer, "startdelay", startDelay);
+        write(writer, "linearity", linearity);
+        write(writer, "minbitrate", minbitrate);
+        write(writer, "maxbitrate", maxbitrate);
+        write(writer, "placement", placement);
+        write(writer, "playbackmethod", playbackmethod);
+        write(writer, "delivery", delivery);
+        write(writer, "api", api);
+        write(writer, "pos", pos);
+        writer.endObject();
+    }
+
+    public Video copy() {
+        return (Video) shallowCopy();
+    }
 }
@@ -16,11 +16,17 @@
 
 package org.prebid.mobile.rendering.models.openrtb.bidRequests.imps.pmps;
 
+import android.util.JsonWriter;
+
+import androidx.annotation.NonNull;
+
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.prebid.mobile.rendering.models.openrtb.bidRequests.BaseBid;
 
+import java.io.IOException;
+
 public class Deals extends BaseBid {
     public String id = null;
     public Float bidfloor;
@@ -67,4 +73,16 @@ public class Deals extends BaseBid {
         return jsonObject;
 
     }
+
+    @Override
+    public void writeTo(@NonNull JsonWriter writer) throws IOException {
+        writer.beginObject();
+        write(writer, "id", id);
+        write(writer, "bidfloor", bidfloor);
+        write(writer, "bidfloorcur", bidfloorcur);
+        write(writer, "at", at);
+        write(writer, "wseat", wseat);
+        write(writer, "wadomain", wadomain);
+        writer.endObject();
+    }
 }
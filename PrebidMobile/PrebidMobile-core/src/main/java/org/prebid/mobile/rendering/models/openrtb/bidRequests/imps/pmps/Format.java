@@ -16,10 +16,16 @@
 
 package org.prebid.mobile.rendering.models.openrtb.bidRequests.imps.pmps;
 
+import android.util.JsonWriter;
+
+import androidx.annotation.NonNull;
+
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.prebid.mobile.rendering.models.openrtb.bidRequests.BaseBid;
 
+import java.io.IOException;
+
 public class Format extends BaseBid {
 
     public Integer w;
@@ -39,6 +45,14 @@ public class Format extends BaseBid {
         return jsonObject;
     }
 
+    @Override
+    public void writeTo(@NonNull JsonWriter writer) throws IOException {
+        writer.beginObject();
+        write(writer, "w", w);
+        write(writer, "h", h);
+        writer.endObject();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
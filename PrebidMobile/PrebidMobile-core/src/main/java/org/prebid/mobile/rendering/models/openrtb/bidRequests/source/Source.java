@@ -17,11 +17,17 @@
 package org.prebid.mobile.rendering.models.openrtb.bidRequests.source;
 
 import android.text.TextUtils;
+import android.util.JsonWriter;
+
+import androidx.annotation.NonNull;
+
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.prebid.mobile.rendering.models.openrtb.bidRequests.BaseBid;
 import org.prebid.mobile.rendering.models.openrtb.bidRequests.Ext;
 
+import java.io.IOException;
+
 public class Source extends BaseBid {
 
     private String tid;
@@ -54,4 +60,18 @@ public class Source extends BaseBid {
 
         return jsonObject;
     }
+
+    @Override
+    public void writeTo(@NonNull JsonWriter writer) throws IOException {
+        writer.beginObject();
+        write(writer, "tid", !TextUtils.isEmpty(tid) ? tid : null);
+        write(writer, "ext", ext);
+        writer.endObject();
+    }
+
+    public Source copy() {
+        Source copy = (Source) shallowCopy();
+        copy.ext = ext != null ? ext.copy() : null;
+        return copy;
+    }
 }
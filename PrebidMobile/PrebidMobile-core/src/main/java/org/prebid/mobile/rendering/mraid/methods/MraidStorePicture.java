@@ -28,6 +28,8 @@ import org.prebid.mobile.rendering.sdk.deviceData.managers.DeviceInfoManager;
 import org.prebid.mobile.rendering.views.webview.WebViewBase;
 import org.prebid.mobile.rendering.views.webview.mraid.BaseJSInterface;
 import org.prebid.mobile.rendering.views.webview.mraid.JSInterface;
+import org.prebid.mobile.tasksmanager.TaskLane;
+import org.prebid.mobile.tasksmanager.TasksManager;
 
 import static android.Manifest.permission.WRITE_EXTERNAL_STORAGE;
 
@@ -84,7 +86,7 @@ public class MraidStorePicture {
     }
 
     private void storePicture() {
-        new Thread(() -> {
+        TasksManager.getInstance().executeOnLane(TaskLane.HOUSEKEEPING, () -> {
             try {
                 DeviceInfoManager devicePolicyManager = ManagersResolver.getInstance().getDeviceManager();
                 if (!devicePolicyManager.isPermissionGranted(WRITE_EXTERNAL_STORAGE)) {
@@ -99,6 +101,6 @@ public class MraidStorePicture {
                 jsi.onError("Failed to store picture", JSInterface.ACTION_STORE_PICTURE);
                 LogUtil.error(TAG, "Failed to store picture: " + Log.getStackTraceString(e));
             }
-        }).start();
+        });
     }
 }
@@ -18,6 +18,7 @@ package org.prebid.mobile.rendering.networking;
 
 import android.os.AsyncTask;
 
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 
@@ -28,8 +29,10 @@ import org.prebid.mobile.PrebidMobile;
 import org.prebid.mobile.rendering.loading.FileDownloadTask;
 import org.prebid.mobile.rendering.networking.exception.BaseExceptionHolder;
 import org.prebid.mobile.rendering.utils.helpers.Utils;
+import org.prebid.mobile.tasksmanager.TaskLane;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -42,6 +45,7 @@ import java.net.URL;
 import java.net.URLConnection;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Performs HTTP communication in the background, i.e. off the UI thread.
@@ -66,11 +70,21 @@ public class BaseNetworkTask
     protected static final String CONTENT_TYPE_HEADER = "Content-Type";
     protected static final String CONTENT_TYPE_HEADER_VALUE = "application/json";
 
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+    private static final ThreadLocal<ByteArrayOutputStream> REQUEST_BUFFER = new ThreadLocal<ByteArrayOutputStream>() {
+        @Override
+        protected ByteArrayOutputStream initialValue() {
+            return new ByteArrayOutputStream(8 * 1024);
+        }
+    };
+
     protected GetUrlResult result;
 
     private long start;
-    private BaseResponseHandler responseHandler;
-    private URLConnection connection = null;
+    private volatile BaseResponseHandler responseHandler;
+    private volatile URLConnection connection = null;
+    private volatile boolean connectionReleased = false;
+    private volatile boolean isRejected = false;
 
     /**
      * Creates a network object
@@ -82,6 +96,17 @@ public class BaseNetworkTask
         result = new GetUrlResult();
     }
 
+    /**
+     * Sends the request on the {@link NetworkExecutor}. If the lane is full the request is not sent
+     * and it fails with {@link RejectedExecutionException}.
+     */
+    public AsyncTask<GetUrlParams, Integer, GetUrlResult> executeOnLane(
+            @NonNull TaskLane lane,
+            GetUrlParams params
+    ) {
+        return executeOnExecutor(NetworkExecutor.getInstance().forUrl(params.url, lane, this::onRejected), params);
+    }
+
     @Override
     protected GetUrlResult doInBackground(GetUrlParams... params) {
         return processDoInBackground(params);
@@ -126,10 +151,23 @@ public class BaseNetworkTask
     @Override
     protected void onCancelled(GetUrlResult getUrlResult) {
         super.onCancelled(getUrlResult);
+        if (isRejected) {
+            // Not sent at all, the handler is notified like for any failed request.
+            start = System.currentTimeMillis();
+            result.setException(new RejectedExecutionException("Network lane is full"));
+            onPostExecute(result);
+            return;
+        }
         LogUtil.debug(TAG, "Request cancelled. Disconnecting connection");
         destroy();
     }
 
+    @VisibleForTesting
+    void onRejected() {
+        isRejected = true;
+        cancel(false);
+    }
+
     @Override
     protected void onProgressUpdate(Integer... progress) {
         super.onProgressUpdate(progress);
@@ -137,8 +175,9 @@ public class BaseNetworkTask
 
     public void destroy() {
         responseHandler = null;
-        if (connection instanceof HttpURLConnection) {
-            ((HttpURLConnection) connection).disconnect();
+        // Released connections are kept alive in the HttpURLConnection pool, disconnecting would close the socket
+        if (!connectionReleased) {
+            disconnect();
         }
     }
 
@@ -223,6 +262,7 @@ public class BaseNetworkTask
             try {
                 start = System.currentTimeMillis();
                 result = sendRequest(param);
+                decodeResponse(result);
             }
             catch (MalformedURLException e) {
                 LogUtil.warning(TAG, "Network Error: MalformedURLException" + e.getMessage());
@@ -246,8 +286,10 @@ public class BaseNetworkTask
                 result.setException(e);
             }
             finally {
-                if (connection instanceof HttpURLConnection) {
-                    ((HttpURLConnection) connection).disconnect();
+                if (result != null && result.getException() == null) {
+                    releaseConnection();
+                } else {
+                    disconnect();
                 }
             }
         }
@@ -258,6 +300,40 @@ public class BaseNetworkTask
         return result;
     }
 
+    private void decodeResponse(GetUrlResult urlResult) {
+        BaseResponseHandler handler = responseHandler;
+        if (handler instanceof DecodingResponseHandler && urlResult != null && urlResult.getException() == null && !isCancelled()) {
+            urlResult.decodedResponse = ((DecodingResponseHandler) handler).decodeResponse(urlResult);
+        }
+    }
+
+    /**
+     * Closes the response stream without disconnecting, so the underlying socket
+     * returns to the keep-alive pool and can be reused by the next request to the same host.
+     */
+    private void releaseConnection() {
+        URLConnection currentConnection = connection;
+        if (!(currentConnection instanceof HttpURLConnection)) {
+            return;
+        }
+        try {
+            InputStream inputStream = currentConnection.getInputStream();
+            if (inputStream != null) {
+                inputStream.close();
+            }
+            connectionReleased = true;
+        } catch (IOException exception) {
+            disconnect();
+        }
+    }
+
+    private void disconnect() {
+        URLConnection currentConnection = connection;
+        if (currentConnection instanceof HttpURLConnection) {
+            ((HttpURLConnection) currentConnection).disconnect();
+        }
+    }
+
     private URLConnection setHttpURLConnectionProperty(GetUrlParams param) throws Exception {
         String queryParams = "";
         if (param.requestType.equals("GET") && param.queryParams != null) {
@@ -276,14 +352,24 @@ public class BaseNetworkTask
         connection.setRequestProperty(CONTENT_TYPE_HEADER, CONTENT_TYPE_HEADER_VALUE);
         this.setCustomHeadersIfAvailable(connection);
 
-        connection.setConnectTimeout(PrebidMobile.getTimeoutMillis());
+        if (param.timeoutMillis > 0) {
+            connection.setConnectTimeout(param.timeoutMillis);
+        } else {
+            connection.setConnectTimeout(PrebidMobile.getTimeoutMillis());
+        }
         if (!(this instanceof FileDownloadTask)) {
-            connection.setReadTimeout(SOCKET_TIMEOUT);
+            connection.setReadTimeout(param.timeoutMillis > 0 ? param.timeoutMillis : SOCKET_TIMEOUT);
         }
 
         if ("POST".equals(param.requestType)) {
             // Send post request
             connection.setDoOutput(true);
+            if (param.requestBody != null) {
+                sendRequestBody(param.requestBody, connection);
+                connection = openConnectionCheckRedirects(connection);
+                return connection;
+            }
+
             DataOutputStream wr = null;
             try {
                 wr = new DataOutputStream(connection.getOutputStream());
@@ -304,9 +390,36 @@ public class BaseNetworkTask
 
     @VisibleForTesting
     protected static void sendRequest(@NotNull String requestBody, @NotNull OutputStream requestStream) throws IOException {
-        byte[] bytes = requestBody.getBytes();
-        for (byte b : bytes) {
-            requestStream.write(b);
+        requestStream.write(requestBody.getBytes("UTF-8"));
+    }
+
+    /**
+     * Serializes the body into a reusable per-thread buffer and sends it with a known content length,
+     * so the connection streams it to the socket without buffering another copy.
+     */
+    private static void sendRequestBody(
+        @NotNull RequestBody requestBody,
+        @NotNull URLConnection connection
+    ) throws IOException {
+        ByteArrayOutputStream buffer = REQUEST_BUFFER.get();
+        buffer.reset();
+        try {
+            requestBody.writeTo(buffer);
+            if (LogUtil.getLogLevel() <= LogUtil.DEBUG) {
+                LogUtil.debug(TAG, "requestBody: " + buffer.toString("UTF-8"));
+            }
+
+            if (connection instanceof HttpURLConnection) {
+                ((HttpURLConnection) connection).setFixedLengthStreamingMode(buffer.size());
+            }
+            try (OutputStream outputStream = connection.getOutputStream()) {
+                buffer.writeTo(outputStream);
+                outputStream.flush();
+            }
+        } finally {
+            if (buffer.size() > MAX_RETAINED_BUFFER_SIZE) {
+                REQUEST_BUFFER.remove();
+            }
         }
     }
 
@@ -393,9 +506,14 @@ public class BaseNetworkTask
     public static class GetUrlParams {
         public String url;
         public String queryParams;
+        public RequestBody requestBody;
         public String name;
         public String userAgent;
         public String requestType;
+        /**
+         * Connect and read timeout of the request. Default timeouts are used if not positive.
+         */
+        public int timeoutMillis;
     }
 
     public static class GetUrlResult extends BaseExceptionHolder {
@@ -405,6 +523,10 @@ public class BaseNetworkTask
         public String originalUrl;
         public String contentType;
         public String[] JSRedirectURI;
+        /**
+         * Response prepared on the network thread by {@link DecodingResponseHandler}.
+         */
+        public Object decodedResponse;
 
         public boolean isOkStatusCode() {
             return statusCode >= 200 && statusCode < 300;
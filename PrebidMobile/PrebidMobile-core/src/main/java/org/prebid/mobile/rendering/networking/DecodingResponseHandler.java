@@ -0,0 +1,36 @@
+/*
+ *    Copyright 2018-2021 Prebid.org, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.prebid.mobile.rendering.networking;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+/**
+ * Response handler that parses the response on the network thread,
+ * so {@link #onResponse(BaseNetworkTask.GetUrlResult)} receives a ready object
+ * in {@link BaseNetworkTask.GetUrlResult#decodedResponse} on the main thread.
+ */
+public interface DecodingResponseHandler extends ResponseHandler {
+
+    /**
+     * Called on the network thread for every successful response.
+     *
+     * @return decoded response or null if it can't be decoded.
+     */
+    @Nullable
+    @WorkerThread
+    Object decodeResponse(BaseNetworkTask.GetUrlResult response);
+}
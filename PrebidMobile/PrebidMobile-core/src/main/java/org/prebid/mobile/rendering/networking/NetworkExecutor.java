@@ -0,0 +1,245 @@
+/*
+ *    Copyright 2018-2021 Prebid.org, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.prebid.mobile.rendering.networking;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import org.prebid.mobile.LogUtil;
+import org.prebid.mobile.tasksmanager.LaneScheduler;
+import org.prebid.mobile.tasksmanager.TaskLane;
+import org.prebid.mobile.tasksmanager.TasksManager;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+
+/**
+ * Bounded executor for SDK network tasks.
+ * <p>
+ * Requests run on the SDK {@link LaneScheduler}, so bid requests are started before queued
+ * trackers. Requests to the same host are additionally limited to {@link #MAX_REQUESTS_PER_HOST}
+ * in flight, so the keep-alive connections of {@link java.net.HttpURLConnection} can be reused
+ * instead of opening new TLS sessions for every burst of requests. Requests waiting for a host are
+ * ordered by lane as well.
+ * <p>
+ * A task rejected by a full lane is not run. Its rejection callback is called instead, a task
+ * without one is cancelled if it is a {@link Future}, like the one {@link android.os.AsyncTask}
+ * passes to the executor.
+ */
+public class NetworkExecutor {
+
+    private static final String TAG = NetworkExecutor.class.getSimpleName();
+
+    public static final int MAX_REQUESTS_PER_HOST = 4;
+
+    private static NetworkExecutor instance;
+
+    private final LaneScheduler scheduler;
+    private final int maxRequestsPerHost;
+    private final Map<String, HostQueue> hostQueues = new HashMap<>();
+    private long sequence;
+
+    @VisibleForTesting
+    NetworkExecutor(
+            @NonNull LaneScheduler scheduler,
+            int maxRequestsPerHost
+    ) {
+        this.scheduler = scheduler;
+        this.maxRequestsPerHost = maxRequestsPerHost;
+    }
+
+    public static synchronized NetworkExecutor getInstance() {
+        if (instance == null) {
+            instance = new NetworkExecutor(TasksManager.getInstance().getScheduler(), MAX_REQUESTS_PER_HOST);
+        }
+        return instance;
+    }
+
+    /**
+     * @param url request url, used to determine the host limit.
+     * @return executor that runs tasks on the {@link TaskLane#AUCTION_CRITICAL} lane within the per-host limit.
+     */
+    public Executor forUrl(@Nullable String url) {
+        return forUrl(url, TaskLane.AUCTION_CRITICAL);
+    }
+
+    /**
+     * @param url  request url, used to determine the host limit.
+     * @param lane lane of the requests.
+     * @return executor that runs tasks on the lane within the per-host limit.
+     */
+    public Executor forUrl(
+            @Nullable String url,
+            @NonNull TaskLane lane
+    ) {
+        return forUrl(url, lane, null);
+    }
+
+    /**
+     * @param url        request url, used to determine the host limit.
+     * @param lane       lane of the requests.
+     * @param onRejected called instead of the task if the lane is full.
+     * @return executor that runs tasks on the lane within the per-host limit.
+     */
+    public Executor forUrl(
+            @Nullable String url,
+            @NonNull TaskLane lane,
+            @Nullable Runnable onRejected
+    ) {
+        final String host = getHost(url);
+        return runnable -> execute(host, new PendingTask(lane, runnable, onRejected));
+    }
+
+    @VisibleForTesting
+    synchronized int getRunningCount(String host) {
+        HostQueue queue = hostQueues.get(host);
+        return queue == null ? 0 : queue.running;
+    }
+
+    private void execute(
+            String host,
+            PendingTask task
+    ) {
+        List<PendingTask> rejected;
+        synchronized (this) {
+            HostQueue queue = hostQueues.get(host);
+            if (queue == null) {
+                queue = new HostQueue();
+                hostQueues.put(host, queue);
+            }
+            task.sequence = sequence++;
+            queue.pending.add(task);
+            rejected = promote(host, queue);
+        }
+        reject(rejected);
+    }
+
+    private void onFinished(String host) {
+        List<PendingTask> rejected = null;
+        synchronized (this) {
+            HostQueue queue = hostQueues.get(host);
+            if (queue == null) {
+                return;
+            }
+            queue.running--;
+            if (queue.running <= 0 && queue.pending.isEmpty()) {
+                hostQueues.remove(host);
+            } else {
+                rejected = promote(host, queue);
+            }
+        }
+        reject(rejected);
+    }
+
+    /**
+     * @return tasks rejected by the scheduler, they must be reported outside of the lock.
+     */
+    @Nullable
+    private List<PendingTask> promote(
+            final String host,
+            HostQueue queue
+    ) {
+        List<PendingTask> rejected = null;
+        while (queue.running < maxRequestsPerHost && !queue.pending.isEmpty()) {
+            final PendingTask next = queue.pending.poll();
+            queue.running++;
+            boolean isAccepted = scheduler.execute(next.lane, () -> {
+                try {
+                    next.runnable.run();
+                } finally {
+                    onFinished(host);
+                }
+            });
+            if (!isAccepted) {
+                LogUtil.error(TAG, "Network task rejected by lane " + next.lane);
+                queue.running--;
+                if (rejected == null) {
+                    rejected = new ArrayList<>();
+                }
+                rejected.add(next);
+            }
+        }
+        if (queue.running <= 0 && queue.pending.isEmpty()) {
+            hostQueues.remove(host);
+        }
+        return rejected;
+    }
+
+    private static void reject(@Nullable List<PendingTask> tasks) {
+        if (tasks == null) {
+            return;
+        }
+        for (PendingTask task : tasks) {
+            if (task.onRejected != null) {
+                task.onRejected.run();
+            } else if (task.runnable instanceof Future) {
+                ((Future<?>) task.runnable).cancel(false);
+            }
+        }
+    }
+
+    @NonNull
+    private static String getHost(@Nullable String url) {
+        if (url == null) {
+            return "";
+        }
+        try {
+            return new URL(url).getHost();
+        } catch (MalformedURLException exception) {
+            return "";
+        }
+    }
+
+    private static class HostQueue {
+
+        private final PriorityQueue<PendingTask> pending = new PriorityQueue<>();
+        private int running;
+    }
+
+    private static class PendingTask implements Comparable<PendingTask> {
+
+        private final TaskLane lane;
+        private final Runnable runnable;
+        @Nullable
+        private final Runnable onRejected;
+        private long sequence;
+
+        private PendingTask(
+                TaskLane lane,
+                Runnable runnable,
+                @Nullable Runnable onRejected
+        ) {
+            this.lane = lane;
+            this.runnable = runnable;
+            this.onRejected = onRejected;
+        }
+
+        @Override
+        public int compareTo(@NonNull PendingTask other) {
+            int result = lane.compareTo(other.lane);
+            return result != 0 ? result : Long.compare(sequence, other.sequence);
+        }
+    }
+}
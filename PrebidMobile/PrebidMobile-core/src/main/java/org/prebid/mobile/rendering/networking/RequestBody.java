@@ -14,23 +14,22 @@
  *    limitations under the License.
  */
 
-package org.prebid.mobile.rendering.video;
+package org.prebid.mobile.rendering.networking;
 
-import org.junit.Test;
-import org.junit.runner.RunWith;
-import org.robolectric.RobolectricTestRunner;
-import org.robolectric.annotation.Config;
+import androidx.annotation.NonNull;
 
-import static org.junit.Assert.assertEquals;
+import java.io.IOException;
+import java.io.OutputStream;
 
-@RunWith(RobolectricTestRunner.class)
-@Config(sdk = 19)
-public class LruControllerTest {
+/**
+ * Request body that is serialized lazily on the network thread
+ * instead of being converted to a {@link String} by the caller.
+ */
+public interface RequestBody {
 
-    private String url = "http://path/to/video/Vast_Video.mp4";
+    /**
+     * Writes UTF-8 encoded body into the stream.
+     */
+    void writeTo(@NonNull OutputStream outputStream) throws IOException;
 
-    @Test
-    public void whenNoAdUnits_UseVideoNameOnly() {
-        assertEquals("/Vast_Video", LruController.getShortenedPath(url));
-    }
-}
\ No newline at end of file
+}
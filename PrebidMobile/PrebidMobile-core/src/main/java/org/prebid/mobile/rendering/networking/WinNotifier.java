@@ -16,21 +16,36 @@
 
 package org.prebid.mobile.rendering.networking;
 
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
 import android.text.TextUtils;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.prebid.mobile.LogUtil;
+import org.prebid.mobile.PrebidMobile;
 import org.prebid.mobile.rendering.bidding.data.bid.Bid;
 import org.prebid.mobile.rendering.bidding.data.bid.BidResponse;
 import org.prebid.mobile.rendering.bidding.data.bid.Prebid;
 import org.prebid.mobile.rendering.networking.tracking.ServerConnection;
+import org.prebid.mobile.rendering.networking.tracking.TrackingDispatcher;
 
-import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedList;
 
+/**
+ * Sends the win notices of the winning bid and gets its ad markup from Prebid Cache if the bid
+ * has no {@code adm}.
+ * <p>
+ * Notices are fired at once through {@link TrackingDispatcher}. If the markup is missing, the
+ * cache urls ({@code hb_cache_id}, {@code hb_uuid}) are requested in parallel and the markup of
+ * {@code hb_cache_id} is preferred. {@code nurl} is fired as a win notice once the markup is found,
+ * and it is requested for the markup only if both cache requests failed. The listener is notified
+ * as soon as the markup is known, all requests failed, or the
+ * {@link PrebidMobile#getTimeoutMillis()} deadline passed.
+ */
 public class WinNotifier {
 
     private static final String TAG = WinNotifier.class.getSimpleName();
@@ -39,43 +54,32 @@ public class WinNotifier {
     private static final String KEY_CACHE_PATH = "hb_cache_path";
     private static final String KEY_CACHE_ID = "hb_cache_id";
     private static final String KEY_UUID = "hb_uuid";
+    private static final String KEY_ADM = "adm";
     private static final String CACHE_URL_TEMPLATE = "https://%1$s%2$s?uuid=%3$s";
 
-    private final LinkedList<String> urlQueue = new LinkedList<>();
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable deadlineRunnable = () -> {
+        if (uuidAdm != null) {
+            onAdmFound(uuidAdm);
+            return;
+        }
+        LogUtil.warning(TAG, "Failed to get the ad from prebid cache within timeout");
+        finish();
+    };
+
     private WinNotifierListener winNotifierListener;
     private Bid bid;
+    private int pendingCacheFetchCount;
+    private boolean isCacheIdPending;
+    // Markup of hb_uuid held until hb_cache_id fails.
+    @Nullable
+    private String uuidAdm;
+    private long deadlineAt;
 
     // For Testing purposes
     private static final String CACHE_URL_TEST_TEMPLATE = "http://%1$s%2$s?uuid=%3$s";
     private boolean isUnderTest = false;
 
-    private final ResponseHandler winResponseHandler = new ResponseHandler() {
-        @Override
-        public void onResponse(BaseNetworkTask.GetUrlResult response) {
-            String adMarkup;
-            String responseString = response.responseString;
-            if (isJson(responseString)) {
-                adMarkup = extractAdm(responseString);
-            } else {
-                adMarkup = responseString;
-            }
-            bid.setAdm(adMarkup);
-            sendNextWinRequest();
-        }
-
-        @Override
-        public void onError(String msg, long responseTime) {
-            LogUtil.error(TAG, "Failed to send win event: " + msg);
-            sendNextWinRequest();
-        }
-
-        @Override
-        public void onErrorWithException(Exception e, long responseTime) {
-            LogUtil.error(TAG, "Failed to send win event: " + e.getMessage());
-            sendNextWinRequest();
-        }
-    };
-
     public interface WinNotifierListener {
         void onResult();
     }
@@ -93,40 +97,124 @@ public class WinNotifier {
 
         String cacheIdUrl = getCacheUrlFromBid(bid, KEY_CACHE_ID);
         String uuidUrl = getCacheUrlFromBid(bid, KEY_UUID);
+
         String winUrl = getWinUrl(bid);
+        if (!TextUtils.isEmpty(winUrl)) {
+            fireNotice(winUrl);
+        }
+
+        boolean hasCacheUrls = !TextUtils.isEmpty(cacheIdUrl) || !TextUtils.isEmpty(uuidUrl);
+        if (!TextUtils.isEmpty(bid.getAdm()) || (!hasCacheUrls && TextUtils.isEmpty(bid.getNurl()))) {
+            fireNoticeIfNotEmpty(cacheIdUrl);
+            fireNoticeIfNotEmpty(uuidUrl);
+            fireNoticeIfNotEmpty(bid.getNurl());
+            finish();
+            return;
+        }
+
+        LogUtil.debug(TAG, "Bid.adm is null or empty. Getting the ad from prebid cache");
+        int timeoutMillis = PrebidMobile.getTimeoutMillis();
+        deadlineAt = SystemClock.uptimeMillis() + timeoutMillis;
+        handler.postDelayed(deadlineRunnable, timeoutMillis);
+
+        if (!hasCacheUrls) {
+            fetchNurl();
+            return;
+        }
+        if (!TextUtils.isEmpty(cacheIdUrl)) {
+            pendingCacheFetchCount++;
+            isCacheIdPending = true;
+        }
+        if (!TextUtils.isEmpty(uuidUrl)) {
+            pendingCacheFetchCount++;
+        }
+        if (!TextUtils.isEmpty(cacheIdUrl)) {
+            fetch(cacheIdUrl, timeoutMillis, new AdmResponseHandler(AdmSource.CACHE_ID));
+        }
+        if (!TextUtils.isEmpty(uuidUrl)) {
+            fetch(uuidUrl, timeoutMillis, new AdmResponseHandler(AdmSource.UUID));
+        }
+    }
 
-        urlQueue.add(cacheIdUrl);
-        urlQueue.add(uuidUrl);
-        urlQueue.add(bid.getNurl());
-        urlQueue.add(winUrl);
-        urlQueue.removeAll(Collections.singleton(null));
+    @VisibleForTesting
+    void fireNotice(String url) {
+        TrackingDispatcher.getInstance().dispatch(url);
+    }
 
-        sendNextWinRequest();
+    @VisibleForTesting
+    void fetch(
+        String url,
+        int timeoutMillis,
+        ResponseHandler responseHandler
+    ) {
+        ServerConnection.fireWithResult(url, timeoutMillis, responseHandler);
     }
 
-    private void sendNextWinRequest() {
-        // All events have been fired, notify listener
-        if (urlQueue.isEmpty()) {
-            if (winNotifierListener != null) {
-                winNotifierListener.onResult();
-                cleanup();
-            }
+    private void onAdmFetched(
+            AdmSource source,
+            @Nullable String adm
+    ) {
+        if (winNotifierListener == null) {
+            // Already finished
             return;
         }
-        String winUrl = urlQueue.poll();
-        if (TextUtils.isEmpty(winUrl)) {
-            // Skip url and start next one
-            sendNextWinRequest();
+        boolean hasAdm = !TextUtils.isEmpty(adm);
+
+        switch (source) {
+            case NURL:
+                if (hasAdm) {
+                    bid.setAdm(adm);
+                }
+                finish();
+                return;
+            case CACHE_ID:
+                pendingCacheFetchCount--;
+                isCacheIdPending = false;
+                if (hasAdm) {
+                    onAdmFound(adm);
+                    return;
+                }
+                break;
+            case UUID:
+                pendingCacheFetchCount--;
+                if (hasAdm) {
+                    uuidAdm = adm;
+                }
+                break;
+        }
+
+        if (uuidAdm != null && !isCacheIdPending) {
+            onAdmFound(uuidAdm);
+        } else if (pendingCacheFetchCount <= 0) {
+            fetchNurl();
+        }
+    }
+
+    private void onAdmFound(@NonNull String adm) {
+        bid.setAdm(adm);
+        fireNoticeIfNotEmpty(bid.getNurl());
+        finish();
+    }
+
+    /**
+     * Requests the markup from {@code nurl} when the cache doesn't have it.
+     */
+    private void fetchNurl() {
+        String nurl = bid.getNurl();
+        if (TextUtils.isEmpty(nurl)) {
+            finish();
             return;
         }
-        if (bid.getAdm() != null && !TextUtils.isEmpty(bid.getAdm())) {
-            // Fire async event and start next one
-            ServerConnection.fireAndForget(winUrl);
-            sendNextWinRequest();
-        } else {
-            // Fire async event and wait for its result
-            LogUtil.debug(TAG, "Bid.adm is null or empty. Getting the ad from prebid cache");
-            ServerConnection.fireWithResult(winUrl, winResponseHandler);
+        int remainingMillis = (int) Math.max(1, deadlineAt - SystemClock.uptimeMillis());
+        fetch(nurl, remainingMillis, new AdmResponseHandler(AdmSource.NURL));
+    }
+
+    private void finish() {
+        handler.removeCallbacks(deadlineRunnable);
+        WinNotifierListener listener = winNotifierListener;
+        cleanup();
+        if (listener != null) {
+            listener.onResult();
         }
     }
 
@@ -148,25 +236,35 @@ public class WinNotifier {
     private void cleanup() {
         bid = null;
         winNotifierListener = null;
+        uuidAdm = null;
     }
 
-    private boolean isJson(String response) {
+    /**
+     * @return {@code adm} of a JSON response, the response itself if it is markup (e.g. cached VAST)
+     * or null. Other text, like a plain "OK" of a win notice, is not an ad.
+     */
+    @VisibleForTesting
+    @Nullable
+    static String extractAdm(@Nullable String response) {
+        if (response == null) {
+            return null;
+        }
+        String trimmed = response.trim();
+        if (trimmed.startsWith("<")) {
+            return response;
+        }
         try {
-            new JSONObject(response);
+            JSONObject responseJson = new JSONObject(trimmed);
+            return responseJson.has(KEY_ADM) ? responseJson.optString(KEY_ADM) : null;
         }
         catch (JSONException ex) {
-            return false;
+            return null;
         }
-        return true;
     }
 
-    private String extractAdm(String response) {
-        try {
-            JSONObject responseJson = new JSONObject(response);
-            return responseJson.getString("adm");
-        }
-        catch (JSONException e) {
-            return null;
+    private void fireNoticeIfNotEmpty(@Nullable String url) {
+        if (!TextUtils.isEmpty(url)) {
+            fireNotice(url);
         }
     }
 
@@ -191,4 +289,44 @@ public class WinNotifier {
         isUnderTest = true;
     }
 
+    /**
+     * Extracts the markup on the network thread, so the JSON is parsed once and off the main thread.
+     */
+    private class AdmResponseHandler implements DecodingResponseHandler {
+
+        private final AdmSource source;
+
+        private AdmResponseHandler(AdmSource source) {
+            this.source = source;
+        }
+
+        @Override
+        public Object decodeResponse(BaseNetworkTask.GetUrlResult response) {
+            return extractAdm(response.responseString);
+        }
+
+        @Override
+        public void onResponse(BaseNetworkTask.GetUrlResult response) {
+            onAdmFetched(source, response.decodedResponse instanceof String ? (String) response.decodedResponse : null);
+        }
+
+        @Override
+        public void onError(String msg, long responseTime) {
+            LogUtil.error(TAG, "Failed to send win event: " + msg);
+            onAdmFetched(source, null);
+        }
+
+        @Override
+        public void onErrorWithException(Exception e, long responseTime) {
+            LogUtil.error(TAG, "Failed to send win event: " + e.getMessage());
+            onAdmFetched(source, null);
+        }
+    }
+
+    private enum AdmSource {
+        CACHE_ID,
+        UUID,
+        NURL
+    }
+
 }
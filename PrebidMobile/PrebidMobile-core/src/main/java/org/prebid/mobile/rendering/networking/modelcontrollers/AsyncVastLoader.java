@@ -21,24 +21,33 @@ import org.prebid.mobile.rendering.networking.BaseNetworkTask;
 import org.prebid.mobile.rendering.networking.BaseResponseHandler;
 import org.prebid.mobile.rendering.utils.helpers.AppInfoManager;
 import org.prebid.mobile.rendering.utils.helpers.Utils;
+import org.prebid.mobile.tasksmanager.TaskLane;
 
 public class AsyncVastLoader {
 
     private AsyncTask videoRequestAsyncTask;
 
     public void loadVast(String vastUrl, BaseResponseHandler responseHandler) {
+        loadVast(vastUrl, 0, responseHandler);
+    }
+
+    /**
+     * @param timeoutMillis connect and read timeout of the request, default timeouts are used if not positive.
+     */
+    public void loadVast(String vastUrl, int timeoutMillis, BaseResponseHandler responseHandler) {
         cancelTask();
 
         BaseNetworkTask videoRequestTask = new BaseNetworkTask(responseHandler);
         BaseNetworkTask.GetUrlParams params = Utils.parseUrl(vastUrl);
         params.userAgent = AppInfoManager.getUserAgent();
+        params.timeoutMillis = timeoutMillis;
 
         if (vastUrl != null) {
             params.requestType = "GET";
             params.name = "videorequest";
         }
 
-        videoRequestAsyncTask = videoRequestTask.executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR, params);
+        videoRequestAsyncTask = videoRequestTask.executeOnLane(TaskLane.RENDER_PREP, params);
     }
 
     public void cancelTask() {
@@ -0,0 +1,80 @@
+/*
+ *    Copyright 2018-2021 Prebid.org, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.prebid.mobile.rendering.networking.modelcontrollers;
+
+import android.content.Context;
+import android.content.res.Resources;
+
+import org.prebid.mobile.configuration.AdUnitConfiguration;
+import org.prebid.mobile.rendering.models.openrtb.bidRequests.Imp;
+import org.prebid.mobile.rendering.networking.ResponseHandler;
+import org.prebid.mobile.rendering.networking.parameters.AdRequestInput;
+import org.prebid.mobile.rendering.networking.parameters.BasicParameterBuilder;
+import org.prebid.mobile.rendering.networking.urlBuilder.URLComponents;
+import org.prebid.mobile.rendering.sdk.PrebidContextHolder;
+import org.prebid.mobile.rendering.utils.helpers.ExternalViewerUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sends one bid request with an imp for every ad unit of a batch.
+ * <p>
+ * Request level parameters (device, app, user, regs, ext.prebid) are built once from the first
+ * ad unit. Every imp gets the id it was registered with, so the bids can be matched back by
+ * {@code impid}.
+ */
+public class BatchBidRequester extends BidRequester {
+
+    private final String primaryImpId;
+    private final LinkedHashMap<String, AdUnitConfiguration> additionalConfigurations;
+
+    public BatchBidRequester(
+            String primaryImpId,
+            AdUnitConfiguration primaryConfiguration,
+            LinkedHashMap<String, AdUnitConfiguration> additionalConfigurations,
+            AdRequestInput adRequestInput,
+            ResponseHandler responseHandler
+    ) {
+        super(primaryConfiguration, adRequestInput, responseHandler);
+        this.primaryImpId = primaryImpId;
+        this.additionalConfigurations = new LinkedHashMap<>(additionalConfigurations);
+    }
+
+    @Override
+    protected URLComponents buildUrlComponent() {
+        URLComponents urlComponents = super.buildUrlComponent();
+        ArrayList<Imp> imps = urlComponents.adRequestInput.getBidRequest().getImp();
+        if (imps == null) {
+            return urlComponents;
+        }
+
+        if (!imps.isEmpty()) {
+            imps.get(0).id = primaryImpId;
+        }
+
+        Context context = PrebidContextHolder.getContext();
+        Resources resources = context != null ? context.getResources() : null;
+        boolean browserActivityAvailable = ExternalViewerUtils.isBrowserActivityCallable(context);
+        for (Map.Entry<String, AdUnitConfiguration> entry : additionalConfigurations.entrySet()) {
+            BasicParameterBuilder builder = new BasicParameterBuilder(entry.getValue(), resources, browserActivityAvailable);
+            imps.add(builder.createImp(entry.getKey()));
+        }
+        return urlComponents;
+    }
+}
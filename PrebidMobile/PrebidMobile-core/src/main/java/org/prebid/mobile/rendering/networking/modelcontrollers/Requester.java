@@ -18,13 +18,13 @@ package org.prebid.mobile.rendering.networking.modelcontrollers;
 
 import android.content.Context;
 import android.content.res.Resources;
-import android.os.AsyncTask;
 
 import org.prebid.mobile.LogUtil;
 import org.prebid.mobile.api.exceptions.AdException;
 import org.prebid.mobile.configuration.AdUnitConfiguration;
 import org.prebid.mobile.rendering.listeners.AdIdFetchListener;
 import org.prebid.mobile.rendering.networking.BaseNetworkTask;
+import org.prebid.mobile.rendering.networking.RequestBody;
 import org.prebid.mobile.rendering.networking.ResponseHandler;
 import org.prebid.mobile.rendering.networking.parameters.AdRequestInput;
 import org.prebid.mobile.rendering.networking.parameters.AppInfoParameterBuilder;
@@ -46,6 +46,7 @@ import org.prebid.mobile.rendering.sdk.deviceData.managers.UserConsentManager;
 import org.prebid.mobile.rendering.utils.helpers.AdIdManager;
 import org.prebid.mobile.rendering.utils.helpers.AppInfoManager;
 import org.prebid.mobile.rendering.utils.helpers.ExternalViewerUtils;
+import org.prebid.mobile.tasksmanager.TaskLane;
 
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
@@ -193,13 +194,18 @@ public abstract class Requester {
     protected void sendAdRequest(URLComponents jsonUrlComponents) {
         BaseNetworkTask.GetUrlParams params = new BaseNetworkTask.GetUrlParams();
         params.url = jsonUrlComponents.getBaseUrl();
-        params.queryParams = jsonUrlComponents.getQueryArgString();
+        RequestBody requestBody = jsonUrlComponents.getRequestBody();
+        if (requestBody != null) {
+            params.requestBody = requestBody;
+        } else {
+            params.queryParams = jsonUrlComponents.getQueryArgString();
+        }
         params.requestType = "POST";
         params.userAgent = AppInfoManager.getUserAgent();
         params.name = requestName;
 
         networkTask = new BaseNetworkTask(adResponseCallBack);
-        networkTask.executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR, params);
+        networkTask.executeOnLane(TaskLane.AUCTION_CRITICAL, params);
     }
 
 }
@@ -19,11 +19,6 @@ package org.prebid.mobile.rendering.networking.parameters;
 import org.prebid.mobile.LogUtil;
 import org.prebid.mobile.rendering.models.openrtb.BidRequest;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
-
 public class AdRequestInput {
 
     private static final String TAG = AdRequestInput.class.getSimpleName();
@@ -34,16 +29,15 @@ public class AdRequestInput {
         bidRequest = new BidRequest();
     }
 
+    /**
+     * Returns a structural copy of the request template. Parameter builders fill the copy,
+     * so the template itself stays untouched between auctions.
+     */
     public AdRequestInput getDeepCopy() {
         AdRequestInput newAdRequestInput = new AdRequestInput();
 
         try {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            ObjectOutputStream oos = new ObjectOutputStream(baos);
-            oos.writeObject(bidRequest);
-            ByteArrayInputStream bais = new ByteArrayInputStream(baos.toByteArray());
-            ObjectInputStream ois = new ObjectInputStream(bais);
-            newAdRequestInput.bidRequest = (BidRequest) ois.readObject();
+            newAdRequestInput.bidRequest = bidRequest != null ? bidRequest.copy() : new BidRequest();
         }
         catch (Exception e) {
             LogUtil.error(TAG, "Failed to make deep copy of bid request");
@@ -28,7 +28,6 @@ import org.json.JSONObject;
 import org.prebid.mobile.AdSize;
 import org.prebid.mobile.BannerParameters;
 import org.prebid.mobile.DataObject;
-import org.prebid.mobile.ExternalUserId;
 import org.prebid.mobile.PrebidMobile;
 import org.prebid.mobile.Signals;
 import org.prebid.mobile.TargetingParams;
@@ -119,6 +118,16 @@ public class BasicParameterBuilder extends ParameterBuilder {
         }
     }
 
+    /**
+     * Creates an imp for the ad unit configuration of this builder. Used to add the imps of other
+     * ad units to a batched bid request.
+     */
+    public Imp createImp(String impId) {
+        Imp imp = new Imp();
+        configureImpObject(imp, impId);
+        return imp;
+    }
+
     private void configureImpObject(Imp imp, String uuid) {
         if (adConfiguration != null) {
             setDisplayManager(imp);
@@ -195,14 +204,8 @@ public class BasicParameterBuilder extends ParameterBuilder {
             user.getExt().put("data", Utils.toJson(userDataDictionary));
         }
 
-        List<ExternalUserId> extendedIds = TargetingParams.fetchStoredExternalUserIds();
-        if (extendedIds != null && extendedIds.size() > 0) {
-            JSONArray idsJson = new JSONArray();
-            for (ExternalUserId id : extendedIds) {
-                if (id != null) {
-                    idsJson.put(id.getJson());
-                }
-            }
+        JSONArray idsJson = TargetingParams.getExternalUserIdsJson();
+        if (idsJson != null) {
             user.getExt().put("eids", idsJson);
         }
 
@@ -25,7 +25,7 @@ import android.telephony.TelephonyManager;
 
 import org.prebid.mobile.LogUtil;
 import org.prebid.mobile.PrebidMobile;
-import org.prebid.mobile.rendering.models.openrtb.bidRequests.geo.Geo;
+import org.prebid.mobile.rendering.models.openrtb.bidRequests.devices.Geo;
 import org.prebid.mobile.rendering.sdk.ManagersResolver;
 import org.prebid.mobile.rendering.sdk.deviceData.managers.DeviceInfoManager;
 import org.prebid.mobile.rendering.sdk.deviceData.managers.LocationInfoManager;
@@ -37,6 +37,11 @@ public class GeoLocationParameterBuilder extends ParameterBuilder {
 
     public static final int LOCATION_SOURCE_GPS = 1;
 
+    /**
+     * Resolved geo with country, recomputed only when location manager gets a new location.
+     */
+    private static final ParameterCache<Geo> geoCache = new ParameterCache<>(ParameterInput.LOCATION);
+
     @Override
     public void appendBuilderParameters(AdRequestInput adRequestInput) {
         LocationInfoManager locationInfoManager = ManagersResolver.getInstance().getLocationManager();
@@ -54,6 +59,12 @@ public class GeoLocationParameterBuilder extends ParameterBuilder {
     }
 
     private void setLocation(AdRequestInput adRequestInput, LocationInfoManager locationInfoManager) {
+        Geo cachedGeo = geoCache.get(locationInfoManager);
+        if (cachedGeo != null) {
+            adRequestInput.getBidRequest().getDevice().setGeo((Geo) cachedGeo.copy());
+            return;
+        }
+
         Double latitude = locationInfoManager.getLatitude();
         Double longitude = locationInfoManager.getLongitude();
         if (latitude == null || longitude == null) {
@@ -61,6 +72,7 @@ public class GeoLocationParameterBuilder extends ParameterBuilder {
             latitude = locationInfoManager.getLatitude();
             longitude = locationInfoManager.getLongitude();
         }
+        int version = ParameterInput.LOCATION.getVersion();
 
         Geo geo = adRequestInput.getBidRequest().getDevice().getGeo();
         if (latitude != null && longitude != null) {
@@ -85,6 +97,8 @@ public class GeoLocationParameterBuilder extends ParameterBuilder {
             }catch(Throwable thr){
                 LogUtil.debug("Error getting country code");
             }
+
+            geoCache.put(locationInfoManager, version, (Geo) geo.copy());
         }
     }
 
@@ -16,6 +16,8 @@
 
 package org.prebid.mobile.rendering.networking.parameters;
 
+import android.util.Pair;
+
 import org.prebid.mobile.rendering.sdk.ManagersResolver;
 import org.prebid.mobile.rendering.sdk.deviceData.managers.ConnectionInfoManager;
 import org.prebid.mobile.rendering.sdk.deviceData.managers.DeviceInfoManager;
@@ -26,16 +28,23 @@ public class NetworkParameterBuilder extends ParameterBuilder {
     static int CONNECTION_TYPE_WIFI = 2;
     static int CONNECTION_TYPE_CELL_UNKNOWN_G = 3;
 
+    /**
+     * Mcc/mnc and carrier, telephony manager is queried again only after connectivity change.
+     */
+    private static final ParameterCache<Pair<String, String>> carrierCache = new ParameterCache<>(ParameterInput.NETWORK);
+
     @Override
     public void appendBuilderParameters(AdRequestInput adRequestInput) {
         DeviceInfoManager deviceManager = ManagersResolver.getInstance().getDeviceManager();
         if (deviceManager != null) {
-            String detectedMccMnc = deviceManager.getMccMnc();
+            Pair<String, String> carrierInfo = getCarrierInfo(deviceManager);
+
+            String detectedMccMnc = carrierInfo.first;
             if (Utils.isNotBlank(detectedMccMnc)) {
                 adRequestInput.getBidRequest().getDevice().mccmnc = detectedMccMnc;
             }
 
-            String detectedCarrier = deviceManager.getCarrier();
+            String detectedCarrier = carrierInfo.second;
             if (Utils.isNotBlank(detectedCarrier)) {
                 adRequestInput.getBidRequest().getDevice().carrier = detectedCarrier;
             }
@@ -47,6 +56,16 @@ public class NetworkParameterBuilder extends ParameterBuilder {
         }
     }
 
+    private Pair<String, String> getCarrierInfo(DeviceInfoManager deviceManager) {
+        Pair<String, String> carrierInfo = carrierCache.get(deviceManager);
+        if (carrierInfo == null) {
+            int version = ParameterInput.NETWORK.getVersion();
+            carrierInfo = new Pair<>(deviceManager.getMccMnc(), deviceManager.getCarrier());
+            carrierCache.put(deviceManager, version, carrierInfo);
+        }
+        return carrierInfo;
+    }
+
     private void setNetworkParams(AdRequestInput adRequestInput, DeviceInfoManager deviceManager, ConnectionInfoManager connectionInfoManager) {
         if (deviceManager.isPermissionGranted("android.permission.ACCESS_NETWORK_STATE")) {
             UserParameters.ConnectionType autoDetectedValue = connectionInfoManager.getConnectionType();
@@ -0,0 +1,61 @@
+/*
+ *    Copyright 2018-2021 Prebid.org, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.prebid.mobile.rendering.networking.parameters;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Keeps a request segment computed by a parameter builder until its {@link ParameterInput}
+ * is invalidated or the manager used for computation is replaced.
+ */
+class ParameterCache<T> {
+
+    private final ParameterInput input;
+
+    private Object source;
+    private int version;
+    @Nullable
+    private T value;
+
+    ParameterCache(ParameterInput input) {
+        this.input = input;
+    }
+
+    /**
+     * @return cached value or null if it must be recomputed.
+     */
+    @Nullable
+    synchronized T get(Object source) {
+        if (value != null && this.source == source && version == input.getVersion()) {
+            return value;
+        }
+        return null;
+    }
+
+    /**
+     * @param version input version read before the value was computed.
+     */
+    synchronized void put(
+        Object source,
+        int version,
+        T value
+    ) {
+        this.source = source;
+        this.version = version;
+        this.value = value;
+    }
+
+}
@@ -0,0 +1,50 @@
+/*
+ *    Copyright 2018-2021 Prebid.org, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.prebid.mobile.rendering.networking.parameters;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Device state used by parameter builders. Every input has a version that is increased
+ * when the state changes, so builders can keep computed request segments until then.
+ * <p>
+ * Only inputs that are expensive to read are listed. Consent values are kept in memory by
+ * {@link org.prebid.mobile.rendering.sdk.deviceData.managers.UserConsentManager} and targeting
+ * values by {@link org.prebid.mobile.TargetingParams}, so their segments are built on every request.
+ */
+public enum ParameterInput {
+
+    /**
+     * Carrier and mcc/mnc. Invalidated on connectivity changes.
+     */
+    NETWORK,
+
+    /**
+     * Last known location. Invalidated when location manager picks up a new location.
+     */
+    LOCATION;
+
+    private final AtomicInteger version = new AtomicInteger();
+
+    public void invalidate() {
+        version.incrementAndGet();
+    }
+
+    public int getVersion() {
+        return version.get();
+    }
+
+}
@@ -16,23 +16,34 @@
 
 package org.prebid.mobile.rendering.networking.tracking;
 
-import android.os.AsyncTask;
-
 import org.prebid.mobile.rendering.networking.BaseNetworkTask;
 import org.prebid.mobile.rendering.networking.ResponseHandler;
 import org.prebid.mobile.rendering.utils.helpers.AppInfoManager;
+import org.prebid.mobile.tasksmanager.TaskLane;
 
 public class ServerConnection {
 
     public static void fireWithResult(String url, ResponseHandler responseHandler) {
+        fireWithResult(url, 0, responseHandler);
+    }
+
+    /**
+     * @param timeoutMillis connect and read timeout of the request, default timeouts are used if not positive.
+     */
+    public static void fireWithResult(String url, int timeoutMillis, ResponseHandler responseHandler) {
+        fireWithResult(url, timeoutMillis, responseHandler, TaskLane.RENDER_PREP);
+    }
+
+    private static void fireWithResult(String url, int timeoutMillis, ResponseHandler responseHandler, TaskLane lane) {
         BaseNetworkTask networkTask = new BaseNetworkTask(responseHandler);
         BaseNetworkTask.GetUrlParams params = new BaseNetworkTask.GetUrlParams();
         params.url = url;
         params.requestType = "GET";
         params.userAgent = AppInfoManager.getUserAgent();
         params.name = "recordevents";
+        params.timeoutMillis = timeoutMillis;
 
-        networkTask.executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR, params);
+        networkTask.executeOnLane(lane, params);
     }
 
     public static void fireStatusRequest(String url, ResponseHandler responseHandler) {
@@ -43,11 +54,11 @@ public class ServerConnection {
         params.userAgent = AppInfoManager.getUserAgent();
         params.name = BaseNetworkTask.STATUS_TASK;
 
-        networkTask.executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR, params);
+        networkTask.executeOnLane(TaskLane.AUCTION_CRITICAL, params);
     }
 
     public static void fireAndForget(String resourceURL) {
-        fireWithResult(resourceURL, null);
+        fireWithResult(resourceURL, 0, null, TaskLane.TRACKING);
     }
 
     public static void fireAndForgetImpressionUrl(String impressionUrl) {
@@ -59,6 +70,6 @@ public class ServerConnection {
         params.name = BaseNetworkTask.REDIRECT_TASK;
 
         BaseNetworkTask networkTask = new ImpressionUrlTask(null);
-        networkTask.executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR, params);
+        networkTask.executeOnLane(TaskLane.TRACKING, params);
     }
 }
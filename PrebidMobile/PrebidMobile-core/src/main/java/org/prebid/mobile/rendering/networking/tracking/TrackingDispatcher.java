@@ -0,0 +1,482 @@
+/*
+ *    Copyright 2018-2021 Prebid.org, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.prebid.mobile.rendering.networking.tracking;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.text.TextUtils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import org.prebid.mobile.LogUtil;
+import org.prebid.mobile.rendering.networking.BaseNetworkTask;
+import org.prebid.mobile.rendering.networking.NetworkExecutor;
+import org.prebid.mobile.rendering.networking.ResponseHandler;
+import org.prebid.mobile.rendering.networking.parameters.UserParameters;
+import org.prebid.mobile.rendering.sdk.ManagersResolver;
+import org.prebid.mobile.rendering.sdk.PrebidContextHolder;
+import org.prebid.mobile.rendering.sdk.deviceData.managers.ConnectionInfoManager;
+import org.prebid.mobile.rendering.utils.helpers.AppInfoManager;
+import org.prebid.mobile.tasksmanager.TaskLane;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers tracking urls (impressions, VAST and click trackers, Prebid events) at least once.
+ * <p>
+ * Events are written to an on-disk queue before they are sent, so events that were in flight or
+ * waiting for a retry when the app was killed are sent in the next session. Failed requests
+ * (network errors, 408, 429 and 5xx responses) are retried with exponential backoff and jitter
+ * up to {@link #MAX_ATTEMPTS} times, across sessions. Events older than {@link #MAX_EVENT_AGE_MILLIS}
+ * are dropped. While the device is offline nothing is sent; the queue is drained in batches of
+ * {@link #MAX_IN_FLIGHT} requests when connectivity returns.
+ * The same url dispatched again within {@link #DEDUPE_WINDOW_MILLIS} is dropped.
+ * <p>
+ * All state is confined to a single dispatcher thread, the requests run on {@link NetworkExecutor}
+ * in the {@link TaskLane#TRACKING} lane.
+ */
+public class TrackingDispatcher {
+
+    private static final String TAG = TrackingDispatcher.class.getSimpleName();
+
+    static final String QUEUE_FILE_NAME = "prebid_tracking_queue";
+
+    public static final long DEDUPE_WINDOW_MILLIS = 1000;
+    public static final int MAX_ATTEMPTS = 5;
+    public static final int MAX_QUEUE_SIZE = 500;
+    public static final long MAX_EVENT_AGE_MILLIS = TimeUnit.HOURS.toMillis(24);
+    static final int MAX_IN_FLIGHT = 2 * TaskLane.TRACKING.getMaxConcurrent();
+    static final long INITIAL_BACKOFF_MILLIS = TimeUnit.SECONDS.toMillis(5);
+    static final long MAX_BACKOFF_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private static final int OUTCOME_DELIVERED = 0;
+    private static final int OUTCOME_RETRY = 1;
+    private static final int OUTCOME_DROPPED = 2;
+
+    private static TrackingDispatcher instance;
+
+    private final ScheduledExecutorService executor;
+    private final Random random = new Random();
+    // Insertion ordered, so the oldest events are sent first.
+    private final LinkedHashMap<Long, Event> pendingEvents = new LinkedHashMap<>();
+    private final HashMap<String, Long> recentUrls = new HashMap<>();
+
+    private final AtomicLong deliveredCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong retriedCount = new AtomicLong();
+
+    @Nullable
+    private TrackingQueueFile queueFile;
+    @Nullable
+    private ScheduledFuture<?> scheduledDrain;
+    private long nextMemoryId = -1;
+    private int inFlightCount;
+
+    @VisibleForTesting
+    TrackingDispatcher(@NonNull ScheduledExecutorService executor) {
+        this.executor = executor;
+    }
+
+    public static synchronized TrackingDispatcher getInstance() {
+        if (instance == null) {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "PrebidTracking");
+                thread.setDaemon(true);
+                return thread;
+            });
+            instance = new TrackingDispatcher(executor);
+        }
+        return instance;
+    }
+
+    public void dispatch(@Nullable String url) {
+        dispatch(url, false);
+    }
+
+    public void dispatchImpression(@Nullable String url) {
+        dispatch(url, true);
+    }
+
+    /**
+     * Sends the queued events that are due and the earliest retry without waiting for its backoff.
+     * The other retries keep their backoff, so repeated connectivity changes don't flood the servers.
+     */
+    public void onConnectivityRestored() {
+        executor.execute(() -> {
+            loadQueue();
+            moveEarliestRetryForward(pendingEvents.values(), SystemClock.elapsedRealtime());
+            drain();
+        });
+    }
+
+    public long getDeliveredCount() {
+        return deliveredCount.get();
+    }
+
+    /**
+     * @return number of events not delivered for good: duplicates, events rejected by the server,
+     * events out of attempts or time and events over the queue size.
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getRetriedCount() {
+        return retriedCount.get();
+    }
+
+    /**
+     * @return backoff before the next attempt: exponential in the number of failed attempts, with
+     * random jitter of up to half of it so retries of a burst don't hit the server at once.
+     */
+    @VisibleForTesting
+    static long getBackoffMillis(
+            int failedAttempts,
+            Random random
+    ) {
+        long backoff = INITIAL_BACKOFF_MILLIS << Math.min(Math.max(failedAttempts - 1, 0), 16);
+        backoff = Math.min(backoff, MAX_BACKOFF_MILLIS);
+        return backoff / 2 + (long) (random.nextDouble() * (backoff / 2));
+    }
+
+    @VisibleForTesting
+    boolean isDuplicate(
+            String url,
+            long now
+    ) {
+        if (recentUrls.size() > 64) {
+            Iterator<Map.Entry<String, Long>> iterator = recentUrls.entrySet().iterator();
+            while (iterator.hasNext()) {
+                if (now - iterator.next().getValue() >= DEDUPE_WINDOW_MILLIS) {
+                    iterator.remove();
+                }
+            }
+        }
+        Long previous = recentUrls.put(url, now);
+        return previous != null && now - previous < DEDUPE_WINDOW_MILLIS;
+    }
+
+    private void dispatch(
+            @Nullable String url,
+            boolean isImpression
+    ) {
+        if (TextUtils.isEmpty(url)) {
+            return;
+        }
+        final long now = SystemClock.elapsedRealtime();
+        final long createdAt = System.currentTimeMillis();
+        executor.execute(() -> enqueue(url, isImpression, now, createdAt));
+    }
+
+    private void enqueue(
+            String url,
+            boolean isImpression,
+            long now,
+            long createdAt
+    ) {
+        loadQueue();
+        if (isDuplicate(url, now)) {
+            LogUtil.debug(TAG, "Dropping duplicate tracking event: " + url);
+            droppedCount.incrementAndGet();
+            return;
+        }
+        if (pendingEvents.size() >= MAX_QUEUE_SIZE) {
+            LogUtil.warning(TAG, "Tracking queue is full. Dropping event: " + url);
+            droppedCount.incrementAndGet();
+            return;
+        }
+
+        Event event = new Event(nextId(), url, isImpression, createdAt);
+        pendingEvents.put(event.id, event);
+        if (queueFile != null) {
+            queueFile.append(event);
+        }
+        drain();
+    }
+
+    private void drain() {
+        if (scheduledDrain != null) {
+            scheduledDrain.cancel(false);
+            scheduledDrain = null;
+        }
+        if (pendingEvents.isEmpty()) {
+            return;
+        }
+        if (!isOnline()) {
+            LogUtil.debug(TAG, "Device is offline. Waiting for connectivity to send " + pendingEvents.size() + " events");
+            // In case the connectivity change isn't received
+            scheduleDrain(MAX_BACKOFF_MILLIS);
+            return;
+        }
+
+        long now = SystemClock.elapsedRealtime();
+        long wallClockNow = System.currentTimeMillis();
+        long nextAttemptAt = Long.MAX_VALUE;
+        List<Event> expiredEvents = null;
+        for (Event event : pendingEvents.values()) {
+            if (event.isInFlight) {
+                continue;
+            }
+            if (isExpired(event, wallClockNow)) {
+                if (expiredEvents == null) {
+                    expiredEvents = new ArrayList<>();
+                }
+                expiredEvents.add(event);
+                continue;
+            }
+            if (event.nextAttemptAt > now) {
+                nextAttemptAt = Math.min(nextAttemptAt, event.nextAttemptAt);
+                continue;
+            }
+            if (inFlightCount >= MAX_IN_FLIGHT) {
+                // Drained again when a request completes
+                break;
+            }
+            send(event);
+        }
+        if (expiredEvents != null) {
+            LogUtil.warning(TAG, "Dropping " + expiredEvents.size() + " expired tracking events");
+            for (Event event : expiredEvents) {
+                drop(event);
+            }
+        }
+        if (nextAttemptAt != Long.MAX_VALUE) {
+            scheduleDrain(nextAttemptAt - now);
+        }
+    }
+
+    private void scheduleDrain(long delayMillis) {
+        scheduledDrain = executor.schedule(this::drain, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void send(final Event event) {
+        event.isInFlight = true;
+        event.attempts++;
+        inFlightCount++;
+
+        BaseNetworkTask.GetUrlParams params = new BaseNetworkTask.GetUrlParams();
+        params.url = event.url;
+        params.requestType = "GET";
+        params.userAgent = AppInfoManager.getUserAgent();
+
+        ResponseHandler responseHandler = new ResponseHandler() {
+            @Override
+            public void onResponse(BaseNetworkTask.GetUrlResult response) {
+                onSent(event, getOutcome(response.statusCode));
+            }
+
+            @Override
+            public void onError(
+                    String msg,
+                    long responseTime
+            ) {
+                // The server responded
+                onSent(event, OUTCOME_DELIVERED);
+            }
+
+            @Override
+            public void onErrorWithException(
+                    Exception e,
+                    long responseTime
+            ) {
+                LogUtil.debug(TAG, "Failed to send tracking event: " + e.getMessage());
+                boolean isRetryable = e instanceof IOException || e instanceof RejectedExecutionException;
+                onSent(event, isRetryable ? OUTCOME_RETRY : OUTCOME_DROPPED);
+            }
+        };
+
+        BaseNetworkTask networkTask;
+        if (event.isImpression) {
+            params.name = BaseNetworkTask.REDIRECT_TASK;
+            networkTask = new ImpressionUrlTask(responseHandler);
+        } else {
+            params.name = BaseNetworkTask.STATUS_TASK;
+            networkTask = new BaseNetworkTask(responseHandler);
+        }
+        try {
+            networkTask.executeOnLane(TaskLane.TRACKING, params);
+        } catch (RuntimeException exception) {
+            LogUtil.error(TAG, "Failed to start tracking request: " + exception.getMessage());
+            onSent(event, OUTCOME_RETRY);
+        }
+    }
+
+    private void onSent(
+            Event event,
+            int outcome
+    ) {
+        executor.execute(() -> {
+            event.isInFlight = false;
+            inFlightCount--;
+
+            if (outcome == OUTCOME_RETRY && event.attempts < MAX_ATTEMPTS) {
+                retriedCount.incrementAndGet();
+                event.nextAttemptAt = SystemClock.elapsedRealtime() + getBackoffMillis(event.attempts, random);
+                if (queueFile != null && event.id > 0) {
+                    queueFile.updateAttempts(event);
+                }
+            } else if (outcome == OUTCOME_DELIVERED) {
+                deliveredCount.incrementAndGet();
+                remove(event);
+            } else {
+                LogUtil.warning(TAG, "Dropping tracking event after " + event.attempts + " attempts: " + event.url);
+                drop(event);
+            }
+            drain();
+        });
+    }
+
+    private void drop(Event event) {
+        droppedCount.incrementAndGet();
+        remove(event);
+    }
+
+    private void remove(Event event) {
+        pendingEvents.remove(event.id);
+        if (queueFile != null && event.id > 0) {
+            queueFile.remove(event.id, pendingEvents.values());
+        }
+    }
+
+    private static boolean isExpired(
+            Event event,
+            long wallClockNow
+    ) {
+        // A clock set back doesn't keep events forever
+        long age = wallClockNow - event.createdAt;
+        return age > MAX_EVENT_AGE_MILLIS || age < -MAX_EVENT_AGE_MILLIS;
+    }
+
+    /**
+     * Makes the retry that would run first due now. Events already due are sent anyway.
+     */
+    @VisibleForTesting
+    static void moveEarliestRetryForward(
+            Collection<Event> events,
+            long now
+    ) {
+        Event earliest = null;
+        for (Event event : events) {
+            if (!event.isInFlight && event.nextAttemptAt > now
+                && (earliest == null || event.nextAttemptAt < earliest.nextAttemptAt)) {
+                earliest = event;
+            }
+        }
+        if (earliest != null) {
+            earliest.nextAttemptAt = now;
+        }
+    }
+
+    private static int getOutcome(int statusCode) {
+        if (statusCode == 408 || statusCode == 429 || statusCode >= 500) {
+            return OUTCOME_RETRY;
+        }
+        if (statusCode >= 400) {
+            return OUTCOME_DROPPED;
+        }
+        return OUTCOME_DELIVERED;
+    }
+
+    private long nextId() {
+        // Events created before the queue file is available get negative ids, never used by the file.
+        return queueFile != null ? queueFile.nextId() : nextMemoryId--;
+    }
+
+    /**
+     * Restores events of the previous sessions once the SDK context is available.
+     */
+    private void loadQueue() {
+        if (queueFile != null) {
+            return;
+        }
+        Context context = PrebidContextHolder.getContext();
+        if (context == null) {
+            return;
+        }
+
+        queueFile = new TrackingQueueFile(new File(context.getApplicationContext().getFilesDir(), QUEUE_FILE_NAME));
+        List<Event> storedEvents = queueFile.load();
+        if (!storedEvents.isEmpty()) {
+            LogUtil.debug(TAG, "Restored " + storedEvents.size() + " tracking events");
+        }
+
+        List<Event> memoryEvents = new ArrayList<>(pendingEvents.values());
+        pendingEvents.clear();
+        for (Event event : storedEvents) {
+            pendingEvents.put(event.id, event);
+        }
+        for (Event event : memoryEvents) {
+            if (event.isInFlight) {
+                // Keeps its memory id, the request is already running
+                pendingEvents.put(event.id, event);
+                continue;
+            }
+            Event storedEvent = new Event(queueFile.nextId(), event.url, event.isImpression, event.createdAt);
+            storedEvent.attempts = event.attempts;
+            storedEvent.nextAttemptAt = event.nextAttemptAt;
+            pendingEvents.put(storedEvent.id, storedEvent);
+            queueFile.append(storedEvent);
+        }
+    }
+
+    private static boolean isOnline() {
+        ConnectionInfoManager connectionInfoManager = ManagersResolver.getInstance().getNetworkManager();
+        return connectionInfoManager == null
+               || connectionInfoManager.getConnectionType() != UserParameters.ConnectionType.OFFLINE;
+    }
+
+    static class Event {
+
+        final long id;
+        final String url;
+        final boolean isImpression;
+        // Wall clock time, it has to survive process restarts
+        final long createdAt;
+        int attempts;
+        long nextAttemptAt;
+        boolean isInFlight;
+
+        Event(
+                long id,
+                String url,
+                boolean isImpression,
+                long createdAt
+        ) {
+            this.id = id;
+            this.url = url;
+            this.isImpression = isImpression;
+            this.createdAt = createdAt;
+        }
+    }
+}
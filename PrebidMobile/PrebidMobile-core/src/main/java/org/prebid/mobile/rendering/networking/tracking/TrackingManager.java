@@ -40,7 +40,7 @@ public class TrackingManager {
     }
 
     public void fireEventTrackingURL(String url) {
-        ServerConnection.fireAndForget(url);
+        TrackingDispatcher.getInstance().dispatch(url);
     }
 
     public void fireEventTrackingURLs(@Nullable List<String> urls) {
@@ -55,7 +55,7 @@ public class TrackingManager {
 
     public void fireEventTrackingImpressionURLs(ArrayList<String> impressionUrls) {
         for (String url : impressionUrls) {
-            ServerConnection.fireAndForgetImpressionUrl(url);
+            TrackingDispatcher.getInstance().dispatchImpression(url);
         }
     }
 }
@@ -0,0 +1,242 @@
+/*
+ *    Copyright 2018-2021 Prebid.org, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.prebid.mobile.rendering.networking.tracking;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+
+import org.prebid.mobile.LogUtil;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Append-only log of tracking events that weren't delivered yet.
+ * <p>
+ * Every queued event is written as {@code +<id> <type> <createdAt> <url>}, every failed attempt as
+ * {@code *<id> <attempts>} and every delivered or dropped event as {@code -<id>}. Pending events are
+ * the added ones without a removal. The log is rewritten with pending events only once removals
+ * outweigh them. Lines cut by a process kill are skipped.
+ * Not thread safe.
+ */
+@WorkerThread
+class TrackingQueueFile {
+
+    private static final String TAG = TrackingQueueFile.class.getSimpleName();
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final char ADDED = '+';
+    private static final char REMOVED = '-';
+    private static final char ATTEMPTS = '*';
+    private static final char TYPE_IMPRESSION = 'i';
+    private static final char TYPE_EVENT = 'e';
+
+    static final int COMPACTION_THRESHOLD = 64;
+
+    private final File file;
+    private Writer writer;
+    private int removedSinceCompaction;
+    private long nextId = 1;
+
+    TrackingQueueFile(@NonNull File file) {
+        this.file = file;
+    }
+
+    /**
+     * @return pending events in the order they were added.
+     */
+    @NonNull
+    List<TrackingDispatcher.Event> load() {
+        LinkedHashMap<Long, TrackingDispatcher.Event> events = new LinkedHashMap<>();
+        if (file.exists()) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    parseLine(line, events);
+                }
+            } catch (IOException exception) {
+                LogUtil.error(TAG, "Failed to read tracking queue: " + exception.getMessage());
+            }
+        }
+        for (Long id : events.keySet()) {
+            nextId = Math.max(nextId, id + 1);
+        }
+        removedSinceCompaction = 0;
+        List<TrackingDispatcher.Event> result = new ArrayList<>(events.values());
+        compact(result);
+        return result;
+    }
+
+    long nextId() {
+        return nextId++;
+    }
+
+    void append(@NonNull TrackingDispatcher.Event event) {
+        if (isPersistable(event)) {
+            write(formatAdded(event));
+            if (event.attempts > 0) {
+                write(formatAttempts(event));
+            }
+        }
+    }
+
+    /**
+     * Stores the number of attempts of the event, so it doesn't get new attempts in the next session.
+     */
+    void updateAttempts(@NonNull TrackingDispatcher.Event event) {
+        if (isPersistable(event)) {
+            write(formatAttempts(event));
+        }
+    }
+
+    void remove(
+            long id,
+            @NonNull Collection<TrackingDispatcher.Event> pendingEvents
+    ) {
+        write(String.valueOf(REMOVED) + id);
+        removedSinceCompaction++;
+        if (removedSinceCompaction >= COMPACTION_THRESHOLD && removedSinceCompaction > pendingEvents.size()) {
+            compact(pendingEvents);
+        }
+    }
+
+    private void compact(@NonNull Collection<TrackingDispatcher.Event> pendingEvents) {
+        closeWriter();
+        removedSinceCompaction = 0;
+        if (pendingEvents.isEmpty()) {
+            if (file.exists() && !file.delete()) {
+                LogUtil.warning(TAG, "Failed to delete tracking queue");
+            }
+            return;
+        }
+
+        File tempFile = new File(file.getPath() + ".tmp");
+        try (Writer tempWriter = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(tempFile), UTF_8))) {
+            for (TrackingDispatcher.Event event : pendingEvents) {
+                if (isPersistable(event)) {
+                    tempWriter.write(formatAdded(event));
+                    tempWriter.write('\n');
+                    if (event.attempts > 0) {
+                        tempWriter.write(formatAttempts(event));
+                        tempWriter.write('\n');
+                    }
+                }
+            }
+        } catch (IOException exception) {
+            LogUtil.error(TAG, "Failed to compact tracking queue: " + exception.getMessage());
+            tempFile.delete();
+            return;
+        }
+        if (!tempFile.renameTo(file)) {
+            LogUtil.warning(TAG, "Failed to replace tracking queue");
+            tempFile.delete();
+        }
+    }
+
+    private void write(String line) {
+        try {
+            if (writer == null) {
+                writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), UTF_8));
+            }
+            writer.write(line);
+            writer.write('\n');
+            writer.flush();
+        } catch (IOException exception) {
+            LogUtil.error(TAG, "Failed to write tracking queue: " + exception.getMessage());
+            closeWriter();
+        }
+    }
+
+    private void closeWriter() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException ignored) {
+        }
+        writer = null;
+    }
+
+    private static boolean isPersistable(TrackingDispatcher.Event event) {
+        return event.url.indexOf('\n') < 0 && event.url.indexOf('\r') < 0;
+    }
+
+    private static String formatAdded(TrackingDispatcher.Event event) {
+        return String.valueOf(ADDED) + event.id + ' ' + (event.isImpression ? TYPE_IMPRESSION : TYPE_EVENT) + ' ' + event.createdAt + ' ' + event.url;
+    }
+
+    private static String formatAttempts(TrackingDispatcher.Event event) {
+        return String.valueOf(ATTEMPTS) + event.id + ' ' + event.attempts;
+    }
+
+    private static void parseLine(
+            String line,
+            LinkedHashMap<Long, TrackingDispatcher.Event> events
+    ) {
+        if (line.length() < 2) {
+            return;
+        }
+        try {
+            if (line.charAt(0) == REMOVED) {
+                events.remove(Long.parseLong(line.substring(1)));
+                return;
+            }
+            if (line.charAt(0) == ATTEMPTS) {
+                int attemptsStart = line.indexOf(' ');
+                if (attemptsStart < 0) {
+                    return;
+                }
+                TrackingDispatcher.Event event = events.get(Long.parseLong(line.substring(1, attemptsStart)));
+                if (event != null) {
+                    event.attempts = Integer.parseInt(line.substring(attemptsStart + 1));
+                }
+                return;
+            }
+            if (line.charAt(0) != ADDED) {
+                return;
+            }
+            int typeStart = line.indexOf(' ');
+            int createdAtStart = typeStart + 3;
+            if (typeStart < 0 || createdAtStart >= line.length() || line.charAt(createdAtStart - 1) != ' ') {
+                return;
+            }
+            int urlStart = line.indexOf(' ', createdAtStart) + 1;
+            if (urlStart <= 0 || urlStart >= line.length()) {
+                return;
+            }
+            long id = Long.parseLong(line.substring(1, typeStart));
+            boolean isImpression = line.charAt(typeStart + 1) == TYPE_IMPRESSION;
+            long createdAt = Long.parseLong(line.substring(createdAtStart, urlStart - 1));
+            events.put(id, new TrackingDispatcher.Event(id, line.substring(urlStart), isImpression, createdAt));
+        } catch (NumberFormatException exception) {
+            LogUtil.debug(TAG, "Skipping corrupted tracking queue line");
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ *    Copyright 2018-2021 Prebid.org, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.prebid.mobile.rendering.networking.urlBuilder;
+
+import android.util.JsonWriter;
+
+import androidx.annotation.NonNull;
+
+import org.prebid.mobile.rendering.models.openrtb.BidRequest;
+import org.prebid.mobile.rendering.networking.RequestBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+
+/**
+ * Writes OpenRTB bid request as UTF-8 JSON into the output stream on the network thread.
+ * <p>
+ * The models stream their fields with {@link BidRequest#writeTo(JsonWriter)}, so neither
+ * the JSON tree nor the request {@link String} is created.
+ */
+public class BidRequestBody implements RequestBody {
+
+    private final BidRequest bidRequest;
+
+    public BidRequestBody(@NonNull BidRequest bidRequest) {
+        this.bidRequest = bidRequest;
+    }
+
+    @Override
+    public void writeTo(@NonNull OutputStream outputStream) throws IOException {
+        JsonWriter writer = new JsonWriter(new OutputStreamWriter(outputStream, "UTF-8"));
+        try {
+            bidRequest.writeTo(writer);
+        } catch (IllegalArgumentException | IllegalStateException exception) {
+            throw new IOException("Failed to serialize bid request: " + exception.getMessage());
+        }
+        writer.flush();
+    }
+
+}
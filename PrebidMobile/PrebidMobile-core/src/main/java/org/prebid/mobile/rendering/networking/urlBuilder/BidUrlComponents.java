@@ -18,6 +18,7 @@ package org.prebid.mobile.rendering.networking.urlBuilder;
 
 import org.json.JSONObject;
 import org.prebid.mobile.LogUtil;
+import org.prebid.mobile.rendering.networking.RequestBody;
 import org.prebid.mobile.rendering.networking.parameters.AdRequestInput;
 
 public class BidUrlComponents extends URLComponents {
@@ -42,4 +43,9 @@ public class BidUrlComponents extends URLComponents {
 
         return openrtb;
     }
+
+    @Override
+    public RequestBody getRequestBody() {
+        return new BidRequestBody(adRequestInput.getBidRequest());
+    }
 }
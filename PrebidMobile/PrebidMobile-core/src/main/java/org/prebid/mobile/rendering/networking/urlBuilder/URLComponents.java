@@ -19,6 +19,7 @@ package org.prebid.mobile.rendering.networking.urlBuilder;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.prebid.mobile.LogUtil;
+import org.prebid.mobile.rendering.networking.RequestBody;
 import org.prebid.mobile.rendering.networking.parameters.AdRequestInput;
 import org.prebid.mobile.rendering.utils.helpers.Utils;
 
@@ -94,6 +95,13 @@ public class URLComponents {
         return queryArgString.toString();
     }
 
+    /**
+     * @return body to be streamed on the network thread or null if request is sent with query args.
+     */
+    public RequestBody getRequestBody() {
+        return null;
+    }
+
     public String getBaseUrl() {
         return baseUrl;
     }
@@ -19,7 +19,6 @@ package org.prebid.mobile.rendering.parser;
 import android.text.TextUtils;
 import android.util.Xml;
 import androidx.annotation.NonNull;
-import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 import org.prebid.mobile.LogUtil;
 import org.prebid.mobile.rendering.errors.VastParseError;
@@ -44,6 +43,8 @@ public class AdResponseParserVast extends AdResponseParserBase {
     public static final int RESOURCE_FORMAT_IFRAME = 2;
     public static final int RESOURCE_FORMAT_STATIC = 3;
 
+    private static final int RENDERED_ADS_COUNT = 1;
+
     private boolean ready;
 
     private volatile AdResponseParserVast wrappedVASTXml;
@@ -159,34 +160,42 @@ public class AdResponseParserVast extends AdResponseParserBase {
         ready = true;
     }
 
+    /**
+     * Creates a parser for an already parsed VAST document, e.g. from {@link org.prebid.mobile.rendering.loading.VastWrapperCache}.
+     */
+    public AdResponseParserVast(@NonNull VAST vast) {
+        trackings = new ArrayList<>();
+        impressions = new ArrayList<>();
+        clickTrackings = new ArrayList<>();
+        this.vast = vast;
+        ready = true;
+    }
+
     public VAST getVast() {
         return vast;
     }
 
     private void readVAST(String data) throws XmlPullParserException, IOException {
-        String bomFreeString = checkForBOM(data);
-        if (bomFreeString != null) {
-            data = bomFreeString;
+        StringReader reader = new StringReader(data);
+        // Skip BOM and other garbage before the first tag without copying the document
+        int startIndex = getDocumentStart(data);
+        if (startIndex > 0) {
+            reader.skip(startIndex);
         }
         XmlPullParser parser = Xml.newPullParser();
         parser.setFeature(XmlPullParser.FEATURE_PROCESS_NAMESPACES, false);
-        parser.setInput(new StringReader(data));
+        parser.setInput(reader);
         parser.nextTag();
 
-        vast = new VAST(parser);
+        // Only the first ad is rendered, so the other ads of a pod are not parsed
+        vast = new VAST(parser, RENDERED_ADS_COUNT);
     }
 
-    @Nullable
-    private String checkForBOM(String data) {
+    private int getDocumentStart(String data) {
         if (data == null || data.isEmpty()) {
-            return null;
-        }
-        String result = null;
-        int startIndex = data.indexOf("<");
-        if (startIndex > 0) {
-            result = data.substring(startIndex);
+            return -1;
         }
-        return result;
+        return data.indexOf("<");
     }
 
     public List<String> getImpressionTrackerUrl() {
@@ -0,0 +1,104 @@
+package org.prebid.mobile.rendering.sdk;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * One stage of {@link InitializationGraph}. The stage starts on its executor when all its
+ * dependencies are finished and reports the result through {@link Completion}, synchronously or
+ * later from any thread.
+ */
+public class InitStage {
+
+    public interface Action {
+
+        void start(@NonNull Completion completion) throws Exception;
+    }
+
+    public interface Completion {
+
+        /**
+         * @param error must be null if the stage completed successfully.
+         */
+        void complete(@Nullable String error);
+    }
+
+    private final String name;
+    private final Executor executor;
+    private final long deadlineMillis;
+    private final boolean isRequired;
+    private final List<String> dependencies;
+    private final Action action;
+
+    /**
+     * @param deadlineMillis time after the start the stage is treated as timed out.
+     * @param isRequired     if true, initialization waits for the stage and fails if it times out.
+     * @param dependencies   names of the stages that must be finished before this stage starts.
+     */
+    public InitStage(
+            @NonNull String name,
+            @NonNull Executor executor,
+            long deadlineMillis,
+            boolean isRequired,
+            @NonNull Action action,
+            String... dependencies
+    ) {
+        this.name = name;
+        this.executor = executor;
+        this.deadlineMillis = deadlineMillis;
+        this.isRequired = isRequired;
+        this.action = action;
+        this.dependencies = Collections.unmodifiableList(Arrays.asList(dependencies));
+    }
+
+    /**
+     * Creates a stage that is completed when the runnable returns.
+     */
+    public static InitStage fromRunnable(
+            @NonNull String name,
+            @NonNull Executor executor,
+            long deadlineMillis,
+            boolean isRequired,
+            @NonNull Runnable runnable,
+            String... dependencies
+    ) {
+        Action action = completion -> {
+            runnable.run();
+            completion.complete(null);
+        };
+        return new InitStage(name, executor, deadlineMillis, isRequired, action, dependencies);
+    }
+
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    @NonNull
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public long getDeadlineMillis() {
+        return deadlineMillis;
+    }
+
+    public boolean isRequired() {
+        return isRequired;
+    }
+
+    @NonNull
+    public List<String> getDependencies() {
+        return dependencies;
+    }
+
+    @NonNull
+    public Action getAction() {
+        return action;
+    }
+}
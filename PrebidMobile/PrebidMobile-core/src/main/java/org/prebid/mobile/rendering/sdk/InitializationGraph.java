@@ -0,0 +1,176 @@
+package org.prebid.mobile.rendering.sdk;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import org.prebid.mobile.tasksmanager.LaneScheduler;
+import org.prebid.mobile.tasksmanager.TaskLane;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Starts the initialization stages as soon as their dependencies are finished, without blocking
+ * any thread while a stage is in progress.
+ * <p>
+ * Each stage has its own deadline. A required stage that misses its deadline fails the whole
+ * initialization; an optional one is treated as finished with an error, so its dependents can go on.
+ * The listener is notified once, when all required stages are finished. Optional stages may still
+ * be running at that moment.
+ */
+public class InitializationGraph {
+
+    public static final String TIMEOUT_ERROR = "Terminated by timeout.";
+
+    public interface Listener {
+
+        void onCompleted(@NonNull InitializationTrace trace);
+
+        void onFailed(
+                @NonNull String error,
+                @NonNull InitializationTrace trace
+        );
+    }
+
+    private final LaneScheduler scheduler;
+    private final LinkedHashMap<String, InitStage> stages = new LinkedHashMap<>();
+    private final HashMap<String, Runnable> deadlines = new HashMap<>();
+    private final HashSet<String> startedStages = new HashSet<>();
+    private final HashSet<String> finishedStages = new HashSet<>();
+    private final InitializationTrace trace = new InitializationTrace();
+
+    private Listener listener;
+    private boolean isCompleted;
+    private boolean isFailed;
+
+    /**
+     * @param scheduler scheduler of the stage deadlines.
+     */
+    public InitializationGraph(@NonNull LaneScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Adds a stage. Dependencies must be added before the stages that depend on them,
+     * so the graph can't contain cycles.
+     */
+    public synchronized InitializationGraph add(@NonNull InitStage stage) {
+        if (stages.containsKey(stage.getName())) {
+            throw new IllegalArgumentException("Stage " + stage.getName() + " was already added");
+        }
+        for (String dependency : stage.getDependencies()) {
+            if (!stages.containsKey(dependency)) {
+                throw new IllegalArgumentException("Stage " + stage.getName() + " depends on unknown stage " + dependency);
+            }
+        }
+        stages.put(stage.getName(), stage);
+        return this;
+    }
+
+    @NonNull
+    public InitializationTrace getTrace() {
+        return trace;
+    }
+
+    public void start(@NonNull Listener listener) {
+        List<InitStage> readyStages;
+        synchronized (this) {
+            if (this.listener != null) {
+                return;
+            }
+            this.listener = listener;
+            trace.start();
+            readyStages = takeReadyStages();
+        }
+        launch(readyStages);
+        notifyIfCompleted();
+    }
+
+    private void launch(List<InitStage> readyStages) {
+        for (InitStage stage : readyStages) {
+            launch(stage);
+        }
+    }
+
+    private void launch(InitStage stage) {
+        if (stage.getDeadlineMillis() > 0) {
+            Runnable deadline = () -> onStageFinished(stage, TIMEOUT_ERROR, true);
+            synchronized (this) {
+                deadlines.put(stage.getName(), deadline);
+            }
+            scheduler.schedule(TaskLane.AUCTION_CRITICAL, deadline, stage.getDeadlineMillis());
+        }
+        stage.getExecutor().execute(() -> {
+            try {
+                stage.getAction().start(error -> onStageFinished(stage, error, false));
+            } catch (Throwable throwable) {
+                onStageFinished(stage, "Exception during initialization: " + Log.getStackTraceString(throwable), false);
+            }
+        });
+    }
+
+    private void onStageFinished(
+            InitStage stage,
+            String error,
+            boolean isTimedOut
+    ) {
+        boolean hasFailed = false;
+        List<InitStage> readyStages;
+        synchronized (this) {
+            if (isFailed || !finishedStages.add(stage.getName())) {
+                return;
+            }
+            trace.stageFinished(stage.getName(), error, isTimedOut);
+            Runnable deadline = deadlines.remove(stage.getName());
+            if (deadline != null && !isTimedOut) {
+                scheduler.cancel(deadline);
+            }
+            if (isTimedOut && stage.isRequired() && !isCompleted) {
+                hasFailed = true;
+                isFailed = true;
+                trace.finish();
+            }
+            readyStages = hasFailed ? new ArrayList<>() : takeReadyStages();
+        }
+
+        if (hasFailed) {
+            listener.onFailed(TIMEOUT_ERROR, trace);
+            return;
+        }
+        launch(readyStages);
+        notifyIfCompleted();
+    }
+
+    private void notifyIfCompleted() {
+        synchronized (this) {
+            if (isCompleted || isFailed) {
+                return;
+            }
+            for (InitStage stage : stages.values()) {
+                if (stage.isRequired() && !finishedStages.contains(stage.getName())) {
+                    return;
+                }
+            }
+            isCompleted = true;
+            trace.finish();
+        }
+        listener.onCompleted(trace);
+    }
+
+    private List<InitStage> takeReadyStages() {
+        ArrayList<InitStage> readyStages = new ArrayList<>();
+        for (InitStage stage : stages.values()) {
+            if (startedStages.contains(stage.getName()) || !finishedStages.containsAll(stage.getDependencies())) {
+                continue;
+            }
+            startedStages.add(stage.getName());
+            trace.stageStarted(stage.getName());
+            readyStages.add(stage);
+        }
+        return readyStages;
+    }
+}
@@ -0,0 +1,123 @@
+package org.prebid.mobile.rendering.sdk;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Durations and results of the SDK initialization stages, in the order the stages started.
+ * Durations of stages that haven't finished yet are reported as -1.
+ */
+public class InitializationTrace {
+
+    private final LinkedHashMap<String, StageRecord> stages = new LinkedHashMap<>();
+    private long startedAt;
+    private long finishedAt;
+    private boolean isFinished;
+
+    synchronized void start() {
+        startedAt = System.nanoTime();
+    }
+
+    synchronized void stageStarted(@NonNull String stage) {
+        stages.put(stage, new StageRecord(System.nanoTime()));
+    }
+
+    synchronized void stageFinished(
+            @NonNull String stage,
+            @Nullable String error,
+            boolean isTimedOut
+    ) {
+        StageRecord record = stages.get(stage);
+        if (record == null) {
+            return;
+        }
+        record.finishedAt = System.nanoTime();
+        record.isFinished = true;
+        record.error = error;
+        record.isTimedOut = isTimedOut;
+    }
+
+    synchronized void finish() {
+        finishedAt = System.nanoTime();
+        isFinished = true;
+    }
+
+    /**
+     * @return time from the start of initialization until the required stages were finished.
+     */
+    public synchronized long getTotalDurationMillis() {
+        if (!isFinished) {
+            return -1;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(finishedAt - startedAt);
+    }
+
+    public synchronized long getDurationMillis(@NonNull String stage) {
+        StageRecord record = stages.get(stage);
+        return record != null ? record.getDurationMillis() : -1;
+    }
+
+    @NonNull
+    public synchronized Map<String, Long> getStageDurations() {
+        LinkedHashMap<String, Long> durations = new LinkedHashMap<>();
+        for (Map.Entry<String, StageRecord> entry : stages.entrySet()) {
+            durations.put(entry.getKey(), entry.getValue().getDurationMillis());
+        }
+        return durations;
+    }
+
+    @Nullable
+    public synchronized String getError(@NonNull String stage) {
+        StageRecord record = stages.get(stage);
+        return record != null ? record.error : null;
+    }
+
+    public synchronized boolean isTimedOut(@NonNull String stage) {
+        StageRecord record = stages.get(stage);
+        return record != null && record.isTimedOut;
+    }
+
+    @NonNull
+    @Override
+    public synchronized String toString() {
+        StringBuilder builder = new StringBuilder("InitializationTrace{total=")
+                .append(getTotalDurationMillis())
+                .append("ms");
+        for (Map.Entry<String, StageRecord> entry : stages.entrySet()) {
+            StageRecord record = entry.getValue();
+            builder.append(", ")
+                   .append(entry.getKey())
+                   .append('=')
+                   .append(record.getDurationMillis())
+                   .append("ms");
+            if (record.isTimedOut) {
+                builder.append(" (timed out)");
+            }
+        }
+        return builder.append('}').toString();
+    }
+
+    private static class StageRecord {
+
+        private final long startedAt;
+        private long finishedAt;
+        private boolean isFinished;
+        private String error;
+        private boolean isTimedOut;
+
+        private StageRecord(long startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        private long getDurationMillis() {
+            if (!isFinished) {
+                return -1;
+            }
+            return TimeUnit.NANOSECONDS.toMillis(finishedAt - startedAt);
+        }
+    }
+}
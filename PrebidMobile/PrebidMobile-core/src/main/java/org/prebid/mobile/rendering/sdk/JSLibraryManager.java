@@ -17,23 +17,39 @@
 package org.prebid.mobile.rendering.sdk;
 
 import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
 
+import androidx.annotation.NonNull;
+
+import org.prebid.mobile.rendering.sdk.scripts.HtmlScriptTemplate;
 import org.prebid.mobile.rendering.sdk.scripts.JsScriptData;
+import org.prebid.mobile.tasksmanager.TaskLane;
+import org.prebid.mobile.tasksmanager.TasksManager;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Downloader and fetcher for JS scripts needed for the Prebid SDK (omsdk.js, mraid.js).
  * Top level class for working with JS scripts.
+ * <p>
+ * Scripts are read once, during the SDK initialization or right after they are downloaded.
+ * Creatives that arrive earlier wait for them with {@link #awaitScripts(long, ScriptsReadyListener)}.
  */
 public class JSLibraryManager {
 
     private static JSLibraryManager sInstance;
 
-    private String MRAIDscript = "";
-    private String OMSDKscirpt = "";
+    private volatile String MRAIDscript = "";
+    private volatile String OMSDKscirpt = "";
+    private volatile HtmlScriptTemplate omsdkTemplate = new HtmlScriptTemplate("");
     private JsScriptsDownloader scriptsDownloader;
 
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ArrayList<PendingListener> pendingListeners = new ArrayList<>();
+
     private JSLibraryManager(Context context) {
         this.scriptsDownloader = JsScriptsDownloader.createDownloader(context);
     }
@@ -51,7 +67,7 @@ public class JSLibraryManager {
 
     public boolean checkIfScriptsDownloadedAndStartDownloadingIfNot() {
         if (scriptsDownloader.areScriptsDownloadedAlready()) {
-            if (!OMSDKscirpt.isEmpty() && !MRAIDscript.isEmpty()) {
+            if (areScriptsLoaded()) {
                 return true;
             }
 
@@ -67,12 +83,52 @@ public class JSLibraryManager {
 
     public void startScriptReadingTask() {
         if (scriptsDownloader.areScriptsDownloadedAlready()) {
-            if (OMSDKscirpt.isEmpty() || MRAIDscript.isEmpty()) {
+            if (!areScriptsLoaded()) {
 
                 boolean isNotRunning = BackgroundScriptReader.alreadyRunning.compareAndSet(false, true);
                 if (isNotRunning) {
-                    Thread thread = new Thread(new BackgroundScriptReader(scriptsDownloader, this));
-                    thread.start();
+                    TasksManager.getInstance().executeOnLane(
+                            TaskLane.RENDER_PREP,
+                            new BackgroundScriptReader(scriptsDownloader, this)
+                    );
+                }
+            }
+        }
+    }
+
+    public boolean areScriptsLoaded() {
+        return !OMSDKscirpt.isEmpty() && !MRAIDscript.isEmpty();
+    }
+
+    /**
+     * Notifies the listener when both scripts are loaded. The listener is called immediately
+     * if they are loaded already, otherwise on the main thread with {@code false}
+     * if they are not loaded within the timeout. Doesn't start loading by itself,
+     * see {@link #checkIfScriptsDownloadedAndStartDownloadingIfNot()}.
+     */
+    public void awaitScripts(
+            long timeoutMillis,
+            @NonNull ScriptsReadyListener listener
+    ) {
+        synchronized (pendingListeners) {
+            if (!areScriptsLoaded()) {
+                PendingListener pendingListener = new PendingListener(listener);
+                pendingListeners.add(pendingListener);
+                mainHandler.postDelayed(pendingListener, timeoutMillis);
+                return;
+            }
+        }
+        listener.onScriptsReady(true);
+    }
+
+    public void removeScriptsReadyListener(@NonNull ScriptsReadyListener listener) {
+        synchronized (pendingListeners) {
+            Iterator<PendingListener> iterator = pendingListeners.iterator();
+            while (iterator.hasNext()) {
+                PendingListener pendingListener = iterator.next();
+                if (pendingListener.listener == listener) {
+                    mainHandler.removeCallbacks(pendingListener);
+                    iterator.remove();
                 }
             }
         }
@@ -86,6 +142,70 @@ public class JSLibraryManager {
         return OMSDKscirpt;
     }
 
+    /**
+     * @return injection template of the OMSDK script, empty until the script is loaded.
+     */
+    @NonNull
+    public HtmlScriptTemplate getOMSDKTemplate() {
+        return omsdkTemplate;
+    }
+
+    private void onScriptsRead(
+            String openMeasurementScript,
+            String mraidScript
+    ) {
+        ArrayList<PendingListener> readyListeners;
+        synchronized (pendingListeners) {
+            if (openMeasurementScript != null) {
+                omsdkTemplate = new HtmlScriptTemplate(openMeasurementScript);
+                OMSDKscirpt = openMeasurementScript;
+            }
+            if (mraidScript != null) {
+                MRAIDscript = mraidScript;
+            }
+            if (!areScriptsLoaded()) {
+                return;
+            }
+            readyListeners = new ArrayList<>(pendingListeners);
+            pendingListeners.clear();
+        }
+
+        for (PendingListener pendingListener : readyListeners) {
+            mainHandler.removeCallbacks(pendingListener);
+            mainHandler.post(() -> pendingListener.listener.onScriptsReady(true));
+        }
+    }
+
+    public interface ScriptsReadyListener {
+
+        /**
+         * @param isReady false if the scripts were not loaded within the timeout.
+         */
+        void onScriptsReady(boolean isReady);
+    }
+
+    /**
+     * Timeout of one listener. Runs on the main thread if the scripts weren't loaded in time.
+     */
+    private class PendingListener implements Runnable {
+
+        private final ScriptsReadyListener listener;
+
+        private PendingListener(ScriptsReadyListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void run() {
+            synchronized (pendingListeners) {
+                if (!pendingListeners.remove(this)) {
+                    return;
+                }
+            }
+            listener.onScriptsReady(false);
+        }
+    }
+
     private static class BackgroundScriptReader implements Runnable {
 
         private static final AtomicBoolean alreadyRunning = new AtomicBoolean(false);
@@ -106,8 +226,7 @@ public class JSLibraryManager {
             String openMeasurementScript = scriptsDownloader.readFile(JsScriptData.openMeasurementData);
             String mraidScript = scriptsDownloader.readFile(JsScriptData.mraidData);
 
-            jsLibraryManager.OMSDKscirpt = openMeasurementScript;
-            jsLibraryManager.MRAIDscript = mraidScript;
+            jsLibraryManager.onScriptsRead(openMeasurementScript, mraidScript);
             alreadyRunning.set(false);
         }
 
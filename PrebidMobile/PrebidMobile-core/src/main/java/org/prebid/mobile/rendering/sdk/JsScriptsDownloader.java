@@ -14,10 +14,10 @@ import org.prebid.mobile.rendering.sdk.scripts.JsScriptRequesterImpl;
 import org.prebid.mobile.rendering.sdk.scripts.JsScriptStorage;
 import org.prebid.mobile.rendering.sdk.scripts.JsScriptStorageImpl;
 
-import java.io.BufferedReader;
+import java.io.DataInputStream;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.InputStreamReader;
+import java.io.IOException;
 import java.util.Collections;
 import java.util.SortedSet;
 import java.util.TreeSet;
@@ -76,16 +76,23 @@ public class JsScriptsDownloader {
     }
 
 
-    private static String convertFileToString(File file) throws Exception {
-        FileInputStream is = new FileInputStream(file);
-        BufferedReader reader = new BufferedReader(new InputStreamReader(is));
-        StringBuilder sb = new StringBuilder();
-        String line;
-        while ((line = reader.readLine()) != null) {
-            sb.append(line).append("\n");
+    /**
+     * Reads the whole file with one bulk read, the size is known in advance.
+     */
+    private static String convertFileToString(File file) throws IOException {
+        long length = file.length();
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("File is too large: " + length);
         }
-        reader.close();
-        return sb.toString();
+
+        byte[] bytes = new byte[(int) length];
+        DataInputStream inputStream = new DataInputStream(new FileInputStream(file));
+        try {
+            inputStream.readFully(bytes);
+        } finally {
+            inputStream.close();
+        }
+        return new String(bytes, "UTF-8");
     }
 
     private void downloadFile(JsScriptData jsScriptData, DownloadListenerCreator listener) {
@@ -4,6 +4,7 @@ import android.app.Application;
 import android.content.Context;
 import android.util.Log;
 
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 
@@ -12,18 +13,42 @@ import org.prebid.mobile.LogUtil.PrebidLogger;
 import org.prebid.mobile.PrebidMobile;
 import org.prebid.mobile.api.rendering.PrebidRenderer;
 import org.prebid.mobile.rendering.listeners.SdkInitializationListener;
-import org.prebid.mobile.rendering.session.manager.OmAdSessionManager;
+import org.prebid.mobile.rendering.models.ViewPool;
 import org.prebid.mobile.rendering.utils.helpers.AppInfoManager;
+import org.prebid.mobile.tasksmanager.TaskLane;
+import org.prebid.mobile.tasksmanager.TasksManager;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Initializes the SDK without blocking the caller.
+ * <p>
+ * Only the context, logging, manager objects and the app package info are set up on the caller's
+ * thread, so bid requests made right after the init call have the app bundle. The rest is an
+ * {@link InitializationGraph} of stages running on the SDK background lanes. Initialization is
+ * completed when the app info, user consent and /status stages are finished. Scripts and the
+ * WebView user agent are loaded after that, and OMSDK is activated when the first ad needs it.
+ * Stage durations are available from {@link #getInitializationTrace()}.
+ */
 public class SdkInitializer {
 
     private static final String TAG = SdkInitializer.class.getSimpleName();
 
+    public static final String STAGE_APP_INFO = "app_info";
+    public static final String STAGE_SECURITY_PROVIDER = "security_provider";
+    public static final String STAGE_USER_CONSENT = "user_consent";
+    public static final String STAGE_STATUS = "status";
+    public static final String STAGE_SCRIPTS = "scripts";
+    public static final String STAGE_USER_AGENT = "user_agent";
+
+    private static final long LOCAL_STAGE_DEADLINE_MILLIS = TimeUnit.SECONDS.toMillis(2);
+    private static final long STATUS_DEADLINE_MILLIS = TimeUnit.SECONDS.toMillis(10);
+    private static final long BACKGROUND_STAGE_DEADLINE_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    @Nullable
+    private static volatile InitializationTrace initializationTrace;
+
     public static void init(
             @Nullable Context context,
             @Nullable SdkInitializationListener listener
@@ -55,46 +80,125 @@ public class SdkInitializer {
         try {
             PrebidMobile.registerPluginRenderer(new PrebidRenderer());
 
-            AppInfoManager.init(applicationContext);
-
-            OmAdSessionManager.activateOmSdk(applicationContext);
-
             ManagersResolver.getInstance().prepare(applicationContext);
-
-            JSLibraryManager.getInstance(applicationContext).checkIfScriptsDownloadedAndStartDownloadingIfNot();
         } catch (Throwable throwable) {
             initializationNotifier.initializationFailed("Exception during initialization: " + throwable.getMessage() + "\n" + Log.getStackTraceString(throwable));
             return;
         }
 
-        new Thread(() -> runBackgroundTasks(
-                initializationNotifier,
-                Executors.newFixedThreadPool(2))
-        ).start();
+        InitializationGraph graph = createGraph(applicationContext);
+        initializationTrace = graph.getTrace();
+        graph.start(new InitializationGraph.Listener() {
+            @Override
+            public void onCompleted(@NonNull InitializationTrace trace) {
+                LogUtil.debug(TAG, trace.toString());
+                onGraphCompleted(initializationNotifier, trace);
+                TasksManager.getInstance().executeOnMainThread(() -> ViewPool.getInstance().prewarm(applicationContext));
+            }
+
+            @Override
+            public void onFailed(
+                    @NonNull String error,
+                    @NonNull InitializationTrace trace
+            ) {
+                LogUtil.debug(TAG, trace.toString());
+                initializationNotifier.initializationFailed(error);
+            }
+        });
+    }
+
+    /**
+     * @return stage durations of the last initialization or null if the SDK wasn't initialized.
+     */
+    @Nullable
+    public static InitializationTrace getInitializationTrace() {
+        return initializationTrace;
     }
 
     @VisibleForTesting
-    public static void runBackgroundTasks(
+    static InitializationGraph createGraph(@NonNull Context applicationContext) {
+        TasksManager tasksManager = TasksManager.getInstance();
+        Executor callerThread = Runnable::run;
+        Executor mainThread = tasksManager.mainThreadExecutor;
+        Executor auctionLane = runnable -> tasksManager.executeOnLane(TaskLane.AUCTION_CRITICAL, runnable);
+        Executor renderLane = runnable -> tasksManager.executeOnLane(TaskLane.RENDER_PREP, runnable);
+        Executor housekeepingLane = runnable -> tasksManager.executeOnLane(TaskLane.HOUSEKEEPING, runnable);
+
+        return new InitializationGraph(tasksManager.getScheduler())
+                .add(InitStage.fromRunnable(
+                        STAGE_APP_INFO,
+                        callerThread,
+                        LOCAL_STAGE_DEADLINE_MILLIS,
+                        true,
+                        () -> AppInfoManager.initPackageInfo(applicationContext)
+                ))
+                .add(InitStage.fromRunnable(
+                        STAGE_SECURITY_PROVIDER,
+                        mainThread,
+                        LOCAL_STAGE_DEADLINE_MILLIS,
+                        false,
+                        () -> AppInfoManager.patchSecurityProviderIfNeeded(applicationContext)
+                ))
+                .add(InitStage.fromRunnable(
+                        STAGE_USER_CONSENT,
+                        auctionLane,
+                        LOCAL_STAGE_DEADLINE_MILLIS,
+                        true,
+                        new UserConsentFetcherTask()
+                ))
+                .add(new InitStage(
+                        STAGE_STATUS,
+                        auctionLane,
+                        STATUS_DEADLINE_MILLIS,
+                        true,
+                        completion -> StatusRequester.requestStatus().setCallback(completion)
+                ))
+                .add(new InitStage(
+                        STAGE_SCRIPTS,
+                        renderLane,
+                        BACKGROUND_STAGE_DEADLINE_MILLIS,
+                        false,
+                        completion -> loadScripts(applicationContext, completion),
+                        STAGE_APP_INFO
+                ))
+                .add(InitStage.fromRunnable(
+                        STAGE_USER_AGENT,
+                        housekeepingLane,
+                        BACKGROUND_STAGE_DEADLINE_MILLIS,
+                        false,
+                        AppInfoManager::getUserAgent,
+                        STAGE_STATUS
+                ));
+    }
+
+    /**
+     * Reads downloaded scripts into memory or starts downloading them. Completes when both
+     * scripts are loaded, so the first creative doesn't wait for them.
+     */
+    private static void loadScripts(
+            Context applicationContext,
+            InitStage.Completion completion
+    ) {
+        JSLibraryManager jsLibraryManager = JSLibraryManager.getInstance(applicationContext);
+        jsLibraryManager.awaitScripts(
+                BACKGROUND_STAGE_DEADLINE_MILLIS,
+                isReady -> completion.complete(isReady ? null : "JS scripts are not loaded.")
+        );
+        jsLibraryManager.checkIfScriptsDownloadedAndStartDownloadingIfNot();
+    }
+
+    private static void onGraphCompleted(
             InitializationNotifier initializationNotifier,
-            ExecutorService executor
+            InitializationTrace trace
     ) {
-        try {
-            Future<String> statusRequesterResult = executor.submit(new StatusRequester());
-            executor.execute(new UserConsentFetcherTask());
-            executor.execute(new UserAgentFetcherTask());
-            executor.shutdown();
-
-            boolean terminatedByTimeout = !executor.awaitTermination(10, TimeUnit.SECONDS);
-            if (terminatedByTimeout) {
-                initializationNotifier.initializationFailed("Terminated by timeout.");
+        for (String stage : new String[]{STAGE_APP_INFO, STAGE_USER_CONSENT}) {
+            String error = trace.getError(stage);
+            if (error != null) {
+                initializationNotifier.initializationFailed(error);
                 return;
             }
-
-            String statusRequesterError = statusRequesterResult.get();
-            initializationNotifier.initializationCompleted(statusRequesterError);
-        } catch (Exception exception) {
-            initializationNotifier.initializationFailed("Exception during initialization: " + Log.getStackTraceString(exception));
         }
+        initializationNotifier.initializationCompleted(trace.getError(STAGE_STATUS));
     }
 
     @Nullable
@@ -10,7 +10,8 @@ import org.prebid.mobile.rendering.networking.ResponseHandler;
 import org.prebid.mobile.rendering.networking.tracking.ServerConnection;
 
 import java.util.concurrent.Callable;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 
 public class StatusRequester implements Callable<String> {
 
@@ -20,10 +21,28 @@ public class StatusRequester implements Callable<String> {
     }
 
     /**
+     * Blocks until the status request is completed.
+     *
      * @return status request error - must be null if there is no error.
      */
     @Nullable
     public static String makeRequest() {
+        try {
+            return requestStatus().get();
+        } catch (InterruptedException | ExecutionException e) {
+            LogUtil.debug("StatusRequester", "Status request interrupted: " + Log.getStackTraceString(e));
+        }
+        return null;
+    }
+
+    /**
+     * Sends the status request without blocking.
+     *
+     * @return future of the status request error - the error is null if there is no error.
+     */
+    public static StatusFuture requestStatus() {
+        StatusFuture future = new StatusFuture();
+
         String statusUrl;
         String customStatusEndpointUrl = PrebidMobile.getCustomStatusEndpoint();
         if (customStatusEndpointUrl != null) {
@@ -34,36 +53,24 @@ public class StatusRequester implements Callable<String> {
                 statusUrl = url.replace("/openrtb2/auction", "/status");
             } else {
                 LogUtil.info("Prebid SDK can't build the /status endpoint. Please, provide the custom /status endpoint using PrebidMobile.setCustomStatusEndpoint().");
-                return null;
+                future.complete(null);
+                return future;
             }
         }
 
-        ResultHolder resultHolder = new ResultHolder();
-
-        try {
-            ServerConnection.fireStatusRequest(
-                    statusUrl,
-                    getResponseHandler(resultHolder)
-            );
-
-            while (resultHolder.isResultNotAvailableYet()) {
-                Thread.sleep(25);
-            }
-        } catch (InterruptedException e) {
-            LogUtil.debug("StatusRequester", "InterruptedException: " + Log.getStackTraceString(e));
-        }
-        return resultHolder.getStatusRequesterError();
+        ServerConnection.fireStatusRequest(statusUrl, getResponseHandler(future));
+        return future;
     }
 
-    private static ResponseHandler getResponseHandler(ResultHolder resultHolder) {
+    private static ResponseHandler getResponseHandler(StatusFuture future) {
         return new ResponseHandler() {
             @Override
             public void onResponse(BaseNetworkTask.GetUrlResult response) {
                 if (response.isOkStatusCode()) {
-                    resultHolder.resultReceived(null);
+                    future.complete(null);
                     return;
                 }
-                resultHolder.resultReceived("Server status is not ok!");
+                future.complete("Server status is not ok!");
             }
 
             @Override
@@ -71,7 +78,7 @@ public class StatusRequester implements Callable<String> {
                 String msg,
                 long responseTime
             ) {
-                resultHolder.resultReceived("Prebid Server is not responding: " + msg);
+                future.complete("Prebid Server is not responding: " + msg);
             }
 
             @Override
@@ -79,30 +86,52 @@ public class StatusRequester implements Callable<String> {
                 Exception exception,
                 long responseTime
             ) {
-                resultHolder.resultReceived("Prebid Server is not responding: " + exception.getMessage());
+                future.complete("Prebid Server is not responding: " + exception.getMessage());
             }
         };
     }
 
-    private static class ResultHolder {
+    /**
+     * Future of the status request error. The callback set by {@link #setCallback(InitStage.Completion)}
+     * is called once, on the thread that completes the request.
+     */
+    public static class StatusFuture extends FutureTask<String> {
 
-        private String statusRequesterError;
-        private final AtomicBoolean resultReceived = new AtomicBoolean(false);
+        private InitStage.Completion callback;
+        private boolean isCallbackCalled;
 
-        public ResultHolder() {
+        private StatusFuture() {
+            super(() -> null);
         }
 
-        public Boolean isResultNotAvailableYet() {
-            return !resultReceived.get();
+        public synchronized void setCallback(InitStage.Completion callback) {
+            this.callback = callback;
+            if (isDone()) {
+                notifyCallback();
+            }
         }
 
-        public void resultReceived(String statusRequesterError) {
-            this.resultReceived.set(true);
-            this.statusRequesterError = statusRequesterError;
+        private void complete(@Nullable String statusRequesterError) {
+            set(statusRequesterError);
         }
 
-        public String getStatusRequesterError() {
-            return statusRequesterError;
+        @Override
+        protected synchronized void done() {
+            notifyCallback();
+        }
+
+        private void notifyCallback() {
+            if (callback == null || isCallbackCalled) {
+                return;
+            }
+            isCallbackCalled = true;
+            String statusRequesterError;
+            try {
+                statusRequesterError = get();
+            } catch (InterruptedException | ExecutionException e) {
+                statusRequesterError = e.getMessage();
+            }
+            callback.complete(statusRequesterError);
         }
     }
 
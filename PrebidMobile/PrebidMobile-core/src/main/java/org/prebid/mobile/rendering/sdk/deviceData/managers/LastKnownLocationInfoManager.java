@@ -25,6 +25,7 @@ import android.content.Context;
 import android.location.Location;
 import android.location.LocationListener;
 
+import org.prebid.mobile.rendering.networking.parameters.ParameterInput;
 import org.prebid.mobile.rendering.sdk.BaseManager;
 
 public final class LastKnownLocationInfoManager extends BaseManager implements LocationInfoManager {
@@ -47,6 +48,7 @@ public final class LastKnownLocationInfoManager extends BaseManager implements L
     public void resetLocation() {
         Location gpsLastKnownLocation = null;
         Location ntwLastKnownLocation = null;
+        Location previousLocation = location;
         if (getContext() != null) {
             locManager = (android.location.LocationManager) getContext().getSystemService(Context.LOCATION_SERVICE);
 
@@ -65,6 +67,10 @@ public final class LastKnownLocationInfoManager extends BaseManager implements L
                 location = ntwLastKnownLocation;
             }
         }
+
+        if (location != previousLocation) {
+            ParameterInput.LOCATION.invalidate();
+        }
     }
 
     /**
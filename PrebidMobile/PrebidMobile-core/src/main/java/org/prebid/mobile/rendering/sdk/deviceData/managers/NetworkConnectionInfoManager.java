@@ -18,23 +18,51 @@ package org.prebid.mobile.rendering.sdk.deviceData.managers;
 
 import android.Manifest;
 import android.annotation.SuppressLint;
+import android.content.BroadcastReceiver;
 import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
 import android.content.pm.PackageManager;
 import android.net.ConnectivityManager;
 import android.net.NetworkInfo;
 
+import org.prebid.mobile.LogUtil;
+import org.prebid.mobile.rendering.networking.parameters.ParameterInput;
 import org.prebid.mobile.rendering.networking.parameters.UserParameters;
+import org.prebid.mobile.rendering.networking.tracking.TrackingDispatcher;
 import org.prebid.mobile.rendering.sdk.BaseManager;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 public final class NetworkConnectionInfoManager extends BaseManager implements ConnectionInfoManager {
+    private static final String TAG = NetworkConnectionInfoManager.class.getSimpleName();
+
+    // Registered once per process, managers created later only replace the one it asks for the connection type.
+    private static final ConnectivityReceiver connectivityReceiver = new ConnectivityReceiver();
+    private static final AtomicBoolean isReceiverRegistered = new AtomicBoolean(false);
+
     private ConnectivityManager connectivityManager;
 
     public NetworkConnectionInfoManager(Context context) {
         super(context);
 
         if (getContext() != null) {
-            connectivityManager = (ConnectivityManager) getContext().getApplicationContext()
-                .getSystemService(Context.CONNECTIVITY_SERVICE);
+            Context applicationContext = getContext().getApplicationContext();
+            connectivityManager = (ConnectivityManager) applicationContext.getSystemService(Context.CONNECTIVITY_SERVICE);
+            connectivityReceiver.manager = this;
+            if (isReceiverRegistered.compareAndSet(false, true)) {
+                registerConnectivityReceiver(applicationContext);
+            }
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private void registerConnectivityReceiver(Context applicationContext) {
+        try {
+            applicationContext.registerReceiver(connectivityReceiver, new IntentFilter(ConnectivityManager.CONNECTIVITY_ACTION));
+        } catch (Exception exception) {
+            isReceiverRegistered.set(false);
+            LogUtil.warning(TAG, "Can't register connectivity receiver: " + exception.getMessage());
         }
     }
 
@@ -60,4 +88,25 @@ public final class NetworkConnectionInfoManager extends BaseManager implements C
         }
         return result;
     }
+
+    /**
+     * Invalidates cached network request parameters when connectivity changes
+     * and sends queued tracking events when the device is back online.
+     */
+    private static class ConnectivityReceiver extends BroadcastReceiver {
+
+        private volatile NetworkConnectionInfoManager manager;
+
+        @Override
+        public void onReceive(
+            Context context,
+            Intent intent
+        ) {
+            ParameterInput.NETWORK.invalidate();
+            NetworkConnectionInfoManager currentManager = manager;
+            if (currentManager != null && currentManager.getConnectionType() != UserParameters.ConnectionType.OFFLINE) {
+                TrackingDispatcher.getInstance().onConnectivityRestored();
+            }
+        }
+    }
 }
\ No newline at end of file
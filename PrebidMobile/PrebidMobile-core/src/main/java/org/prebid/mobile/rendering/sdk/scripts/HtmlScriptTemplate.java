@@ -0,0 +1,162 @@
+package org.prebid.mobile.rendering.sdk.scripts;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Script tag built once when the script is loaded and spliced into every ad markup.
+ * <p>
+ * The tag is placed like OM SDK {@code ScriptInjector} does: after the opening {@code <head>} tag,
+ * otherwise after the opening {@code <body>} tag, otherwise after the opening {@code <html>} tag,
+ * otherwise after {@code <!DOCTYPE>}, otherwise at the beginning of the markup. Self-closing tags are
+ * expanded to hold the script. Tags inside comments and inline scripts are ignored.
+ * The result is assembled in one builder of the final capacity.
+ */
+public class HtmlScriptTemplate {
+
+    private static final String SCRIPT_OPEN_TAG = "<script type=\"text/javascript\">";
+    private static final String SCRIPT_CLOSE_TAG = "</script>";
+
+    private static final String COMMENT_START = "<!--";
+    private static final String COMMENT_END = "-->";
+
+    private static final Pattern HEAD_SELF_CLOSING = Pattern.compile("<(head)( [^>]*)?/>", Pattern.CASE_INSENSITIVE);
+    private static final Pattern HEAD = Pattern.compile("<(head)( [^>]*)?>", Pattern.CASE_INSENSITIVE);
+    private static final Pattern BODY_SELF_CLOSING = Pattern.compile("<(body)( [^>]*?)?/>", Pattern.CASE_INSENSITIVE);
+    private static final Pattern BODY = Pattern.compile("<(body)( [^>]*?)?>", Pattern.CASE_INSENSITIVE);
+    private static final Pattern HTML_SELF_CLOSING = Pattern.compile("<(html)( [^>]*?)?/>", Pattern.CASE_INSENSITIVE);
+    private static final Pattern HTML = Pattern.compile("<(html)( [^>]*?)?>", Pattern.CASE_INSENSITIVE);
+    private static final Pattern DOCTYPE = Pattern.compile("<!DOCTYPE [^>]*>", Pattern.CASE_INSENSITIVE);
+    private static final Pattern SCRIPT = Pattern.compile("<script[\\s>][\\s\\S]*?(</script\\s*>|$)", Pattern.CASE_INSENSITIVE);
+
+    private final String scriptTag;
+
+    public HtmlScriptTemplate(@NonNull String script) {
+        scriptTag = script.isEmpty() ? "" : SCRIPT_OPEN_TAG + script + SCRIPT_CLOSE_TAG;
+    }
+
+    public boolean isEmpty() {
+        return scriptTag.isEmpty();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the script or the html is empty.
+     */
+    @NonNull
+    public String inject(@Nullable String html) {
+        if (scriptTag.isEmpty()) {
+            throw new IllegalArgumentException("Script content is empty");
+        }
+        if (html == null || html.isEmpty()) {
+            throw new IllegalArgumentException("HTML is empty");
+        }
+
+        List<int[]> ignoredRanges = findIgnoredRanges(html);
+        StringBuilder result = new StringBuilder(html.length() + scriptTag.length() + 16);
+        if (injectIntoSelfClosingTag(html, result, HEAD_SELF_CLOSING, ignoredRanges)
+                || injectAfterTag(html, result, HEAD, ignoredRanges)
+                || injectIntoSelfClosingTag(html, result, BODY_SELF_CLOSING, ignoredRanges)
+                || injectAfterTag(html, result, BODY, ignoredRanges)
+                || injectIntoSelfClosingTag(html, result, HTML_SELF_CLOSING, ignoredRanges)
+                || injectAfterTag(html, result, HTML, ignoredRanges)
+                || injectAfterTag(html, result, DOCTYPE, ignoredRanges)) {
+            return result.toString();
+        }
+        return result.append(scriptTag).append(html).toString();
+    }
+
+    private boolean injectAfterTag(
+            String html,
+            StringBuilder result,
+            Pattern tagPattern,
+            List<int[]> ignoredRanges
+    ) {
+        Matcher matcher = find(html, tagPattern, ignoredRanges);
+        if (matcher == null) {
+            return false;
+        }
+        result.append(html, 0, matcher.end())
+              .append(scriptTag)
+              .append(html, matcher.end(), html.length());
+        return true;
+    }
+
+    private boolean injectIntoSelfClosingTag(
+            String html,
+            StringBuilder result,
+            Pattern tagPattern,
+            List<int[]> ignoredRanges
+    ) {
+        Matcher matcher = find(html, tagPattern, ignoredRanges);
+        if (matcher == null) {
+            return false;
+        }
+        result.append(html, 0, matcher.end() - 2)
+              .append('>')
+              .append(scriptTag)
+              .append("</").append(matcher.group(1)).append('>')
+              .append(html, matcher.end(), html.length());
+        return true;
+    }
+
+    @Nullable
+    private static Matcher find(
+            String html,
+            Pattern pattern,
+            List<int[]> ignoredRanges
+    ) {
+        Matcher matcher = pattern.matcher(html);
+        int from = 0;
+        while (matcher.find(from)) {
+            if (!isIgnored(matcher.start(), ignoredRanges)) {
+                return matcher;
+            }
+            from = matcher.end();
+        }
+        return null;
+    }
+
+    /**
+     * @return ranges of comments and inline scripts, where tags are not real tags.
+     */
+    private static List<int[]> findIgnoredRanges(String html) {
+        List<int[]> ranges = new ArrayList<>();
+        int start = html.indexOf(COMMENT_START);
+        while (start != -1) {
+            int end = html.indexOf(COMMENT_END, start + COMMENT_START.length());
+            if (end == -1) {
+                ranges.add(new int[]{start, html.length()});
+                break;
+            }
+            ranges.add(new int[]{start, end + COMMENT_END.length()});
+            start = html.indexOf(COMMENT_START, end + COMMENT_END.length());
+        }
+
+        Matcher scriptMatcher = SCRIPT.matcher(html);
+        int from = 0;
+        while (from < html.length() && scriptMatcher.find(from)) {
+            if (!isIgnored(scriptMatcher.start(), ranges)) {
+                ranges.add(new int[]{scriptMatcher.start(), scriptMatcher.end()});
+            }
+            from = Math.max(scriptMatcher.end(), scriptMatcher.start() + 1);
+        }
+        return ranges;
+    }
+
+    private static boolean isIgnored(
+            int position,
+            List<int[]> ignoredRanges
+    ) {
+        for (int[] range : ignoredRanges) {
+            if (position >= range[0] && position < range[1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,10 +1,9 @@
 package org.prebid.mobile.rendering.sdk.scripts;
 
-import android.os.AsyncTask;
-
 import org.prebid.mobile.rendering.loading.FileDownloadTask;
 import org.prebid.mobile.rendering.networking.BaseNetworkTask;
 import org.prebid.mobile.rendering.utils.helpers.AppInfoManager;
+import org.prebid.mobile.tasksmanager.TaskLane;
 
 import java.io.File;
 
@@ -19,7 +18,7 @@ public class JsScriptRequesterImpl implements JsScriptRequester {
 
         FileDownloadTask omSdkTask = new FileDownloadTask(listener.create(script.getPath()), saveToFile);
         omSdkTask.setIgnoreContentLength(true);
-        omSdkTask.executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR, params);
+        omSdkTask.executeOnLane(TaskLane.RENDER_PREP, params);
     }
 
 }
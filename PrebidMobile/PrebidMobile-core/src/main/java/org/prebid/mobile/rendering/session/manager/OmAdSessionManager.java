@@ -24,7 +24,6 @@ import android.webkit.WebView;
 import androidx.annotation.Nullable;
 
 import com.iab.omid.library.prebidorg.Omid;
-import com.iab.omid.library.prebidorg.ScriptInjector;
 import com.iab.omid.library.prebidorg.adsession.AdEvents;
 import com.iab.omid.library.prebidorg.adsession.AdSession;
 import com.iab.omid.library.prebidorg.adsession.AdSessionConfiguration;
@@ -47,6 +46,7 @@ import org.prebid.mobile.rendering.models.TrackingEvent;
 import org.prebid.mobile.rendering.models.internal.InternalFriendlyObstruction;
 import org.prebid.mobile.rendering.models.internal.InternalPlayerState;
 import org.prebid.mobile.rendering.sdk.JSLibraryManager;
+import org.prebid.mobile.rendering.sdk.PrebidContextHolder;
 import org.prebid.mobile.rendering.video.VideoAdEvent;
 import org.prebid.mobile.rendering.video.vast.AdVerifications;
 import org.prebid.mobile.rendering.video.vast.Verification;
@@ -99,6 +99,11 @@ public class OmAdSessionManager {
      */
     @Nullable
     public static OmAdSessionManager createNewInstance(JSLibraryManager jsLibraryManager) {
+        // OMSDK is activated when the first ad needs it, not during SDK initialization.
+        Context context = PrebidContextHolder.getContext();
+        if (!isActive() && context != null) {
+            activateOmSdk(context);
+        }
         if (!isActive()) {
             LogUtil.error(TAG, "Failed to initialize OmAdSessionManager. Did you activate OMSDK?");
             return null;
@@ -108,7 +113,7 @@ public class OmAdSessionManager {
     }
 
     public String injectValidationScriptIntoHtml(String html) {
-        return ScriptInjector.injectScriptContentIntoHtml(jsLibraryManager.getOMSDKScript(), html);
+        return jsLibraryManager.getOMSDKTemplate().inject(html);
     }
 
     public void initWebAdSessionManager(WebView adView, String contentUrl) {
@@ -0,0 +1,230 @@
+/*
+ *    Copyright 2018-2021 Prebid.org, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.prebid.mobile.rendering.utils.exposure;
+
+import android.graphics.Rect;
+
+import java.util.Arrays;
+
+/**
+ * Computes the area covered by a set of possibly overlapping rectangles.
+ * <p>
+ * Rectangles are kept in primitive buffers that grow on demand and are reused between calls, so
+ * a check doesn't allocate once the buffers have reached the typical number of obstructions.
+ * The union area is found with a sweep line over the x coordinates: for every vertical slab the
+ * y intervals of the rectangles spanning it are sorted and merged.
+ * Not thread safe.
+ */
+final class ExposureGeometry {
+
+    private static final int LEFT = 0;
+    private static final int TOP = 1;
+    private static final int RIGHT = 2;
+    private static final int BOTTOM = 3;
+
+    // left, top, right, bottom of every added rectangle
+    private int[] rects = new int[4 * 8];
+    private int[] xs = new int[2 * 8];
+    // y intervals of the current slab packed as (top << 32 | bottom) so they sort by top
+    private long[] intervals = new long[8];
+    private int count;
+
+    void clear() {
+        count = 0;
+    }
+
+    int size() {
+        return count;
+    }
+
+    void add(Rect rect) {
+        add(rect.left, rect.top, rect.right, rect.bottom);
+    }
+
+    void add(
+            int left,
+            int top,
+            int right,
+            int bottom
+    ) {
+        if (left >= right || top >= bottom) {
+            return;
+        }
+        if (4 * (count + 1) > rects.length) {
+            rects = Arrays.copyOf(rects, rects.length * 2);
+            xs = Arrays.copyOf(xs, xs.length * 2);
+            intervals = Arrays.copyOf(intervals, intervals.length * 2);
+        }
+        int offset = 4 * count;
+        rects[offset + LEFT] = left;
+        rects[offset + TOP] = top;
+        rects[offset + RIGHT] = right;
+        rects[offset + BOTTOM] = bottom;
+        count++;
+    }
+
+    int left(int index) {
+        return rects[4 * index + LEFT];
+    }
+
+    int top(int index) {
+        return rects[4 * index + TOP];
+    }
+
+    int right(int index) {
+        return rects[4 * index + RIGHT];
+    }
+
+    int bottom(int index) {
+        return rects[4 * index + BOTTOM];
+    }
+
+    /**
+     * Copies left, top, right, bottom of every rectangle to the destination starting at the offset.
+     */
+    void copyTo(
+            int[] destination,
+            int offset
+    ) {
+        System.arraycopy(rects, 0, destination, offset, 4 * count);
+    }
+
+    /**
+     * Trims the rectangles to the bounds, rectangles outside of the bounds are removed.
+     */
+    void clipTo(
+            int left,
+            int top,
+            int right,
+            int bottom
+    ) {
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            int offset = 4 * i;
+            int clippedLeft = Math.max(rects[offset + LEFT], left);
+            int clippedTop = Math.max(rects[offset + TOP], top);
+            int clippedRight = Math.min(rects[offset + RIGHT], right);
+            int clippedBottom = Math.min(rects[offset + BOTTOM], bottom);
+            if (clippedLeft < clippedRight && clippedTop < clippedBottom) {
+                int keptOffset = 4 * kept++;
+                rects[keptOffset + LEFT] = clippedLeft;
+                rects[keptOffset + TOP] = clippedTop;
+                rects[keptOffset + RIGHT] = clippedRight;
+                rects[keptOffset + BOTTOM] = clippedBottom;
+            }
+        }
+        count = kept;
+    }
+
+    /**
+     * Adds the parts of every rectangle that are not covered by the given one to the destination.
+     * A rectangle is split into at most four fragments: left, middle top, middle bottom and right.
+     */
+    void subtractTo(
+            int left,
+            int top,
+            int right,
+            int bottom,
+            ExposureGeometry destination
+    ) {
+        for (int i = 0; i < count; i++) {
+            int offset = 4 * i;
+            int valueLeft = rects[offset + LEFT];
+            int valueTop = rects[offset + TOP];
+            int valueRight = rects[offset + RIGHT];
+            int valueBottom = rects[offset + BOTTOM];
+
+            if (valueLeft >= right || left >= valueRight || valueTop >= bottom || top >= valueBottom) {
+                destination.add(valueLeft, valueTop, valueRight, valueBottom);
+                continue;
+            }
+
+            // Intersection of the rects, fragments covered by it are empty and skipped by add()
+            int trimmedLeft = Math.max(left, valueLeft);
+            int trimmedTop = Math.max(top, valueTop);
+            int trimmedRight = Math.min(right, valueRight);
+            int trimmedBottom = Math.min(bottom, valueBottom);
+
+            destination.add(valueLeft, valueTop, trimmedLeft, valueBottom);
+            destination.add(trimmedLeft, valueTop, trimmedRight, trimmedTop);
+            destination.add(trimmedLeft, trimmedBottom, trimmedRight, valueBottom);
+            destination.add(trimmedRight, valueTop, valueRight, valueBottom);
+        }
+    }
+
+    long unionArea() {
+        if (count == 0) {
+            return 0;
+        }
+        if (count == 1) {
+            return (long) (rects[RIGHT] - rects[LEFT]) * (rects[BOTTOM] - rects[TOP]);
+        }
+
+        for (int i = 0; i < count; i++) {
+            xs[2 * i] = rects[4 * i + LEFT];
+            xs[2 * i + 1] = rects[4 * i + RIGHT];
+        }
+        Arrays.sort(xs, 0, 2 * count);
+
+        long area = 0;
+        for (int i = 0; i < 2 * count - 1; i++) {
+            int slabLeft = xs[i];
+            int slabRight = xs[i + 1];
+            if (slabLeft == slabRight) {
+                continue;
+            }
+            area += (long) coveredLength(slabLeft, slabRight) * (slabRight - slabLeft);
+        }
+        return area;
+    }
+
+    /**
+     * @return length of the union of y intervals of rectangles spanning the slab.
+     */
+    private int coveredLength(
+            int slabLeft,
+            int slabRight
+    ) {
+        int intervalCount = 0;
+        for (int i = 0; i < count; i++) {
+            int offset = 4 * i;
+            if (rects[offset + LEFT] <= slabLeft && rects[offset + RIGHT] >= slabRight) {
+                intervals[intervalCount++] = ((long) rects[offset + TOP] << 32) | (rects[offset + BOTTOM] & 0xFFFFFFFFL);
+            }
+        }
+        if (intervalCount == 0) {
+            return 0;
+        }
+        Arrays.sort(intervals, 0, intervalCount);
+
+        int length = 0;
+        int currentTop = (int) (intervals[0] >> 32);
+        int currentBottom = (int) intervals[0];
+        for (int i = 1; i < intervalCount; i++) {
+            int top = (int) (intervals[i] >> 32);
+            int bottom = (int) intervals[i];
+            if (top > currentBottom) {
+                length += currentBottom - currentTop;
+                currentTop = top;
+                currentBottom = bottom;
+            } else if (bottom > currentBottom) {
+                currentBottom = bottom;
+            }
+        }
+        return length + currentBottom - currentTop;
+    }
+}
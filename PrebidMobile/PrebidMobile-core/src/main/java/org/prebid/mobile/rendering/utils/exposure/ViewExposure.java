@@ -18,6 +18,7 @@ package org.prebid.mobile.rendering.utils.exposure;
 
 import android.graphics.Rect;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class ViewExposure {
@@ -25,6 +26,10 @@ public class ViewExposure {
     private float exposurePercentage;
     private Rect visibleRectangle;
     private List<Rect> occlusionRectangleList;
+    // Visible rectangle followed by the obstructions collected by ViewExposureChecker, as left, top,
+    // right, bottom values. Rects and occlusion rectangles are built on the first use as most checks
+    // only need the exposure percentage.
+    private int[] collectedRects;
 
     public ViewExposure(
             float exposurePercentage,
@@ -36,6 +41,15 @@ public class ViewExposure {
         this.occlusionRectangleList = occlusionRectangleList;
     }
 
+    static ViewExposure withCollectedRects(
+            float exposurePercentage,
+            int[] collectedRects
+    ) {
+        ViewExposure viewExposure = new ViewExposure(exposurePercentage, null, null);
+        viewExposure.collectedRects = collectedRects;
+        return viewExposure;
+    }
+
     public ViewExposure() {
         exposurePercentage = 0.0f;
         visibleRectangle = new Rect();
@@ -46,6 +60,30 @@ public class ViewExposure {
         return exposurePercentage;
     }
 
+    private Rect getVisibleRectangle() {
+        buildCollectedRects();
+        return visibleRectangle;
+    }
+
+    private List<Rect> getOcclusionRectangleList() {
+        buildCollectedRects();
+        return occlusionRectangleList;
+    }
+
+    private void buildCollectedRects() {
+        if (collectedRects == null) {
+            return;
+        }
+
+        visibleRectangle = new Rect(collectedRects[0], collectedRects[1], collectedRects[2], collectedRects[3]);
+        List<Rect> obstructionList = new ArrayList<>(collectedRects.length / 4 - 1);
+        for (int i = 4; i < collectedRects.length; i += 4) {
+            obstructionList.add(new Rect(collectedRects[i], collectedRects[i + 1], collectedRects[i + 2], collectedRects[i + 3]));
+        }
+        occlusionRectangleList = ViewExposureChecker.buildObstructionsRectList(obstructionList);
+        collectedRects = null;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -60,22 +98,30 @@ public class ViewExposure {
         if (Float.compare(that.exposurePercentage, exposurePercentage) != 0) {
             return false;
         }
-        if (visibleRectangle != null ? !visibleRectangle.equals(that.visibleRectangle) : that.visibleRectangle != null) {
+        Rect visibleRectangle = getVisibleRectangle();
+        Rect thatVisibleRectangle = that.getVisibleRectangle();
+        if (visibleRectangle != null ? !visibleRectangle.equals(thatVisibleRectangle) : thatVisibleRectangle != null) {
             return false;
         }
-        return occlusionRectangleList != null ? occlusionRectangleList.equals(that.occlusionRectangleList) : that.occlusionRectangleList == null;
+        List<Rect> occlusionRectangleList = getOcclusionRectangleList();
+        List<Rect> thatOcclusionRectangleList = that.getOcclusionRectangleList();
+        return occlusionRectangleList != null ? occlusionRectangleList.equals(thatOcclusionRectangleList) : thatOcclusionRectangleList == null;
     }
 
     @Override
     public int hashCode() {
         int result = (exposurePercentage != +0.0f ? Float.floatToIntBits(exposurePercentage) : 0);
+        Rect visibleRectangle = getVisibleRectangle();
         result = 31 * result + (visibleRectangle != null ? visibleRectangle.hashCode() : 0);
+        List<Rect> occlusionRectangleList = getOcclusionRectangleList();
         result = 31 * result + (occlusionRectangleList != null ? occlusionRectangleList.hashCode() : 0);
         return result;
     }
 
     @Override
     public String toString() {
+        Rect visibleRectangle = getVisibleRectangle();
+        List<Rect> occlusionRectangleList = getOcclusionRectangleList();
         StringBuilder builder = new StringBuilder();
         builder.append("{").append("\"exposedPercentage\":").append(exposurePercentage * 100).append(",");
         builder.append("\"visibleRectangle\":{")
@@ -26,7 +26,6 @@ import androidx.annotation.VisibleForTesting;
 import org.prebid.mobile.LogUtil;
 import org.prebid.mobile.core.R;
 
-import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -36,53 +35,84 @@ public class ViewExposureChecker {
 
     private static final String TAG = ViewExposureChecker.class.getSimpleName();
 
-    private WeakReference<View> testedViewWeakReference;
-    private Rect clippedRect;
-    private List<Rect> obstructionList;
+    private static final Comparator<Rect> AREA_COMPARATOR = (rect1, rect2) -> {
+        float area1 = rect1.width() * rect1.height();
+        float area2 = rect2.width() * rect2.height();
+
+        return -Float.compare(area1, area2);
+    };
+
+    // Buffers reused between checks, so a check only allocates the reported ViewExposure.
+    private final Rect clippedRect = new Rect();
+    private final ExposureGeometry obstructions = new ExposureGeometry();
+    private final ExposureGeometry fragments = new ExposureGeometry();
+    private final ExposureGeometry nextFragments = new ExposureGeometry();
+    private final int[] testedViewLocation = new int[2];
+    private final int[] viewLocation = new int[2];
+    private final Rect viewBounds = new Rect();
 
     public ViewExposureChecker() {
-        obstructionList = new ArrayList<>();
-        clippedRect = new Rect();
     }
 
     public ViewExposure exposure(View view) {
+        return exposure(view, true);
+    }
+
+    /**
+     * @param requireWindowFocus if false, the view is checked even when its window doesn't have
+     *                           the focus, e.g. when a dialog or a popup is shown over the ad.
+     */
+    public ViewExposure exposure(
+        View view,
+        boolean requireWindowFocus
+    ) {
         if (view == null) {
             LogUtil.debug(TAG, "exposure: Returning zeroExposure. Test View is null.");
             return null;
         }
 
-        testedViewWeakReference = new WeakReference<>(view);
-        ViewExposure zeroExposure = new ViewExposure();
         view.getDrawingRect(clippedRect);
-        obstructionList.clear();
+        obstructions.clear();
 
-        if (!view.isShown() || !view.hasWindowFocus() || isViewTransparent(view)) { // Also checks if view has parent (is attached)
-            return zeroExposure;
+        if (!view.isShown() || (requireWindowFocus && !view.hasWindowFocus()) || isViewTransparent(view)) { // Also checks if view has parent (is attached)
+            return new ViewExposure();
         }
 
+        view.getLocationOnScreen(testedViewLocation);
         boolean visitParent = visitParent(((ViewGroup) view.getParent()), view);
         boolean collapseBoundingBox = collapseBoundingBox();
 
-        LogUtil.verbose(TAG, "exposure: visitParent " + visitParent + " collapseBox " + collapseBoundingBox);
+        if (LogUtil.VERBOSE >= LogUtil.getLogLevel()) {
+            LogUtil.verbose(TAG, "exposure: visitParent " + visitParent + " collapseBox " + collapseBoundingBox);
+        }
         boolean potentiallyExposed = visitParent && collapseBoundingBox;
         if (!potentiallyExposed) {
-            return zeroExposure;
+            return new ViewExposure();
         }
 
-        final List<Rect> obstructionsList = buildObstructionsRectList();
         final float fullArea = view.getWidth() * view.getHeight();
         final float clipArea = clippedRect.width() * clippedRect.height();
-        float obstructedArea = 0;
 
-        for (Rect obstruction : obstructionsList) {
-            obstructedArea += obstruction.width() * obstruction.height();
-        }
+        final long obstructedArea = obstructions.unionArea();
 
         float exposurePercentage = (clipArea - obstructedArea) / fullArea;
-        return new ViewExposure(exposurePercentage, clippedRect, obstructionsList);
+
+        // Visible rectangle followed by the obstructions, Rects are built by ViewExposure when needed.
+        int[] collectedRects = new int[4 * (1 + obstructions.size())];
+        collectedRects[0] = clippedRect.left;
+        collectedRects[1] = clippedRect.top;
+        collectedRects[2] = clippedRect.right;
+        collectedRects[3] = clippedRect.bottom;
+        obstructions.copyTo(collectedRects, 4);
+        return ViewExposure.withCollectedRects(exposurePercentage, collectedRects);
     }
 
-    private List<Rect> buildObstructionsRectList() {
+    /**
+     * Splits overlapping obstructions into non-overlapping occlusion rectangles, largest first.
+     * Only needed when the occlusion rectangles are reported, the obstructed area is computed by
+     * {@link ExposureGeometry}.
+     */
+    static List<Rect> buildObstructionsRectList(List<Rect> obstructionList) {
         if (obstructionList.isEmpty()) {
             return new ArrayList<>();
         }
@@ -91,22 +121,17 @@ public class ViewExposureChecker {
         List<Rect> remainingObstructionList = new ArrayList<>();
         List<Rect> pickedObstructionList = new ArrayList<>();
 
-        Comparator<Rect> areaComparator = (rect1, rect2) -> {
-            float area1 = rect1.width() * rect1.height();
-            float area2 = rect2.width() * rect2.height();
-
-            return -Float.compare(area1, area2);
-        };
-
         while (currentObstructionList.size() > 0) {
-            Collections.sort(currentObstructionList, areaComparator);
+            if (currentObstructionList.size() > 1) {
+                Collections.sort(currentObstructionList, AREA_COMPARATOR);
+            }
 
             Rect pickedObstruction = currentObstructionList.get(0);
             pickedObstructionList.add(pickedObstruction);
 
             removeRect(pickedObstruction, currentObstructionList, remainingObstructionList, 1);
 
-            List<Rect> temp = new ArrayList<>(currentObstructionList);
+            List<Rect> temp = currentObstructionList;
             currentObstructionList = remainingObstructionList;
             remainingObstructionList = temp;
             remainingObstructionList.clear();
@@ -130,10 +155,9 @@ public class ViewExposureChecker {
         boolean childrenAreClippedToParent = isClippedToBounds(parentView);
 
         if (childrenAreClippedToParent) {
-            Rect bounds = new Rect();
-            parentView.getDrawingRect(bounds);
-            Rect convertRect = convertRect(bounds, parentView, testedViewWeakReference.get());
-            boolean intersect = clippedRect.intersect(convertRect);
+            parentView.getDrawingRect(viewBounds);
+            convertToTestedView(viewBounds, parentView);
+            boolean intersect = clippedRect.intersect(viewBounds);
             if (!intersect) {
                 return false;
             }
@@ -187,82 +211,62 @@ public class ViewExposureChecker {
         }
     }
 
+    /**
+     * Shrinks the clipped rect to the bounding box of its parts not covered by obstructions
+     * and trims the obstructions to it.
+     *
+     * @return false if the obstructions cover the whole clipped rect.
+     */
     private boolean collapseBoundingBox() {
-        final Rect oldRect = new Rect(clippedRect);
-        if (oldRect.isEmpty()) {
+        if (clippedRect.isEmpty()) {
             return false;
         }
 
-        List<Rect> currentRectList = new ArrayList<>();
-        List<Rect> nextRectList = new ArrayList<>();
-
-        currentRectList.add(clippedRect);
-        for (Rect obstruction : obstructionList) {
-            removeRect(obstruction, currentRectList, nextRectList, 0);
+        ExposureGeometry current = fragments;
+        ExposureGeometry next = nextFragments;
+        current.clear();
+        current.add(clippedRect);
+        for (int i = 0; i < obstructions.size(); i++) {
+            next.clear();
+            current.subtractTo(obstructions.left(i), obstructions.top(i), obstructions.right(i), obstructions.bottom(i), next);
 
-            List<Rect> temp = currentRectList;
-            currentRectList = nextRectList;
-            nextRectList = temp;
-            nextRectList.clear();
+            ExposureGeometry temp = current;
+            current = next;
+            next = temp;
 
-            if (currentRectList.isEmpty()) {
-                clippedRect = new Rect();
+            if (current.size() == 0) {
+                clippedRect.setEmpty();
                 return false;
             }
         }
 
-        Rect result = new Rect();
-        for (int i = 0; i < currentRectList.size(); i++) {
-            Rect nextFragment = currentRectList.get(i);
-
-            if (i == 0) {
-                result = nextFragment;
-            }
-            else {
-                result.union(nextFragment);
-            }
+        int left = current.left(0);
+        int top = current.top(0);
+        int right = current.right(0);
+        int bottom = current.bottom(0);
+        for (int i = 1; i < current.size(); i++) {
+            left = Math.min(left, current.left(i));
+            top = Math.min(top, current.top(i));
+            right = Math.max(right, current.right(i));
+            bottom = Math.max(bottom, current.bottom(i));
         }
 
-        if (oldRect.equals(result)) {
+        if (clippedRect.left == left && clippedRect.top == top && clippedRect.right == right && clippedRect.bottom == bottom) {
             return true;
         }
 
-        clippedRect = result;
-
-        int removedCount = 0;
-        final int fullCount = obstructionList.size();
-
-        for (int i = 0; i < fullCount; i++) {
-            Rect nextObstruction = obstructionList.get(i);
-            Rect resultIntersectedRect = new Rect(result);
-
-            if (resultIntersectedRect.intersect(nextObstruction)) {
-                if (!result.contains(nextObstruction)) {
-                    obstructionList.set(i - removedCount, resultIntersectedRect);
-                }
-                else if (removedCount > 0) {
-                    obstructionList.set(i - removedCount, nextObstruction);
-                }
-            }
-            else {
-                removedCount++;
-            }
-        }
-        if (removedCount > 0) {
-            int fromIndex = fullCount - removedCount;
-            obstructionList.subList(fromIndex, fromIndex + removedCount).clear();
-        }
-
+        clippedRect.set(left, top, right, bottom);
+        obstructions.clipTo(left, top, right, bottom);
         return true;
     }
 
-    private void removeRect(Rect aroundRect, List<Rect> srcList, List<Rect> destList, int firstIndex) {
+    private static void removeRect(Rect aroundRect, List<Rect> srcList, List<Rect> destList, int firstIndex) {
         for (int i = firstIndex, n = srcList.size(); i < n; i++) {
             fragmentize(srcList.get(i), aroundRect, destList);
         }
     }
 
-    private void fragmentize(Rect valueRect, Rect aroundRect, List<Rect> destList) {
+    private static void fragmentize(Rect valueRect, Rect aroundRect, List<Rect> destList) {
         if (!Rect.intersects(valueRect, aroundRect)) {
             destList.add(valueRect);
             return;
@@ -272,45 +276,31 @@ public class ViewExposureChecker {
             return;
         }
 
-        Rect trimmedRect = new Rect(aroundRect);
-        boolean isRectTrimmed = trimmedRect.intersect(valueRect);
-
-        if (!isRectTrimmed) {
-            LogUtil.debug(TAG, "fragmentize: Error. Rect is not trimmed");
-            return;
-        }
+        // Intersection of the rects, not empty as they intersect
+        final int trimmedLeft = Math.max(aroundRect.left, valueRect.left);
+        final int trimmedTop = Math.max(aroundRect.top, valueRect.top);
+        final int trimmedRight = Math.min(aroundRect.right, valueRect.right);
+        final int trimmedBottom = Math.min(aroundRect.bottom, valueRect.bottom);
+
+        // left
+        addIfNotEmpty(destList, valueRect.left, valueRect.top, trimmedLeft, valueRect.bottom);
+        // mid / top
+        addIfNotEmpty(destList, trimmedLeft, valueRect.top, trimmedRight, trimmedTop);
+        // mid / bottom
+        addIfNotEmpty(destList, trimmedLeft, trimmedBottom, trimmedRight, valueRect.bottom);
+        // right
+        addIfNotEmpty(destList, trimmedRight, valueRect.top, valueRect.right, valueRect.bottom);
+    }
 
-        Rect[] subRectArray = {
-            // left
-            new Rect(valueRect.left,
-                     valueRect.top,
-                     valueRect.left + (trimmedRect.left - valueRect.left),
-                     valueRect.top + valueRect.height()),
-
-            // mid / top
-            new Rect(trimmedRect.left,
-                     valueRect.top,
-                     trimmedRect.right,
-                     valueRect.top + (trimmedRect.top - valueRect.top)),
-
-            // mid / bottom
-            new Rect(trimmedRect.left,
-                     trimmedRect.bottom,
-                     trimmedRect.right,
-                     valueRect.bottom),
-
-            // right
-            new Rect(trimmedRect.right,
-                     valueRect.top,
-                     valueRect.right,
-                valueRect.top + valueRect.height()
-            )
-        };
-
-        for (Rect rect : subRectArray) {
-            if (!rect.isEmpty()) {
-                destList.add(rect);
-            }
+    private static void addIfNotEmpty(
+        List<Rect> destList,
+        int left,
+        int top,
+        int right,
+        int bottom
+    ) {
+        if (left < right && top < bottom) {
+            destList.add(new Rect(left, top, right, bottom));
         }
     }
 
@@ -326,41 +316,33 @@ public class ViewExposureChecker {
         return false;
     }
 
-    private Rect convertRect(
-        Rect fromRect,
-        View fromView,
-        View toView
+    /**
+     * Converts the rect from the coordinates of the view to the coordinates of the tested view.
+     * The screen location of the tested view is taken once per exposure check.
+     */
+    private void convertToTestedView(
+        Rect rect,
+        View fromView
     ) {
-        if (fromRect == null || fromView == null || toView == null) {
-            LogUtil.debug(TAG, "convertRect: Failed. One of the provided param is null. Returning empty rect.");
-            return new Rect();
-        }
-
-        int[] fromCoord = new int[2];
-        int[] toCoord = new int[2];
-        fromView.getLocationOnScreen(fromCoord);
-        toView.getLocationOnScreen(toCoord);
+        fromView.getLocationOnScreen(viewLocation);
 
-        int xShift = fromCoord[0] - toCoord[0] - fromView.getScrollX();
-        int yShift = fromCoord[1] - toCoord[1] - fromView.getScrollY();
+        int xShift = viewLocation[0] - testedViewLocation[0] - fromView.getScrollX();
+        int yShift = viewLocation[1] - testedViewLocation[1] - fromView.getScrollY();
 
-        return new Rect(fromRect.left + xShift,
-                        fromRect.top + yShift,
-                        fromRect.right + xShift,
-                        fromRect.bottom + yShift);
+        rect.offset(xShift, yShift);
     }
 
     private void testForObstructing(View view) {
-        Rect viewBounds = new Rect();
         view.getDrawingRect(viewBounds);
-
-        Rect testRect = convertRect(viewBounds, view, testedViewWeakReference.get());
-
-        Rect obstructionRect = new Rect(clippedRect);
-        boolean isObstruction = obstructionRect.intersect(testRect);
-        if (isObstruction) {
-            obstructionList.add(obstructionRect);
-        }
+        convertToTestedView(viewBounds, view);
+
+        // Empty intersection is skipped by add()
+        obstructions.add(
+            Math.max(clippedRect.left, viewBounds.left),
+            Math.max(clippedRect.top, viewBounds.top),
+            Math.min(clippedRect.right, viewBounds.right),
+            Math.min(clippedRect.bottom, viewBounds.bottom)
+        );
     }
 
     private boolean isViewTransparent(View view) {
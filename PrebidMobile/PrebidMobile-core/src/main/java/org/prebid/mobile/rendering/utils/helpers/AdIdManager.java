@@ -30,6 +30,8 @@ import com.google.android.gms.common.GoogleApiAvailability;
 
 import org.prebid.mobile.LogUtil;
 import org.prebid.mobile.rendering.listeners.AdIdFetchListener;
+import org.prebid.mobile.tasksmanager.TaskLane;
+import org.prebid.mobile.tasksmanager.TasksManager;
 
 import java.lang.ref.WeakReference;
 
@@ -56,7 +58,8 @@ public class AdIdManager {
             int resultCode = apiAvailability.isGooglePlayServicesAvailable(context);
             if (resultCode == ConnectionResult.SUCCESS) {
                 final FetchAdIdInfoTask getAdIdInfoTask = new FetchAdIdInfoTask(context, listener);
-                getAdIdInfoTask.executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
+                // Bid requests wait for the ad id.
+                getAdIdInfoTask.executeOnExecutor(TasksManager.getInstance().getLaneExecutor(TaskLane.AUCTION_CRITICAL));
                 //wait for a max of 3 secs and cancel the task if it's still running.
                 //continue with adIdFetchFailure() where we will just log this as warning
                 Handler handler = new Handler(Looper.getMainLooper());
@@ -64,7 +67,7 @@ public class AdIdManager {
                     if (getAdIdInfoTask.getStatus() != AsyncTask.Status.FINISHED) {
                         LogUtil.debug(TAG, "Canceling advertising id fetching");
                         getAdIdInfoTask.cancel(true);
-                        listener.adIdFetchFailure();
+                        getAdIdInfoTask.reportFailure();
                     }
                 }, AD_ID_TIMEOUT_MS);
                 return getAdIdInfoTask;
@@ -103,6 +106,7 @@ public class AdIdManager {
 
         private final WeakReference<Context> contextWeakReference;
         private final AdIdFetchListener adIdFetchListener;
+        private boolean isFailureReported;
 
         public FetchAdIdInfoTask(
                 Context context,
@@ -144,5 +148,18 @@ public class AdIdManager {
                 adIdFetchListener.adIdFetchCompletion();
             }
         }
+
+        @Override
+        protected void onCancelled() {
+            // Timed out or rejected by a full lane
+            reportFailure();
+        }
+
+        void reportFailure() {
+            if (!isFailureReported && adIdFetchListener != null) {
+                isFailureReported = true;
+                adIdFetchListener.adIdFetchFailure();
+            }
+        }
     }
 }
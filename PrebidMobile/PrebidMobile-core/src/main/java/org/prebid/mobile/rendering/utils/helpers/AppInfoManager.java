@@ -28,14 +28,15 @@ import androidx.annotation.VisibleForTesting;
 import com.google.android.gms.security.ProviderInstaller;
 
 import org.prebid.mobile.LogUtil;
+import org.prebid.mobile.rendering.sdk.UserAgentFetcherTask;
 
 public class AppInfoManager {
     private static final String TAG = AppInfoManager.class.getSimpleName();
 
-    private static String sUserAgent;
-    private static String sPackageName = null;
-    private static String sAppName = null;
-    private static String sAppVersion = null;
+    private static volatile String sUserAgent;
+    private static volatile String sPackageName = null;
+    private static volatile String sAppName = null;
+    private static volatile String sAppVersion = null;
 
     public static void init(Context context) {
         initPackageInfo(context);
@@ -54,8 +55,17 @@ public class AppInfoManager {
         return sPackageName;
     }
 
+    /**
+     * Fetches the WebView user agent on the first call if it wasn't prefetched during initialization.
+     * The fetch doesn't hold any lock, concurrent first calls may fetch it more than once.
+     */
     public static String getUserAgent() {
-        return sUserAgent;
+        String userAgent = sUserAgent;
+        if (userAgent == null) {
+            new UserAgentFetcherTask().run();
+            userAgent = sUserAgent;
+        }
+        return userAgent;
     }
 
     @VisibleForTesting
@@ -72,21 +82,27 @@ public class AppInfoManager {
         sUserAgent = userAgent;
     }
 
-    private static void initPackageInfo(Context context) {
+    public static void initPackageInfo(Context context) {
         if (sPackageName == null || sAppName == null) {
             try {
-                sPackageName = context.getPackageName();
+                String packageName = context.getPackageName();
 
-                sAppName = "(unknown)";
+                String appName = "(unknown)";
+                String appVersion = null;
                 try {
                     PackageManager pm = context.getPackageManager();
-                    ApplicationInfo appInfo = pm.getApplicationInfo(sPackageName, 0);
-                    sAppName = (String) pm.getApplicationLabel(appInfo);
-                    sAppVersion = pm.getPackageInfo(sPackageName, 0).versionName;
+                    ApplicationInfo appInfo = pm.getApplicationInfo(packageName, 0);
+                    appName = (String) pm.getApplicationLabel(appInfo);
+                    appVersion = pm.getPackageInfo(packageName, 0).versionName;
                 }
                 catch (Exception e) {
                     LogUtil.error(TAG, "Failed to get app name: " + Log.getStackTraceString(e));
                 }
+
+                // Readers check the package name, so it is published last.
+                sAppVersion = appVersion;
+                sAppName = appName;
+                sPackageName = packageName;
             }
             catch (Exception e) {
                 LogUtil.error(TAG, "Failed to get package name: " + Log.getStackTraceString(e));
@@ -98,7 +114,7 @@ public class AppInfoManager {
     // https://developer.android.com/training/articles/security-gms-provider
     // If this will be removed the publisher may face problems described here:
     // jira/browse/MOBILE-5295
-    private static void patchSecurityProviderIfNeeded(Context context) {
+    public static void patchSecurityProviderIfNeeded(Context context) {
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
             return;
         }
@@ -64,6 +64,8 @@ import static org.prebid.mobile.PrebidMobile.AUTO_REFRESH_DELAY_MIN;
 public final class Utils {
     private static final String TAG = Utils.class.getSimpleName();
     private static final String VAST_REGEX = "<VAST\\s.*version\\s*=\\s*\".*\"(\\s.*|)?>";
+    private static final Pattern VAST_PATTERN = Pattern.compile(VAST_REGEX);
+    private static final String VAST_TAG_START = "<VAST";
     public static float DENSITY;
 
     private static final String[] recognizedMraidActionPrefixes = new String[]{"tel:", "voicemail:", "sms:", "mailto:", "geo:", "google.streetview:", "market:"};
@@ -640,10 +642,20 @@ public final class Utils {
             return false;
         }
 
-        Pattern pattern = Pattern.compile(VAST_REGEX);
-        Matcher matcher = pattern.matcher(data);
-
-        return matcher.find();
+        // Match only against the VAST start tags instead of the whole (possibly huge) document
+        Matcher matcher = VAST_PATTERN.matcher(data);
+        int tagStart = data.indexOf(VAST_TAG_START);
+        while (tagStart != -1) {
+            int tagEnd = data.indexOf('>', tagStart);
+            if (tagEnd == -1) {
+                return false;
+            }
+            if (matcher.region(tagStart, tagEnd + 1).find()) {
+                return true;
+            }
+            tagStart = data.indexOf(VAST_TAG_START, tagEnd);
+        }
+        return false;
     }
 
     @NonNull
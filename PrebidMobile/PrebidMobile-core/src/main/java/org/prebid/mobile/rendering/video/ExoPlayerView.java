@@ -30,6 +30,7 @@ import com.google.android.exoplayer2.Player;
 import com.google.android.exoplayer2.SimpleExoPlayer;
 import com.google.android.exoplayer2.source.ProgressiveMediaSource;
 import com.google.android.exoplayer2.ui.PlayerView;
+import com.google.android.exoplayer2.upstream.DataSource;
 import com.google.android.exoplayer2.upstream.DefaultDataSourceFactory;
 import com.google.android.exoplayer2.util.Util;
 
@@ -244,11 +245,18 @@ public class ExoPlayerView extends PlayerView implements VideoPlayerView {
             return null;
         }
         MediaItem mediaItem = new MediaItem.Builder().setUri(uri).build();
-        return new ProgressiveMediaSource.Factory(
-                new DefaultDataSourceFactory(getContext(), Util.getUserAgent(getContext(), "PrebidRenderingSDK")))
+        return new ProgressiveMediaSource.Factory(createDataSourceFactory(uri))
                 .createMediaSource(mediaItem);
     }
 
+    private DataSource.Factory createDataSourceFactory(Uri uri) {
+        String scheme = uri.getScheme();
+        if ("http".equalsIgnoreCase(scheme) || "https".equalsIgnoreCase(scheme)) {
+            return VideoStreamCache.createDataSourceFactory(getContext());
+        }
+        return new DefaultDataSourceFactory(getContext(), Util.getUserAgent(getContext(), "PrebidRenderingSDK"));
+    }
+
     private void killUpdateTask() {
         LogUtil.debug(TAG, "killUpdateTask() called");
         if (adViewProgressUpdateTask != null) {
@@ -0,0 +1,228 @@
+/*
+ *    Copyright 2018-2021 Prebid.org, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.prebid.mobile.rendering.video;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+
+import org.prebid.mobile.LogUtil;
+import org.prebid.mobile.rendering.utils.helpers.Utils;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Disk cache of downloaded video files.
+ * <p>
+ * Files are stored in the app files directory under a name derived from the md5 of the media url.
+ * Only a small in-memory index (size and creation time per file) is kept. Entries expire after
+ * {@link #MAX_AGE_MILLIS} and the least recently used files are deleted when the total size
+ * exceeds {@link #MAX_CACHE_BYTES}.
+ */
+public class VideoCache {
+
+    private static final String TAG = VideoCache.class.getSimpleName();
+
+    static final String FILE_PREFIX = "prebid_video_";
+    static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    public static final long MAX_CACHE_BYTES = 100 * 1024 * 1024; // 100 MiB
+    public static final long MAX_AGE_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private static VideoCache instance;
+
+    private final File directory;
+    private final long maxCacheBytes;
+    private final long maxAgeMillis;
+
+    // Access ordered: the first entry is the least recently used one.
+    private final LinkedHashMap<String, Entry> index = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    private boolean indexLoaded;
+
+    @VisibleForTesting
+    VideoCache(
+            @NonNull File directory,
+            long maxCacheBytes,
+            long maxAgeMillis
+    ) {
+        this.directory = directory;
+        this.maxCacheBytes = maxCacheBytes;
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    public static synchronized VideoCache getInstance(@NonNull Context context) {
+        if (instance == null) {
+            instance = new VideoCache(context.getApplicationContext().getFilesDir(), MAX_CACHE_BYTES, MAX_AGE_MILLIS);
+        }
+        return instance;
+    }
+
+    /**
+     * @return path of the cache file for the media url, relative to the files directory.
+     */
+    @NonNull
+    public static String getCacheKey(@NonNull String url) {
+        return "/" + FILE_PREFIX + Utils.md5(url);
+    }
+
+    /**
+     * @return file a download is streamed to before it is moved to the cache file.
+     */
+    @NonNull
+    public static File getTempFile(@NonNull File file) {
+        return new File(file.getPath() + TEMP_FILE_SUFFIX);
+    }
+
+    /**
+     * @return true if the file is cached, not expired and still on disk. Marks it as recently used.
+     */
+    public synchronized boolean contains(@NonNull File file) {
+        loadIndex();
+        String name = file.getName();
+        Entry entry = index.get(name);
+        if (entry == null) {
+            return false;
+        }
+        if (isExpired(entry) || !file.exists() || file.length() != entry.size) {
+            LogUtil.debug(TAG, "File " + name + " is expired or changed. Removing it from cache");
+            removeEntry(name);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Adds a completely downloaded file to the cache and evicts the least recently used files
+     * if the cache is over its size budget.
+     */
+    public synchronized void put(@NonNull File file) {
+        loadIndex();
+        String name = file.getName();
+        Entry previous = index.remove(name);
+        if (previous != null) {
+            totalBytes -= previous.size;
+        }
+
+        Entry entry = new Entry(file.length(), System.currentTimeMillis());
+        index.put(name, entry);
+        totalBytes += entry.size;
+        trimToSize(name);
+    }
+
+    public synchronized void remove(@NonNull File file) {
+        loadIndex();
+        removeEntry(file.getName());
+    }
+
+    @VisibleForTesting
+    synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    private void trimToSize(String keepName) {
+        List<String> evicted = new ArrayList<>();
+        Iterator<Map.Entry<String, Entry>> iterator = index.entrySet().iterator();
+        while (totalBytes > maxCacheBytes && iterator.hasNext()) {
+            Map.Entry<String, Entry> next = iterator.next();
+            if (next.getKey().equals(keepName)) {
+                continue;
+            }
+            evicted.add(next.getKey());
+            totalBytes -= next.getValue().size;
+            iterator.remove();
+        }
+        for (String name : evicted) {
+            deleteFile(name);
+        }
+    }
+
+    private void removeEntry(String name) {
+        Entry entry = index.remove(name);
+        if (entry != null) {
+            totalBytes -= entry.size;
+        }
+        deleteFile(name);
+    }
+
+    private void deleteFile(String name) {
+        File file = new File(directory, name);
+        if (file.exists() && !file.delete()) {
+            LogUtil.warning(TAG, "Failed to delete cached video: " + name);
+        }
+    }
+
+    private boolean isExpired(Entry entry) {
+        return System.currentTimeMillis() - entry.createdAt > maxAgeMillis;
+    }
+
+    /**
+     * Restores the index from files left by the previous sessions. Recency is approximated by
+     * the file modification time.
+     */
+    private void loadIndex() {
+        if (indexLoaded) {
+            return;
+        }
+        indexLoaded = true;
+
+        File[] files = directory.listFiles((dir, name) -> name.startsWith(FILE_PREFIX));
+        if (files == null) {
+            return;
+        }
+
+        List<File> cachedFiles = new ArrayList<>();
+        for (File file : files) {
+            boolean isPartialDownload = file.getName().endsWith(TEMP_FILE_SUFFIX);
+            if (isPartialDownload || file.length() <= 0 || System.currentTimeMillis() - file.lastModified() > maxAgeMillis) {
+                file.delete();
+            } else {
+                cachedFiles.add(file);
+            }
+        }
+        Collections.sort(cachedFiles, (first, second) -> Long.compare(first.lastModified(), second.lastModified()));
+
+        for (File file : cachedFiles) {
+            Entry entry = new Entry(file.length(), file.lastModified());
+            index.put(file.getName(), entry);
+            totalBytes += entry.size;
+        }
+        trimToSize(null);
+    }
+
+    private static class Entry {
+
+        private final long size;
+        private final long createdAt;
+
+        private Entry(
+                long size,
+                long createdAt
+        ) {
+            this.size = size;
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -27,6 +27,7 @@ import androidx.annotation.VisibleForTesting;
 
 import org.prebid.mobile.ContentObject;
 import org.prebid.mobile.LogUtil;
+import org.prebid.mobile.PrebidMobile;
 import org.prebid.mobile.api.exceptions.AdException;
 import org.prebid.mobile.configuration.AdUnitConfiguration;
 import org.prebid.mobile.rendering.interstitial.InterstitialManagerVideoDelegate;
@@ -42,6 +43,7 @@ import org.prebid.mobile.rendering.session.manager.OmAdSessionManager;
 import org.prebid.mobile.rendering.utils.helpers.AppInfoManager;
 import org.prebid.mobile.rendering.utils.helpers.Utils;
 import org.prebid.mobile.rendering.views.interstitial.InterstitialManager;
+import org.prebid.mobile.tasksmanager.TaskLane;
 
 import java.io.File;
 import java.lang.ref.WeakReference;
@@ -57,6 +59,7 @@ public class VideoCreative extends VideoCreativeProtocol
     private AsyncTask videoDownloadTask;
 
     private String preloadedVideoFilePath;
+    private boolean isStreaming;
 
     public VideoCreative(Context context,
                          @NonNull
@@ -81,13 +84,17 @@ public class VideoCreative extends VideoCreativeProtocol
         params.name = BaseNetworkTask.DOWNLOAD_TASK;
 
         Context context = contextReference.get();
-        if (context != null) {
+        if (context != null && PrebidMobile.isUseVideoStreaming()) {
+            isStreaming = true;
+            VideoPreloadTask videoPreloadTask = new VideoPreloadTask(context, new VideoCreativeVideoPreloadListener(this));
+            this.videoDownloadTask = videoPreloadTask.executeOnLane(TaskLane.RENDER_PREP, params.url);
+        } else if (context != null) {
             AdUnitConfiguration adConfiguration = model.getAdConfiguration();
-            String shortenedPath = LruController.getShortenedPath(params.url);
+            String shortenedPath = VideoCache.getCacheKey(params.url);
             File file = new File(context.getFilesDir(), shortenedPath);
             VideoDownloadTask videoDownloadTask = new VideoDownloadTask(context, file,
                                                                         new VideoCreativeVideoPreloadListener(this), adConfiguration);
-            this.videoDownloadTask = videoDownloadTask.executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR, params);
+            this.videoDownloadTask = videoDownloadTask.executeOnLane(TaskLane.RENDER_PREP, params);
         }
     }
 
@@ -273,10 +280,14 @@ public class VideoCreative extends VideoCreativeProtocol
     }
 
     /**
-     * @return true if {@link #preloadedVideoFilePath} is not empty and file exists in filesDir, false otherwise.
+     * @return true if {@link #preloadedVideoFilePath} is not empty and file exists in filesDir
+     * (or the beginning of the video is buffered in streaming mode), false otherwise.
      */
     @Override
     public boolean isResolved() {
+        if (isStreaming) {
+            return !TextUtils.isEmpty(preloadedVideoFilePath);
+        }
         if (contextReference.get() != null && !TextUtils.isEmpty(preloadedVideoFilePath)) {
             File file = new File(contextReference.get().getFilesDir(), preloadedVideoFilePath);
             return file.exists();
@@ -337,8 +348,13 @@ public class VideoCreative extends VideoCreativeProtocol
             videoCreativeView = new VideoCreativeView(context, this);
             videoCreativeView.setBroadcastId(adConfiguration.getBroadcastId());
 
-            // Get the preloaded video from device file storage
-            videoUri = Uri.fromFile(new File(context.getFilesDir() + (model.getMediaUrl())));
+            if (isStreaming) {
+                // Stream the video through the shared player cache
+                videoUri = Uri.parse(model.getMediaUrl());
+            } else {
+                // Get the preloaded video from device file storage
+                videoUri = Uri.fromFile(new File(context.getFilesDir() + (model.getMediaUrl())));
+            }
         }
 
         // Show call-to-action overlay right away if click through url is available & end card is not available
@@ -177,7 +177,7 @@ public class VideoCreativeView extends RelativeLayout {
 
     public void destroy() {
         exoPlayerView.destroy();
-        ViewPool.getInstance().clear();
+        ViewPool.getInstance().swapToUnoccupied(exoPlayerView);
     }
 
     private void init() throws AdException {
@@ -25,11 +25,12 @@ import org.prebid.mobile.configuration.AdUnitConfiguration;
 import org.prebid.mobile.rendering.loading.FileDownloadListener;
 import org.prebid.mobile.rendering.loading.FileDownloadTask;
 
-import java.io.*;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URLConnection;
-import java.util.Calendar;
-import java.util.Date;
-import java.util.concurrent.TimeUnit;
 
 @SuppressLint("StaticFieldLeak")
 public class VideoDownloadTask extends FileDownloadTask {
@@ -68,22 +69,35 @@ public class VideoDownloadTask extends FileDownloadTask {
         return beginIndex != -1 ? path.substring(beginIndex) : path;
     }
 
+    /**
+     * Streams the video into a temporary file and moves it to the cache file once it is complete,
+     * so a partially downloaded file is never played or served from cache.
+     */
     @Override
     protected void processData(URLConnection connection, GetUrlResult result) throws IOException {
         String shortenedPath = getShortenedPath();
-        if (file.exists() && !LruController.isAlreadyCached(shortenedPath)) {
-            LogUtil.debug(TAG, "Video saved to cache");
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            readAndWriteData(connection, result, outputStream, false);
-            LruController.putVideoCache(shortenedPath, outputStream.toByteArray());
-        } else {
-            LogUtil.debug(TAG, "Video saved to file: " + shortenedPath);
-            readAndWriteData(connection, result, new FileOutputStream(file), true);
+        File tempFile = VideoCache.getTempFile(file);
+        boolean completed = readAndWriteData(connection, result, new FileOutputStream(tempFile));
+        if (!completed) {
+            tempFile.delete();
+            return;
         }
+
+        if (file.exists()) {
+            file.delete();
+        }
+        if (!tempFile.renameTo(file)) {
+            tempFile.delete();
+            throw new IOException("Failed to save video to file: " + shortenedPath);
+        }
+        LogUtil.debug(TAG, "Video saved to file: " + shortenedPath);
+        VideoCache.getInstance(applicationContext).put(file);
     }
 
-    private void readAndWriteData(URLConnection in, GetUrlResult result, OutputStream out,
-                                  boolean deleteOnAbort) throws IOException {
+    /**
+     * @return false if the download was cancelled.
+     */
+    private boolean readAndWriteData(URLConnection in, GetUrlResult result, OutputStream out) throws IOException {
         int length = in.getContentLength();
         InputStream is = in.getInputStream();
         byte[] data = new byte[16384];
@@ -93,13 +107,8 @@ public class VideoDownloadTask extends FileDownloadTask {
             while ((count = is.read(data)) != -1) {
                 // allow canceling with back button
                 if (isCancelled()) {
-                    if (deleteOnAbort) {
-                        if (file.exists()) {
-                            file.delete();
-                        }
-                    }
                     result.setException(null);
-                    return;
+                    return false;
                 }
                 total += count;
                 // publishing the progress....
@@ -109,9 +118,7 @@ public class VideoDownloadTask extends FileDownloadTask {
                 }
                 out.write(data, 0, count);
             }
-        }
-        catch (IOException e) {
-            throw e;
+            return true;
         }
         finally {
             try {
@@ -132,27 +139,15 @@ public class VideoDownloadTask extends FileDownloadTask {
     throws Exception {
         result = new GetUrlResult();
         String shortenedPath = getShortenedPath();
-        if (file.exists()) {
-            LogUtil.debug(TAG, "File exists: " + shortenedPath);
-            if (isVideoFileExpired(file) || !isVideoFileValid(applicationContext, file)) {
-                LogUtil.debug(TAG, "File " + shortenedPath + " is expired or broken. Downloading a new one");
-                file.delete();
-                result = super.sendRequest(param);
-            } else if (!LruController.isAlreadyCached(shortenedPath)) {
-                result = super.sendRequest(param);
-            }
+        VideoCache videoCache = VideoCache.getInstance(applicationContext);
+        if (videoCache.contains(file) && isVideoFileValid(applicationContext, file)) {
+            LogUtil.debug(TAG, "Video loaded from cache: " + shortenedPath);
+            return result;
         }
-        else {
-            result = super.sendRequest(param);
-        }
-        return result;
-    }
 
-    private boolean isVideoFileExpired(File file) {
-        Date lastModDate = new Date(file.lastModified());
-        Date currentDate = Calendar.getInstance().getTime();
-        long diff = currentDate.getTime() - lastModDate.getTime();
-        return diff > TimeUnit.HOURS.toMillis(1);
+        LogUtil.debug(TAG, "File " + shortenedPath + " is not cached, expired or broken. Downloading a new one");
+        videoCache.remove(file);
+        return super.sendRequest(param);
     }
 
     private boolean isVideoFileValid(Context context, File file) {
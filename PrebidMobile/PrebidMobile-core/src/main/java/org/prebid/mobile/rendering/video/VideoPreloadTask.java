@@ -0,0 +1,96 @@
+/*
+ *    Copyright 2018-2021 Prebid.org, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.prebid.mobile.rendering.video;
+
+import android.annotation.SuppressLint;
+import android.content.Context;
+import android.os.AsyncTask;
+
+import androidx.annotation.NonNull;
+
+import org.prebid.mobile.LogUtil;
+import org.prebid.mobile.rendering.loading.FileDownloadListener;
+import org.prebid.mobile.rendering.networking.NetworkExecutor;
+import org.prebid.mobile.tasksmanager.TaskLane;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Buffers the beginning of a media file into {@link VideoStreamCache}.
+ * On success the listener receives the original media url, which is then played by streaming.
+ */
+@SuppressLint("StaticFieldLeak")
+public class VideoPreloadTask extends AsyncTask<String, Void, Exception> {
+
+    private static final String TAG = VideoPreloadTask.class.getSimpleName();
+
+    private final Context applicationContext;
+    private final FileDownloadListener listener;
+    private String url;
+    private volatile boolean isRejected;
+
+    public VideoPreloadTask(
+            Context context,
+            FileDownloadListener listener
+    ) {
+        applicationContext = context.getApplicationContext();
+        this.listener = listener;
+    }
+
+    /**
+     * Preloads the video on the {@link NetworkExecutor}. If the lane is full the preloading fails
+     * with {@link RejectedExecutionException}.
+     */
+    public AsyncTask<String, Void, Exception> executeOnLane(
+            @NonNull TaskLane lane,
+            String url
+    ) {
+        this.url = url;
+        return executeOnExecutor(NetworkExecutor.getInstance().forUrl(url, lane, () -> {
+            isRejected = true;
+            cancel(false);
+        }), url);
+    }
+
+    @Override
+    protected Exception doInBackground(String... urls) {
+        url = urls[0];
+        try {
+            VideoStreamCache.preload(applicationContext, url, VideoStreamCache.PRELOAD_BYTES);
+            return null;
+        } catch (Exception exception) {
+            return exception;
+        }
+    }
+
+    @Override
+    protected void onPostExecute(Exception exception) {
+        if (exception != null) {
+            LogUtil.debug(TAG, "Video preloading failed: " + exception);
+            listener.onFileDownloadError(exception.getMessage());
+            return;
+        }
+        listener.onFileDownloaded(url);
+    }
+
+    @Override
+    protected void onCancelled(Exception exception) {
+        if (isRejected) {
+            onPostExecute(new RejectedExecutionException("Network lane is full"));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ *    Copyright 2018-2021 Prebid.org, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.prebid.mobile.rendering.video;
+
+import android.content.Context;
+import android.net.Uri;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.database.ExoDatabaseProvider;
+import com.google.android.exoplayer2.upstream.DataSource;
+import com.google.android.exoplayer2.upstream.DataSpec;
+import com.google.android.exoplayer2.upstream.DefaultDataSourceFactory;
+import com.google.android.exoplayer2.upstream.cache.Cache;
+import com.google.android.exoplayer2.upstream.cache.CacheDataSource;
+import com.google.android.exoplayer2.upstream.cache.LeastRecentlyUsedCacheEvictor;
+import com.google.android.exoplayer2.upstream.cache.SimpleCache;
+import com.google.android.exoplayer2.util.Util;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Player cache shared by all video creatives in streaming mode.
+ * <p>
+ * Only the beginning of a media file is buffered before the creative is reported as ready.
+ * The player reads the rest through the same cache, so replays and other creatives with the same
+ * media url don't download the bytes again.
+ */
+public class VideoStreamCache {
+
+    private static final String CACHE_DIRECTORY = "prebid_video_stream";
+    private static final String USER_AGENT = "PrebidRenderingSDK";
+
+    public static final long MAX_CACHE_BYTES = 100 * 1024 * 1024; // 100 MiB
+    /**
+     * Amount of data buffered before playback, a few seconds of a typical mobile ad rendition.
+     */
+    public static final long PRELOAD_BYTES = 1024 * 1024; // 1 MiB
+
+    private static Cache cache;
+
+    private VideoStreamCache() {
+    }
+
+    public static synchronized Cache getCache(@NonNull Context context) {
+        if (cache == null) {
+            Context applicationContext = context.getApplicationContext();
+            File directory = new File(applicationContext.getCacheDir(), CACHE_DIRECTORY);
+            cache = new SimpleCache(
+                    directory,
+                    new LeastRecentlyUsedCacheEvictor(MAX_CACHE_BYTES),
+                    new ExoDatabaseProvider(applicationContext)
+            );
+        }
+        return cache;
+    }
+
+    @NonNull
+    public static DataSource.Factory createDataSourceFactory(@NonNull Context context) {
+        DataSource.Factory upstreamFactory = new DefaultDataSourceFactory(context, Util.getUserAgent(context, USER_AGENT));
+        return new CacheDataSource.Factory()
+                .setCache(getCache(context))
+                .setUpstreamDataSourceFactory(upstreamFactory)
+                .setFlags(CacheDataSource.FLAG_IGNORE_CACHE_ON_ERROR);
+    }
+
+    /**
+     * Downloads the first {@code length} bytes of the media into the cache. Already cached bytes
+     * are not requested again.
+     */
+    @WorkerThread
+    public static void preload(
+            @NonNull Context context,
+            @NonNull String url,
+            long length
+    ) throws IOException {
+        DataSource dataSource = createDataSourceFactory(context).createDataSource();
+        DataSpec dataSpec = new DataSpec.Builder()
+                .setUri(Uri.parse(url))
+                .setLength(length)
+                .build();
+        byte[] buffer = new byte[16384];
+        try {
+            dataSource.open(dataSpec);
+            while (!Thread.currentThread().isInterrupted()) {
+                if (dataSource.read(buffer, 0, buffer.length) == C.RESULT_END_OF_INPUT) {
+                    break;
+                }
+            }
+        } finally {
+            dataSource.close();
+        }
+    }
+}
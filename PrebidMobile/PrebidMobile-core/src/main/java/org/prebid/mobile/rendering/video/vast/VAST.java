@@ -34,6 +34,14 @@ public class VAST extends VASTParserBase {
 	private String version;
 
 	public VAST(XmlPullParser p) throws XmlPullParserException, IOException {
+		this(p, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * @param maxAds number of Ad elements to read. Parsing stops right after the last of them,
+	 *               the rest of the document (e.g. other ads of a pod) is not read at all.
+	 */
+	public VAST(XmlPullParser p, int maxAds) throws XmlPullParserException, IOException {
 
 		p.require(XmlPullParser.START_TAG, null, VAST_START);
 
@@ -62,6 +70,9 @@ public class VAST extends VASTParserBase {
 				p.require(XmlPullParser.START_TAG, null, VAST_AD);
 				ads.add(new Ad(p));
 				p.require(XmlPullParser.END_TAG, null, VAST_AD);
+				if (ads.size() >= maxAds) {
+					return;
+				}
 			}
 			else
 			{
@@ -99,6 +99,25 @@ public class PrebidWebViewBase extends FrameLayout implements PreloadManager.Pre
         handler.postDelayed(new WebViewCleanupRunnable(currentWebView), WEBVIEW_DESTROY_DELAY_MS);
     }
 
+    /**
+     * Drops the references to the previous ad after {@link #destroy()},
+     * so the view can be reused for the next ad of the same ad unit.
+     */
+    public void resetForReuse() {
+        removeAllViews();
+        clearAnimation();
+        webView = null;
+        mraidWebView = null;
+        oldWebViewBase = null;
+        currentWebViewBase = null;
+        webViewDelegate = null;
+        creative = null;
+        width = 0;
+        height = 0;
+        definedWidthForExpand = 0;
+        definedHeightForExpand = 0;
+    }
+
     public void initMraidExpanded() {
         runOnUiThread(() -> {
             try {
@@ -193,6 +212,10 @@ public class PrebidWebViewBase extends FrameLayout implements PreloadManager.Pre
         return webView;
     }
 
+    public InterstitialManager getInterstitialManager() {
+        return interstitialManager;
+    }
+
     public WebViewBanner getMraidWebView() {
         return mraidWebView;
     }
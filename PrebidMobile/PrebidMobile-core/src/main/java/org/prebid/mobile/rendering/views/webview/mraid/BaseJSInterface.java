@@ -54,6 +54,7 @@ import org.prebid.mobile.rendering.utils.helpers.MraidUtils;
 import org.prebid.mobile.rendering.utils.helpers.Utils;
 import org.prebid.mobile.rendering.views.webview.PrebidWebViewBase;
 import org.prebid.mobile.rendering.views.webview.WebViewBase;
+import org.prebid.mobile.tasksmanager.TaskLane;
 
 import java.lang.ref.WeakReference;
 
@@ -423,7 +424,7 @@ public class BaseJSInterface implements JSInterface {
         params.userAgent = AppInfoManager.getUserAgent();
 
         GetOriginalUrlTask redirectTask = new GetOriginalUrlTask(new OriginalUrlResponseCallBack(listener));
-        redirectedUrlAsyncTask = redirectTask.executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR, params);
+        redirectedUrlAsyncTask = redirectTask.executeOnLane(TaskLane.RENDER_PREP, params);
     }
 
     public void setDefaultLayoutParams(LayoutParams originalParentLayoutParams) {
@@ -16,60 +16,61 @@
 
 package org.prebid.mobile.tasksmanager;
 
-import android.os.Handler;
-import android.os.HandlerThread;
-import androidx.annotation.VisibleForTesting;
+import androidx.annotation.NonNull;
 
+import org.prebid.mobile.LogUtil;
+
+import java.util.concurrent.Future;
+
+/**
+ * Runs tasks on one lane of the SDK {@link LaneScheduler}.
+ * <p>
+ * If the lane is full, a {@link Future} task is cancelled so its owner is notified,
+ * other tasks run on the caller's thread.
+ */
 public class BackgroundThreadExecutor implements CancellableExecutor {
 
-    private Handler handler;
+    private static final String TAG = BackgroundThreadExecutor.class.getSimpleName();
+
+    private final LaneScheduler scheduler;
+    private final TaskLane lane;
     private boolean running = false;
-    private final int HANDLER_COUNT = 3;
-    private int index = 0;
 
-    BackgroundThreadExecutor() {
-        HandlerThread backgroundThread = new HandlerThread("BackgroundThread");
-        backgroundThread.start();
-        handler = new Handler(backgroundThread.getLooper());
+    BackgroundThreadExecutor(
+            @NonNull LaneScheduler scheduler,
+            @NonNull TaskLane lane
+    ) {
+        this.scheduler = scheduler;
+        this.lane = lane;
         running = true;
     }
 
 
     @Override
     public void execute(Runnable runnable) {
-        if (running) {
-            handler.post(runnable);
+        if (running && !scheduler.execute(lane, runnable)) {
+            LogUtil.warning(TAG, "Task rejected by lane " + lane);
+            if (runnable instanceof Future) {
+                ((Future<?>) runnable).cancel(false);
+            } else {
+                runnable.run();
+            }
         }
     }
 
     @Override
     public boolean cancel(Runnable runnable) {
         if (running) {
-            handler.removeCallbacks(runnable);
-            return true;
+            return scheduler.cancel(runnable);
         }
         return false;
     }
 
     public void shutdown() {
-        if (running) {
-            handler.getLooper().quit();
-            handler = null;
-            running = false;
-        }
+        running = false;
     }
 
     public void startThread() {
-        if (!running) {
-            HandlerThread backgroundThread = new HandlerThread("BackgroundThread");
-            backgroundThread.start();
-            handler = new Handler(backgroundThread.getLooper());
-            running = true;
-        }
-    }
-
-    @VisibleForTesting
-    public Handler getBackgroundHandler() {
-        return handler;
+        running = true;
     }
 }
@@ -0,0 +1,355 @@
+/*
+ *    Copyright 2020-2021 Prebid.org, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.prebid.mobile.tasksmanager;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+
+import org.prebid.mobile.LogUtil;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SDK-wide pool of background workers shared by all {@link TaskLane}s.
+ * <p>
+ * Every lane has a bounded FIFO queue and a concurrency limit, so a burst of trackers can neither
+ * delay bid requests nor occupy all workers. Lanes other than {@link TaskLane#AUCTION_CRITICAL}
+ * together never occupy the last worker, so long downloads and trackers can't make a bid request
+ * wait for a free worker. Workers are started on demand and stop after
+ * {@link #KEEP_ALIVE_MILLIS} without work, unless a delayed task is pending. Queue depth and wait
+ * time are recorded per lane.
+ */
+public class LaneScheduler {
+
+    private static final String TAG = LaneScheduler.class.getSimpleName();
+
+    public static final int WORKER_COUNT = 6;
+    public static final long KEEP_ALIVE_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    private static final int RESERVED_AUCTION_WORKERS = 1;
+
+    private final int workerCount;
+    private final int nonAuctionWorkerLimit;
+    private final long keepAliveMillis;
+    private final EnumMap<TaskLane, Lane> lanes = new EnumMap<>(TaskLane.class);
+    private final PriorityQueue<Task> delayedTasks = new PriorityQueue<>();
+    private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+    private int workers;
+    private int idleWorkers;
+    private long sequence;
+
+    @VisibleForTesting
+    public LaneScheduler(
+            int workerCount,
+            long keepAliveMillis
+    ) {
+        this.workerCount = workerCount;
+        this.nonAuctionWorkerLimit = workerCount > RESERVED_AUCTION_WORKERS ? workerCount - RESERVED_AUCTION_WORKERS : workerCount;
+        this.keepAliveMillis = keepAliveMillis;
+        for (TaskLane lane : TaskLane.values()) {
+            lanes.put(lane, new Lane());
+        }
+    }
+
+    LaneScheduler() {
+        this(WORKER_COUNT, KEEP_ALIVE_MILLIS);
+    }
+
+    /**
+     * @return false if the lane queue is full and the task was rejected.
+     */
+    public synchronized boolean execute(
+            @NonNull TaskLane taskLane,
+            @NonNull Runnable runnable
+    ) {
+        if (!enqueue(new Task(taskLane, runnable, System.nanoTime(), sequence++))) {
+            return false;
+        }
+        wakeUpWorker();
+        return true;
+    }
+
+    /**
+     * Adds the task to its lane after the delay. The delay is measured with the monotonic
+     * {@link System#nanoTime()} clock, so changes of the wall-clock time don't affect it.
+     */
+    public synchronized void schedule(
+            @NonNull TaskLane taskLane,
+            @NonNull Runnable runnable,
+            long delayMillis
+    ) {
+        long dueAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(delayMillis, 0));
+        delayedTasks.add(new Task(taskLane, runnable, dueAt, sequence++));
+        wakeUpWorker();
+    }
+
+    /**
+     * Removes a task that hasn't started yet.
+     *
+     * @return true if the task was waiting in a queue.
+     */
+    public synchronized boolean cancel(@NonNull Runnable runnable) {
+        Iterator<Task> delayedIterator = delayedTasks.iterator();
+        while (delayedIterator.hasNext()) {
+            if (delayedIterator.next().runnable == runnable) {
+                delayedIterator.remove();
+                return true;
+            }
+        }
+        for (Lane lane : lanes.values()) {
+            Iterator<Task> iterator = lane.queue.iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().runnable == runnable) {
+                    iterator.remove();
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public synchronized int getQueueDepth(@NonNull TaskLane taskLane) {
+        return lanes.get(taskLane).queue.size();
+    }
+
+    public synchronized int getRunningCount(@NonNull TaskLane taskLane) {
+        return lanes.get(taskLane).runningCount;
+    }
+
+    public synchronized long getRejectedCount(@NonNull TaskLane taskLane) {
+        return lanes.get(taskLane).rejectedCount;
+    }
+
+    /**
+     * @return average time the started tasks of the lane spent in the queue.
+     */
+    public synchronized long getAverageWaitMillis(@NonNull TaskLane taskLane) {
+        Lane lane = lanes.get(taskLane);
+        if (lane.startedCount == 0) {
+            return 0;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(lane.totalWaitNanos / lane.startedCount);
+    }
+
+    public synchronized long getMaxWaitMillis(@NonNull TaskLane taskLane) {
+        return TimeUnit.NANOSECONDS.toMillis(lanes.get(taskLane).maxWaitNanos);
+    }
+
+    @VisibleForTesting
+    synchronized int getWorkerCount() {
+        return workers;
+    }
+
+    private boolean enqueue(Task task) {
+        Lane lane = lanes.get(task.lane);
+        if (lane.queue.size() >= task.lane.getQueueCapacity()) {
+            lane.rejectedCount++;
+            LogUtil.warning(TAG, "Queue of lane " + task.lane + " is full. Task rejected.");
+            return false;
+        }
+        lane.queue.add(task);
+        return true;
+    }
+
+    /**
+     * Wakes up idle workers and starts new ones while there are more runnable tasks than workers
+     * not running a task. Woken workers count as idle until they reacquire the lock, so the idle
+     * count alone can't tell whether a burst of tasks needs more workers.
+     */
+    private void wakeUpWorker() {
+        if (idleWorkers > 0) {
+            notifyAll();
+        }
+        int freeWorkers = workers - getTotalRunningCount();
+        if (getRunnableCount() > freeWorkers && workers < workerCount) {
+            startWorker();
+        }
+    }
+
+    private int getTotalRunningCount() {
+        int running = 0;
+        for (Lane lane : lanes.values()) {
+            running += lane.runningCount;
+        }
+        return running;
+    }
+
+    /**
+     * @return number of queued tasks that can start now without exceeding their lane limits.
+     */
+    private int getRunnableCount() {
+        int runnable = 0;
+        int nonAuctionRunnable = 0;
+        for (TaskLane taskLane : TaskLane.values()) {
+            Lane lane = lanes.get(taskLane);
+            int laneRunnable = Math.min(lane.queue.size(), Math.max(taskLane.getMaxConcurrent() - lane.runningCount, 0));
+            if (taskLane == TaskLane.AUCTION_CRITICAL) {
+                runnable += laneRunnable;
+            } else {
+                nonAuctionRunnable += laneRunnable;
+            }
+        }
+        runnable += Math.min(nonAuctionRunnable, Math.max(nonAuctionWorkerLimit - getNonAuctionRunningCount(), 0));
+        if (runnable == 0 && !delayedTasks.isEmpty()) {
+            // One worker has to wait for the delayed tasks.
+            runnable = 1;
+        }
+        return runnable;
+    }
+
+    private int getNonAuctionRunningCount() {
+        return getTotalRunningCount() - lanes.get(TaskLane.AUCTION_CRITICAL).runningCount;
+    }
+
+    private void startWorker() {
+        workers++;
+        Thread thread = new Thread(this::runWorker, "PrebidWorker-" + threadNumber.getAndIncrement());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void runWorker() {
+        while (true) {
+            Task task = takeNext();
+            if (task == null) {
+                return;
+            }
+            try {
+                task.runnable.run();
+            } catch (Throwable throwable) {
+                LogUtil.error(TAG, "Task of lane " + task.lane + " failed: " + Log.getStackTraceString(throwable));
+            } finally {
+                onFinished(task);
+            }
+        }
+    }
+
+    /**
+     * @return next task to run or null if the worker was idle for the keep alive time.
+     */
+    private synchronized Task takeNext() {
+        long idleDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(keepAliveMillis);
+        Task task = pollNext();
+        while (task == null) {
+            long now = System.nanoTime();
+            long waitNanos;
+            if (!delayedTasks.isEmpty()) {
+                // Someone has to stay to promote the delayed tasks.
+                waitNanos = delayedTasks.peek().enqueuedAt - now;
+            } else {
+                waitNanos = idleDeadline - now;
+                if (waitNanos <= 0) {
+                    workers--;
+                    return null;
+                }
+            }
+            if (waitNanos > 0) {
+                idleWorkers++;
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(this, waitNanos);
+                } catch (InterruptedException exception) {
+                    workers--;
+                    return null;
+                } finally {
+                    idleWorkers--;
+                }
+            }
+            task = pollNext();
+        }
+        return task;
+    }
+
+    private Task pollNext() {
+        long now = System.nanoTime();
+        while (!delayedTasks.isEmpty() && delayedTasks.peek().enqueuedAt - now <= 0) {
+            enqueue(delayedTasks.poll());
+        }
+
+        boolean nonAuctionLimitReached = getNonAuctionRunningCount() >= nonAuctionWorkerLimit;
+        for (TaskLane taskLane : TaskLane.values()) {
+            Lane lane = lanes.get(taskLane);
+            if (lane.runningCount >= taskLane.getMaxConcurrent() || lane.queue.isEmpty()) {
+                continue;
+            }
+            if (taskLane != TaskLane.AUCTION_CRITICAL && nonAuctionLimitReached) {
+                break;
+            }
+            Task task = lane.queue.poll();
+            lane.runningCount++;
+            lane.startedCount++;
+            long waitNanos = System.nanoTime() - task.enqueuedAt;
+            lane.totalWaitNanos += waitNanos;
+            lane.maxWaitNanos = Math.max(lane.maxWaitNanos, waitNanos);
+            return task;
+        }
+        return null;
+    }
+
+    private synchronized void onFinished(Task task) {
+        lanes.get(task.lane).runningCount--;
+        // Tasks of the lane may have been waiting for the limit while other workers were idle.
+        if (idleWorkers > 0) {
+            notifyAll();
+        }
+    }
+
+    private static class Lane {
+
+        private final ArrayDeque<Task> queue = new ArrayDeque<>();
+        private int runningCount;
+        private long rejectedCount;
+        private long startedCount;
+        private long totalWaitNanos;
+        private long maxWaitNanos;
+    }
+
+    private static class Task implements Comparable<Task> {
+
+        private final TaskLane lane;
+        private final Runnable runnable;
+        /**
+         * Time the task was added to its lane queue, or is due to be added if it's delayed.
+         */
+        private final long enqueuedAt;
+        private final long sequence;
+
+        private Task(
+                TaskLane lane,
+                Runnable runnable,
+                long enqueuedAt,
+                long sequence
+        ) {
+            this.lane = lane;
+            this.runnable = runnable;
+            this.enqueuedAt = enqueuedAt;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(@NonNull Task other) {
+            int result = Long.compare(enqueuedAt - other.enqueuedAt, 0);
+            return result != 0 ? result : Long.compare(sequence, other.sequence);
+        }
+    }
+}
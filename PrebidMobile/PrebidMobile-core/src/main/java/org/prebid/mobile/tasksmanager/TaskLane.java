@@ -0,0 +1,67 @@
+/*
+ *    Copyright 2020-2021 Prebid.org, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.prebid.mobile.tasksmanager;
+
+/**
+ * Lanes of {@link LaneScheduler}, in priority order: a free worker always takes the oldest task
+ * of the first lane that has one and is below its concurrency limit. The lanes after
+ * {@link #AUCTION_CRITICAL} share all workers but one, whatever their own limits are.
+ */
+public enum TaskLane {
+
+    /**
+     * Bid requests and everything an auction waits for.
+     */
+    AUCTION_CRITICAL(64, LaneScheduler.WORKER_COUNT),
+    /**
+     * Creative loading: VAST, media preloading, cached markup and scripts.
+     */
+    RENDER_PREP(64, 4),
+    /**
+     * Impression, click and event trackers.
+     */
+    TRACKING(256, 3),
+    /**
+     * Work nobody waits for. Runs one task at a time, in submission order.
+     */
+    HOUSEKEEPING(64, 1);
+
+    private final int queueCapacity;
+    private final int maxConcurrent;
+
+    TaskLane(
+            int queueCapacity,
+            int maxConcurrent
+    ) {
+        this.queueCapacity = queueCapacity;
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    /**
+     * @return maximum number of waiting tasks, further tasks are rejected.
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * @return maximum number of tasks of the lane running at the same time.
+     */
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+}
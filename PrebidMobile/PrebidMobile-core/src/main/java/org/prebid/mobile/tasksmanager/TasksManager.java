@@ -23,10 +23,12 @@ public class TasksManager {
     private static TasksManager instance = null;
     public Executor mainThreadExecutor;
     public Executor backgroundThreadExecutor;
+    private final LaneScheduler scheduler;
 
     private TasksManager() {
+        scheduler = new LaneScheduler();
         mainThreadExecutor = new MainThreadExecutor();
-        backgroundThreadExecutor = new BackgroundThreadExecutor();
+        backgroundThreadExecutor = new BackgroundThreadExecutor(scheduler, TaskLane.HOUSEKEEPING);
     }
 
     /**
@@ -67,11 +69,38 @@ public class TasksManager {
     }
 
     /**
-     * Utility method to cancel an ongoing background thread task
+     * This API can be used to execute code block on one of the background lanes.
+     * @param lane lane that determines the priority of the task
+     * @param task takes in task (to be executed on background thread) as a runnable
+     * @return false if the lane queue is full and the task was rejected
+     * */
+    public boolean executeOnLane(TaskLane lane, Runnable task) {
+        return scheduler.execute(lane, task);
+    }
+
+    /**
+     * @param lane lane that determines the priority of the tasks
+     * @return executor for {@link android.os.AsyncTask}s that don't send a request to a single host,
+     * tasks rejected by the full lane are cancelled
+     * */
+    public Executor getLaneExecutor(TaskLane lane) {
+        return new BackgroundThreadExecutor(scheduler, lane);
+    }
+
+    /**
+     * @return scheduler that runs all SDK background work
+     * */
+    public LaneScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Utility method to cancel a background thread or lane task that hasn't started yet
      * @param task takes in task to be cancelled
      * */
     public void cancelTaksOnBackgroundThread(Runnable task) {
         ((CancellableExecutor) backgroundThreadExecutor).cancel(task);
+        scheduler.cancel(task);
 
     }
 }
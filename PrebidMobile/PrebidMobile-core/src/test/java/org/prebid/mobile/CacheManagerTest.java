@@ -0,0 +1,120 @@
+package org.prebid.mobile;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.prebid.mobile.testutils.BaseSetup;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = BaseSetup.testSDK, manifest = Config.NONE)
+public class CacheManagerTest {
+
+    @Before
+    public void setUp() {
+        CacheManager.clear();
+    }
+
+    @After
+    public void tearDown() {
+        CacheManager.clear();
+    }
+
+    @Test
+    public void whenSaveEmptyContent_ReturnNull() {
+        assertNull(CacheManager.save(""));
+        assertNull(CacheManager.save(null, 10));
+    }
+
+    @Test
+    public void whenGet_ReturnContentOnlyOnce() {
+        String cacheId = CacheManager.save("content");
+
+        assertTrue(CacheManager.isValid(cacheId));
+        assertEquals("content", CacheManager.get(cacheId));
+        assertFalse(CacheManager.isValid(cacheId));
+        assertNull(CacheManager.get(cacheId));
+        assertEquals(0, CacheManager.getTotalBytes());
+    }
+
+    @Test
+    public void whenGetNativeAd_ConsumeContentOnlyWithModel() {
+        PrebidNativeAd nativeAd = mock(PrebidNativeAd.class);
+        String cacheId = CacheManager.save("content", null, nativeAd);
+        String rawCacheId = CacheManager.save("raw");
+
+        assertNull(CacheManager.getNativeAd(rawCacheId));
+        assertTrue(CacheManager.isValid(rawCacheId));
+
+        assertSame(nativeAd, CacheManager.getNativeAd(cacheId));
+        assertFalse(CacheManager.isValid(cacheId));
+        assertNull(CacheManager.getNativeAd(cacheId));
+    }
+
+    @Test
+    public void whenBidHasExp_ExpireByIt() {
+        String shortCacheId = CacheManager.save("short", 10);
+        String defaultCacheId = CacheManager.save("default", null);
+        long now = System.currentTimeMillis();
+
+        CacheManager.removeExpired(now + 1_000);
+        assertTrue(CacheManager.isValid(shortCacheId));
+
+        CacheManager.removeExpired(now + 11_000);
+        assertFalse(CacheManager.isValid(shortCacheId));
+        assertTrue(CacheManager.isValid(defaultCacheId));
+
+        CacheManager.removeExpired(now + 301_000);
+        assertFalse(CacheManager.isValid(defaultCacheId));
+    }
+
+    @Test
+    public void whenSetExpiry_UseNewLifeTime() {
+        String cacheId = CacheManager.save("content");
+        CacheManager.setExpiry(cacheId, 5);
+
+        CacheManager.removeExpired(System.currentTimeMillis() + 6_000);
+
+        assertFalse(CacheManager.isValid(cacheId));
+    }
+
+    @Test
+    public void whenExpired_NotifyListenerOnMainThread() {
+        String cacheId = CacheManager.save("content", 10);
+        CacheManager.get(cacheId);
+        CacheManager.CacheExpiryListener listener = mock(CacheManager.CacheExpiryListener.class);
+        CacheManager.registerCacheExpiryListener(cacheId, listener);
+
+        CacheManager.removeExpired(System.currentTimeMillis() + 11_000);
+        verify(listener, never()).onCacheExpired();
+
+        ShadowLooper.runUiThreadTasks();
+        verify(listener).onCacheExpired();
+    }
+
+    @Test
+    public void whenCacheIsFull_RemoveOldestContent() {
+        char[] chars = new char[(int) (CacheManager.MAX_CACHE_BYTES / 4)];
+        Arrays.fill(chars, 'a');
+        String content = new String(chars);
+
+        String first = CacheManager.save(content);
+        String second = CacheManager.save(content);
+        String third = CacheManager.save(content);
+
+        assertFalse(CacheManager.isValid(first));
+        assertTrue(CacheManager.isValid(second));
+        assertTrue(CacheManager.isValid(third));
+        assertEquals(CacheManager.MAX_CACHE_BYTES, CacheManager.getTotalBytes());
+    }
+}
@@ -1,20 +1,35 @@
 package org.prebid.mobile;
 
+import android.app.Activity;
+import android.os.Looper;
+
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.junit.After;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.prebid.mobile.api.data.AdFormat;
+import org.prebid.mobile.api.data.BidInfo;
 import org.prebid.mobile.configuration.AdUnitConfiguration;
+import org.prebid.mobile.reflection.sdk.ManagersResolverReflection;
+import org.prebid.mobile.rendering.sdk.ManagersResolver;
+import org.prebid.mobile.rendering.sdk.PrebidContextHolder;
+import org.prebid.mobile.rendering.utils.helpers.AppInfoManager;
 import org.prebid.mobile.testutils.BaseSetup;
+import org.prebid.mobile.testutils.MockPrebidServerResponses;
+import org.robolectric.Robolectric;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.annotation.Config;
 
 import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.concurrent.atomic.AtomicReference;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
 
 import static org.junit.Assert.*;
+import static org.robolectric.Shadows.shadowOf;
 
 @RunWith(RobolectricTestRunner.class)
 @Config(sdk = BaseSetup.testSDK, manifest = Config.NONE)
@@ -24,6 +39,40 @@ public class NativeAdUnitTest {
     @After
     public void tearDown() throws Exception {
         NativeEventTracker.EVENT_TRACKING_METHOD.CUSTOM.setID(500);
+        PrebidMobile.setPrebidServerAccountId("");
+        PrebidMobile.setPrebidServerHost(Host.createCustomHost(""));
+        PrebidContextHolder.clearContext();
+        ManagersResolverReflection.resetManagers(ManagersResolver.getInstance());
+    }
+
+    @Test
+    public void whenFetchDemandWithResultListener_BidInfoCacheIdKeepsDecodedAd() throws Exception {
+        MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setResponseCode(200).setBody(MockPrebidServerResponses.validResponsePrebidNativeNativeBid()));
+        server.start();
+
+        Activity activity = Robolectric.buildActivity(Activity.class).create().get();
+        shadowOf(activity).grantPermissions("android.permission.INTERNET", "android.permission.ACCESS_NETWORK_STATE");
+        PrebidContextHolder.setContext(activity);
+        ManagersResolverReflection.resetManagers(ManagersResolver.getInstance());
+        ManagersResolver.getInstance().prepare(activity);
+        AppInfoManager.setUserAgent("user-agent");
+        PrebidMobile.setPrebidServerAccountId("accountId");
+        PrebidMobile.setPrebidServerHost(Host.createCustomHost(server.url("/openrtb2/auction").toString()));
+
+        AtomicReference<BidInfo> result = new AtomicReference<>();
+        NativeAdUnit adUnit = new NativeAdUnit(PBS_CONFIG_ID_NATIVE_APPNEXUS);
+        adUnit.fetchDemand(result::set);
+        for (int i = 0; i < 100 && result.get() == null; i++) {
+            Thread.sleep(100);
+            shadowOf(Looper.getMainLooper()).idle();
+        }
+        server.shutdown();
+
+        BidInfo bidInfo = result.get();
+        assertNotNull(bidInfo);
+        assertEquals(ResultCode.SUCCESS, bidInfo.getResultCode());
+        assertNotNull(CacheManager.getNativeAd(bidInfo.getNativeCacheId()));
     }
 
     @Test
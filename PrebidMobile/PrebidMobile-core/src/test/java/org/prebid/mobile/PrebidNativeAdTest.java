@@ -4,6 +4,7 @@ import static org.hamcrest.Matchers.hasItem;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -12,6 +13,9 @@ import android.app.Application;
 import android.content.Context;
 import android.view.View;
 
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.prebid.mobile.reflection.Reflection;
@@ -106,6 +110,42 @@ public class PrebidNativeAdTest {
         }
     }
 
+    @Test
+    public void create_ReturnAdDecodedBeforeSaving() throws IOException {
+        String resource = ResourceUtils.convertResourceToString("PrebidNativeAdTest/Full.json");
+        PrebidNativeAd decodedAd = PrebidNativeAd.fromBidJson(resource);
+        String cacheId = CacheManager.save(resource, null, decodedAd);
+
+        assertNotNull(decodedAd);
+        assertSame(decodedAd, PrebidNativeAd.create(cacheId));
+        assertNull(PrebidNativeAd.create(cacheId));
+    }
+
+    @Test
+    public void fromBidJson_ResolveAuctionPriceInUrls() throws JSONException {
+        JSONObject link = new JSONObject()
+                .put("url", "https://click.com?price={AUCTION_PRICE}")
+                .put("clicktrackers", new JSONArray().put("https://tracker.com?p={AUCTION_PRICE}"));
+        JSONObject adm = new JSONObject()
+                .put("assets", new JSONArray())
+                .put("link", link);
+        JSONObject bid = new JSONObject()
+                .put("price", "0.5")
+                .put("adm", adm.toString());
+
+        PrebidNativeAd nativeAd = PrebidNativeAd.fromBidJson(bid.toString());
+
+        assertNotNull(nativeAd);
+        assertEquals("https://click.com?price=0.5", Reflection.getFieldOf(nativeAd, "clickUrl"));
+        ArrayList<String> clickTrackers = Reflection.getFieldOf(nativeAd, "click_trackers");
+        assertThat(clickTrackers, hasItem("https://tracker.com?p=0.5"));
+    }
+
+    @Test
+    public void fromBidJson_NotNativeBid_ReturnNull() {
+        assertNull(PrebidNativeAd.fromBidJson("{\"adm\":\"<div></div>\"}"));
+        assertNull(PrebidNativeAd.fromBidJson(null));
+    }
 
     private PrebidNativeAd nativeAdFromFile(String path) {
         try {
@@ -0,0 +1,87 @@
+package org.prebid.mobile;
+
+import android.os.Bundle;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.prebid.mobile.testutils.BaseSetup;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.HashMap;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = BaseSetup.testSDK, manifest = Config.NONE)
+public class TargetingAppliersTest {
+
+    @After
+    public void tearDown() {
+        TargetingAppliers.reset();
+    }
+
+    @Test
+    public void whenAdObjectIsBundle_PutTargetingAndCacheId() {
+        Bundle bundle = new Bundle();
+
+        Util.apply(targeting(), bundle);
+        Util.saveCacheId("cacheId", bundle);
+
+        assertEquals("0.50", bundle.getString("hb_pb"));
+        assertEquals("cacheId", bundle.getString(NativeAdUnit.BUNDLE_KEY_CACHE_ID));
+    }
+
+    @Test
+    public void whenAdObjectIsHashMap_ReplaceContent() {
+        HashMap<String, String> map = new HashMap<>();
+        map.put("key", "value");
+
+        Util.apply(targeting(), map);
+
+        assertEquals(targeting(), map);
+    }
+
+    @Test
+    public void whenAdObjectIsNotSupported_DoNothing() {
+        TreeMap<String, String> map = new TreeMap<>();
+
+        Util.apply(targeting(), map);
+
+        assertFalse(Util.supportedAdObject(map));
+        assertFalse(Util.supportedAdObject(null));
+        assertNull(TargetingAppliers.find(TreeMap.class));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void whenApplierIsRegistered_UseItForExactClass() {
+        TargetingApplier applier = mock(TargetingApplier.class);
+        TargetingAppliers.register(TreeMap.class, applier);
+        TreeMap<String, String> map = new TreeMap<>();
+        HashMap<String, String> targeting = targeting();
+
+        Util.apply(targeting, map);
+        Util.saveCacheId("cacheId", map);
+
+        assertTrue(Util.supportedAdObject(map));
+        verify(applier).applyTargeting(targeting, map);
+        verify(applier).applyCacheId("cacheId", map);
+    }
+
+    @Test
+    public void whenFindTwice_ReturnSameApplier() {
+        assertSame(TargetingAppliers.find(Bundle.class), TargetingAppliers.find(Bundle.class));
+    }
+
+    private static HashMap<String, String> targeting() {
+        HashMap<String, String> targeting = new HashMap<>();
+        targeting.put("hb_pb", "0.50");
+        targeting.put("hb_cache_id", "123456");
+        return targeting;
+    }
+}
@@ -26,6 +26,7 @@ import android.content.SharedPreferences;
 import android.preference.PreferenceManager;
 
 import org.apache.commons.lang3.reflect.FieldUtils;
+import org.json.JSONArray;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -517,4 +518,43 @@ public class TargetingParamsTest extends BaseSetup {
         assertTrue(externalUserId.getAtype() == 1);
         assertTrue(externalUserId.getExt().get("third").equals("01ERJWE5FS4RAZKG6SKQ3ZYSKV"));
     }
+
+    @Test
+    public void testExternalUserIdsJson() throws Exception {
+        assertNull(TargetingParams.getExternalUserIdsJson());
+
+        TargetingParams.storeExternalUserId(new ExternalUserId("netid.de", "999888777", null, null));
+        TargetingParams.storeExternalUserId(new ExternalUserId("criteo.com", "_fl7bV96WjZsbiUyQnJlQ3g4ckh5a1N", null, null));
+        TargetingParams.storeExternalUserId(new ExternalUserId("netid.de", "111", null, null));
+
+        JSONArray eids = TargetingParams.getExternalUserIdsJson();
+        assertEquals(2, eids.length());
+        assertEquals("netid.de", eids.getJSONObject(0).getString("source"));
+        assertEquals("111", eids.getJSONObject(0).getJSONArray("uids").getJSONObject(0).getString("id"));
+        assertEquals("criteo.com", eids.getJSONObject(1).getString("source"));
+
+        TargetingParams.clearStoredExternalUserIds();
+        assertNull(TargetingParams.getExternalUserIdsJson());
+    }
+
+    @Test
+    public void whenStoredExternalUserIdModified_StoredIdUntouched() throws Exception {
+        ExternalUserId externalUserId = new ExternalUserId("netid.de", "999888777", null, null);
+        TargetingParams.storeExternalUserId(externalUserId);
+
+        externalUserId.setIdentifier("111");
+
+        assertEquals("999888777", TargetingParams.fetchStoredExternalUserId("netid.de").getIdentifier());
+        JSONArray eids = TargetingParams.getExternalUserIdsJson();
+        assertEquals("999888777", eids.getJSONObject(0).getJSONArray("uids").getJSONObject(0).getString("id"));
+    }
+
+    @Test
+    public void testFetchedExternalUserIdIsCopy() {
+        TargetingParams.storeExternalUserId(new ExternalUserId("netid.de", "999888777", null, null));
+
+        TargetingParams.fetchStoredExternalUserId("netid.de").setIdentifier("changed");
+
+        assertEquals("999888777", TargetingParams.fetchStoredExternalUserId("netid.de").getIdentifier());
+    }
 }
@@ -0,0 +1,111 @@
+package org.prebid.mobile;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import android.os.Looper;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.robolectric.Shadows.shadowOf;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 19)
+public class VisibilitySchedulerTest {
+
+    private VisibilityScheduler scheduler;
+    private boolean isAppVisible;
+
+    @Before
+    public void setUp() {
+        scheduler = new VisibilityScheduler() {
+            @Override
+            boolean isAppVisible() {
+                return isAppVisible;
+            }
+        };
+    }
+
+    @Test
+    public void severalDetectors_CheckedByOneTick() {
+        VisibilityDetector.VisibilityListener firstListener = mock(VisibilityDetector.VisibilityListener.class);
+        VisibilityDetector.VisibilityListener secondListener = mock(VisibilityDetector.VisibilityListener.class);
+        VisibilityDetector firstDetector = new VisibilityDetector(mock(View.class), scheduler);
+        VisibilityDetector secondDetector = new VisibilityDetector(mock(View.class), scheduler);
+        firstDetector.addVisibilityListener(firstListener);
+        secondDetector.addVisibilityListener(secondListener);
+
+        shadowOf(Looper.getMainLooper()).idleFor(VisibilityDetector.VISIBILITY_THROTTLE_MILLIS, TimeUnit.MILLISECONDS);
+
+        verify(firstListener, atLeastOnce()).onVisibilityChanged(false);
+        verify(secondListener, atLeastOnce()).onVisibilityChanged(false);
+        assertTrue(scheduler.isTickScheduled());
+    }
+
+    @Test
+    public void lastListenerRemoved_StopPolling() {
+        VisibilityDetector.VisibilityListener listener = mock(VisibilityDetector.VisibilityListener.class);
+        VisibilityDetector detector = new VisibilityDetector(mock(View.class), scheduler);
+        detector.addVisibilityListener(listener);
+
+        detector.removeVisibilityListener(listener);
+
+        assertFalse(scheduler.contains(detector));
+        assertFalse(scheduler.isTickScheduled());
+    }
+
+    @Test
+    public void appInBackground_PausePolling() {
+        VisibilityDetector.VisibilityListener listener = mock(VisibilityDetector.VisibilityListener.class);
+        VisibilityDetector detector = new VisibilityDetector(mock(View.class), scheduler);
+        detector.addVisibilityListener(listener);
+
+        scheduler.onActivityStopped();
+        shadowOf(Looper.getMainLooper()).idleFor(1, TimeUnit.SECONDS);
+
+        verify(listener, times(0)).onVisibilityChanged(anyBoolean());
+        assertFalse(scheduler.isTickScheduled());
+
+        scheduler.onActivityStarted();
+        shadowOf(Looper.getMainLooper()).idle();
+
+        verify(listener).onVisibilityChanged(false);
+        assertTrue(scheduler.isTickScheduled());
+    }
+
+    @Test
+    public void lastCountedActivityStoppedAndAppVisible_KeepPolling() {
+        VisibilityDetector.VisibilityListener listener = mock(VisibilityDetector.VisibilityListener.class);
+        VisibilityDetector detector = new VisibilityDetector(mock(View.class), scheduler);
+        detector.addVisibilityListener(listener);
+        isAppVisible = true;
+
+        scheduler.onActivityStopped();
+        shadowOf(Looper.getMainLooper()).idleFor(VisibilityDetector.VISIBILITY_THROTTLE_MILLIS, TimeUnit.MILLISECONDS);
+
+        verify(listener, atLeastOnce()).onVisibilityChanged(false);
+        assertTrue(scheduler.isTickScheduled());
+    }
+
+    @Test
+    public void destroy_RemoveDetector() {
+        VisibilityDetector detector = new VisibilityDetector(mock(View.class), scheduler);
+        assertTrue(scheduler.contains(detector));
+
+        detector.destroy();
+
+        assertFalse(scheduler.contains(detector));
+    }
+}
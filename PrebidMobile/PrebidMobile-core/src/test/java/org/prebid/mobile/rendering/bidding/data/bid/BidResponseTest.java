@@ -20,6 +20,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.After;
@@ -27,9 +28,11 @@ import org.junit.Test;
 import org.prebid.mobile.PrebidMobile;
 import org.prebid.mobile.api.data.Position;
 import org.prebid.mobile.configuration.AdUnitConfiguration;
+import org.prebid.mobile.configuration.NativeAdUnitConfiguration;
 import org.prebid.mobile.core.BuildConfig;
 import org.prebid.mobile.rendering.models.openrtb.bidRequests.MobileSdkPassThrough;
 import org.prebid.mobile.test.utils.ResourceUtils;
+import org.prebid.mobile.testutils.MockPrebidServerResponses;
 
 import java.io.IOException;
 
@@ -58,6 +61,27 @@ public class BidResponseTest {
         assertNull(bidResponse.getMobileSdkPassThrough());
     }
 
+    @Test
+    public void whenGetTargeting_ReturnIndependentCopy() throws IOException {
+        String responseString = ResourceUtils.convertResourceToString("bidding_response_obj.json");
+        BidResponse bidResponse = new BidResponse(responseString, new AdUnitConfiguration());
+
+        bidResponse.getTargeting().put("custom_key", "value");
+
+        assertFalse(bidResponse.getTargeting().containsKey("custom_key"));
+        assertSame(bidResponse.getWinningBid(), bidResponse.getWinningBid());
+    }
+
+    @Test
+    public void whenNativeAdTaken_ReturnItOnlyOnce() {
+        AdUnitConfiguration configuration = new AdUnitConfiguration();
+        configuration.setNativeConfiguration(new NativeAdUnitConfiguration());
+        BidResponse bidResponse = new BidResponse(MockPrebidServerResponses.validResponsePrebidNativeNativeBid(), configuration);
+
+        assertNotNull(bidResponse.takeNativeAd());
+        assertNull(bidResponse.takeNativeAd());
+    }
+
     @Test
     public void whenInstantiatedWithInvalidJson_ParseError() throws IOException {
         String responseString = ResourceUtils.convertResourceToString("bidding_response_obj.json").replaceFirst(",", "");
@@ -23,11 +23,16 @@ import org.prebid.mobile.rendering.bidding.data.bid.BidResponse;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.annotation.Config;
 
+import java.util.HashMap;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(RobolectricTestRunner.class)
@@ -50,40 +55,99 @@ public class BidResponseCacheTest {
     }
 
     @Test
-    public void whenPutBidResponse_WithMaxSizeReached_ShouldIgnoreStoreRequest() {
-        for (int i = 0; i < BidResponseCache.MAX_SIZE; i++) {
-            BidResponse mockResponse = mock(BidResponse.class);
-            when(mockResponse.getId()).thenReturn("id" + Math.random());
-            when(mockResponse.getCreationTime()).thenReturn(System.currentTimeMillis());
-            BidResponseCache.getInstance().putBidResponse(mockResponse);
-        }
-        final Map<String, BidResponse> cachedTransactions = BidResponseCache.getCachedBidResponses();
-        assertEquals(BidResponseCache.MAX_SIZE, cachedTransactions.size());
+    public void whenPutBidResponse_OverByteBudget_EvictLeastRecentlyUsed() {
+        long entryBytes = BidResponseCache.ENTRY_OVERHEAD_BYTES;
+        BidResponseCache cache = new BidResponseCache(entryBytes * 2, 60_000);
+        cache.putBidResponse(mockResponse("first", System.currentTimeMillis()));
+        cache.putBidResponse(mockResponse("second", System.currentTimeMillis()));
+
+        assertNotNull(cache.getKeywords("first"));
+        cache.putBidResponse(mockResponse("third", System.currentTimeMillis()));
+
+        assertEquals(1, cache.getEvictedCount());
+        assertEquals(entryBytes * 2, cache.getTotalBytes());
+        assertNull(cache.popBidResponse("second"));
+        assertNotNull(cache.popBidResponse("first"));
+        assertNotNull(cache.popBidResponse("third"));
+        assertEquals(0, cache.getTotalBytes());
+    }
 
-        BidResponse mockResponse = mock(BidResponse.class);
-        when(mockResponse.getId()).thenReturn("id" + System.currentTimeMillis());
-        BidResponseCache.getInstance().putBidResponse(mockResponse);
+    @Test
+    public void whenResponseIsReleased_RemoveItFromExpirationQueue() {
+        long entryBytes = BidResponseCache.ENTRY_OVERHEAD_BYTES;
+        BidResponseCache cache = new BidResponseCache(entryBytes * 2, 60_000);
+        cache.putBidResponse(mockResponse("popped", System.currentTimeMillis()));
+        cache.putBidResponse(mockResponse("replaced", System.currentTimeMillis()));
+        cache.putBidResponse(mockResponse("replaced", System.currentTimeMillis()));
+        cache.popBidResponse("popped");
+        cache.putBidResponse(mockResponse("first", System.currentTimeMillis()));
+        cache.putBidResponse(mockResponse("second", System.currentTimeMillis()));
+
+        assertEquals(1, cache.getEvictedCount());
+        assertEquals(2, cache.getExpirationQueueSize());
+    }
+
+    @Test
+    public void whenPutBidResponse_MoreThanTwentyResponses_KeepAll() {
+        for (int i = 0; i < 50; i++) {
+            BidResponseCache.getInstance().putBidResponse(mockResponse("id" + i, System.currentTimeMillis()));
+        }
 
-        assertEquals(BidResponseCache.MAX_SIZE, cachedTransactions.size());
+        assertEquals(50, BidResponseCache.getCachedBidResponses().size());
     }
 
     @Test
-    public void whenPutBidResponse_WithStaleResponsePresent_RemoveStaleResponse() {
-        final Map<String, BidResponse> cachedTransactions = BidResponseCache.getCachedBidResponses();
+    public void whenResponseIsStale_RemoveStaleResponse() {
         for (int i = 0; i < 5; i++) {
-            BidResponse mockResponse = mock(BidResponse.class);
-            when(mockResponse.getId()).thenReturn("id" + Math.random());
-            when(mockResponse.getCreationTime()).thenReturn(System.currentTimeMillis() - 61 * 1000);
-            cachedTransactions.put("id" + Math.random(), mockResponse);
+            BidResponseCache.getInstance().putBidResponse(mockResponse("stale" + i, System.currentTimeMillis() - 61 * 1000));
         }
+        BidResponseCache.getInstance().putBidResponse(mockResponse("id", System.currentTimeMillis()));
 
-        assertEquals(5, cachedTransactions.size());
+        assertEquals(1, BidResponseCache.getCachedBidResponses().size());
+        assertNull(BidResponseCache.getInstance().getKeywords("stale0"));
+        assertEquals(5, BidResponseCache.getInstance().getExpiredCount());
+        assertEquals(1, BidResponseCache.getInstance().getMissCount());
+    }
 
-        BidResponse mockResponse = mock(BidResponse.class);
-        when(mockResponse.getId()).thenReturn("id" + System.currentTimeMillis());
-        when(mockResponse.getCreationTime()).thenReturn(System.currentTimeMillis());
+    @Test
+    public void whenBidHasExpirationTime_UseItInsteadOfDefaultLifeTime() {
+        BidResponse mockResponse = mockResponse("id", System.currentTimeMillis() - 61 * 1000);
+        when(mockResponse.getExpirationTimeSeconds()).thenReturn(300);
+        BidResponseCache.getInstance().putBidResponse(mockResponse);
+
+        BidResponse shortResponse = mockResponse("short", System.currentTimeMillis() - 11 * 1000);
+        when(shortResponse.getExpirationTimeSeconds()).thenReturn(10);
+        BidResponseCache.getInstance().putBidResponse(shortResponse);
+
+        assertNull(BidResponseCache.getInstance().popBidResponse("short"));
+        assertEquals(mockResponse, BidResponseCache.getInstance().popBidResponse("id"));
+    }
+
+    @Test
+    public void getKeywords_ReturnTargetingSnapshot() {
+        HashMap<String, String> targeting = new HashMap<>();
+        targeting.put("hb_pb", "0.10");
+        BidResponse mockResponse = mockResponse("id", System.currentTimeMillis());
+        when(mockResponse.getTargeting()).thenReturn(targeting);
+        BidResponseCache.getInstance().putBidResponse(mockResponse);
+
+        assertEquals(targeting, BidResponseCache.getInstance().getKeywords("id"));
+        assertEquals(targeting, BidResponseCache.getInstance().getKeywords("id"));
+        verify(mockResponse, times(1)).getTargeting();
+        assertEquals(2, BidResponseCache.getInstance().getHitCount());
+    }
+
+    @Test
+    public void whenKeywordsModified_CachedTargetingUntouched() {
+        HashMap<String, String> targeting = new HashMap<>();
+        targeting.put("hb_pb", "0.10");
+        BidResponse mockResponse = mockResponse("id", System.currentTimeMillis());
+        when(mockResponse.getTargeting()).thenReturn(targeting);
         BidResponseCache.getInstance().putBidResponse(mockResponse);
-        assertEquals(1, cachedTransactions.size());
+
+        BidResponseCache.getInstance().getKeywords("id").put("hb_pb", "1.00");
+
+        assertEquals("0.10", BidResponseCache.getInstance().getKeywords("id").get("hb_pb"));
     }
 
     @Test
@@ -100,4 +164,14 @@ public class BidResponseCacheTest {
         assertTrue(BidResponseCache.getCachedBidResponses().isEmpty());
         assertEquals(mockResponse, result);
     }
-}
\ No newline at end of file
+
+    private static BidResponse mockResponse(
+            String id,
+            long creationTime
+    ) {
+        BidResponse mockResponse = mock(BidResponse.class);
+        when(mockResponse.getId()).thenReturn(id);
+        when(mockResponse.getCreationTime()).thenReturn(creationTime);
+        return mockResponse;
+    }
+}
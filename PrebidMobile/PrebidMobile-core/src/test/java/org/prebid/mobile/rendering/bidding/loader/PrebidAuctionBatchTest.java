@@ -0,0 +1,239 @@
+/*
+ *    Copyright 2018-2021 Prebid.org, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.prebid.mobile.rendering.bidding.loader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.app.Activity;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.prebid.mobile.AdSize;
+import org.prebid.mobile.Host;
+import org.prebid.mobile.PrebidMobile;
+import org.prebid.mobile.api.data.AdFormat;
+import org.prebid.mobile.api.exceptions.AdException;
+import org.prebid.mobile.configuration.AdUnitConfiguration;
+import org.prebid.mobile.reflection.Reflection;
+import org.prebid.mobile.reflection.sdk.ManagersResolverReflection;
+import org.prebid.mobile.rendering.bidding.data.bid.BidResponse;
+import org.prebid.mobile.rendering.bidding.display.BidResponseCache;
+import org.prebid.mobile.rendering.bidding.listeners.BidRequesterListener;
+import org.prebid.mobile.rendering.sdk.InitializationNotifier;
+import org.prebid.mobile.rendering.sdk.ManagersResolver;
+import org.prebid.mobile.rendering.sdk.PrebidContextHolder;
+import org.prebid.mobile.rendering.utils.helpers.AppInfoManager;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 19)
+public class PrebidAuctionBatchTest {
+
+    private static final String RESPONSE = "{\"id\":\"request\",\"cur\":\"USD\",\"seatbid\":["
+            + "{\"seat\":\"bidderA\",\"bid\":[{\"id\":\"1\",\"impid\":\"imp1\"},{\"id\":\"2\",\"impid\":\"imp2\"}]},"
+            + "{\"seat\":\"bidderB\",\"bid\":[{\"id\":\"3\",\"impid\":\"imp1\"},{\"id\":\"4\",\"impid\":\"unknown\"}]}"
+            + "]}";
+
+    @After
+    public void tearDown() throws Exception {
+        PrebidMobile.setPrebidServerAccountId("");
+        PrebidMobile.setPrebidServerHost(Host.createCustomHost(""));
+        Reflection.setStaticVariableTo(InitializationNotifier.class, "tasksCompletedSuccessfully", false);
+        PrebidContextHolder.clearContext();
+        ManagersResolverReflection.resetManagers(ManagersResolver.getInstance());
+    }
+
+    @Test
+    public void whenBatchLoaded_EachListenerReceivesOwnBidWithUniqueResponseId() throws Exception {
+        MockWebServer server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @NonNull
+            @Override
+            public MockResponse dispatch(@NonNull RecordedRequest request) {
+                try {
+                    return new MockResponse().setResponseCode(200).setBody(createBatchResponse(request.getBody().readUtf8()));
+                } catch (JSONException exception) {
+                    return new MockResponse().setResponseCode(500);
+                }
+            }
+        });
+        server.start();
+
+        Activity activity = Robolectric.buildActivity(Activity.class).create().get();
+        shadowOf(activity).grantPermissions("android.permission.INTERNET", "android.permission.ACCESS_NETWORK_STATE");
+        PrebidContextHolder.setContext(activity);
+        Reflection.setStaticVariableTo(InitializationNotifier.class, "tasksCompletedSuccessfully", true);
+        ManagersResolverReflection.resetManagers(ManagersResolver.getInstance());
+        ManagersResolver.getInstance().prepare(activity);
+        AppInfoManager.setUserAgent("user-agent");
+        PrebidMobile.setPrebidServerAccountId("accountId");
+        PrebidMobile.setPrebidServerHost(Host.createCustomHost(server.url("/openrtb2/auction").toString()));
+
+        PrebidAuctionBatch batch = new PrebidAuctionBatch();
+        ResultListener first = new ResultListener();
+        ResultListener second = new ResultListener();
+        ResultListener third = new ResultListener();
+        batch.add(createConfiguration("first"), first);
+        batch.add(createConfiguration("second"), second);
+        batch.add(createConfiguration("third"), third);
+        batch.load();
+        for (int i = 0; i < 100 && !(first.isDone() && second.isDone() && third.isDone()); i++) {
+            Thread.sleep(100);
+            shadowOf(Looper.getMainLooper()).idle();
+        }
+        server.shutdown();
+
+        assertEquals(1, server.getRequestCount());
+        assertReceivedOwnBid(first, "first");
+        assertReceivedOwnBid(second, "second");
+        assertReceivedOwnBid(third, "third");
+        assertNotEquals(first.response.getId(), second.response.getId());
+        assertNotEquals(first.response.getId(), third.response.getId());
+        assertNotEquals(second.response.getId(), third.response.getId());
+    }
+
+    @Test
+    public void whenSplitByImpId_EachImpReceivesOnlyOwnBids() throws Exception {
+        Map<String, String> responses = PrebidAuctionBatch.splitByImpId(RESPONSE, Arrays.asList("imp1", "imp2", "imp3"));
+
+        JSONObject first = new JSONObject(responses.get("imp1"));
+        assertEquals("request_imp1", first.getString("id"));
+        assertEquals("USD", first.getString("cur"));
+        JSONArray firstSeatbids = first.getJSONArray("seatbid");
+        assertEquals(2, firstSeatbids.length());
+        assertEquals("bidderA", firstSeatbids.getJSONObject(0).getString("seat"));
+        assertEquals("1", firstSeatbids.getJSONObject(0).getJSONArray("bid").getJSONObject(0).getString("id"));
+        assertEquals(1, firstSeatbids.getJSONObject(1).getJSONArray("bid").length());
+        assertEquals("3", firstSeatbids.getJSONObject(1).getJSONArray("bid").getJSONObject(0).getString("id"));
+
+        JSONArray secondSeatbids = new JSONObject(responses.get("imp2")).getJSONArray("seatbid");
+        assertEquals(1, secondSeatbids.length());
+        assertEquals("2", secondSeatbids.getJSONObject(0).getJSONArray("bid").getJSONObject(0).getString("id"));
+
+        assertEquals(0, new JSONObject(responses.get("imp3")).getJSONArray("seatbid").length());
+    }
+
+    @Test
+    public void whenBatchedResponsesAreCached_EachUnitRetrievesOwnResponse() throws Exception {
+        Map<String, String> responses = PrebidAuctionBatch.splitByImpId(RESPONSE, Arrays.asList("imp1", "imp2"));
+        BidResponse first = new BidResponse(responses.get("imp1"), new AdUnitConfiguration());
+        BidResponse second = new BidResponse(responses.get("imp2"), new AdUnitConfiguration());
+
+        BidResponseCache.getInstance().putBidResponse(first);
+        BidResponseCache.getInstance().putBidResponse(second);
+
+        assertNotEquals(first.getId(), second.getId());
+        assertSame(first, BidResponseCache.getInstance().popBidResponse(first.getId()));
+        assertSame(second, BidResponseCache.getInstance().popBidResponse(second.getId()));
+    }
+
+    @Test(expected = JSONException.class)
+    public void whenResponseIsInvalid_ThrowException() throws Exception {
+        PrebidAuctionBatch.splitByImpId("not json", Arrays.asList("imp1"));
+    }
+
+    private static AdUnitConfiguration createConfiguration(String configId) {
+        AdUnitConfiguration configuration = new AdUnitConfiguration();
+        configuration.setConfigId(configId);
+        configuration.setAdFormat(AdFormat.BANNER);
+        configuration.addSize(new AdSize(320, 50));
+        return configuration;
+    }
+
+    /**
+     * Responds to every imp of the request with a bid that has the imp's config id as adm.
+     */
+    private static String createBatchResponse(String requestBody) throws JSONException {
+        JSONArray imps = new JSONObject(requestBody).getJSONArray("imp");
+        JSONArray bids = new JSONArray();
+        for (int i = 0; i < imps.length(); i++) {
+            JSONObject imp = imps.getJSONObject(i);
+            String configId = imp.getJSONObject("ext").getJSONObject("prebid").getJSONObject("storedrequest").getString("id");
+            JSONObject targeting = new JSONObject()
+                    .put("hb_pb", "0.1" + i)
+                    .put("hb_bidder", "bidder");
+            bids.put(new JSONObject()
+                    .put("id", "bid" + i)
+                    .put("impid", imp.getString("id"))
+                    .put("price", 0.1 + i)
+                    .put("adm", configId)
+                    .put("w", 320)
+                    .put("h", 50)
+                    .put("ext", new JSONObject().put("prebid", new JSONObject().put("targeting", targeting))));
+        }
+        JSONObject seatbid = new JSONObject().put("seat", "bidder").put("bid", bids);
+        return new JSONObject()
+                .put("id", "response")
+                .put("cur", "USD")
+                .put("seatbid", new JSONArray().put(seatbid))
+                .toString();
+    }
+
+    private static void assertReceivedOwnBid(
+            ResultListener listener,
+            String configId
+    ) {
+        assertNull(listener.exception);
+        assertNotNull(listener.response);
+        assertNotNull(listener.response.getWinningBid());
+        assertEquals(configId, listener.response.getWinningBid().getAdm());
+        assertEquals(1, listener.response.getSeatbids().get(0).getBids().size());
+        assertEquals("response_" + listener.response.getWinningBid().getImpId(), listener.response.getId());
+    }
+
+    private static class ResultListener implements BidRequesterListener {
+
+        private BidResponse response;
+        private AdException exception;
+
+        @Override
+        public void onFetchCompleted(BidResponse response) {
+            this.response = response;
+        }
+
+        @Override
+        public void onError(AdException exception) {
+            this.exception = exception;
+        }
+
+        private boolean isDone() {
+            return response != null || exception != null;
+        }
+    }
+}
@@ -26,12 +26,16 @@ import org.prebid.mobile.api.exceptions.AdException;
 import org.prebid.mobile.rendering.models.internal.VastExtractorResult;
 import org.prebid.mobile.rendering.networking.modelcontrollers.AsyncVastLoader;
 import org.prebid.mobile.rendering.parser.AdResponseParserVast;
+import org.prebid.mobile.rendering.video.vast.VAST;
 import org.prebid.mobile.test.utils.ResourceUtils;
 import org.prebid.mobile.test.utils.WhiteBox;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.annotation.Config;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -47,6 +51,8 @@ public class VastParserExtractorTest {
     @Mock private AsyncVastLoader mockAsyncVastLoader;
     @Mock private AdResponseParserVast mockResponseParserVast;
 
+    private final VastWrapperCache vastWrapperCache = new VastWrapperCache(VastWrapperCache.TTL_MILLIS, VastWrapperCache.MAX_ENTRIES);
+
     private String defaultResponseString;
 
     @Before
@@ -57,6 +63,8 @@ public class VastParserExtractorTest {
 
         vastParserExtractor = new VastParserExtractor(mockListener);
         WhiteBox.field(VastParserExtractor.class, "asyncVastLoader").set(vastParserExtractor, mockAsyncVastLoader);
+        WhiteBox.field(VastParserExtractor.class, "vastWrapperCache").set(vastParserExtractor, vastWrapperCache);
+        WhiteBox.field(VastParserExtractor.class, "parseExecutor").set(vastParserExtractor, (Executor) Runnable::run);
         defaultResponseString = ResourceUtils.convertResourceToString("vast.xml");
     }
 
@@ -66,7 +74,35 @@ public class VastParserExtractorTest {
         String responseString = ResourceUtils.convertResourceToString("vast_wrapper_linear_nonlinear.xml");
         vastParserExtractor.extract(responseString);
         assertNotNull(WhiteBox.field(VastParserExtractor.class, "rootVastParser").get(vastParserExtractor));
-        verify(mockAsyncVastLoader).loadVast(anyString(), any());
+        verify(mockAsyncVastLoader).loadVast(anyString(), anyInt(), any());
+    }
+
+    @Test
+    public void whenWrappedVastCached_DoNotMakeRequestAndReuseParsedVast() throws Exception {
+        String responseString = ResourceUtils.convertResourceToString("vast_wrapper_linear_nonlinear.xml");
+        VAST cachedVast = new AdResponseParserVast(defaultResponseString).getVast();
+        vastWrapperCache.put("http://SecondaryAdServer.vast.tag", cachedVast);
+
+        vastParserExtractor.extract(responseString);
+
+        verify(mockAsyncVastLoader, never()).loadVast(anyString(), anyInt(), any());
+        ArgumentCaptor<VastExtractorResult> argument = ArgumentCaptor.forClass(VastExtractorResult.class);
+        verify(mockListener).onResult(argument.capture());
+        assertFalse(argument.getValue().hasException());
+        AdResponseParserVast latestParser = (AdResponseParserVast) argument.getValue().getVastResponseParserArray()[1];
+        assertSame(cachedVast, latestParser.getVast());
+    }
+
+    @Test
+    public void whenCancelledBeforeVastParsed_DoNotNotifyListener() throws IllegalAccessException {
+        List<Runnable> parseTasks = new ArrayList<>();
+        WhiteBox.field(VastParserExtractor.class, "parseExecutor").set(vastParserExtractor, (Executor) parseTasks::add);
+
+        vastParserExtractor.extract(defaultResponseString);
+        vastParserExtractor.cancel();
+        parseTasks.get(0).run();
+
+        verify(mockListener, never()).onResult(any());
     }
 
     @Test
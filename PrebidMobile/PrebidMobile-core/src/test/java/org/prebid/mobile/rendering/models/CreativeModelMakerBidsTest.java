@@ -19,8 +19,10 @@ package org.prebid.mobile.rendering.models;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -94,7 +96,7 @@ public class CreativeModelMakerBidsTest {
     }
 
     @Test
-    public void whenScriptsAreNotDownloadedYet_CallErrorListener() throws IOException {
+    public void whenScriptsAreNotLoadedInTime_CallErrorListener() throws IOException {
         AdUnitConfiguration configuration = new AdUnitConfiguration();
         configuration.setAdFormat(AdFormat.BANNER);
 
@@ -104,10 +106,44 @@ public class CreativeModelMakerBidsTest {
         when(mockJsManager.checkIfScriptsDownloadedAndStartDownloadingIfNot()).thenReturn(false);
 
         modelMakerBids.makeModels(configuration, bidResponse);
+        verify(mockLoadListener, never()).onFailedToLoadAd(any(AdException.class), any());
 
+        captureScriptsReadyListener().onScriptsReady(false);
         verify(mockLoadListener).onFailedToLoadAd(any(AdException.class), any());
     }
 
+    @Test
+    public void whenScriptsAreLoadedAfterMakeModels_CreateModel() throws IOException {
+        AdUnitConfiguration configuration = new AdUnitConfiguration();
+        configuration.setAdFormat(AdFormat.BANNER);
+
+        String responseString = ResourceUtils.convertResourceToString("bidding_response_obj.json");
+        BidResponse bidResponse = new BidResponse(responseString, new AdUnitConfiguration());
+
+        when(mockJsManager.checkIfScriptsDownloadedAndStartDownloadingIfNot()).thenReturn(false);
+
+        modelMakerBids.makeModels(configuration, bidResponse);
+        verify(mockLoadListener, never()).onCreativeModelReady(any());
+
+        captureScriptsReadyListener().onScriptsReady(true);
+        verify(mockLoadListener).onCreativeModelReady(any(CreativeModelsMaker.Result.class));
+        verify(mockLoadListener, never()).onFailedToLoadAd(any(AdException.class), any());
+    }
+
+    @Test
+    public void whenCancelWhileWaitingForScripts_RemoveListener() throws IOException {
+        String responseString = ResourceUtils.convertResourceToString("bidding_response_obj.json");
+        BidResponse bidResponse = new BidResponse(responseString, new AdUnitConfiguration());
+
+        when(mockJsManager.checkIfScriptsDownloadedAndStartDownloadingIfNot()).thenReturn(false);
+
+        modelMakerBids.makeModels(new AdUnitConfiguration(), bidResponse);
+        JSLibraryManager.ScriptsReadyListener listener = captureScriptsReadyListener();
+        modelMakerBids.cancel();
+
+        verify(mockJsManager).removeScriptsReadyListener(listener);
+    }
+
     @Test
     public void whenMakeModelsAndBidRequestContainsAcjAd_CreateAcjModel() throws IOException {
         AdUnitConfiguration configuration = new AdUnitConfiguration();
@@ -131,6 +167,12 @@ public class CreativeModelMakerBidsTest {
         assertFalse(creativeModel.isRequireImpressionUrl());
     }
 
+    private JSLibraryManager.ScriptsReadyListener captureScriptsReadyListener() {
+        ArgumentCaptor<JSLibraryManager.ScriptsReadyListener> captor = ArgumentCaptor.forClass(JSLibraryManager.ScriptsReadyListener.class);
+        verify(mockJsManager).awaitScripts(anyLong(), captor.capture());
+        return captor.getValue();
+    }
+
     @Test
     public void makeVideoModels_ExecuteVastParserExtractor() {
         final AdUnitConfiguration mockConfig = mock(AdUnitConfiguration.class);
@@ -47,6 +47,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.junit.Assert.assertEquals;
@@ -249,6 +250,9 @@ public class CreativeModelsMakerVastTest {
         Field requesterVastField = VastParserExtractor.class.getDeclaredField("asyncVastLoader");
         requesterVastField.setAccessible(true);
         requesterVastField.set(parserExtractor, asyncVastLoader);
+        Field parseExecutorField = VastParserExtractor.class.getDeclaredField("parseExecutor");
+        parseExecutorField.setAccessible(true);
+        parseExecutorField.set(parserExtractor, (Executor) Runnable::run);
 
         parserExtractor.extract(adResponse.responseString);
 
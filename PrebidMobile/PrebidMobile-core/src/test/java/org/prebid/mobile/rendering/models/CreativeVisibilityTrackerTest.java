@@ -18,7 +18,6 @@ package org.prebid.mobile.rendering.models;
 
 import android.app.Activity;
 import android.graphics.Rect;
-import android.os.Handler;
 import android.view.View;
 import android.view.ViewParent;
 import android.view.ViewTreeObserver;
@@ -58,7 +57,7 @@ public class CreativeVisibilityTrackerTest {
 
     private Activity activity;
     private CreativeVisibilityTracker creativeVisibilityTracker;
-    private Handler visibilityHandler;
+    private VisibilityEngine visibilityEngine;
 
     private VisibilityChecker spyVisibilityChecker;
     @Mock private View mockView;
@@ -72,11 +71,10 @@ public class CreativeVisibilityTrackerTest {
         MockitoAnnotations.initMocks(this);
         activity = Robolectric.buildActivity(Activity.class).create().get();
 
-        creativeVisibilityTracker = new CreativeVisibilityTracker(mockView, visibilityTrackerOption);
+        visibilityEngine = new VisibilityEngine();
+        creativeVisibilityTracker = createTracker();
         creativeVisibilityTracker.setVisibilityTrackerListener(mockVisibilityTrackerListener);
 
-        visibilityHandler = (Handler) getFieldValue("visibilityHandler");
-
         spyVisibilityChecker = spy(new VisibilityChecker(visibilityTrackerOption));
         List<VisibilityChecker> visibilityCheckerList = new ArrayList<>();
         visibilityCheckerList.add(spyVisibilityChecker);
@@ -96,12 +94,10 @@ public class CreativeVisibilityTrackerTest {
         when(mockDecorView.getViewTreeObserver()).thenReturn(mockViewTreeObserver);
         when(mockViewTreeObserver.isAlive()).thenReturn(true);
 
-        creativeVisibilityTracker = new CreativeVisibilityTracker(mockView, visibilityTrackerOption);
+        creativeVisibilityTracker = createTracker();
         creativeVisibilityTracker.startVisibilityCheck(spyActivity);
-        ViewTreeObserver.OnPreDrawListener expectedListener = (ViewTreeObserver.OnPreDrawListener) getFieldValue(
-                "onPreDrawListener");
-        assertNotNull(expectedListener);
-        verify(mockViewTreeObserver).addOnPreDrawListener(eq(expectedListener));
+        verify(mockViewTreeObserver).addOnPreDrawListener(any(ViewTreeObserver.OnPreDrawListener.class));
+        assertEquals(1, visibilityEngine.getWindowCount());
         assertEquals(
                 mockViewTreeObserver,
                 ((WeakReference<ViewTreeObserver>) getFieldValue("weakViewTreeObserver")).get()
@@ -118,7 +114,7 @@ public class CreativeVisibilityTrackerTest {
         when(mockDecorView.getViewTreeObserver()).thenReturn(mockViewTreeObserver);
         when(mockViewTreeObserver.isAlive()).thenReturn(false);
 
-        creativeVisibilityTracker = new CreativeVisibilityTracker(mockView, visibilityTrackerOption);
+        creativeVisibilityTracker = createTracker();
         creativeVisibilityTracker.startVisibilityCheck(mockActivity);
         verify(mockViewTreeObserver, never()).addOnPreDrawListener(any(ViewTreeObserver.OnPreDrawListener.class));
         assertNull(((WeakReference<ViewTreeObserver>) getFieldValue("weakViewTreeObserver")).get());
@@ -127,7 +123,7 @@ public class CreativeVisibilityTrackerTest {
     @Test
     public void startVisibilityCheckWithApplicationContext_shouldNotSetOnPreDrawListener()
     throws IllegalAccessException {
-        creativeVisibilityTracker = new CreativeVisibilityTracker(mockView, visibilityTrackerOption);
+        creativeVisibilityTracker = createTracker();
         creativeVisibilityTracker.startVisibilityCheck(activity.getApplicationContext());
 
         assertNull(((WeakReference<ViewTreeObserver>) getFieldValue("weakViewTreeObserver")).get());
@@ -143,7 +139,7 @@ public class CreativeVisibilityTrackerTest {
         when(mockRootView.getViewTreeObserver()).thenReturn(mockViewTreeObserver);
         when(mockViewTreeObserver.isAlive()).thenReturn(true);
 
-        creativeVisibilityTracker = new CreativeVisibilityTracker(mockView, visibilityTrackerOption);
+        creativeVisibilityTracker = createTracker();
         creativeVisibilityTracker.startVisibilityCheck(activity.getApplicationContext());
         assertEquals(
                 mockViewTreeObserver,
@@ -161,17 +157,86 @@ public class CreativeVisibilityTrackerTest {
         when(mockDecorView.getViewTreeObserver()).thenReturn(mockViewTreeObserver);
         when(mockViewTreeObserver.isAlive()).thenReturn(true);
 
-        creativeVisibilityTracker = new CreativeVisibilityTracker(mockView, visibilityTrackerOption);
+        creativeVisibilityTracker = createTracker();
         creativeVisibilityTracker.startVisibilityCheck(spyActivity);
         creativeVisibilityTracker.stopVisibilityCheck();
 
-        assertFalse(visibilityHandler.hasMessages(0));
+        assertFalse(visibilityEngine.isScheduled(creativeVisibilityTracker));
         assertFalse((Boolean) getFieldValue("isVisibilityScheduled"));
         verify(mockViewTreeObserver).removeOnPreDrawListener(any(ViewTreeObserver.OnPreDrawListener.class));
+        assertEquals(0, visibilityEngine.getWindowCount());
         assertNull(((WeakReference<ViewTreeObserver>) getFieldValue("weakViewTreeObserver")).get());
         assertNull(getFieldValue("visibilityTrackerListener"));
     }
 
+    @Test
+    public void startVisibilityCheckForSeveralTrackersInSameWindow_shouldSetSingleOnPreDrawListener() {
+        Activity spyActivity = spy(activity);
+
+        when(spyActivity.getWindow()).thenReturn(mockWindow);
+        when(mockWindow.getDecorView()).thenReturn(mockDecorView);
+        when(mockDecorView.findViewById(anyInt())).thenReturn(mockDecorView);
+        when(mockDecorView.getViewTreeObserver()).thenReturn(mockViewTreeObserver);
+        when(mockViewTreeObserver.isAlive()).thenReturn(true);
+
+        CreativeVisibilityTracker firstTracker = createTracker();
+        CreativeVisibilityTracker secondTracker = createTracker();
+        firstTracker.startVisibilityCheck(spyActivity);
+        secondTracker.startVisibilityCheck(spyActivity);
+
+        verify(mockViewTreeObserver, times(1)).addOnPreDrawListener(any(ViewTreeObserver.OnPreDrawListener.class));
+
+        firstTracker.stopVisibilityCheck();
+        verify(mockViewTreeObserver, never()).removeOnPreDrawListener(any(ViewTreeObserver.OnPreDrawListener.class));
+
+        secondTracker.stopVisibilityCheck();
+        verify(mockViewTreeObserver).removeOnPreDrawListener(any(ViewTreeObserver.OnPreDrawListener.class));
+    }
+
+    @Test
+    public void scheduleVisibilityCheckForSeveralTrackers_RunAllInOneTick() {
+        CreativeVisibilityTracker firstTracker = createTracker();
+        CreativeVisibilityTracker secondTracker = createTracker();
+        Runnable firstRunnable = mock(Runnable.class);
+        Runnable secondRunnable = mock(Runnable.class);
+        firstTracker.visibilityRunnable = firstRunnable;
+        secondTracker.visibilityRunnable = secondRunnable;
+
+        firstTracker.scheduleVisibilityCheck();
+        secondTracker.scheduleVisibilityCheck();
+        assertTrue(visibilityEngine.isScheduled(firstTracker));
+        assertTrue(visibilityEngine.isScheduled(secondTracker));
+
+        visibilityEngine.tick();
+
+        verify(firstRunnable).run();
+        verify(secondRunnable).run();
+        assertFalse(visibilityEngine.isScheduled(firstTracker));
+        assertFalse(visibilityEngine.isScheduled(secondTracker));
+    }
+
+    @Test
+    public void visibilityRunnable_runWithMultipleTrackingOptions_CheckExposureOnce() {
+        Set<VisibilityTrackerOption> visibilityTrackerOptionSet = new HashSet<>();
+        visibilityTrackerOptionSet.add(new VisibilityTrackerOption(NativeEventTracker.EventType.VIEWABLE_MRC50));
+        visibilityTrackerOptionSet.add(new VisibilityTrackerOption(NativeEventTracker.EventType.VIEWABLE_MRC100));
+        CreativeVisibilityTracker tracker = new CreativeVisibilityTracker(mockView, visibilityTrackerOptionSet);
+        WhiteBox.setInternalState(tracker, "visibilityEngine", visibilityEngine);
+        mockVisibilityChecker(tracker, null, visibilityTrackerOptionSet);
+
+        tracker.visibilityRunnable.run();
+
+        List<VisibilityChecker> visibilityCheckers = (List<VisibilityChecker>) WhiteBox.getInternalState(tracker, "visibilityCheckerList");
+        int exposureChecks = 0;
+        for (VisibilityChecker visibilityChecker : visibilityCheckers) {
+            exposureChecks += mockingDetails(visibilityChecker).getInvocations()
+                                                                 .stream()
+                                                                 .filter(invocation -> invocation.getMethod().getName().equals("checkViewExposure"))
+                                                                 .count();
+        }
+        assertEquals(1, exposureChecks);
+    }
+
     // VisibilityRunnable Tests
     @Test
     public void visibilityRunnable_runWithViewVisibleForAtLeastMinDuration_CallOnVisibilityChanged_ImpTrackerFiredTrue_IsVisibilityScheduledFalse()
@@ -286,6 +351,7 @@ public class CreativeVisibilityTrackerTest {
                 mockView,
                 visibilityTrackerOptionSet
         );
+        WhiteBox.setInternalState(creativeVisibilityTracker, "visibilityEngine", visibilityEngine);
         creativeVisibilityTracker.setVisibilityTrackerListener(mockVisibilityTrackerListener);
         mockVisibilityChecker(creativeVisibilityTracker, viewExposure, visibilityTrackerOptionSet);
 
@@ -328,6 +394,12 @@ public class CreativeVisibilityTrackerTest {
         verify(mockVisibilityTrackerListener, times(0)).onVisibilityChanged(eq(videoResult));
     }
 
+    private CreativeVisibilityTracker createTracker() {
+        CreativeVisibilityTracker tracker = new CreativeVisibilityTracker(mockView, visibilityTrackerOption);
+        WhiteBox.setInternalState(tracker, "visibilityEngine", visibilityEngine);
+        return tracker;
+    }
+
     private Object getFieldValue(String fieldName) {
         return WhiteBox.getInternalState(creativeVisibilityTracker, fieldName);
     }
@@ -17,6 +17,7 @@
 package org.prebid.mobile.rendering.models;
 
 import android.app.Activity;
+import android.content.ComponentCallbacks2;
 import android.content.Context;
 import android.view.View;
 import android.widget.FrameLayout;
@@ -35,6 +36,7 @@ import org.prebid.mobile.rendering.views.webview.PrebidWebViewInterstitial;
 import org.prebid.mobile.test.utils.WhiteBox;
 import org.robolectric.Robolectric;
 import org.robolectric.RobolectricTestRunner;
+import org.robolectric.android.controller.ActivityController;
 import org.robolectric.annotation.Config;
 
 import static org.hamcrest.Matchers.instanceOf;
@@ -47,6 +49,7 @@ public class ViewPoolTest {
 
     private ViewPool viewPool;
     private Context context;
+    private InterstitialManager mockInterstitialManager;
     private View occupiedView;
     private View unoccupiedView;
     private FrameLayout container;
@@ -56,8 +59,9 @@ public class ViewPoolTest {
         context = Robolectric.buildActivity(Activity.class).create().get();
         viewPool = ViewPool.getInstance();
         viewPool.clear();
-        occupiedView = new View(context);
-        unoccupiedView = new View(context);
+        mockInterstitialManager = mock(InterstitialManager.class);
+        occupiedView = new PrebidWebViewBanner(context, mockInterstitialManager);
+        unoccupiedView = new PrebidWebViewBanner(context, mockInterstitialManager);
         container = new FrameLayout(context);
         container.addView(occupiedView);
 
@@ -88,10 +92,21 @@ public class ViewPoolTest {
 
     @Test
     public void addToUnoccupiedTest() {
-        viewPool.addToUnoccupied(new View(context));
+        viewPool.addToUnoccupied(new PrebidWebViewBanner(context, mockInterstitialManager));
         assertEquals(2, viewPool.sizeOfUnoccupied());
     }
 
+    @Test
+    public void addToUnoccupied_KeepOnlyRecyclableViewsUpToLimit() {
+        viewPool.addToUnoccupied(new View(context));
+        assertEquals(1, viewPool.sizeOfUnoccupied());
+
+        for (int i = 0; i < ViewPool.MAX_UNOCCUPIED_PER_FORMAT; i++) {
+            viewPool.addToUnoccupied(new PrebidWebViewBanner(context, mockInterstitialManager));
+        }
+        assertEquals(ViewPool.MAX_UNOCCUPIED_PER_FORMAT, viewPool.sizeOfUnoccupied());
+    }
+
     @Test
     public void swapToUnoccupiedTest() {
         viewPool.swapToUnoccupied(occupiedView);
@@ -111,7 +126,6 @@ public class ViewPoolTest {
     public void getUnoccupiedViewTest() throws AdException {
         VideoCreativeViewListener mockVideoCreativeViewListener = mock(VideoCreativeViewListener.class);
         AdFormat adType = AdFormat.BANNER;
-        InterstitialManager mockInterstitialManager = mock(InterstitialManager.class);
 
         View result = viewPool.getUnoccupiedView(
                 context,
@@ -140,4 +154,54 @@ public class ViewPoolTest {
         assertEquals(5, viewPool.sizeOfOccupied());
         assertEquals(0, viewPool.sizeOfUnoccupied());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getUnoccupiedView_ReturnOnlyViewOfRequestedFormatAndAdUnit() throws AdException {
+        View result = viewPool.getUnoccupiedView(context, null, AdFormat.INTERSTITIAL, mockInterstitialManager);
+        assertThat(result, instanceOf(PrebidWebViewInterstitial.class));
+
+        result = viewPool.getUnoccupiedView(context, null, AdFormat.BANNER, mock(InterstitialManager.class));
+        assertNotSame(unoccupiedView, result);
+        assertEquals(1, viewPool.sizeOfUnoccupied());
+        assertEquals(0, viewPool.getHitCount());
+        assertEquals(2, viewPool.getMissCount());
+
+        result = viewPool.getUnoccupiedView(context, null, AdFormat.BANNER, mockInterstitialManager);
+        assertSame(unoccupiedView, result);
+        assertEquals(1, viewPool.getHitCount());
+    }
+
+    @Test
+    public void swapToUnoccupied_ResetAdState() {
+        PrebidWebViewBanner banner = (PrebidWebViewBanner) occupiedView;
+        banner.setCreative(mock(HTMLCreative.class));
+        banner.addView(new View(context));
+
+        viewPool.swapToUnoccupied(banner);
+
+        assertNull(banner.getCreative());
+        assertEquals(0, banner.getChildCount());
+    }
+
+    @Test
+    public void trimMemory_ReleaseUnoccupiedViewsOnlyWhenMemoryIsLow() {
+        viewPool.trimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE);
+        assertEquals(1, viewPool.sizeOfUnoccupied());
+
+        viewPool.trimMemory(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN);
+        assertEquals(0, viewPool.sizeOfUnoccupied());
+        assertEquals(1, viewPool.sizeOfOccupied());
+    }
+
+    @Test
+    public void whenActivityIsDestroyed_ReleaseItsViews() {
+        ActivityController<Activity> controller = Robolectric.buildActivity(Activity.class).create();
+        viewPool.addToUnoccupied(new PrebidWebViewBanner(controller.get(), mockInterstitialManager));
+        assertEquals(2, viewPool.sizeOfUnoccupied());
+
+        controller.destroy();
+
+        assertEquals(1, viewPool.sizeOfUnoccupied());
+        assertEquals(1, viewPool.sizeOfOccupied());
+    }
+}
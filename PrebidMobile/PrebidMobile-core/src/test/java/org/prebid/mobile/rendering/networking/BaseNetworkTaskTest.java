@@ -143,6 +143,39 @@ public class BaseNetworkTaskTest {
         Assert.assertEquals(true, success);
     }
 
+    @Test
+    public void whenDecodingResponseHandler_DecodedResponseDelivered() {
+        server.enqueue(new MockResponse().setResponseCode(200).setBody("decoded body"));
+        DecodingResponseHandler decodingHandler = new DecodingResponseHandler() {
+
+            @Override
+            public Object decodeResponse(BaseNetworkTask.GetUrlResult response) {
+                return response.responseString.toUpperCase();
+            }
+
+            @Override
+            public void onResponse(BaseNetworkTask.GetUrlResult response) {
+                baseResponseHandler.onResponse(response);
+            }
+
+            @Override
+            public void onError(String msg, long responseTime) {
+                baseResponseHandler.onError(msg, responseTime);
+            }
+
+            @Override
+            public void onErrorWithException(Exception e, long responseTime) {
+                baseResponseHandler.onErrorWithException(e, responseTime);
+            }
+        };
+
+        BaseNetworkTask baseNetworkTask = new BaseNetworkTask(decodingHandler);
+        baseNetworkTask.execute(params);
+
+        assertTrue(success);
+        assertEquals("DECODED BODY", response.decodedResponse);
+    }
+
     @Test
     public void test400ExceptionError() throws IOException {
         server.enqueue(new MockResponse().setResponseCode(400).setBody("404 not found"));
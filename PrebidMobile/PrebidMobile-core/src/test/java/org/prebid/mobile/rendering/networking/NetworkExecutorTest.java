@@ -0,0 +1,150 @@
+/*
+ *    Copyright 2018-2021 Prebid.org, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.prebid.mobile.rendering.networking;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.prebid.mobile.tasksmanager.LaneScheduler;
+import org.prebid.mobile.tasksmanager.TaskLane;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class NetworkExecutorTest {
+
+    @Test
+    public void whenManyTasksForOneHost_RunningCountLimitedPerHost() throws Exception {
+        NetworkExecutor networkExecutor = new NetworkExecutor(new LaneScheduler(4, 1000), 2);
+        Executor executor = networkExecutor.forUrl("https://prebid-server.test/openrtb2/auction");
+
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(5);
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger running = new AtomicInteger();
+
+        for (int i = 0; i < 5; i++) {
+            executor.execute(() -> {
+                int current = running.incrementAndGet();
+                maxRunning.accumulateAndGet(current, Math::max);
+                try {
+                    release.await(1, TimeUnit.SECONDS);
+                } catch (InterruptedException ignored) {
+                }
+                running.decrementAndGet();
+                finished.countDown();
+            });
+        }
+
+        assertTrue(networkExecutor.getRunningCount("prebid-server.test") <= 2);
+        release.countDown();
+
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertTrue(maxRunning.get() <= 2);
+    }
+
+    @Test
+    public void whenAllTasksFinished_HostQueueRemoved() throws Exception {
+        NetworkExecutor networkExecutor = new NetworkExecutor(new LaneScheduler(2, 1000), 2);
+        CountDownLatch finished = new CountDownLatch(1);
+
+        networkExecutor.forUrl("https://tracker.test/event").execute(finished::countDown);
+
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        assertEquals(0, networkExecutor.getRunningCount("tracker.test"));
+    }
+
+    @Test
+    public void whenUrlIsInvalid_TaskStillExecuted() throws Exception {
+        NetworkExecutor networkExecutor = new NetworkExecutor(new LaneScheduler(2, 1000), 2);
+        CountDownLatch finished = new CountDownLatch(1);
+
+        networkExecutor.forUrl("not a url").execute(finished::countDown);
+
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void whenHostLimitReached_AuctionRequestStartedBeforeQueuedTrackers() throws Exception {
+        NetworkExecutor networkExecutor = new NetworkExecutor(new LaneScheduler(2, 1000), 1);
+        String url = "https://prebid-server.test/";
+
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(3);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+        networkExecutor.forUrl(url, TaskLane.TRACKING).execute(() -> {
+            try {
+                release.await(1, TimeUnit.SECONDS);
+            } catch (InterruptedException ignored) {
+            }
+            finished.countDown();
+        });
+        networkExecutor.forUrl(url, TaskLane.TRACKING).execute(() -> {
+            order.add("tracking");
+            finished.countDown();
+        });
+        networkExecutor.forUrl(url).execute(() -> {
+            order.add("auction");
+            finished.countDown();
+        });
+        release.countDown();
+
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("auction", "tracking"), order);
+    }
+
+    @Test
+    public void whenLaneIsFull_CallRejectionCallbackOrCancelFuture() throws Exception {
+        LaneScheduler scheduler = new LaneScheduler(1, 1000);
+        NetworkExecutor networkExecutor = new NetworkExecutor(scheduler, 2);
+        String url = "https://tracker.test/event";
+
+        CountDownLatch release = new CountDownLatch(1);
+        scheduler.execute(TaskLane.TRACKING, () -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ignored) {
+            }
+        });
+        for (int i = 0; i < TaskLane.TRACKING.getQueueCapacity(); i++) {
+            scheduler.execute(TaskLane.TRACKING, () -> {});
+        }
+
+        AtomicInteger rejectedCount = new AtomicInteger();
+        AtomicInteger runCount = new AtomicInteger();
+        networkExecutor.forUrl(url, TaskLane.TRACKING, rejectedCount::incrementAndGet).execute(runCount::incrementAndGet);
+        FutureTask<Void> future = new FutureTask<>(runCount::incrementAndGet, null);
+        networkExecutor.forUrl(url, TaskLane.TRACKING).execute(future);
+        release.countDown();
+
+        assertEquals(1, rejectedCount.get());
+        assertTrue(future.isCancelled());
+        assertEquals(0, networkExecutor.getRunningCount("tracker.test"));
+        Thread.sleep(50);
+        assertEquals(0, runCount.get());
+    }
+}
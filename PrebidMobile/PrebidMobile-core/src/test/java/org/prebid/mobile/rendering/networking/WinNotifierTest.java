@@ -16,51 +16,48 @@
 
 package org.prebid.mobile.rendering.networking;
 
-import android.text.TextUtils;
-import okhttp3.HttpUrl;
-import okhttp3.mockwebserver.MockResponse;
-import okhttp3.mockwebserver.MockWebServer;
-import okhttp3.mockwebserver.QueueDispatcher;
-import okhttp3.mockwebserver.RecordedRequest;
-import org.jetbrains.annotations.NotNull;
+import android.os.Looper;
 import org.json.JSONObject;
-import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.junit.runners.JUnit4;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.prebid.mobile.PrebidMobile;
 import org.prebid.mobile.rendering.bidding.data.bid.Bid;
 import org.prebid.mobile.rendering.bidding.data.bid.BidResponse;
 import org.prebid.mobile.rendering.bidding.data.bid.Prebid;
 import org.prebid.mobile.test.utils.ResourceUtils;
 import org.prebid.mobile.test.utils.WhiteBox;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
 
-import java.io.IOException;
 import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
+import static org.robolectric.Shadows.shadowOf;
 
-@RunWith(JUnit4.class)
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 19)
 public class WinNotifierTest {
 
     private static final String PATH_BID_SHORT_JSON = "bidding_bid_short.json";
     private static final String KEY_CACHE_ID = "hb_cache_id";
     private static final String KEY_UUID = "hb_uuid";
-    private static final String CACHE_ID = "id";
-    private static final String CACHE_UUID = "uuid";
+    private static final String CACHE_HOST = "cache.test";
+    private static final String CACHE_ID_URL = "http://cache.test/cache?uuid=id";
+    private static final String UUID_URL = "http://cache.test/cache?uuid=uuid";
+    private static final String NURL = "http://cache.test/cache?uuid=nurl";
+    private static final String WIN_URL = "http://cache.test/event?t=win";
 
     private WinNotifier winNotifier;
-    private String cacheHost;
     private Bid bid;
-    private MockWebServer mockWebServer;
     private HashMap<String, String> targeting;
 
-    // Set to TRUE to dispatch an error through MockWebServer
-    private boolean dispatchError;
-
     @Mock
     private WinNotifier.WinNotifierListener mockListener;
     @Mock
@@ -69,22 +66,15 @@ public class WinNotifierTest {
     @Before
     public void setUp() throws Exception {
         MockitoAnnotations.initMocks(this);
-        dispatchError = false;
 
-        winNotifier = new WinNotifier();
+        winNotifier = spy(new WinNotifier());
         winNotifier.enableTestFlag();
+        doNothing().when(winNotifier).fireNotice(anyString());
+        doNothing().when(winNotifier).fetch(anyString(), anyInt(), any(ResponseHandler.class));
 
-        mockWebServer = new MockWebServer();
-        mockWebServer.setDispatcher(getDispatcher());
-        mockWebServer.start();
-
-        String cachePath = "/cache";
-        HttpUrl httpUrl = mockWebServer.url(cachePath);
-
-        cacheHost = httpUrl.host() + ":" + httpUrl.port();
         targeting = new HashMap<>();
-        targeting.put("hb_cache_host", cacheHost);
-        targeting.put("hb_cache_path", cachePath);
+        targeting.put("hb_cache_host", CACHE_HOST);
+        targeting.put("hb_cache_path", "/cache");
 
         bid = Bid.fromJSONObject(new JSONObject(ResourceUtils.convertResourceToString(PATH_BID_SHORT_JSON)));
         bid.setAdm("test");
@@ -94,186 +84,185 @@ public class WinNotifierTest {
         when(bid.getPrebid().getTargeting()).thenReturn(targeting);
     }
 
-    @After
-    public void cleanup() throws IOException {
-        mockWebServer.shutdown();
+    @Test
+    public void whenAllUrlsInTargetingAndAdmPresents_AllNoticesFired_AdmWasNotChanged() {
+        targeting.put(KEY_CACHE_ID, "id");
+        targeting.put(KEY_UUID, "uuid");
+        WhiteBox.setInternalState(bid, "nurl", NURL);
+        when(bid.getPrebid().getWinEventUrl()).thenReturn(WIN_URL);
+
+        winNotifier.notifyWin(mockBidResponse, mockListener);
+
+        verify(winNotifier).fireNotice(WIN_URL);
+        verify(winNotifier).fireNotice(CACHE_ID_URL);
+        verify(winNotifier).fireNotice(UUID_URL);
+        verify(winNotifier).fireNotice(NURL);
+        verify(winNotifier, never()).fetch(anyString(), anyInt(), any(ResponseHandler.class));
+        verify(mockListener).onResult();
+        assertEquals("test", bid.getAdm());
     }
 
     @Test
-    public void whenAllUrlsInTargetingAndNoAdm_AllRequestsSent_AdmWasChanged()
-    throws InterruptedException, IOException {
-        targeting.put(KEY_CACHE_ID, CACHE_ID);
-        targeting.put(KEY_UUID, CACHE_UUID);
-
-        WhiteBox.setInternalState(bid, "nurl", String.format("http://%1$s/cache?uuid=nurl", cacheHost));
+    public void whenAllUrlsInTargetingAndNoAdm_CacheFetchesStartedAtOnce_CacheIdPreferred() {
+        targeting.put(KEY_CACHE_ID, "id");
+        targeting.put(KEY_UUID, "uuid");
+        WhiteBox.setInternalState(bid, "nurl", NURL);
+        when(bid.getPrebid().getWinEventUrl()).thenReturn(WIN_URL);
         bid.setAdm(null);
 
         winNotifier.notifyWin(mockBidResponse, mockListener);
 
-        assertEquals(3, mockWebServer.getRequestCount());
-        verifyRequest(mockWebServer.takeRequest(), "/cache?uuid=id");
-        verifyRequest(mockWebServer.takeRequest(), "/cache?uuid=uuid");
-        verifyRequest(mockWebServer.takeRequest(), "/cache?uuid=nurl");
+        verify(winNotifier).fireNotice(WIN_URL);
+        List<ResponseHandler> handlers = captureFetches(CACHE_ID_URL, UUID_URL);
 
+        handlers.get(1).onResponse(response("<VAST></VAST>"));
+        verify(mockListener, never()).onResult();
+
+        handlers.get(0).onResponse(response("{\"adm\":\"cached\"}"));
         verify(mockListener).onResult();
-        assertNotNull(bid.getAdm());
+        assertEquals("cached", bid.getAdm());
+        verify(winNotifier).fireNotice(NURL);
+        captureFetches(CACHE_ID_URL, UUID_URL);
     }
 
     @Test
-    public void whenAllUrlsInTargetingAndAdmPresents_AllRequestsSent_AdmWasNotChanged()
-    throws InterruptedException {
-        targeting.put(KEY_CACHE_ID, CACHE_ID);
-        targeting.put(KEY_UUID, CACHE_UUID);
+    public void whenCacheIdFails_UseUuidAdm() {
+        targeting.put(KEY_CACHE_ID, "id");
+        targeting.put(KEY_UUID, "uuid");
+        bid.setAdm(null);
+
+        winNotifier.notifyWin(mockBidResponse, mockListener);
+
+        List<ResponseHandler> handlers = captureFetches(CACHE_ID_URL, UUID_URL);
+        handlers.get(1).onResponse(response("<VAST></VAST>"));
+        handlers.get(0).onError("error", 0);
 
-        WhiteBox.setInternalState(bid, "nurl", String.format("http://%1$s/cache?uuid=nurl", cacheHost));
+        verify(mockListener).onResult();
+        assertEquals("<VAST></VAST>", bid.getAdm());
+    }
+
+    @Test
+    public void whenCacheResponsesWithoutAdm_FetchNurl() {
+        targeting.put(KEY_CACHE_ID, "id");
+        WhiteBox.setInternalState(bid, "nurl", NURL);
+        bid.setAdm(null);
 
         winNotifier.notifyWin(mockBidResponse, mockListener);
 
-        assertEquals(3, mockWebServer.getRequestCount());
-        verifyRequest(mockWebServer.takeRequest(), "/cache?uuid=id");
-        verifyRequest(mockWebServer.takeRequest(), "/cache?uuid=uuid");
-        verifyRequest(mockWebServer.takeRequest(), "/cache?uuid=nurl");
+        List<ResponseHandler> handlers = captureFetches(CACHE_ID_URL);
+        handlers.get(0).onResponse(response("{\"id\":\"no adm\"}"));
+        verify(mockListener, never()).onResult();
 
+        handlers = captureFetches(CACHE_ID_URL, NURL);
+        handlers.get(1).onResponse(response("{\"adm\":\"test\"}"));
         verify(mockListener).onResult();
         assertEquals("test", bid.getAdm());
+        verify(winNotifier, never()).fireNotice(NURL);
     }
 
     @Test
-    public void whenNurlInTargetingAndNoAdm_AdmWasExtractedFromReceivedBid()
-    throws InterruptedException {
+    public void whenNurlReturnsPlainText_AdmIsNotSet() {
+        WhiteBox.setInternalState(bid, "nurl", NURL);
         bid.setAdm(null);
-        WhiteBox.setInternalState(bid, "nurl", String.format("http://%1$s/cache?uuid=nurl", cacheHost));
 
         winNotifier.notifyWin(mockBidResponse, mockListener);
 
-        assertEquals(1, mockWebServer.getRequestCount());
-        verifyRequest(mockWebServer.takeRequest(), "/cache?uuid=nurl");
+        List<ResponseHandler> handlers = captureFetches(NURL);
+        handlers.get(0).onResponse(response("OK"));
 
         verify(mockListener).onResult();
-        assertEquals("VAST", bid.getAdm());
+        assertNull(bid.getAdm());
     }
 
     @Test
-    public void whenCacheIdInTargetingAndNoAdm_AdmWasExtractedFromReceivedBid()
-    throws InterruptedException {
+    public void whenNoAdmAndAllRequestsFail_OnResultCalled_AdmIsNull() {
+        targeting.put(KEY_CACHE_ID, "id");
+        targeting.put(KEY_UUID, "uuid");
+        WhiteBox.setInternalState(bid, "nurl", NURL);
         bid.setAdm(null);
-        targeting.put(KEY_CACHE_ID, CACHE_ID);
 
         winNotifier.notifyWin(mockBidResponse, mockListener);
 
-        assertEquals(1, mockWebServer.getRequestCount());
-        verifyRequest(mockWebServer.takeRequest(), "/cache?uuid=id");
+        List<ResponseHandler> handlers = captureFetches(CACHE_ID_URL, UUID_URL);
+        handlers.get(0).onErrorWithException(new Exception("404"), 0);
+        handlers.get(1).onError("error", 0);
+        verify(mockListener, never()).onResult();
+
+        handlers = captureFetches(CACHE_ID_URL, UUID_URL, NURL);
+        handlers.get(2).onErrorWithException(new Exception("404"), 0);
 
         verify(mockListener).onResult();
-        assertEquals("test", bid.getAdm());
+        assertNull(bid.getAdm());
     }
 
     @Test
-    public void whenUuidInTargetingAndNoAdm_ResponseStringWasSetToAdm()
-    throws InterruptedException {
+    public void whenNoAdmAndDeadlinePassed_OnResultCalled() {
+        targeting.put(KEY_CACHE_ID, "id");
         bid.setAdm(null);
-        targeting.put(KEY_UUID, CACHE_UUID);
 
         winNotifier.notifyWin(mockBidResponse, mockListener);
+        captureFetches(CACHE_ID_URL);
 
-        assertEquals(1, mockWebServer.getRequestCount());
-        verifyRequest(mockWebServer.takeRequest(), "/cache?uuid=uuid");
+        shadowOf(Looper.getMainLooper()).idleFor(PrebidMobile.getTimeoutMillis(), TimeUnit.MILLISECONDS);
 
         verify(mockListener).onResult();
-        assertEquals("VAST", bid.getAdm());
+        assertNull(bid.getAdm());
     }
 
     @Test
     public void whenBidIsNull_NoRequestWasMade_OnResultCalled() {
         when(mockBidResponse.getWinningBid()).thenReturn(null);
         winNotifier.notifyWin(mockBidResponse, mockListener);
-        assertEquals(0, mockWebServer.getRequestCount());
+        verify(winNotifier, never()).fireNotice(anyString());
+        verify(winNotifier, never()).fetch(anyString(), anyInt(), any(ResponseHandler.class));
         verify(mockListener).onResult();
     }
 
     @Test
     public void whenTargetingIsEmpty_NoRequestWasMade_OnResultCalled() {
         targeting.clear();
+        bid.setAdm(null);
         winNotifier.notifyWin(mockBidResponse, mockListener);
-        assertEquals(0, mockWebServer.getRequestCount());
+        verify(winNotifier, never()).fireNotice(anyString());
+        verify(winNotifier, never()).fetch(anyString(), anyInt(), any(ResponseHandler.class));
         verify(mockListener).onResult();
     }
 
     @Test
-    public void whenNoAdmAndRequestFails_AllRequestAttemptsWereMade() throws InterruptedException {
-        dispatchError = true;
-        targeting.put(KEY_CACHE_ID, CACHE_ID);
-        targeting.put(KEY_UUID, CACHE_UUID);
-
-        WhiteBox.setInternalState(bid, "nurl", String.format("http://%1$s/cache?uuid=nurl", cacheHost));
-        bid.setAdm(null);
+    public void whenNurlIsEmpty_NurlWasSkipped() {
+        targeting.put(KEY_CACHE_ID, "id");
+        targeting.put(KEY_UUID, "uuid");
+        WhiteBox.setInternalState(bid, "nurl", "");
 
         winNotifier.notifyWin(mockBidResponse, mockListener);
 
-        assertEquals(3, mockWebServer.getRequestCount());
-        verifyRequest(mockWebServer.takeRequest(), "/cache?uuid=id");
-        verifyRequest(mockWebServer.takeRequest(), "/cache?uuid=uuid");
-        verifyRequest(mockWebServer.takeRequest(), "/cache?uuid=nurl");
-
+        verify(winNotifier).fireNotice(CACHE_ID_URL);
+        verify(winNotifier).fireNotice(UUID_URL);
+        verify(winNotifier, times(2)).fireNotice(anyString());
         verify(mockListener).onResult();
-        assertNull(bid.getAdm());
     }
 
     @Test
-    public void whenWinUrlIsEpty_WinUrlWasSkipped() throws InterruptedException {
-        targeting.put(KEY_CACHE_ID, CACHE_ID);
-        targeting.put(KEY_UUID, CACHE_UUID);
-        WhiteBox.setInternalState(bid, "nurl", "");
-
-        String test = "";
-        int length = test.length();
-        boolean isEmpty = TextUtils.isEmpty(test);
-
-        winNotifier.notifyWin(mockBidResponse, mockListener);
-
-        assertEquals(2, mockWebServer.getRequestCount());
-        verifyRequest(mockWebServer.takeRequest(), "/cache?uuid=id");
-        verifyRequest(mockWebServer.takeRequest(), "/cache?uuid=uuid");
-
-        verify(mockListener).onResult();
-        assertNotNull(bid.getAdm());
+    public void extractAdm() {
+        assertEquals("<VAST></VAST>", WinNotifier.extractAdm("<VAST></VAST>"));
+        assertNull(WinNotifier.extractAdm("OK"));
+        assertEquals("test", WinNotifier.extractAdm("{\"adm\":\"test\"}"));
+        assertNull(WinNotifier.extractAdm("{\"id\":\"test\"}"));
+        assertNull(WinNotifier.extractAdm(null));
     }
 
-    private void verifyRequest(RecordedRequest recordedRequest, String path) {
-        assertNotNull(recordedRequest);
-        assertEquals(path, recordedRequest.getPath());
+    private List<ResponseHandler> captureFetches(String... urls) {
+        ArgumentCaptor<String> urlCaptor = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<ResponseHandler> handlerCaptor = ArgumentCaptor.forClass(ResponseHandler.class);
+        verify(winNotifier, times(urls.length)).fetch(urlCaptor.capture(), anyInt(), handlerCaptor.capture());
+        assertArrayEquals(urls, urlCaptor.getAllValues().toArray());
+        return handlerCaptor.getAllValues();
     }
 
-    private QueueDispatcher getDispatcher() {
-        return new QueueDispatcher() {
-            @Override
-            public MockResponse dispatch(
-                @NotNull
-                    RecordedRequest request) {
-                MockResponse mockResponse = new MockResponse().setResponseCode(200);
-                if (dispatchError) {
-                    mockResponse.setResponseCode(404);
-                }
-                String path = request.getPath();
-                String adMarkup = "";
-                switch (path) {
-                    case "/cache?uuid=id":
-                        try {
-                            adMarkup = ResourceUtils.convertResourceToString(PATH_BID_SHORT_JSON);
-                        }
-                        catch (IOException e) {
-                            e.printStackTrace();
-                        }
-                        break;
-                    case "/cache?uuid=nurl":
-                    case "/cache?uuid=uuid":
-                        adMarkup = "VAST";
-                }
-
-                mockResponse.setBody(adMarkup);
-
-                return mockResponse;
-            }
-        };
+    private static BaseNetworkTask.GetUrlResult response(String body) {
+        BaseNetworkTask.GetUrlResult result = new BaseNetworkTask.GetUrlResult();
+        result.responseString = body;
+        result.decodedResponse = WinNotifier.extractAdm(body);
+        return result;
     }
-}
\ No newline at end of file
+}
@@ -16,7 +16,14 @@
 
 package org.prebid.mobile.rendering.networking.parameters;
 
+import org.json.JSONObject;
 import org.junit.Test;
+import org.prebid.mobile.ContentObject;
+import org.prebid.mobile.DataObject;
+import org.prebid.mobile.configuration.NativeAdUnitConfiguration;
+import org.prebid.mobile.rendering.models.openrtb.BidRequest;
+import org.prebid.mobile.rendering.models.openrtb.bidRequests.Imp;
+import org.prebid.mobile.test.utils.WhiteBox;
 
 import static org.junit.Assert.*;
 
@@ -37,4 +44,60 @@ public class AdRequestInputTest {
         assertEquals(inputOriginal.getBidRequest().getJsonObject().toString(),
                      inputCopy.getBidRequest().getJsonObject().toString());
     }
+
+    @Test
+    public void whenCopyModified_OriginalUntouched() throws Exception {
+        AdRequestInput inputOriginal = new AdRequestInput();
+        BidRequest original = inputOriginal.getBidRequest();
+        original.getUser().getExt().put("data", "original");
+        original.getDevice().getGeo().country = "USA";
+        original.getApp().getPublisher().id = "publisher";
+        Imp imp = new Imp();
+        imp.getExt().put("gpid", "original");
+        original.getImp().add(imp);
+        String originalJson = original.getJsonObject().toString();
+
+        BidRequest copy = inputOriginal.getDeepCopy().getBidRequest();
+        copy.getUser().getExt().put("data", "copy");
+        copy.getDevice().getGeo().country = "UKR";
+        copy.getApp().getPublisher().id = "copy";
+        copy.getImp().get(0).getExt().put("gpid", "copy");
+        copy.getImp().add(new Imp());
+
+        assertEquals(originalJson, original.getJsonObject().toString());
+        assertEquals(1, original.getImp().size());
+        assertNotSame(original.getImp().get(0), copy.getImp().get(0));
+    }
+
+    @Test
+    public void whenNestedValuesOfCopyModified_OriginalUntouched() throws Exception {
+        AdRequestInput inputOriginal = new AdRequestInput();
+        BidRequest original = inputOriginal.getBidRequest();
+        original.getExt().put("prebid", new JSONObject().put("targeting", new JSONObject().put("key", "original")));
+        ContentObject content = new ContentObject();
+        content.setTitle("original");
+        content.addCategory("original");
+        original.getApp().contentObject = content;
+        DataObject dataObject = new DataObject();
+        dataObject.setName("original");
+        original.getUser().dataObjects.add(dataObject);
+        Imp imp = new Imp();
+        imp.getVideo().w = 320;
+        imp.getNative().setRequestFrom(new NativeAdUnitConfiguration());
+        original.getImp().add(imp);
+        String originalJson = original.getJsonObject().toString();
+
+        BidRequest copy = inputOriginal.getDeepCopy().getBidRequest();
+        JSONObject prebid = (JSONObject) copy.getExt().getMap().get("prebid");
+        prebid.getJSONObject("targeting").put("key", "copy");
+        copy.getApp().contentObject.setTitle("copy");
+        copy.getApp().contentObject.addCategory("copy");
+        copy.getUser().dataObjects.get(0).setName("copy");
+        Imp impCopy = copy.getImp().get(0);
+        impCopy.getVideo().w = 480;
+        JSONObject nativeRequest = WhiteBox.getInternalState(impCopy.getNative(), "request");
+        nativeRequest.put("seq", 1);
+
+        assertEquals(originalJson, original.getJsonObject().toString());
+    }
 }
@@ -0,0 +1,55 @@
+/*
+ *    Copyright 2018-2021 Prebid.org, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.prebid.mobile.rendering.networking.parameters;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ParameterCacheTest {
+
+    @Test
+    public void whenSameSourceAndVersion_ReturnCachedValue() {
+        ParameterCache<String> cache = new ParameterCache<>(ParameterInput.NETWORK);
+        Object source = new Object();
+
+        cache.put(source, ParameterInput.NETWORK.getVersion(), "value");
+
+        assertEquals("value", cache.get(source));
+    }
+
+    @Test
+    public void whenInputInvalidated_ReturnNull() {
+        ParameterCache<String> cache = new ParameterCache<>(ParameterInput.LOCATION);
+        Object source = new Object();
+
+        cache.put(source, ParameterInput.LOCATION.getVersion(), "value");
+        ParameterInput.LOCATION.invalidate();
+
+        assertNull(cache.get(source));
+    }
+
+    @Test
+    public void whenSourceChanged_ReturnNull() {
+        ParameterCache<String> cache = new ParameterCache<>(ParameterInput.NETWORK);
+
+        cache.put(new Object(), ParameterInput.NETWORK.getVersion(), "value");
+
+        assertNull(cache.get(new Object()));
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ *    Copyright 2018-2021 Prebid.org, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.prebid.mobile.rendering.networking.tracking;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ScheduledExecutorService;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 19)
+public class TrackingDispatcherTest {
+
+    private final TrackingDispatcher dispatcher = new TrackingDispatcher(mock(ScheduledExecutorService.class));
+
+    @Test
+    public void whenSameUrlWithinWindow_Duplicate() {
+        assertFalse(dispatcher.isDuplicate("https://test.com/event", 1000));
+        assertTrue(dispatcher.isDuplicate("https://test.com/event", 1000 + TrackingDispatcher.DEDUPE_WINDOW_MILLIS - 1));
+        assertFalse(dispatcher.isDuplicate("https://test.com/other", 1000));
+    }
+
+    @Test
+    public void whenSameUrlAfterWindow_NotDuplicate() {
+        assertFalse(dispatcher.isDuplicate("https://test.com/event", 1000));
+        assertFalse(dispatcher.isDuplicate("https://test.com/event", 1000 + TrackingDispatcher.DEDUPE_WINDOW_MILLIS));
+    }
+
+    @Test
+    public void whenConnectivityRestored_MoveOnlyEarliestRetryForward() {
+        TrackingDispatcher.Event due = createEvent(1, 500);
+        TrackingDispatcher.Event earliest = createEvent(2, 2000);
+        TrackingDispatcher.Event later = createEvent(3, 3000);
+        TrackingDispatcher.Event inFlight = createEvent(4, 1500);
+        inFlight.isInFlight = true;
+
+        TrackingDispatcher.moveEarliestRetryForward(Arrays.asList(due, earliest, later, inFlight), 1000);
+
+        assertEquals(500, due.nextAttemptAt);
+        assertEquals(1000, earliest.nextAttemptAt);
+        assertEquals(3000, later.nextAttemptAt);
+        assertEquals(1500, inFlight.nextAttemptAt);
+    }
+
+    @Test
+    public void backoff_GrowsExponentiallyWithJitterAndCap() {
+        Random random = new Random(42);
+        for (int attempt = 1; attempt < 20; attempt++) {
+            long base = Math.min(TrackingDispatcher.INITIAL_BACKOFF_MILLIS << Math.min(attempt - 1, 16), TrackingDispatcher.MAX_BACKOFF_MILLIS);
+            for (int i = 0; i < 20; i++) {
+                long backoff = TrackingDispatcher.getBackoffMillis(attempt, random);
+                assertTrue(backoff >= base / 2);
+                assertTrue(backoff <= base);
+            }
+        }
+        assertEquals(TrackingDispatcher.INITIAL_BACKOFF_MILLIS / 2, TrackingDispatcher.getBackoffMillis(1, new Random() {
+            @Override
+            public double nextDouble() {
+                return 0;
+            }
+        }));
+    }
+
+    private static TrackingDispatcher.Event createEvent(
+            long id,
+            long nextAttemptAt
+    ) {
+        TrackingDispatcher.Event event = new TrackingDispatcher.Event(id, "https://test.com/" + id, false, 0);
+        event.nextAttemptAt = nextAttemptAt;
+        return event;
+    }
+}
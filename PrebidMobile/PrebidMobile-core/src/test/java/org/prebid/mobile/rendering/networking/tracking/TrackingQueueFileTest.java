@@ -0,0 +1,145 @@
+/*
+ *    Copyright 2018-2021 Prebid.org, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.prebid.mobile.rendering.networking.tracking;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 19)
+public class TrackingQueueFileTest {
+
+    private static final long CREATED_AT = 1700000000000L;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = new File(folder.newFolder(), "queue");
+    }
+
+    @Test
+    public void whenReloaded_RestorePendingEventsInOrder() {
+        TrackingQueueFile queueFile = new TrackingQueueFile(file);
+        queueFile.load();
+        List<TrackingDispatcher.Event> pending = new ArrayList<>();
+        TrackingDispatcher.Event first = addEvent(queueFile, pending, "https://test.com/first", false);
+        TrackingDispatcher.Event second = addEvent(queueFile, pending, "https://test.com/second?a=1 b", true);
+        addEvent(queueFile, pending, "https://test.com/third", false);
+        pending.remove(first);
+        queueFile.remove(first.id, pending);
+
+        List<TrackingDispatcher.Event> restored = new TrackingQueueFile(file).load();
+
+        assertEquals(2, restored.size());
+        assertEquals(second.id, restored.get(0).id);
+        assertEquals("https://test.com/second?a=1 b", restored.get(0).url);
+        assertTrue(restored.get(0).isImpression);
+        assertEquals("https://test.com/third", restored.get(1).url);
+        assertFalse(restored.get(1).isImpression);
+    }
+
+    @Test
+    public void whenReloaded_NewIdsDontCollide() {
+        TrackingQueueFile queueFile = new TrackingQueueFile(file);
+        queueFile.load();
+        TrackingDispatcher.Event event = addEvent(queueFile, new ArrayList<>(), "https://test.com/event", false);
+
+        TrackingQueueFile reloaded = new TrackingQueueFile(file);
+        reloaded.load();
+
+        assertTrue(reloaded.nextId() > event.id);
+    }
+
+    @Test
+    public void whenLineCorrupted_SkipIt() throws IOException {
+        try (FileOutputStream stream = new FileOutputStream(file)) {
+            stream.write("+1 e 1000 https://test.com/event\n+2 i\n-x\n+3\n+4 e time https://test.com/other\n*1".getBytes("UTF-8"));
+        }
+
+        List<TrackingDispatcher.Event> restored = new TrackingQueueFile(file).load();
+
+        assertEquals(1, restored.size());
+        assertEquals("https://test.com/event", restored.get(0).url);
+    }
+
+    @Test
+    public void whenReloaded_RestoreAttemptsAndCreationTime() {
+        TrackingQueueFile queueFile = new TrackingQueueFile(file);
+        queueFile.load();
+        List<TrackingDispatcher.Event> pending = new ArrayList<>();
+        TrackingDispatcher.Event event = addEvent(queueFile, pending, "https://test.com/event", false);
+        event.attempts = 1;
+        queueFile.updateAttempts(event);
+        event.attempts = 2;
+        queueFile.updateAttempts(event);
+
+        List<TrackingDispatcher.Event> restored = new TrackingQueueFile(file).load();
+
+        assertEquals(1, restored.size());
+        assertEquals(2, restored.get(0).attempts);
+        assertEquals(CREATED_AT, restored.get(0).createdAt);
+
+        List<TrackingDispatcher.Event> compacted = new TrackingQueueFile(file).load();
+        assertEquals(2, compacted.get(0).attempts);
+    }
+
+    @Test
+    public void whenAllEventsRemoved_CompactToEmpty() {
+        TrackingQueueFile queueFile = new TrackingQueueFile(file);
+        queueFile.load();
+        List<TrackingDispatcher.Event> pending = new ArrayList<>();
+        for (int i = 0; i < TrackingQueueFile.COMPACTION_THRESHOLD; i++) {
+            TrackingDispatcher.Event event = addEvent(queueFile, pending, "https://test.com/" + i, false);
+            pending.remove(event);
+            queueFile.remove(event.id, pending);
+        }
+
+        assertFalse(file.exists());
+        assertTrue(new TrackingQueueFile(file).load().isEmpty());
+    }
+
+    private static TrackingDispatcher.Event addEvent(
+            TrackingQueueFile queueFile,
+            List<TrackingDispatcher.Event> pending,
+            String url,
+            boolean isImpression
+    ) {
+        TrackingDispatcher.Event event = new TrackingDispatcher.Event(queueFile.nextId(), url, isImpression, CREATED_AT);
+        pending.add(event);
+        queueFile.append(event);
+        return event;
+    }
+}
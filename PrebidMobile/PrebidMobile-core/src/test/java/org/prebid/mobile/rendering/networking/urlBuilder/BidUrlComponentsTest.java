@@ -16,16 +16,26 @@
 
 package org.prebid.mobile.rendering.networking.urlBuilder;
 
+import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.prebid.mobile.DataObject;
+import org.prebid.mobile.configuration.NativeAdUnitConfiguration;
 import org.prebid.mobile.rendering.models.openrtb.BidRequest;
+import org.prebid.mobile.rendering.models.openrtb.bidRequests.Imp;
+import org.prebid.mobile.rendering.models.openrtb.bidRequests.imps.Pmp;
+import org.prebid.mobile.rendering.models.openrtb.bidRequests.imps.pmps.Deals;
 import org.prebid.mobile.rendering.networking.parameters.AdRequestInput;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.annotation.Config;
+import org.skyscreamer.jsonassert.JSONAssert;
+
+import java.io.ByteArrayOutputStream;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -46,4 +56,67 @@ public class BidUrlComponentsTest {
         BidUrlComponents bidUrlComponents = new BidUrlComponents("", adRequestInput);
         assertEquals(jsonObject.toString(), bidUrlComponents.getQueryArgString());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void whenGetRequestBody_StreamSameJsonAsModels() throws Exception {
+        AdRequestInput adRequestInput = new AdRequestInput();
+        BidRequest bidRequest = createFilledBidRequest();
+        adRequestInput.setBidRequest(bidRequest);
+
+        BidUrlComponents bidUrlComponents = new BidUrlComponents("", adRequestInput);
+        assertTrue(bidUrlComponents.getRequestBody() instanceof BidRequestBody);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        bidUrlComponents.getRequestBody().writeTo(outputStream);
+
+        JSONAssert.assertEquals(bidRequest.getJsonObject().toString(), outputStream.toString("UTF-8"), true);
+    }
+
+    private static BidRequest createFilledBidRequest() throws JSONException {
+        BidRequest bidRequest = new BidRequest();
+        bidRequest.setId("天気");
+        bidRequest.getExt().put("prebid", new JSONObject().put("targeting", new JSONObject()));
+
+        Imp imp = new Imp();
+        imp.id = "impId";
+        imp.instl = 1;
+        imp.getBanner().addFormat(320, 50);
+        imp.getBanner().api = new int[]{3, 5};
+        imp.getVideo().mimes = new String[]{"video/mp4"};
+        imp.getVideo().protocols = new int[]{2, 5};
+        imp.getVideo().w = 320;
+        imp.getNative().setRequestFrom(new NativeAdUnitConfiguration());
+        imp.getExt().put("data", new JSONObject().put("key", new JSONArray().put("value")));
+        Pmp pmp = new Pmp();
+        Deals deals = new Deals();
+        deals.id = "deal";
+        deals.bidfloor = 0.5f;
+        deals.wseat = new String[]{"seat"};
+        pmp.deals.add(deals);
+        imp.pmp = pmp;
+        bidRequest.getImp().add(imp);
+
+        bidRequest.getApp().bundle = "bundle";
+        bidRequest.getApp().cat = new String[]{"IAB1"};
+        bidRequest.getApp().getPublisher().id = "publisher";
+        bidRequest.getApp().getExt().put("prebid", new JSONObject().put("source", "prebid-mobile"));
+
+        bidRequest.getDevice().ua = "user-agent";
+        bidRequest.getDevice().pxratio = 2.0f;
+        bidRequest.getDevice().getGeo().lat = 1.5f;
+        bidRequest.getDevice().getGeo().country = "USA";
+
+        bidRequest.getRegs().coppa = 1;
+        bidRequest.getRegs().setGppSid("2_6");
+        bidRequest.getRegs().getExt().put("gdpr", 1);
+
+        bidRequest.getUser().keywords = "keyword";
+        bidRequest.getUser().getExt().put("eids", new JSONArray().put(new JSONObject().put("source", "source")));
+        DataObject dataObject = new DataObject();
+        dataObject.setId("data");
+        bidRequest.getUser().dataObjects.add(dataObject);
+
+        bidRequest.getSource().setTid("tid");
+        return bidRequest;
+    }
+}
@@ -317,6 +317,19 @@ public class AdResponseParserVastTest {
         assertNull(tempVast.getVast().getAds().get(0).getWrapper().getCreatives().get(1).getLinear().getAdParameters());
     }
 
+    @Test
+    public void whenVastPod_ParseOnlyFirstAd() throws Exception {
+        String vastXML = "\uFEFF<VAST version=\"3.0\">"
+                + "<Ad id=\"first\"><InLine><AdTitle>First</AdTitle></InLine></Ad>"
+                + "<Ad id=\"second\"><InLine><AdTitle>Second</AdTitle></InLine></Ad>"
+                + "</VAST>";
+        AdResponseParserVastHelper vast = new AdResponseParserVastHelper(vastXML);
+
+        assertEquals("3.0", vast.getVast().getVersion());
+        assertEquals(1, vast.getVast().getAds().size());
+        assertEquals("first", vast.getVast().getAds().get(0).getId());
+    }
+
     @Test
     public void testVASTParserAllLinearElements() throws Exception {
         String vastXML = ResourceUtils.convertResourceToString(SAMPLE_GOOD_VAST);
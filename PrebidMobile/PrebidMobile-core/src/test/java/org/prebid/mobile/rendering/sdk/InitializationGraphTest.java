@@ -0,0 +1,185 @@
+package org.prebid.mobile.rendering.sdk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.prebid.mobile.tasksmanager.LaneScheduler;
+import org.prebid.mobile.tasksmanager.TasksManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class InitializationGraphTest {
+
+    private static final Executor DIRECT = Runnable::run;
+
+    private LaneScheduler scheduler;
+    private TestListener listener;
+    private List<String> startedStages;
+
+    @Before
+    public void setUp() {
+        scheduler = TasksManager.getInstance().getScheduler();
+        listener = new TestListener();
+        startedStages = new ArrayList<>();
+    }
+
+    @Test
+    public void whenStagesDependOnEachOther_StartedInDependencyOrder() {
+        InitializationGraph graph = new InitializationGraph(scheduler)
+                .add(recordingStage("first", true))
+                .add(recordingStage("second", true, "first"))
+                .add(recordingStage("third", true, "first", "second"));
+
+        graph.start(listener);
+
+        assertEquals(Arrays.asList("first", "second", "third"), startedStages);
+        assertEquals(1, listener.completedCount);
+        assertTrue(graph.getTrace().getDurationMillis("third") >= 0);
+        assertTrue(graph.getTrace().getTotalDurationMillis() >= 0);
+    }
+
+    @Test
+    public void whenStageCompletesLater_DependentsWaitForIt() {
+        AtomicReference<InitStage.Completion> pending = new AtomicReference<>();
+        InitializationGraph graph = new InitializationGraph(scheduler)
+                .add(new InitStage("async", DIRECT, 0, true, pending::set))
+                .add(recordingStage("dependent", true, "async"));
+
+        graph.start(listener);
+
+        assertTrue(startedStages.isEmpty());
+        assertEquals(0, listener.completedCount);
+        assertEquals(-1, graph.getTrace().getDurationMillis("async"));
+
+        pending.get().complete("warning");
+
+        assertEquals(Arrays.asList("dependent"), startedStages);
+        assertEquals(1, listener.completedCount);
+        assertEquals("warning", graph.getTrace().getError("async"));
+    }
+
+    @Test
+    public void whenOnlyOptionalStagesPending_ListenerNotified() {
+        InitializationGraph graph = new InitializationGraph(scheduler)
+                .add(recordingStage("required", true))
+                .add(new InitStage("optional", DIRECT, 0, false, completion -> {}));
+
+        graph.start(listener);
+
+        assertEquals(1, listener.completedCount);
+        assertEquals(-1, graph.getTrace().getDurationMillis("optional"));
+    }
+
+    @Test
+    public void whenRequiredStageMissesDeadline_InitializationFailed() throws Exception {
+        InitializationGraph graph = new InitializationGraph(scheduler)
+                .add(new InitStage("slow", DIRECT, 50, true, completion -> {}));
+
+        graph.start(listener);
+
+        assertTrue(listener.finished.await(5, TimeUnit.SECONDS));
+        assertEquals(InitializationGraph.TIMEOUT_ERROR, listener.failure);
+        assertEquals(0, listener.completedCount);
+        assertTrue(graph.getTrace().isTimedOut("slow"));
+    }
+
+    @Test
+    public void whenOptionalStageMissesDeadline_DependentsStarted() throws Exception {
+        InitializationGraph graph = new InitializationGraph(scheduler)
+                .add(new InitStage("slow", DIRECT, 50, false, completion -> {}))
+                .add(recordingStage("dependent", true, "slow"));
+
+        graph.start(listener);
+
+        assertTrue(listener.finished.await(5, TimeUnit.SECONDS));
+        assertNull(listener.failure);
+        assertEquals(Arrays.asList("dependent"), startedStages);
+        assertEquals(InitializationGraph.TIMEOUT_ERROR, graph.getTrace().getError("slow"));
+    }
+
+    @Test
+    public void whenStageThrows_ErrorRecordedAndGraphCompleted() {
+        InitializationGraph graph = new InitializationGraph(scheduler)
+                .add(InitStage.fromRunnable("failing", DIRECT, 0, true, () -> {
+                    throw new IllegalStateException("test");
+                }));
+
+        graph.start(listener);
+
+        assertEquals(1, listener.completedCount);
+        assertTrue(graph.getTrace().getError("failing").startsWith("Exception during initialization"));
+    }
+
+    @Test
+    public void whenStageCompletedTwice_SecondResultIgnored() {
+        InitializationGraph graph = new InitializationGraph(scheduler)
+                .add(new InitStage("twice", DIRECT, 0, true, completion -> {
+                    completion.complete(null);
+                    completion.complete("error");
+                }));
+
+        graph.start(listener);
+
+        assertEquals(1, listener.completedCount);
+        assertNull(graph.getTrace().getError("twice"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenDependencyUnknown_ExceptionThrown() {
+        new InitializationGraph(scheduler).add(recordingStage("stage", true, "unknown"));
+    }
+
+    @Test
+    public void whenStageFinishedBeforeDeadline_NoTimeout() throws Exception {
+        InitializationGraph graph = new InitializationGraph(scheduler)
+                .add(recordingStage("fast", true));
+
+        graph.start(listener);
+        Thread.sleep(50);
+
+        assertFalse(graph.getTrace().isTimedOut("fast"));
+        assertNull(listener.failure);
+    }
+
+    private InitStage recordingStage(
+            String name,
+            boolean isRequired,
+            String... dependencies
+    ) {
+        return InitStage.fromRunnable(name, DIRECT, 20, isRequired, () -> startedStages.add(name), dependencies);
+    }
+
+    private static class TestListener implements InitializationGraph.Listener {
+
+        private final CountDownLatch finished = new CountDownLatch(1);
+        private int completedCount;
+        private String failure;
+
+        @Override
+        public void onCompleted(@NonNull InitializationTrace trace) {
+            completedCount++;
+            finished.countDown();
+        }
+
+        @Override
+        public void onFailed(
+                @NonNull String error,
+                @NonNull InitializationTrace trace
+        ) {
+            failure = error;
+            finished.countDown();
+        }
+    }
+}
@@ -24,8 +24,11 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
 import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
 
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(RobolectricTestRunner.class)
@@ -46,4 +49,31 @@ public class JSLibraryManagerTest {
         Assert.assertEquals("", manager.getMRAIDScript());
         Assert.assertEquals("", manager.getOMSDKScript());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void whenScriptsAreNotLoadedInTime_NotifyListenerWithFalse() {
+        JSLibraryManager.ScriptsReadyListener listener = mock(JSLibraryManager.ScriptsReadyListener.class);
+
+        manager.awaitScripts(100, listener);
+        verify(listener, never()).onScriptsReady(false);
+
+        ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+        verify(listener).onScriptsReady(false);
+    }
+
+    @Test
+    public void whenListenerRemoved_DoNotNotify() {
+        JSLibraryManager.ScriptsReadyListener listener = mock(JSLibraryManager.ScriptsReadyListener.class);
+
+        manager.awaitScripts(100, listener);
+        manager.removeScriptsReadyListener(listener);
+
+        ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+        verify(listener, never()).onScriptsReady(false);
+    }
+
+    @Test
+    public void whenScriptsAreNotLoaded_TemplateIsEmpty() {
+        Assert.assertTrue(manager.getOMSDKTemplate().isEmpty());
+    }
+}
@@ -1,18 +1,12 @@
 package org.prebid.mobile.rendering.sdk;
 
 import static android.os.Looper.getMainLooper;
-import static org.hamcrest.CoreMatchers.is;
-import static org.hamcrest.CoreMatchers.startsWith;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.times;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
 import static org.prebid.mobile.api.rendering.pluginrenderer.PrebidMobilePluginRegister.PREBID_MOBILE_RENDERER_NAME;
 import static org.robolectric.Shadows.shadowOf;
 import static java.lang.Thread.sleep;
@@ -20,12 +14,10 @@ import static java.lang.Thread.sleep;
 import android.app.Activity;
 import android.content.Context;
 
-import org.hamcrest.MatcherAssert;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.mockito.ArgumentCaptor;
 import org.prebid.mobile.Host;
 import org.prebid.mobile.PrebidMobile;
 import org.prebid.mobile.api.data.InitializationStatus;
@@ -33,15 +25,11 @@ import org.prebid.mobile.api.rendering.pluginrenderer.PrebidMobilePluginRegister
 import org.prebid.mobile.reflection.Reflection;
 import org.prebid.mobile.reflection.sdk.PrebidMobileReflection;
 import org.prebid.mobile.rendering.listeners.SdkInitializationListener;
+import org.prebid.mobile.rendering.utils.helpers.AppInfoManager;
 import org.robolectric.Robolectric;
 import org.robolectric.RobolectricTestRunner;
 
 import java.io.IOException;
-import java.util.List;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import okhttp3.HttpUrl;
@@ -51,8 +39,6 @@ import okhttp3.mockwebserver.MockWebServer;
 @RunWith(RobolectricTestRunner.class)
 public class SdkInitializerTest {
 
-    private static final int TERMINATION_TIMEOUT = 10;
-
     private boolean calledAlready = false;
     private Boolean isSuccessful;
     private Boolean serverWarning;
@@ -198,68 +184,40 @@ public class SdkInitializerTest {
 
 
     @Test
-    public void runBackgroundTasks_checkStartedTasks() throws InterruptedException {
-        ExecutorService executorMock = mock(ExecutorService.class);
-        SdkInitializer.runBackgroundTasks(mock(InitializationNotifier.class), executorMock);
-
-        ArgumentCaptor<Callable> requesterCaptor = ArgumentCaptor.forClass(Callable.class);
-        verify(executorMock, times(1)).submit(requesterCaptor.capture());
-        String requesterClassName = requesterCaptor.getValue().getClass().toString();
-        MatcherAssert.assertThat(requesterClassName, is(startsWith("class org.prebid.mobile.rendering.sdk.StatusRequester")));
-
-        ArgumentCaptor<Runnable> tasksCaptor = ArgumentCaptor.forClass(Runnable.class);
-        verify(executorMock, times(2)).execute(tasksCaptor.capture());
-
-        List<Runnable> allTasks = tasksCaptor.getAllValues();
-        String firstTaskName = allTasks.get(0).getClass().toString();
-        MatcherAssert.assertThat(firstTaskName, is(startsWith("class org.prebid.mobile.rendering.sdk.SdkInitializer$UserConsentFetcherTask")));
-
-        String secondTaskName = allTasks.get(1).getClass().toString();
-        MatcherAssert.assertThat(secondTaskName, is(startsWith("class org.prebid.mobile.rendering.sdk.UserAgentFetcherTask")));
-
-        verify(executorMock, times(1)).shutdown();
-        verify(executorMock, times(1)).awaitTermination(TERMINATION_TIMEOUT, TimeUnit.SECONDS);
-    }
-
-    @Test
-    public void runBackgroundTasks_testTermination() throws InterruptedException {
-        InitializationNotifier listenerMock = mock(InitializationNotifier.class);
-        ExecutorService executorMock = mock(ExecutorService.class);
+    public void init_packageInfoIsReadyWhenInitReturns() {
+        AppInfoManager.setPackageName(null);
 
-        when(executorMock.awaitTermination(10, TimeUnit.SECONDS)).thenReturn(false);
-
-        SdkInitializer.runBackgroundTasks(listenerMock, executorMock);
+        SdkInitializer.init(context, createListener());
 
-        verify(listenerMock, times(1)).initializationFailed("Terminated by timeout.");
+        assertEquals(context.getPackageName(), AppInfoManager.getPackageName());
     }
 
     @Test
-    public void runBackgroundTasks_testSuccess_successStatusRequest() throws InterruptedException {
-        InitializationNotifier listenerMock = mock(InitializationNotifier.class);
-        ExecutorService executorMock = mock(ExecutorService.class);
-        Future statusRequesterMock = mock(Future.class);
+    public void init_statusResponseIsOk_traceContainsStages() throws InterruptedException {
+        setStatusResponse(200, "Good");
 
-        when(executorMock.submit(any(Callable.class))).thenReturn(statusRequesterMock);
-        when(executorMock.awaitTermination(TERMINATION_TIMEOUT, TimeUnit.SECONDS)).thenReturn(true);
+        SdkInitializer.init(context, createListener());
 
-        SdkInitializer.runBackgroundTasks(listenerMock, executorMock);
+        advanceBackgroundTasks();
 
-        verify(listenerMock, times(1)).initializationCompleted(null);
+        InitializationTrace trace = PrebidMobile.getInitializationTrace();
+        assertNotNull(trace);
+        assertTrue(trace.getTotalDurationMillis() >= 0);
+        assertTrue(trace.getDurationMillis(SdkInitializer.STAGE_APP_INFO) >= 0);
+        assertTrue(trace.getDurationMillis(SdkInitializer.STAGE_USER_CONSENT) >= 0);
+        assertTrue(trace.getDurationMillis(SdkInitializer.STAGE_STATUS) >= 0);
+        assertNull(trace.getError(SdkInitializer.STAGE_STATUS));
     }
 
     @Test
-    public void runBackgroundTasks_testSuccess_failedStatusRequest() throws InterruptedException, ExecutionException {
-        InitializationNotifier listenerMock = mock(InitializationNotifier.class);
-        ExecutorService executorMock = mock(ExecutorService.class);
-        Future statusRequesterMock = mock(Future.class);
-        when(statusRequesterMock.get()).thenReturn("Error");
-
-        when(executorMock.submit(any(Callable.class))).thenReturn(statusRequesterMock);
-        when(executorMock.awaitTermination(TERMINATION_TIMEOUT, TimeUnit.SECONDS)).thenReturn(true);
+    public void init_returnsBeforeStatusResponse() {
+        setStatusResponse(200, "Good");
 
-        SdkInitializer.runBackgroundTasks(listenerMock, executorMock);
+        SdkInitializer.init(context, createListener());
 
-        verify(listenerMock, times(1)).initializationCompleted("Error");
+        assertNull(isSuccessful);
+        assertFalse(PrebidMobile.isSdkInitialized());
+        assertTrue(InitializationNotifier.isInitializationInProgress());
     }
 
 
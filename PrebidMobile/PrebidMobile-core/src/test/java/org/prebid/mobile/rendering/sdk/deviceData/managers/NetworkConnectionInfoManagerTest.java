@@ -17,7 +17,10 @@
 package org.prebid.mobile.rendering.sdk.deviceData.managers;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import android.Manifest;
@@ -63,4 +66,14 @@ public class NetworkConnectionInfoManagerTest {
 
         assertEquals(UserParameters.ConnectionType.CELL, networkConnectionManager.getConnectionType());
     }
+
+    @Test
+    public void whenManagerCreatedAgain_DoNotRegisterReceiverAgain() {
+        Context secondContext = mock(Context.class);
+        when(secondContext.getApplicationContext()).thenReturn(secondContext);
+
+        new NetworkConnectionInfoManager(secondContext);
+
+        verify(secondContext, never()).registerReceiver(any(), any());
+    }
 }
\ No newline at end of file
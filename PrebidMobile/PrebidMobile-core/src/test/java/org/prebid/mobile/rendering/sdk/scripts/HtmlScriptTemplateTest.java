@@ -0,0 +1,87 @@
+package org.prebid.mobile.rendering.sdk.scripts;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HtmlScriptTemplateTest {
+
+    private static final String SCRIPT_TAG = "<script type=\"text/javascript\">omsdk()</script>";
+
+    private final HtmlScriptTemplate template = new HtmlScriptTemplate("omsdk()");
+
+    @Test
+    public void whenHtmlHasHead_InjectAfterHeadTag() {
+        String html = "<html><HEAD lang=\"en\"><title>ad</title></HEAD><body></body></html>";
+
+        assertEquals(
+                "<html><HEAD lang=\"en\">" + SCRIPT_TAG + "<title>ad</title></HEAD><body></body></html>",
+                template.inject(html)
+        );
+    }
+
+    @Test
+    public void whenHtmlHasNoHead_InjectAfterBodyTag() {
+        String html = "<!DOCTYPE html><html><Body class=\"ad\"><header></header></Body></html>";
+
+        assertEquals(
+                "<!DOCTYPE html><html><Body class=\"ad\">" + SCRIPT_TAG + "<header></header></Body></html>",
+                template.inject(html)
+        );
+    }
+
+    @Test
+    public void whenHtmlHasNoHeadAndBody_InjectAfterHtmlTag() {
+        String html = "<!DOCTYPE html><html lang=\"en\"><div>ad</div></html>";
+
+        assertEquals(
+                "<!DOCTYPE html><html lang=\"en\">" + SCRIPT_TAG + "<div>ad</div></html>",
+                template.inject(html)
+        );
+    }
+
+    @Test
+    public void whenHtmlHasOnlyDoctype_InjectAfterDoctype() {
+        String html = "<!DOCTYPE html><div>ad</div>";
+
+        assertEquals("<!DOCTYPE html>" + SCRIPT_TAG + "<div>ad</div>", template.inject(html));
+    }
+
+    @Test
+    public void whenHeadIsSelfClosing_ExpandIt() {
+        String html = "<html><head/><body></body></html>";
+
+        assertEquals("<html><head>" + SCRIPT_TAG + "</head><body></body></html>", template.inject(html));
+    }
+
+    @Test
+    public void whenHeadIsInComment_IgnoreIt() {
+        String html = "<!-- <head> --><html><head></head></html>";
+
+        assertEquals("<!-- <head> --><html><head>" + SCRIPT_TAG + "</head></html>", template.inject(html));
+    }
+
+    @Test
+    public void whenHeadIsInInlineScript_IgnoreIt() {
+        String html = "<script>document.write('<head>');</script><body><div>ad</div></body>";
+
+        assertEquals(
+                "<script>document.write('<head>');</script><body>" + SCRIPT_TAG + "<div>ad</div></body>",
+                template.inject(html)
+        );
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenScriptIsEmpty_ThrowException() {
+        HtmlScriptTemplate emptyTemplate = new HtmlScriptTemplate("");
+
+        assertTrue(emptyTemplate.isEmpty());
+        emptyTemplate.inject("<div>ad</div>");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenHtmlIsEmpty_ThrowException() {
+        template.inject("");
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ *    Copyright 2018-2021 Prebid.org, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.prebid.mobile.rendering.utils.exposure;
+
+import android.graphics.Rect;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.prebid.mobile.LogUtil;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 19)
+public class ExposureGeometryTest {
+
+    private static final String TAG = "ExposureGeometryTest";
+
+    private final ExposureGeometry geometry = new ExposureGeometry();
+
+    @Test
+    public void whenNoRects_AreaIsZero() {
+        assertEquals(0, geometry.unionArea());
+    }
+
+    @Test
+    public void whenEmptyRectAdded_Ignored() {
+        geometry.add(10, 10, 10, 20);
+        geometry.add(10, 20, 30, 20);
+
+        assertEquals(0, geometry.size());
+        assertEquals(0, geometry.unionArea());
+    }
+
+    @Test
+    public void whenRectsOverlap_OverlapCountedOnce() {
+        geometry.add(new Rect(0, 0, 100, 100));
+        geometry.add(new Rect(50, 50, 150, 150));
+        geometry.add(new Rect(20, 20, 40, 40));
+
+        assertEquals(100 * 100 * 2 - 50 * 50, geometry.unionArea());
+    }
+
+    @Test
+    public void whenRectsTouch_AreasAdded() {
+        geometry.add(new Rect(0, 0, 10, 10));
+        geometry.add(new Rect(10, 0, 20, 10));
+        geometry.add(new Rect(0, 10, 20, 20));
+
+        assertEquals(400, geometry.unionArea());
+    }
+
+    @Test
+    public void whenReused_PreviousRectsCleared() {
+        geometry.add(new Rect(0, 0, 100, 100));
+        geometry.unionArea();
+        geometry.clear();
+        geometry.add(new Rect(-10, -10, 10, 10));
+
+        assertEquals(400, geometry.unionArea());
+    }
+
+    @Test
+    public void whenRandomRects_AreaMatchesOcclusionRectangles() {
+        Random random = new Random(42);
+        for (int run = 0; run < 50; run++) {
+            List<Rect> rects = randomRects(random, 1 + random.nextInt(40));
+            geometry.clear();
+            for (Rect rect : rects) {
+                geometry.add(rect);
+            }
+
+            assertEquals(occlusionRectanglesArea(rects), geometry.unionArea());
+        }
+    }
+
+    @Test
+    public void whenClippedTo_RectsTrimmedAndOutsideRemoved() {
+        geometry.add(0, 0, 100, 100);
+        geometry.add(200, 200, 300, 300);
+        geometry.add(40, 40, 60, 60);
+
+        geometry.clipTo(50, 50, 150, 150);
+
+        assertEquals(2, geometry.size());
+        assertRect(50, 50, 100, 100, 0);
+        assertRect(50, 50, 60, 60, 1);
+    }
+
+    @Test
+    public void whenSubtracted_FragmentsCoverDifference() {
+        geometry.add(0, 0, 100, 100);
+        geometry.add(200, 200, 300, 300);
+        geometry.add(30, 30, 40, 40);
+        ExposureGeometry fragments = new ExposureGeometry();
+
+        geometry.subtractTo(20, 20, 60, 60, fragments);
+
+        assertEquals(100 * 100 - 40 * 40 + 100 * 100, fragments.unionArea());
+        assertEquals(5, fragments.size());
+    }
+
+    @Test
+    public void whenObstructedAreaComputedRepeatedly_TimingsLogged() {
+        Random random = new Random(42);
+        int iterations = 20;
+        for (int count = 1; count <= 64; count *= 2) {
+            List<Rect> rects = randomRects(random, count);
+
+            long sweepStart = System.nanoTime();
+            long sweepArea = 0;
+            for (int i = 0; i < iterations; i++) {
+                geometry.clear();
+                for (Rect rect : rects) {
+                    geometry.add(rect);
+                }
+                sweepArea = geometry.unionArea();
+            }
+            long sweepMicros = (System.nanoTime() - sweepStart) / iterations / 1000;
+
+            long fragmentsStart = System.nanoTime();
+            long fragmentsArea = 0;
+            for (int i = 0; i < iterations; i++) {
+                fragmentsArea = occlusionRectanglesArea(rects);
+            }
+            long fragmentsMicros = (System.nanoTime() - fragmentsStart) / iterations / 1000;
+
+            assertEquals(fragmentsArea, sweepArea);
+            LogUtil.debug(TAG, "obstructions: " + count + ", sweep line: " + sweepMicros + " us, occlusion rectangles: " + fragmentsMicros + " us");
+        }
+    }
+
+    private void assertRect(
+            int left,
+            int top,
+            int right,
+            int bottom,
+            int index
+    ) {
+        assertEquals(new Rect(left, top, right, bottom), new Rect(geometry.left(index), geometry.top(index), geometry.right(index), geometry.bottom(index)));
+    }
+
+    private static long occlusionRectanglesArea(List<Rect> rects) {
+        long area = 0;
+        for (Rect rect : ViewExposureChecker.buildObstructionsRectList(rects)) {
+            area += (long) rect.width() * rect.height();
+        }
+        return area;
+    }
+
+    private static List<Rect> randomRects(
+            Random random,
+            int count
+    ) {
+        List<Rect> rects = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int left = random.nextInt(1000);
+            int top = random.nextInt(2000);
+            rects.add(new Rect(left, top, left + 1 + random.nextInt(400), top + 1 + random.nextInt(400)));
+        }
+        return rects;
+    }
+}
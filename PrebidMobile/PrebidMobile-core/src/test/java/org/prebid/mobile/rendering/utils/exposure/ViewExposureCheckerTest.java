@@ -29,6 +29,7 @@ import org.junit.runner.RunWith;
 import org.prebid.mobile.rendering.views.webview.mraid.Views;
 import org.robolectric.Robolectric;
 import org.robolectric.RobolectricTestRunner;
+import org.robolectric.android.controller.ActivityController;
 import org.robolectric.annotation.Config;
 
 import java.util.ArrayList;
@@ -83,6 +84,25 @@ public class ViewExposureCheckerTest {
         assertEquals(new ViewExposure(1, new Rect(0, 0, 200, 200), new ArrayList<>()), resultExposure);
     }
 
+    @Test
+    public void whenWindowHasNoFocusAndFocusNotRequired_ReturnExposure() {
+        ActivityController<Activity> controller = Robolectric.buildActivity(Activity.class)
+                                                             .setup()
+                                                             .windowFocusChanged(true);
+        FrameLayout parent = new FrameLayout(controller.get());
+        View view = new View(controller.get());
+        controller.get().setContentView(parent);
+        parent.addView(view);
+        parent.layout(0, 0, 400, 400);
+        view.layout(0, 0, 200, 200);
+
+        controller.windowFocusChanged(false);
+
+        assertFalse(view.hasWindowFocus());
+        assertEquals(new ViewExposure(), viewExposureChecker.exposure(view));
+        assertEquals(1, viewExposureChecker.exposure(view, false).getExposurePercentage(), 0.001);
+    }
+
     // MARK: - Single obstruction
     //
     //      0   10   20   30   40   50   60
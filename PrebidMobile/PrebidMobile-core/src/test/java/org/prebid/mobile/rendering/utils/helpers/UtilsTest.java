@@ -348,6 +348,12 @@ public class UtilsTest extends TestCase {
         assertFalse(Utils.isVast(html));
     }
 
+    @Test
+    public void isVastWithLeadingTagsAndSingleLine_ReturnTrue() {
+        String vast = "\uFEFF<?xml version=\"1.0\"?><VASTx></VASTx><VAST version=\"4.0\"><Ad id=\"1\"></Ad></VAST>";
+        assertTrue(Utils.isVast(vast));
+    }
+
     @Test
     public void isVastWithEmptyData_ReturnFalse() {
         assertFalse(Utils.isVast(""));
@@ -0,0 +1,111 @@
+/*
+ *    Copyright 2018-2021 Prebid.org, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.prebid.mobile.rendering.video;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 19)
+public class VideoCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = folder.newFolder();
+    }
+
+    @Test
+    public void whenSameNameDifferentUrls_UseDifferentKeys() {
+        String first = VideoCache.getCacheKey("https://cdn1.test/video.mp4");
+        String second = VideoCache.getCacheKey("https://cdn2.test/video.mp4");
+
+        assertNotEquals(first, second);
+        assertTrue(first.startsWith("/" + VideoCache.FILE_PREFIX));
+        assertEquals(first, VideoCache.getCacheKey("https://cdn1.test/video.mp4"));
+    }
+
+    @Test
+    public void whenOverBudget_EvictLeastRecentlyUsed() throws IOException {
+        VideoCache videoCache = new VideoCache(directory, 250, VideoCache.MAX_AGE_MILLIS);
+        File first = createFile("first", 100);
+        File second = createFile("second", 100);
+        File third = createFile("third", 100);
+
+        videoCache.put(first);
+        videoCache.put(second);
+        assertTrue(videoCache.contains(first));
+        videoCache.put(third);
+
+        assertTrue(videoCache.contains(first));
+        assertFalse(videoCache.contains(second));
+        assertFalse(second.exists());
+        assertTrue(videoCache.contains(third));
+        assertEquals(200, videoCache.getTotalBytes());
+    }
+
+    @Test
+    public void whenExpired_RemoveFile() throws Exception {
+        VideoCache videoCache = new VideoCache(directory, 1000, 0);
+        File file = createFile("expired", 10);
+
+        videoCache.put(file);
+        Thread.sleep(5);
+
+        assertFalse(videoCache.contains(file));
+        assertFalse(file.exists());
+        assertEquals(0, videoCache.getTotalBytes());
+    }
+
+    @Test
+    public void whenCreated_RestoreIndexAndDropPartialDownloads() throws IOException {
+        File cached = createFile("restored", 10);
+        File partial = createFile("partial" + VideoCache.TEMP_FILE_SUFFIX, 10);
+
+        VideoCache videoCache = new VideoCache(directory, 1000, VideoCache.MAX_AGE_MILLIS);
+
+        assertTrue(videoCache.contains(cached));
+        assertFalse(partial.exists());
+        assertEquals(10, videoCache.getTotalBytes());
+    }
+
+    private File createFile(String name, int size) throws IOException {
+        File file = new File(directory, VideoCache.FILE_PREFIX + name);
+        FileOutputStream outputStream = new FileOutputStream(file);
+        outputStream.write(new byte[size]);
+        outputStream.close();
+        return file;
+    }
+}
@@ -39,7 +39,9 @@ import org.robolectric.RobolectricTestRunner;
 import org.robolectric.annotation.Config;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.anyFloat;
 import static org.mockito.Mockito.*;
 
@@ -164,6 +166,15 @@ public class VideoCreativeTest {
         verify(mockVideoDownloadTask).cancel(true);
     }
 
+    @Test
+    public void whenStreamingAndBuffered_IsResolved() throws Exception {
+        WhiteBox.field(VideoCreative.class, "isStreaming").set(videoCreative, true);
+        assertFalse(videoCreative.isResolved());
+
+        WhiteBox.field(VideoCreative.class, "preloadedVideoFilePath").set(videoCreative, "https://cdn.test/video.mp4");
+        assertTrue(videoCreative.isResolved());
+    }
+
     @Test
     public void loadTest() throws Exception {
         VideoCreativeModel mockModel = mock(VideoCreativeModel.class);
@@ -0,0 +1,268 @@
+/*
+ *    Copyright 2020-2021 Prebid.org, Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.prebid.mobile.tasksmanager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class LaneSchedulerTest {
+
+    private CountDownLatch release;
+
+    @Before
+    public void setUp() {
+        release = new CountDownLatch(1);
+    }
+
+    @After
+    public void tearDown() {
+        release.countDown();
+    }
+
+    @Test
+    public void whenWorkerIsBusy_HigherLaneRunsFirst() throws Exception {
+        LaneScheduler scheduler = new LaneScheduler(1, 1000);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch finished = new CountDownLatch(3);
+
+        scheduler.execute(TaskLane.HOUSEKEEPING, blockingTask(finished));
+        scheduler.execute(TaskLane.TRACKING, () -> {
+            order.add("tracking");
+            finished.countDown();
+        });
+        scheduler.execute(TaskLane.AUCTION_CRITICAL, () -> {
+            order.add("auction");
+            finished.countDown();
+        });
+        release.countDown();
+
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("auction", "tracking"), order);
+    }
+
+    @Test
+    public void whenLaneLimitReached_OtherLanesStillRun() throws Exception {
+        LaneScheduler scheduler = new LaneScheduler(LaneScheduler.WORKER_COUNT, 1000);
+        int trackingLimit = TaskLane.TRACKING.getMaxConcurrent();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger running = new AtomicInteger();
+        CountDownLatch finished = new CountDownLatch(trackingLimit + 2);
+
+        for (int i = 0; i < trackingLimit + 2; i++) {
+            scheduler.execute(TaskLane.TRACKING, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    release.await(1, TimeUnit.SECONDS);
+                } catch (InterruptedException ignored) {
+                }
+                running.decrementAndGet();
+                finished.countDown();
+            });
+        }
+
+        CountDownLatch auctionFinished = new CountDownLatch(1);
+        scheduler.execute(TaskLane.AUCTION_CRITICAL, auctionFinished::countDown);
+
+        assertTrue(auctionFinished.await(500, TimeUnit.MILLISECONDS));
+        assertEquals(2, scheduler.getQueueDepth(TaskLane.TRACKING));
+        release.countDown();
+
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertEquals(trackingLimit, maxRunning.get());
+    }
+
+    @Test
+    public void whenOtherLanesSaturated_AuctionTaskStillStarts() throws Exception {
+        LaneScheduler scheduler = new LaneScheduler(LaneScheduler.WORKER_COUNT, 1000);
+        int otherTasks = TaskLane.RENDER_PREP.getMaxConcurrent() + TaskLane.TRACKING.getMaxConcurrent();
+        CountDownLatch finished = new CountDownLatch(otherTasks);
+        for (int i = 0; i < TaskLane.RENDER_PREP.getMaxConcurrent(); i++) {
+            scheduler.execute(TaskLane.RENDER_PREP, blockingTask(finished));
+        }
+        for (int i = 0; i < TaskLane.TRACKING.getMaxConcurrent(); i++) {
+            scheduler.execute(TaskLane.TRACKING, blockingTask(finished));
+        }
+        Thread.sleep(100);
+
+        CountDownLatch auctionFinished = new CountDownLatch(1);
+        scheduler.execute(TaskLane.AUCTION_CRITICAL, auctionFinished::countDown);
+
+        assertTrue(auctionFinished.await(500, TimeUnit.MILLISECONDS));
+        int otherRunning = scheduler.getRunningCount(TaskLane.RENDER_PREP) + scheduler.getRunningCount(TaskLane.TRACKING);
+        assertEquals(LaneScheduler.WORKER_COUNT - 1, otherRunning);
+        release.countDown();
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void whenBurstWithIdleWorker_TasksRunConcurrently() throws Exception {
+        LaneScheduler scheduler = new LaneScheduler(LaneScheduler.WORKER_COUNT, 1000);
+        CountDownLatch warmedUp = new CountDownLatch(1);
+        scheduler.execute(TaskLane.AUCTION_CRITICAL, warmedUp::countDown);
+        assertTrue(warmedUp.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+
+        int burstSize = 4;
+        CountDownLatch started = new CountDownLatch(burstSize);
+        CountDownLatch finished = new CountDownLatch(burstSize);
+        for (int i = 0; i < burstSize; i++) {
+            scheduler.execute(TaskLane.AUCTION_CRITICAL, () -> {
+                started.countDown();
+                blockingTask(finished).run();
+            });
+        }
+
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        assertEquals(burstSize, scheduler.getRunningCount(TaskLane.AUCTION_CRITICAL));
+        release.countDown();
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void whenLaneQueueIsFull_TaskRejected() throws Exception {
+        LaneScheduler scheduler = new LaneScheduler(1, 1000);
+        CountDownLatch started = new CountDownLatch(1);
+        scheduler.execute(TaskLane.HOUSEKEEPING, () -> {
+            started.countDown();
+            blockingTask(new CountDownLatch(1)).run();
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        for (int i = 0; i < TaskLane.HOUSEKEEPING.getQueueCapacity(); i++) {
+            assertTrue(scheduler.execute(TaskLane.HOUSEKEEPING, () -> {}));
+        }
+
+        assertFalse(scheduler.execute(TaskLane.HOUSEKEEPING, () -> {}));
+        assertEquals(1, scheduler.getRejectedCount(TaskLane.HOUSEKEEPING));
+        assertTrue(scheduler.execute(TaskLane.TRACKING, () -> {}));
+    }
+
+    @Test
+    public void whenTaskCancelledBeforeStart_TaskNotRun() throws Exception {
+        LaneScheduler scheduler = new LaneScheduler(1, 1000);
+        CountDownLatch finished = new CountDownLatch(1);
+        AtomicInteger runCount = new AtomicInteger();
+        Runnable cancelledTask = runCount::incrementAndGet;
+
+        scheduler.execute(TaskLane.RENDER_PREP, blockingTask(finished));
+        scheduler.execute(TaskLane.RENDER_PREP, cancelledTask);
+
+        assertTrue(scheduler.cancel(cancelledTask));
+        assertFalse(scheduler.cancel(cancelledTask));
+        assertEquals(0, scheduler.getQueueDepth(TaskLane.RENDER_PREP));
+
+        release.countDown();
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        assertEquals(0, runCount.get());
+    }
+
+    @Test
+    public void whenTaskWaited_WaitTimeRecorded() throws Exception {
+        LaneScheduler scheduler = new LaneScheduler(1, 1000);
+        CountDownLatch finished = new CountDownLatch(2);
+
+        scheduler.execute(TaskLane.HOUSEKEEPING, blockingTask(finished));
+        scheduler.execute(TaskLane.TRACKING, finished::countDown);
+        Thread.sleep(100);
+        release.countDown();
+
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertTrue(scheduler.getMaxWaitMillis(TaskLane.TRACKING) >= 100);
+        assertTrue(scheduler.getAverageWaitMillis(TaskLane.TRACKING) >= 100);
+        assertEquals(0, scheduler.getAverageWaitMillis(TaskLane.AUCTION_CRITICAL));
+    }
+
+    @Test
+    public void whenTaskThrows_WorkerKeepsRunning() throws Exception {
+        LaneScheduler scheduler = new LaneScheduler(1, 1000);
+        CountDownLatch finished = new CountDownLatch(1);
+
+        scheduler.execute(TaskLane.HOUSEKEEPING, () -> {
+            throw new IllegalStateException("test");
+        });
+        scheduler.execute(TaskLane.HOUSEKEEPING, finished::countDown);
+
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertEquals(1, scheduler.getWorkerCount());
+    }
+
+    @Test
+    public void whenIdleLongerThanKeepAlive_WorkerStopped() throws Exception {
+        LaneScheduler scheduler = new LaneScheduler(2, 50);
+        CountDownLatch finished = new CountDownLatch(1);
+
+        scheduler.execute(TaskLane.HOUSEKEEPING, finished::countDown);
+
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        Thread.sleep(300);
+        assertEquals(0, scheduler.getWorkerCount());
+    }
+
+    @Test
+    public void whenTaskScheduled_RunAfterDelay() throws Exception {
+        LaneScheduler scheduler = new LaneScheduler(1, 10);
+        CountDownLatch finished = new CountDownLatch(1);
+        long scheduledAt = System.nanoTime();
+        AtomicLong ranAt = new AtomicLong();
+
+        scheduler.schedule(TaskLane.AUCTION_CRITICAL, () -> {
+            ranAt.set(System.nanoTime());
+            finished.countDown();
+        }, 100);
+
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(ranAt.get() - scheduledAt) >= 100);
+    }
+
+    @Test
+    public void whenScheduledTaskCancelled_TaskNotRun() throws Exception {
+        LaneScheduler scheduler = new LaneScheduler(1, 1000);
+        AtomicInteger runCount = new AtomicInteger();
+        Runnable task = runCount::incrementAndGet;
+
+        scheduler.schedule(TaskLane.HOUSEKEEPING, task, 50);
+
+        assertTrue(scheduler.cancel(task));
+        Thread.sleep(150);
+        assertEquals(0, runCount.get());
+    }
+
+    private Runnable blockingTask(CountDownLatch finished) {
+        return () -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ignored) {
+            }
+            finished.countDown();
+        };
+    }
+}